@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the Shift Management API
@@ -13,6 +14,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @EntityScan(basePackages = "com.shiftmanager.api.model")
 @EnableJpaRepositories(basePackages = "com.shiftmanager.api.repository")
 @EnableJpaAuditing
+@EnableScheduling
 public class ShiftManagementApiApplication {
 
     public static void main(String[] args) {
@@ -7,14 +7,23 @@ import com.shiftmanager.api.mapper.CalendarMapper;
 import com.shiftmanager.api.model.Calendar;
 import com.shiftmanager.api.model.CalendarEntry;
 import com.shiftmanager.api.service.CalendarService;
+import com.shiftmanager.api.service.calendar.CalendarRebuildService;
+import com.shiftmanager.api.service.calendar.CalendarRebuildStatus;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -29,9 +38,12 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class CalendarController {
 
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
     private CalendarService calendarService;
     private CalendarMapper calendarMapper;
     private CalendarEntryMapper calendarEntryMapper;
+    private CalendarRebuildService calendarRebuildService;
 
     /**
      * Get all calendars (admin only)
@@ -48,6 +60,28 @@ public class CalendarController {
         return ResponseEntity.ok(calendarDTOs);
     }
 
+    /**
+     * Start rebuilding the shift and vacation entries of all calendars (admin only)
+     * @return Status of the started rebuild, or of the running one with 409 Conflict
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<CalendarRebuildStatus> rebuildAllCalendars() {
+        boolean started = calendarRebuildService.startRebuild();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(calendarRebuildService.getStatus());
+    }
+
+    /**
+     * Get the progress of the current or last calendar rebuild (admin only)
+     * @return Rebuild status
+     */
+    @GetMapping("/rebuild")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<CalendarRebuildStatus> getRebuildStatus() {
+        return ResponseEntity.ok(calendarRebuildService.getStatus());
+    }
+
     /**
      * Get calendar by ID
      * @param id Calendar ID
@@ -153,16 +187,72 @@ public class CalendarController {
      */
     @GetMapping("/{id}/export/pdf")
     @PreAuthorize("hasRole('ROLE_ADMIN') or @authorizationService.isCalendarOwnerOrManager(#id)")
-    public ResponseEntity<byte[]> exportCalendarToPdf(
+    public ResponseEntity<StreamingResponseBody> exportCalendarToPdf(
             @PathVariable Long id,
             @RequestParam Integer year,
             @RequestParam Integer month) {
 
-        byte[] pdfBytes = calendarService.exportCalendarToPdf(id, year, month);
+        Long employeeId = calendarService.getCalendarById(id).getEmployee().getId();
+        StreamingResponseBody pdfBody = outputStream ->
+                calendarService.writeCalendarPdf(employeeId, month, year, outputStream);
 
         return ResponseEntity.ok()
                 .header("Content-Type", "application/pdf")
                 .header("Content-Disposition", "attachment; filename=calendar-" + year + "-" + month + ".pdf")
-                .body(pdfBytes);
+                .body(pdfBody);
+    }
+
+    /**
+     * Get an employee's calendar as an iCalendar feed for calendar apps to subscribe to. Polls
+     * carrying the current ETag are answered 304 without reading any entries.
+     * @param employeeId Employee ID
+     * @param webRequest Request, checked for If-None-Match
+     * @return iCalendar feed, or null once 304 Not Modified has been sent
+     */
+    @GetMapping("/employee/{employeeId}/feed.ics")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @authorizationService.isSelfOrManager(#employeeId)")
+    public ResponseEntity<StreamingResponseBody> getEmployeeCalendarFeed(
+            @PathVariable Long employeeId,
+            WebRequest webRequest) {
+
+        if (webRequest.checkNotModified(calendarService.getEmployeeFeedETag(employeeId))) {
+            return null;
+        }
+        StreamingResponseBody feedBody = outputStream -> calendarService.writeEmployeeFeed(employeeId, outputStream);
+
+        return feedResponse("calendar-" + employeeId + ".ics", feedBody);
+    }
+
+    /**
+     * Get the calendars of a manager's team as one iCalendar feed
+     * @param managerId Manager ID
+     * @param webRequest Request, checked for If-None-Match
+     * @return iCalendar feed, or null once 304 Not Modified has been sent
+     * @see #getEmployeeCalendarFeed(Long, WebRequest)
+     */
+    @GetMapping("/team/{managerId}/feed.ics")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> getTeamCalendarFeed(
+            @PathVariable Long managerId,
+            WebRequest webRequest) {
+
+        if (webRequest.checkNotModified(calendarService.getTeamFeedETag(managerId))) {
+            return null;
+        }
+        StreamingResponseBody feedBody = outputStream -> calendarService.writeTeamFeed(managerId, outputStream);
+
+        return feedResponse("team-calendar-" + managerId + ".ics", feedBody);
+    }
+
+    /**
+     * Build a feed response. The ETag header was already set by the not-modified check, and
+     * clients must revalidate on every poll.
+     */
+    private static ResponseEntity<StreamingResponseBody> feedResponse(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=" + filename)
+                .body(body);
     }
-}
\ No newline at end of file
+}
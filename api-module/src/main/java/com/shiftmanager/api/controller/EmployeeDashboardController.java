@@ -1,11 +1,14 @@
 package com.shiftmanager.api.controller;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.shiftmanager.api.dto.*;
 import com.shiftmanager.api.mapper.*;
 import com.shiftmanager.api.model.*;
 import com.shiftmanager.api.service.CalendarService;
 import com.shiftmanager.api.service.EmployeeService;
 import com.shiftmanager.api.service.ShiftService;
+import com.shiftmanager.api.service.calendar.CalendarMonthContent;
+import com.shiftmanager.api.service.calendar.CalendarMonthViewService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -14,6 +17,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -38,6 +42,7 @@ public class EmployeeDashboardController {
     private VacationRequestMapper vacationRequestMapper;
     private CalendarMapper calendarMapper;
     private CalendarEntryMapper calendarEntryMapper;
+    private CalendarMonthViewService calendarMonthViewService;
 
     /**
      * Get employee dashboard overview data
@@ -65,14 +70,8 @@ public class EmployeeDashboardController {
                 .map(vacationRequestMapper::toDto)
                 .collect(Collectors.toList());
         
-        // Get calendar
-        Calendar calendar = calendarService.getOrCreateCalendarForEmployee(employeeId);
-        
-        // Get calendar entries
-        List<CalendarEntry> calendarEntries = calendarService.getCalendarEntriesForDateRange(calendar.getId(), today, endDate);
-        List<CalendarEntryDTO> calendarEntryDTOs = calendarEntries.stream()
-                .map(calendarEntryMapper::toDto)
-                .collect(Collectors.toList());
+        // Get calendar entries from the month views
+        List<CalendarEntryDTO> calendarEntryDTOs = calendarMonthViewService.getEntries(employeeId, today, endDate);
         
         // Get unread notifications count
         int unreadNotifications = employeeService.getUnreadNotificationsCount(employeeId);
@@ -130,22 +129,13 @@ public class EmployeeDashboardController {
             month = now.getMonthValue();
         }
         
-        // Get the calendar entries
-        List<CalendarEntry> entries = calendarService.getEmployeeCalendar(employeeId, year, month);
-        
-        // Get the calendar for metadata
-        Calendar calendar = calendarService.getOrCreateCalendarForEmployee(employeeId);
-        CalendarDTO calendarDTO = calendarMapper.toDto(calendar);
-        
-        // Map entries to DTOs
-        List<CalendarEntryDTO> entryDTOs = entries.stream()
-                .map(calendarEntryMapper::toDto)
-                .collect(Collectors.toList());
+        // Get the month view, whose entries are written out as they were stored
+        CalendarMonthContent calendarMonth = calendarMonthViewService.getMonth(employeeId, year, month);
         
         // Build response
         Map<String, Object> response = new HashMap<>();
-        response.put("calendar", calendarDTO);
-        response.put("entries", entryDTOs);
+        response.put("calendar", calendarMonth.getCalendar());
+        response.put("entries", new RawValue(calendarMonth.getEntries()));
         response.put("year", year);
         response.put("month", month);
         
@@ -331,22 +321,23 @@ public class EmployeeDashboardController {
      * Get the calendar as a PDF export
      * @param year Year
      * @param month Month
-     * @return PDF byte array
+     * @return PDF file
      */
     @GetMapping("/calendar/export/pdf")
-    public ResponseEntity<byte[]> exportCalendarToPdf(
+    public ResponseEntity<StreamingResponseBody> exportCalendarToPdf(
             @RequestParam Integer year,
             @RequestParam Integer month) {
         
         Long employeeId = getCurrentEmployeeId();
         
         // Export to PDF directly using employee ID
-        byte[] pdfBytes = calendarService.exportCalendarToPdf(employeeId, year, month);
+        StreamingResponseBody pdfBody = outputStream ->
+                calendarService.writeCalendarPdf(employeeId, month, year, outputStream);
         
         return ResponseEntity.ok()
                 .header("Content-Type", "application/pdf")
                 .header("Content-Disposition", "attachment; filename=calendar-" + year + "-" + month + ".pdf")
-                .body(pdfBytes);
+                .body(pdfBody);
     }
 
     /**
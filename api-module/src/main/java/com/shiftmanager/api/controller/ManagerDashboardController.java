@@ -11,6 +11,7 @@ import com.shiftmanager.api.model.Shift;
 import com.shiftmanager.api.model.VacationRequest;
 import com.shiftmanager.api.service.CalendarService;
 import com.shiftmanager.api.service.ManagerService;
+import com.shiftmanager.api.service.schedule.CoverageService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -19,6 +20,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -37,6 +39,7 @@ public class ManagerDashboardController {
 
     private ManagerService managerService;
     private CalendarService calendarService;
+    private CoverageService coverageService;
     private EmployeeMapper employeeMapper;
     private ShiftMapper shiftMapper;
     private VacationRequestMapper vacationRequestMapper;
@@ -205,6 +208,55 @@ public class ManagerDashboardController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Assign many shifts at once, e.g. to publish a week's schedule. Invalid assignments are
+     * reported in the results and do not stop the valid ones.
+     * @param assignments Shift and employee pairs
+     * @return Result of each assignment, in request order
+     */
+    @PostMapping("/shifts/assignments")
+    public ResponseEntity<List<ShiftAssignmentResultDTO>> assignShiftsToEmployees(
+            @RequestBody List<ShiftAssignmentDTO> assignments) {
+
+        Long managerId = getCurrentManagerId();
+
+        return ResponseEntity.ok(managerService.assignShiftsToEmployees(assignments, managerId));
+    }
+
+    /**
+     * Propose who should take the open shifts of a location in a week. The proposed
+     * assignments can be posted to {@code /shifts/assignments} as they are.
+     * @param locationId Location ID
+     * @param weekStart First day of the week
+     * @return The proposal
+     */
+    @GetMapping("/schedule/proposal")
+    public ResponseEntity<ScheduleProposalDTO> proposeSchedule(
+            @RequestParam Long locationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStart) {
+
+        Long managerId = getCurrentManagerId();
+
+        return ResponseEntity.ok(managerService.proposeSchedule(locationId, weekStart, managerId));
+    }
+
+    /**
+     * Get the open and understaffed shifts of a location. Served from a cache kept current by
+     * assignment and shift changes, so it can be polled.
+     * @param locationId Location ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Shifts that need more employees than are assigned
+     */
+    @GetMapping("/coverage")
+    public ResponseEntity<CoverageDTO> getCoverage(
+            @RequestParam Long locationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return ResponseEntity.ok(coverageService.getCoverage(locationId, startDate, endDate));
+    }
+
     /**
      * Unassign a shift from an employee
      * @param shiftId Shift ID
@@ -297,6 +349,42 @@ public class ManagerDashboardController {
         return ResponseEntity.ok(teamCalendarDTOs);
     }
 
+    /**
+     * Get the calendar entries of the whole team for a date range, grouped by team member
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Team member calendars with their entries in the range
+     */
+    @GetMapping("/calendars/entries")
+    public ResponseEntity<List<TeamCalendarDTO>> getTeamCalendarEntries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        Long managerId = getCurrentManagerId();
+        
+        return ResponseEntity.ok(calendarService.getTeamCalendarEntries(managerId, startDate, endDate));
+    }
+
+    /**
+     * Export the calendars of the whole team for a month as one PDF, one page per team member
+     * @param year Year
+     * @param month Month
+     * @return PDF file
+     */
+    @GetMapping("/calendars/export/pdf")
+    public ResponseEntity<StreamingResponseBody> exportTeamCalendarsToPdf(
+            @RequestParam Integer year,
+            @RequestParam Integer month) {
+        Long managerId = getCurrentManagerId();
+        
+        StreamingResponseBody pdfBody = outputStream ->
+                calendarService.writeTeamCalendarPdf(managerId, month, year, outputStream);
+        
+        return ResponseEntity.ok()
+                .header("Content-Type", "application/pdf")
+                .header("Content-Disposition", "attachment; filename=team-calendars-" + year + "-" + month + ".pdf")
+                .body(pdfBody);
+    }
+
     /**
      * Get the current manager ID from the authenticated user
      * @return Manager ID
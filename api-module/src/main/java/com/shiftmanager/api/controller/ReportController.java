@@ -1,11 +1,24 @@
 package com.shiftmanager.api.controller;
 
+import com.shiftmanager.api.dto.ReportJobDTO;
+import com.shiftmanager.api.dto.ReportJobRequestDTO;
+import com.shiftmanager.api.mapper.ReportJobMapper;
+import com.shiftmanager.api.model.ReportJob;
+import com.shiftmanager.api.service.ReportJobService;
 import com.shiftmanager.api.service.ReportService;
+import com.shiftmanager.api.service.report.writer.ReportFormat;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -15,32 +28,36 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/api/reports")
+@AllArgsConstructor
 public class ReportController {
 
     private ReportService reportService;
+    private ReportJobService reportJobService;
+    private ReportJobMapper reportJobMapper;
 
     /**
      * Generate employee schedule report
      * @param employeeId Employee ID
      * @param startDate Start date
      * @param endDate End date
-     * @return PDF report
+     * @param accept Accept header, which selects text, CSV or JSON output
+     * @return Report
      */
     @GetMapping("/employee-schedule")
     @PreAuthorize("hasRole('ROLE_ADMIN') or @authorizationService.isSelfOrManager(#employeeId)")
-    public ResponseEntity<byte[]> generateEmployeeScheduleReport(
+    public ResponseEntity<StreamingResponseBody> generateEmployeeScheduleReport(
             @RequestParam Long employeeId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
-        byte[] reportBytes = reportService.generateEmployeeScheduleReport(employeeId, startDate, endDate);
+        ReportFormat format = ReportFormat.fromAcceptHeader(accept);
+        StreamingResponseBody reportBody = outputStream ->
+                reportService.writeEmployeeScheduleReport(employeeId, startDate, endDate, format, outputStream);
         
-        String filename = "employee-schedule-" + employeeId + "-" + startDate + "-to-" + endDate + ".pdf";
+        String filename = "employee-schedule-" + employeeId + "-" + startDate + "-to-" + endDate;
         
-        return ResponseEntity.ok()
-                .header("Content-Type", "application/pdf")
-                .header("Content-Disposition", "attachment; filename=" + filename)
-                .body(reportBytes);
+        return reportResponse(filename, format, reportBody);
     }
 
     /**
@@ -48,23 +65,24 @@ public class ReportController {
      * @param managerId Manager ID
      * @param startDate Start date
      * @param endDate End date
-     * @return PDF report
+     * @param accept Accept header, which selects text, CSV or JSON output
+     * @return Report
      */
     @GetMapping("/team-schedule")
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_MANAGER')")
-    public ResponseEntity<byte[]> generateTeamScheduleReport(
+    public ResponseEntity<StreamingResponseBody> generateTeamScheduleReport(
             @RequestParam Long managerId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
-        byte[] reportBytes = reportService.generateTeamScheduleReport(managerId, startDate, endDate);
+        ReportFormat format = ReportFormat.fromAcceptHeader(accept);
+        StreamingResponseBody reportBody = outputStream ->
+                reportService.writeTeamScheduleReport(managerId, startDate, endDate, format, outputStream);
         
-        String filename = "team-schedule-" + managerId + "-" + startDate + "-to-" + endDate + ".pdf";
+        String filename = "team-schedule-" + managerId + "-" + startDate + "-to-" + endDate;
         
-        return ResponseEntity.ok()
-                .header("Content-Type", "application/pdf")
-                .header("Content-Disposition", "attachment; filename=" + filename)
-                .body(reportBytes);
+        return reportResponse(filename, format, reportBody);
     }
 
     /**
@@ -72,23 +90,51 @@ public class ReportController {
      * @param locationId Location ID
      * @param startDate Start date
      * @param endDate End date
-     * @return PDF report
+     * @param accept Accept header, which selects text, CSV or JSON output
+     * @return Report
      */
     @GetMapping("/location-schedule")
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_MANAGER')")
-    public ResponseEntity<byte[]> generateLocationScheduleReport(
+    public ResponseEntity<StreamingResponseBody> generateLocationScheduleReport(
             @RequestParam Long locationId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
-        byte[] reportBytes = reportService.generateLocationScheduleReport(locationId, startDate, endDate);
+        ReportFormat format = ReportFormat.fromAcceptHeader(accept);
+        StreamingResponseBody reportBody = outputStream ->
+                reportService.writeLocationScheduleReport(locationId, startDate, endDate, format, outputStream);
         
-        String filename = "location-schedule-" + locationId + "-" + startDate + "-to-" + endDate + ".pdf";
+        String filename = "location-schedule-" + locationId + "-" + startDate + "-to-" + endDate;
+        
+        return reportResponse(filename, format, reportBody);
+    }
+
+    /**
+     * Generate the location schedule reports of several locations as one zip archive
+     * @param locationIds Location IDs (or null for all active locations)
+     * @param startDate Start date
+     * @param endDate End date
+     * @param format Format of the reports in the archive (TEXT, CSV or JSON)
+     * @return Zip archive with one report per location
+     */
+    @GetMapping("/location-schedules")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> generateLocationScheduleReports(
+            @RequestParam(required = false) List<Long> locationIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "TEXT") ReportFormat format) {
+        
+        StreamingResponseBody archiveBody = outputStream ->
+                reportService.writeLocationScheduleReports(locationIds, startDate, endDate, format, outputStream);
+        
+        String filename = "location-schedules-" + startDate + "-to-" + endDate + ".zip";
         
         return ResponseEntity.ok()
-                .header("Content-Type", "application/pdf")
+                .header("Content-Type", "application/zip")
                 .header("Content-Disposition", "attachment; filename=" + filename)
-                .body(reportBytes);
+                .body(archiveBody);
     }
 
     /**
@@ -96,16 +142,20 @@ public class ReportController {
      * @param year Year
      * @param month Optional month (if not provided, full year report)
      * @param departmentId Optional department ID filter
-     * @return PDF report
+     * @param accept Accept header, which selects text, CSV or JSON output
+     * @return Report
      */
     @GetMapping("/vacation-summary")
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_MANAGER')")
-    public ResponseEntity<byte[]> generateVacationSummaryReport(
+    public ResponseEntity<StreamingResponseBody> generateVacationSummaryReport(
             @RequestParam Integer year,
             @RequestParam(required = false) Integer month,
-            @RequestParam(required = false) Long departmentId) {
+            @RequestParam(required = false) Long departmentId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
-        byte[] reportBytes = reportService.generateVacationSummaryReport(year, month, departmentId);
+        ReportFormat format = ReportFormat.fromAcceptHeader(accept);
+        StreamingResponseBody reportBody = outputStream ->
+                reportService.writeVacationSummaryReport(year, month, departmentId, format, outputStream);
         
         String filename = "vacation-summary-" + year;
         if (month != null) {
@@ -114,12 +164,8 @@ public class ReportController {
         if (departmentId != null) {
             filename += "-dept-" + departmentId;
         }
-        filename += ".pdf";
         
-        return ResponseEntity.ok()
-                .header("Content-Type", "application/pdf")
-                .header("Content-Disposition", "attachment; filename=" + filename)
-                .body(reportBytes);
+        return reportResponse(filename, format, reportBody);
     }
 
     /**
@@ -127,22 +173,111 @@ public class ReportController {
      * @param employeeIds List of employee IDs (or null for all employees)
      * @param startDate Start date
      * @param endDate End date
-     * @return PDF report
+     * @param accept Accept header, which selects text, CSV or JSON output
+     * @return Report
      */
     @GetMapping("/hours-worked")
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_MANAGER')")
-    public ResponseEntity<byte[]> generateHoursWorkedReport(
+    public ResponseEntity<StreamingResponseBody> generateHoursWorkedReport(
             @RequestParam(required = false) List<Long> employeeIds,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        
+        ReportFormat format = ReportFormat.fromAcceptHeader(accept);
+        StreamingResponseBody reportBody = outputStream ->
+                reportService.writeHoursWorkedReport(employeeIds, startDate, endDate, format, outputStream);
+        
+        String filename = "hours-worked-" + startDate + "-to-" + endDate;
+        
+        return reportResponse(filename, format, reportBody);
+    }
+
+    /**
+     * Queue a report for background rendering
+     * @param request Report type and parameters
+     * @return Queued report job (poll its status, then download it)
+     */
+    @PostMapping("/jobs")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_MANAGER') or " +
+            "(#request.reportType == 'EMPLOYEE_SCHEDULE' and @authorizationService.isSelfOrManager(#request.subjectId))")
+    public ResponseEntity<ReportJobDTO> submitReportJob(@Valid @RequestBody ReportJobRequestDTO request) {
+        ReportJob job = reportJobService.submitReportJob(request, currentAuthentication().getName());
+        
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/reports/jobs/" + job.getId())
+                .body(reportJobMapper.toDto(job));
+    }
+
+    /**
+     * Get the status of a report job
+     * @param jobId Report job ID
+     * @return Report job
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJobDTO> getReportJob(@PathVariable Long jobId) {
+        Authentication authentication = currentAuthentication();
+        ReportJob job = reportJobService.getReportJob(jobId, authentication.getName(), isAdmin(authentication));
         
-        byte[] reportBytes = reportService.generateHoursWorkedReport(employeeIds, startDate, endDate);
+        return ResponseEntity.ok(reportJobMapper.toDto(job));
+    }
+
+    /**
+     * Download the artifact of a completed report job. Clients that accept gzip get the
+     * stored bytes as they are; everyone else gets them decompressed on the fly.
+     * @param jobId Report job ID
+     * @param acceptEncoding Accept-Encoding request header
+     * @return Report
+     */
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<StreamingResponseBody> downloadReportJob(
+            @PathVariable Long jobId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        Authentication authentication = currentAuthentication();
+        ReportJob job = reportJobService.getReportJob(jobId, authentication.getName(), isAdmin(authentication));
+        boolean compressed = acceptEncoding != null && acceptEncoding.contains("gzip");
         
-        String filename = "hours-worked-" + startDate + "-to-" + endDate + ".pdf";
+        if (!job.isCompleted()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
         
+        StreamingResponseBody reportBody = outputStream ->
+                reportJobService.writeReportJobArtifact(job, outputStream, compressed);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("Content-Type", job.getContentType())
+                .header("Content-Disposition", "attachment; filename=" + job.getFilename())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (compressed) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(job.getArtifactSize());
+        }
+        return response.body(reportBody);
+    }
+
+    /**
+     * Build a download response for a streamed report
+     * @param basename Filename without extension
+     * @param format Output format
+     * @param reportBody Report content
+     * @return Report response
+     */
+    private static ResponseEntity<StreamingResponseBody> reportResponse(String basename, ReportFormat format,
+                                                                        StreamingResponseBody reportBody) {
         return ResponseEntity.ok()
-                .header("Content-Type", "application/pdf")
-                .header("Content-Disposition", "attachment; filename=" + filename)
-                .body(reportBytes);
+                .header("Content-Type", format.getContentType())
+                .header("Content-Disposition", "attachment; filename=" + basename + "." + format.getExtension())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(reportBody);
+    }
+
+    private static Authentication currentAuthentication() {
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.shiftmanager.api.controller;
+
+import com.shiftmanager.api.dto.ShiftGenerationRequestDTO;
+import com.shiftmanager.api.dto.ShiftGenerationResultDTO;
+import com.shiftmanager.api.dto.ShiftPatternDTO;
+import com.shiftmanager.api.service.ShiftPatternService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for recurring shift patterns and generating shifts from them
+ */
+@RestController
+@RequestMapping("/api/shift-patterns")
+@PreAuthorize("hasRole('ROLE_MANAGER') or hasRole('ROLE_ADMIN')")
+@AllArgsConstructor
+public class ShiftPatternController {
+
+    private final ShiftPatternService shiftPatternService;
+
+    @GetMapping
+    public ResponseEntity<List<ShiftPatternDTO>> getAllPatterns() {
+        return ResponseEntity.ok(shiftPatternService.getAllPatterns());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ShiftPatternDTO> getPatternById(@PathVariable Long id) {
+        return ResponseEntity.ok(shiftPatternService.getPatternById(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<ShiftPatternDTO> createPattern(@Valid @RequestBody ShiftPatternDTO patternDTO) {
+        ShiftPatternDTO createdPattern = shiftPatternService.createPattern(patternDTO);
+        return new ResponseEntity<>(createdPattern, HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ShiftPatternDTO> updatePattern(
+            @PathVariable Long id,
+            @Valid @RequestBody ShiftPatternDTO patternDTO) {
+        return ResponseEntity.ok(shiftPatternService.updatePattern(id, patternDTO));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletePattern(@PathVariable Long id) {
+        shiftPatternService.deletePattern(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Create the shifts of patterns over a date range, skipping shifts the locations already have
+     * @param request Patterns (all active ones if none are given) and date range
+     * @return Number of shifts created and skipped
+     */
+    @PostMapping("/generate")
+    public ResponseEntity<ShiftGenerationResultDTO> generateShifts(@Valid @RequestBody ShiftGenerationRequestDTO request) {
+        return ResponseEntity.ok(shiftPatternService.generateShifts(request));
+    }
+}
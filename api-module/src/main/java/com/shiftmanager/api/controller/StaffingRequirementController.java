@@ -0,0 +1,44 @@
+package com.shiftmanager.api.controller;
+
+import com.shiftmanager.api.dto.StaffingRequirementDTO;
+import com.shiftmanager.api.service.StaffingRequirementService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for the number of employees the shifts of each shift type need
+ */
+@RestController
+@RequestMapping("/api/staffing-requirements")
+@PreAuthorize("hasRole('ROLE_MANAGER') or hasRole('ROLE_ADMIN')")
+@AllArgsConstructor
+public class StaffingRequirementController {
+
+    private final StaffingRequirementService staffingRequirementService;
+
+    @GetMapping
+    public ResponseEntity<List<StaffingRequirementDTO>> getAllRequirements() {
+        return ResponseEntity.ok(staffingRequirementService.getAllRequirements());
+    }
+
+    /**
+     * Set the headcount a shift type needs at a location, or at all locations without one
+     * @param requirementDTO The requirement
+     * @return The saved requirement
+     */
+    @PutMapping
+    public ResponseEntity<StaffingRequirementDTO> setRequirement(@Valid @RequestBody StaffingRequirementDTO requirementDTO) {
+        return ResponseEntity.ok(staffingRequirementService.setRequirement(requirementDTO));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRequirement(@PathVariable Long id) {
+        staffingRequirementService.deleteRequirement(id);
+        return ResponseEntity.noContent().build();
+    }
+}
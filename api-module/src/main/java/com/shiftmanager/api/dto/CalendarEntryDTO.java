@@ -20,6 +20,7 @@ public class CalendarEntryDTO {
     private Long id;
     private Long calendarId;
     private LocalDate entryDate;
+    private LocalDate endDate;
     private LocalTime startTime;
     private LocalTime endTime;
     private String entryType;
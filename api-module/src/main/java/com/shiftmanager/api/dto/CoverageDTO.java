@@ -0,0 +1,52 @@
+package com.shiftmanager.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the shifts of a location in a date range that need more employees than are
+ * assigned to them
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoverageDTO {
+
+    private Long locationId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    /**
+     * Number of shifts nobody is assigned to
+     */
+    private int openShifts;
+
+    /**
+     * Number of shifts with some, but not enough, employees assigned
+     */
+    private int understaffedShifts;
+
+    /**
+     * Number of assignments still needed to staff all shifts
+     */
+    private int missingHeadcount;
+
+    /**
+     * Open and understaffed shifts ordered by date and start time
+     */
+    private List<CoverageGapDTO> gaps;
+
+    /**
+     * Static builder method
+     * @return Builder
+     */
+    public static CoverageDTOBuilder builder() {
+        return new CoverageDTOBuilder();
+    }
+}
@@ -0,0 +1,34 @@
+package com.shiftmanager.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO for a shift that needs more employees than are assigned to it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoverageGapDTO {
+
+    private Long shiftId;
+    private LocalDate shiftDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Long shiftTypeId;
+    private String shiftTypeName;
+
+    /**
+     * Number of employees assigned
+     */
+    private int assigned;
+
+    /**
+     * Number of employees the shift needs
+     */
+    private int required;
+}
@@ -0,0 +1,43 @@
+package com.shiftmanager.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for submitting a background report job. Which parameters are required depends on the report type.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequestDTO {
+
+    @NotBlank(message = "Report type is required")
+    private String reportType;
+
+    /**
+     * Employee ID, manager ID or location ID for the schedule reports
+     */
+    private Long subjectId;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private Integer year;
+
+    private Integer month;
+
+    private Long departmentId;
+
+    private List<Long> employeeIds;
+
+    /**
+     * TEXT, CSV or JSON (defaults to TEXT)
+     */
+    private String format;
+}
@@ -0,0 +1,50 @@
+package com.shiftmanager.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for a proposed staffing of the open shifts of a location for one week. The assignments
+ * can be committed as they are through the bulk assignment endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleProposalDTO {
+    
+    private Long locationId;
+    private LocalDate weekStart;
+    private LocalDate weekEnd;
+    
+    /**
+     * Number of shifts nobody was assigned to
+     */
+    private int openShifts;
+    
+    private List<ShiftAssignmentDTO> assignments;
+    
+    /**
+     * Open shifts no team member can take
+     */
+    private List<Long> unfilledShiftIds;
+    
+    /**
+     * Hours of each team member in the week with the proposal, by employee ID
+     */
+    private Map<Long, Double> weeklyHours;
+    
+    /**
+     * Static builder method
+     * @return Builder
+     */
+    public static ScheduleProposalDTOBuilder builder() {
+        return new ScheduleProposalDTOBuilder();
+    }
+}
@@ -0,0 +1,32 @@
+package com.shiftmanager.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for one assignment of an employee to a shift in a bulk assignment request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftAssignmentDTO {
+    
+    @NotNull(message = "Shift ID is required")
+    private Long shiftId;
+    
+    @NotNull(message = "Employee ID is required")
+    private Long employeeId;
+    
+    /**
+     * Static builder method
+     * @return Builder
+     */
+    public static ShiftAssignmentDTOBuilder builder() {
+        return new ShiftAssignmentDTOBuilder();
+    }
+}
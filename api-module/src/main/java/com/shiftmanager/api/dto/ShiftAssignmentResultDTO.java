@@ -0,0 +1,33 @@
+package com.shiftmanager.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one assignment of a bulk assignment request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftAssignmentResultDTO {
+    
+    private Long shiftId;
+    private Long employeeId;
+    private boolean success;
+    
+    /**
+     * Why the assignment was rejected, or a confirmation
+     */
+    private String message;
+    
+    /**
+     * Static builder method
+     * @return Builder
+     */
+    public static ShiftAssignmentResultDTOBuilder builder() {
+        return new ShiftAssignmentResultDTOBuilder();
+    }
+}
@@ -0,0 +1,29 @@
+package com.shiftmanager.api.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for generating shifts from shift patterns over a date range
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftGenerationRequestDTO {
+
+    /**
+     * Patterns to expand, or null or empty for all active patterns
+     */
+    private List<Long> patternIds;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+}
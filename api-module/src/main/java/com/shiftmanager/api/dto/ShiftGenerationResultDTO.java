@@ -0,0 +1,40 @@
+package com.shiftmanager.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for the outcome of generating shifts from shift patterns
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftGenerationResultDTO {
+
+    private int patterns;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    /**
+     * Number of shifts created
+     */
+    private int created;
+
+    /**
+     * Number of pattern shifts left out because the location already had them
+     */
+    private int skipped;
+
+    /**
+     * Static builder method
+     * @return Builder
+     */
+    public static ShiftGenerationResultDTOBuilder builder() {
+        return new ShiftGenerationResultDTOBuilder();
+    }
+}
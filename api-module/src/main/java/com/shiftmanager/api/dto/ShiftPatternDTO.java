@@ -0,0 +1,48 @@
+package com.shiftmanager.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a recurring shift pattern of a location
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftPatternDTO {
+
+    private Long id;
+
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    @NotNull(message = "Location ID is required")
+    private Long locationId;
+
+    /**
+     * Date of day 0 of the cycle
+     */
+    @NotNull(message = "Cycle start date is required")
+    private LocalDate cycleStartDate;
+
+    @Min(value = 1, message = "Cycle length must be at least 1 day")
+    @Max(value = 366, message = "Cycle length cannot exceed 366 days")
+    private int cycleLength;
+
+    private boolean active = true;
+
+    @Valid
+    @NotEmpty(message = "At least one slot is required")
+    private List<ShiftPatternSlotDTO> slots = new ArrayList<>();
+}
@@ -0,0 +1,37 @@
+package com.shiftmanager.api.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+/**
+ * DTO for one shift of a shift pattern's cycle
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftPatternSlotDTO {
+
+    /**
+     * Day of the cycle, from 0 to the cycle length - 1
+     */
+    @Min(value = 0, message = "Cycle day cannot be negative")
+    private int cycleDay;
+
+    @NotNull(message = "Shift type ID is required")
+    private Long shiftTypeId;
+
+    /**
+     * Start time, or null for the shift type's default
+     */
+    private LocalTime startTime;
+
+    /**
+     * End time, or null for the shift type's default
+     */
+    private LocalTime endTime;
+}
@@ -0,0 +1,33 @@
+package com.shiftmanager.api.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the number of employees the shifts of a shift type need
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffingRequirementDTO {
+
+    private Long id;
+
+    /**
+     * Location ID, or null for all locations
+     */
+    private Long locationId;
+
+    private String locationName;
+
+    @NotNull(message = "Shift type ID is required")
+    private Long shiftTypeId;
+
+    private String shiftTypeName;
+
+    @Min(value = 0, message = "Required headcount cannot be negative")
+    private int requiredHeadcount;
+}
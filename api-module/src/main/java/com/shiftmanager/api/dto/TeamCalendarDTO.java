@@ -0,0 +1,36 @@
+package com.shiftmanager.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one team member's calendar entries within a date range
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamCalendarDTO {
+    
+    private Long employeeId;
+    private String employeeName;
+    
+    /**
+     * Calendar ID, null if the employee has no calendar yet
+     */
+    private Long calendarId;
+    
+    private List<CalendarEntryDTO> entries;
+    
+    /**
+     * Static builder method
+     * @return Builder
+     */
+    public static TeamCalendarDTOBuilder builder() {
+        return new TeamCalendarDTOBuilder();
+    }
+}
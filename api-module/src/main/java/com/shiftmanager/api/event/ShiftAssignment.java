@@ -0,0 +1,19 @@
+package com.shiftmanager.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * An employee's assignment to a shift, by ID
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ShiftAssignment {
+
+    private final Long employeeId;
+    private final Long shiftId;
+}
@@ -0,0 +1,41 @@
+package com.shiftmanager.api.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Published when employees are assigned to or removed from shifts. An adjusted assignment
+ * is a removal from the old shift and an assignment to the new one.
+ */
+@Getter
+@ToString
+public class ShiftAssignmentEvent {
+
+    private final List<ShiftAssignment> assigned;
+    private final List<ShiftAssignment> unassigned;
+
+    public ShiftAssignmentEvent(List<ShiftAssignment> assigned, List<ShiftAssignment> unassigned) {
+        this.assigned = List.copyOf(assigned);
+        this.unassigned = List.copyOf(unassigned);
+    }
+
+    /**
+     * Create an event for new assignments
+     * @param assignments Assignments
+     * @return Event
+     */
+    public static ShiftAssignmentEvent assigned(ShiftAssignment... assignments) {
+        return new ShiftAssignmentEvent(List.of(assignments), List.of());
+    }
+
+    /**
+     * Create an event for removed assignments
+     * @param assignments Assignments
+     * @return Event
+     */
+    public static ShiftAssignmentEvent unassigned(ShiftAssignment... assignments) {
+        return new ShiftAssignmentEvent(List.of(), List.of(assignments));
+    }
+}
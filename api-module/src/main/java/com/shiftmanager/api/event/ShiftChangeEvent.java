@@ -0,0 +1,40 @@
+package com.shiftmanager.api.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * Published when shifts are updated or deleted
+ */
+@Getter
+@ToString
+public class ShiftChangeEvent {
+
+    private final Set<Long> updatedShiftIds;
+    private final Set<Long> deletedShiftIds;
+
+    public ShiftChangeEvent(Set<Long> updatedShiftIds, Set<Long> deletedShiftIds) {
+        this.updatedShiftIds = Set.copyOf(updatedShiftIds);
+        this.deletedShiftIds = Set.copyOf(deletedShiftIds);
+    }
+
+    /**
+     * Create an event for updated shifts
+     * @param shiftIds Shift IDs
+     * @return Event
+     */
+    public static ShiftChangeEvent updated(Long... shiftIds) {
+        return new ShiftChangeEvent(Set.of(shiftIds), Set.of());
+    }
+
+    /**
+     * Create an event for deleted shifts
+     * @param shiftIds Shift IDs
+     * @return Event
+     */
+    public static ShiftChangeEvent deleted(Long... shiftIds) {
+        return new ShiftChangeEvent(Set.of(), Set.of(shiftIds));
+    }
+}
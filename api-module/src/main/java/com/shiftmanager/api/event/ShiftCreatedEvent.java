@@ -0,0 +1,41 @@
+package com.shiftmanager.api.event;
+
+import com.shiftmanager.api.model.Shift;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Published when shifts are created, with the dates they were created on by location.
+ * Shifts written in JDBC batches have no IDs, so the event does not carry them.
+ */
+@Getter
+@ToString
+public class ShiftCreatedEvent {
+
+    private final Map<Long, Set<LocalDate>> datesByLocationId;
+
+    public ShiftCreatedEvent(Map<Long, Set<LocalDate>> datesByLocationId) {
+        this.datesByLocationId = Map.copyOf(datesByLocationId);
+    }
+
+    /**
+     * Create an event for new shifts
+     * @param shifts Shifts, each with its location set
+     * @return Event
+     */
+    public static ShiftCreatedEvent of(Collection<Shift> shifts) {
+        Map<Long, Set<LocalDate>> datesByLocationId = new HashMap<>();
+        for (Shift shift : shifts) {
+            datesByLocationId.computeIfAbsent(shift.getLocation().getId(), id -> new HashSet<>()).add(shift.getShiftDate());
+        }
+        datesByLocationId.replaceAll((locationId, dates) -> Set.copyOf(dates));
+        return new ShiftCreatedEvent(datesByLocationId);
+    }
+}
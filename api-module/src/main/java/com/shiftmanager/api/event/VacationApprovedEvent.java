@@ -0,0 +1,20 @@
+package com.shiftmanager.api.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Published when vacation requests are approved
+ */
+@Getter
+@ToString
+public class VacationApprovedEvent {
+
+    private final List<Long> vacationRequestIds;
+
+    public VacationApprovedEvent(Long... vacationRequestIds) {
+        this.vacationRequestIds = List.of(vacationRequestIds);
+    }
+}
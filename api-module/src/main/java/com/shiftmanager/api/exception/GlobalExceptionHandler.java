@@ -89,6 +89,27 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
+    /**
+     * Handle ReportQueueFullException
+     * @param ex The exception
+     * @param request The web request
+     * @return Response with RFC 7807 problem details
+     */
+    @ExceptionHandler(ReportQueueFullException.class)
+    public ProblemDetail handleReportQueueFullException(
+            ReportQueueFullException ex, WebRequest request) {
+        log.warn("Report queue full: {}", ex.getMessage());
+        
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        problemDetail.setTitle("Report Queue Full");
+        problemDetail.setType(URI.create(ERROR_URI_BASE + "/report-queue-full"));
+        problemDetail.setProperty("timestamp", Instant.now());
+        problemDetail.setProperty("request", request.getDescription(false));
+        
+        return problemDetail;
+    }
+
     /**
      * Handle MethodArgumentNotValidException
      * @param ex The exception
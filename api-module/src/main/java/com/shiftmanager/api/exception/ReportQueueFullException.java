@@ -0,0 +1,15 @@
+package com.shiftmanager.api.exception;
+
+/**
+ * Exception thrown when the background report queue cannot take more jobs
+ */
+public class ReportQueueFullException extends RuntimeException {
+
+    /**
+     * Constructor with error message
+     * @param message Error message
+     */
+    public ReportQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.shiftmanager.api.mapper;
+
+import org.mapstruct.Mapper;
+
+import com.shiftmanager.api.dto.ReportJobDTO;
+import com.shiftmanager.api.model.ReportJob;
+
+@Mapper(componentModel = "spring")
+public interface ReportJobMapper {
+
+    ReportJobDTO toDto(ReportJob reportJob);
+}
@@ -2,13 +2,24 @@ package com.shiftmanager.api.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Calendar entity - represents an employee's schedule calendar
@@ -31,15 +42,60 @@ public class Calendar extends BaseEntity {
     @Column(name = "month")
     private int month;
     
+    /**
+     * Incremented by every write to the calendar's entries; feeds and month views are checked
+     * against it. Kept apart from the optimistic lock version so that entry writes do not fail
+     * a concurrent save of the calendar, and only changed by bulk updates, never by a save.
+     */
+    @Column(name = "content_version", nullable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private long contentVersion;
+    
     @OneToMany(mappedBy = "calendar", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<CalendarEntry> entries = new HashSet<>();
     
+    /**
+     * Entries by entry date, built from the entries on first use and kept up to date by
+     * {@link #addEntry} and {@link #removeEntry}
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private NavigableMap<LocalDate, Set<CalendarEntry>> entriesByDate;
+    
+    /**
+     * Entries by entry type, maintained together with the date index
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<String, Set<CalendarEntry>> entriesByType;
+    
+    /**
+     * Entries spanning several days, which the date index holds under their first day only
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<CalendarEntry> spanningEntries;
+    
+    /**
+     * Replace the entries of the calendar
+     * @param entries Calendar entries
+     */
+    public void setEntries(Set<CalendarEntry> entries) {
+        this.entries = entries;
+        clearIndexes();
+    }
+    
     /**
      * Add an entry to the calendar
      * @param entry Calendar entry to add
      */
     public void addEntry(CalendarEntry entry) {
-        entries.add(entry);
+        if (entries.add(entry) && entriesByDate != null) {
+            index(entry);
+        }
         entry.setCalendar(this);
     }
     
@@ -48,47 +104,162 @@ public class Calendar extends BaseEntity {
      * @param entry Calendar entry to remove
      */
     public void removeEntry(CalendarEntry entry) {
-        entries.remove(entry);
+        if (entries.remove(entry) && entriesByDate != null
+                && !(removeFromIndex(entriesByDate, entry.getEntryDate(), entry)
+                     && removeFromIndex(entriesByType, entry.getEntryType(), entry)
+                     && spanningEntries.remove(entry) == entry.isSpanning())) {
+            // The entry was moved to another date or type, or its span changed, after it was indexed
+            clearIndexes();
+        }
         entry.setCalendar(null);
     }
     
     /**
      * Get entries for a specific date
      * @param date Date to get entries for
-     * @return Set of entries for the date
+     * @return Read-only set of entries on the date, spanning entries that started on an earlier
+     *         day first, then the entries of the date in the order they were added
      */
     @Transient
     public Set<CalendarEntry> getEntriesForDate(LocalDate date) {
-        return entries.stream()
-                .filter(entry -> entry.getEntryDate().equals(date))
-                .collect(java.util.stream.Collectors.toSet());
+        Set<CalendarEntry> starting = dateIndex().getOrDefault(date, Collections.emptySet());
+        Set<CalendarEntry> continuing = spansContinuingInto(date);
+        if (continuing.isEmpty()) {
+            return Collections.unmodifiableSet(starting);
+        }
+        continuing.addAll(starting);
+        return Collections.unmodifiableSet(continuing);
     }
     
     /**
      * Get entries of a specific type
      * @param entryType Type of entries to get
-     * @return Set of entries of the specified type
+     * @return Read-only set of entries of the specified type, in the order they were added
      */
     @Transient
     public Set<CalendarEntry> getEntriesByType(String entryType) {
-        return entries.stream()
-                .filter(entry -> entry.getEntryType().equals(entryType))
-                .collect(java.util.stream.Collectors.toSet());
+        dateIndex();
+        return Collections.unmodifiableSet(entriesByType.getOrDefault(entryType, Collections.emptySet()));
     }
     
     /**
      * Get entries for a date range
      * @param startDate Start date
      * @param endDate End date
-     * @return Set of entries in the date range
+     * @return Read-only view of the entries in the date range, in date order; a spanning entry
+     *         that overlaps the range appears once, ordered by its first day
      */
     @Transient
-    public Set<CalendarEntry> getEntriesForDateRange(LocalDate startDate, LocalDate endDate) {
-        return entries.stream()
-                .filter(entry -> {
-                    LocalDate entryDate = entry.getEntryDate();
-                    return !entryDate.isBefore(startDate) && !entryDate.isAfter(endDate);
-                })
-                .collect(java.util.stream.Collectors.toSet());
+    public Collection<CalendarEntry> getEntriesForDateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return Collections.emptyList();
+        }
+        NavigableMap<LocalDate, Set<CalendarEntry>> days = dateIndex().subMap(startDate, true, endDate, true);
+        return new EntriesView(spansContinuingInto(startDate), days.values());
+    }
+    
+    /**
+     * Get the date index, building it from the entries if the calendar was loaded or its
+     * entries replaced since it was last used
+     */
+    private NavigableMap<LocalDate, Set<CalendarEntry>> dateIndex() {
+        if (entriesByDate == null) {
+            entriesByDate = new TreeMap<>();
+            entriesByType = new HashMap<>();
+            spanningEntries = new LinkedHashSet<>();
+            for (CalendarEntry entry : entries) {
+                index(entry);
+            }
+        }
+        return entriesByDate;
+    }
+    
+    private void index(CalendarEntry entry) {
+        entriesByDate.computeIfAbsent(entry.getEntryDate(), date -> new LinkedHashSet<>()).add(entry);
+        entriesByType.computeIfAbsent(entry.getEntryType(), type -> new LinkedHashSet<>()).add(entry);
+        if (entry.isSpanning()) {
+            spanningEntries.add(entry);
+        }
+    }
+    
+    /**
+     * Find the spanning entries that started before a date and are still running on it
+     * @param date Date to check
+     * @return New set of the entries, in the order they were added
+     */
+    private Set<CalendarEntry> spansContinuingInto(LocalDate date) {
+        Set<CalendarEntry> continuing = new LinkedHashSet<>();
+        for (CalendarEntry entry : spanningEntries) {
+            if (entry.getEntryDate().isBefore(date) && !entry.getLastDate().isBefore(date)) {
+                continuing.add(entry);
+            }
+        }
+        return continuing;
+    }
+    
+    private static <K> boolean removeFromIndex(Map<K, Set<CalendarEntry>> index, K key, CalendarEntry entry) {
+        Set<CalendarEntry> bucket = index.get(key);
+        if (bucket == null || !bucket.remove(entry)) {
+            return false;
+        }
+        if (bucket.isEmpty()) {
+            index.remove(key);
+        }
+        return true;
+    }
+    
+    private void clearIndexes() {
+        entriesByDate = null;
+        entriesByType = null;
+        spanningEntries = null;
+    }
+    
+    /**
+     * Read-only view of the entries of a range of dates, after the spanning entries carried
+     * into the range from earlier days
+     */
+    private static final class EntriesView extends AbstractCollection<CalendarEntry> {
+        
+        private final Set<CalendarEntry> carried;
+        private final Collection<Set<CalendarEntry>> days;
+        
+        private EntriesView(Set<CalendarEntry> carried, Collection<Set<CalendarEntry>> days) {
+            this.carried = carried;
+            this.days = days;
+        }
+        
+        @Override
+        public Iterator<CalendarEntry> iterator() {
+            Iterator<Set<CalendarEntry>> dayIterator = days.iterator();
+            return new Iterator<>() {
+                
+                private Iterator<CalendarEntry> entryIterator = carried.iterator();
+                
+                @Override
+                public boolean hasNext() {
+                    while (!entryIterator.hasNext() && dayIterator.hasNext()) {
+                        entryIterator = dayIterator.next().iterator();
+                    }
+                    return entryIterator.hasNext();
+                }
+                
+                @Override
+                public CalendarEntry next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return entryIterator.next();
+                }
+            };
+        }
+        
+        @Override
+        public int size() {
+            int size = carried.size();
+            for (Set<CalendarEntry> day : days) {
+                size += day.size();
+            }
+            return size;
+        }
     }
-}
\ No newline at end of file
+}
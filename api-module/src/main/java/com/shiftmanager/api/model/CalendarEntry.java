@@ -15,7 +15,10 @@ import java.time.LocalTime;
  * CalendarEntry entity - represents an event in an employee's calendar
  */
 @Entity
-@Table(name = "calendar_entry")
+@Table(name = "calendar_entry", indexes = {
+        @Index(name = "idx_calendar_entry_calendar_date", columnList = "calendar_id, entry_date"),
+        @Index(name = "idx_calendar_entry_reference", columnList = "entry_type, reference_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,6 +33,9 @@ public class CalendarEntry extends BaseEntity {
     @Column(name = "entry_date", nullable = false)
     private LocalDate entryDate;
     
+    @Column(name = "end_date")
+    private LocalDate endDate;  // Last day of an entry spanning several days, null for a single day
+    
     @Column(name = "start_time")
     private LocalTime startTime;
     
@@ -94,6 +100,7 @@ public class CalendarEntry extends BaseEntity {
     public CalendarEntry(Calendar calendar, VacationRequest vacationRequest) {
         this.calendar = calendar;
         this.entryDate = vacationRequest.getStartDate(); // First day of vacation
+        this.endDate = vacationRequest.getEndDate(); // One entry spans the whole vacation
         this.entryType = "VACATION";
         this.title = "Vacation";
         this.description = vacationRequest.getReason();
@@ -143,4 +150,39 @@ public class CalendarEntry extends BaseEntity {
         this.referenceId = referenceId;
         this.color = color;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Get the last day of the entry
+     * @return End date of a spanning entry, otherwise the entry date
+     */
+    public LocalDate getLastDate() {
+        return endDate != null && endDate.isAfter(entryDate) ? endDate : entryDate;
+    }
+    
+    /**
+     * Check if the entry spans more than one day
+     * @return true if the entry ends after its entry date
+     */
+    public boolean isSpanning() {
+        return endDate != null && endDate.isAfter(entryDate);
+    }
+    
+    /**
+     * Create the occurrence of a spanning entry on one of its days. The occurrence is a
+     * detached copy with the entry's ID and end date, never persisted itself. Static so that
+     * mappers do not take it for a fluent setter.
+     * @param entry Spanning entry
+     * @param date Day of the occurrence
+     * @return Copy of the entry on the given date
+     */
+    public static CalendarEntry occurrenceOf(CalendarEntry entry, LocalDate date) {
+        CalendarEntry occurrence = new CalendarEntry(entry.calendar, date, entry.startTime, entry.endTime,
+                entry.entryType, entry.title, entry.description, entry.allDay, entry.referenceId, entry.color);
+        occurrence.setEndDate(entry.endDate);
+        occurrence.setId(entry.getId());
+        occurrence.setVersion(entry.getVersion());
+        occurrence.setCreatedAt(entry.getCreatedAt());
+        occurrence.setUpdatedAt(entry.getUpdatedAt());
+        return occurrence;
+    }
+}
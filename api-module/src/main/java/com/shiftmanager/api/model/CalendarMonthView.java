@@ -0,0 +1,60 @@
+package com.shiftmanager.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * CalendarMonthView entity - one month of a calendar's entries, serialized as the dashboard
+ * returns them. The view records the calendar's content version it was built from, so any change to the
+ * calendar's entries makes it stale and it is rebuilt on the next read.
+ */
+@Entity
+@Table(name = "calendar_month_view", uniqueConstraints = @UniqueConstraint(
+        name = "uk_calendar_month_view_month", columnNames = {"calendar_id", "year", "month"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class CalendarMonthView extends BaseEntity {
+
+    @NotNull(message = "Calendar is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "calendar_id", nullable = false)
+    private Calendar calendar;
+
+    @Column(name = "year", nullable = false)
+    private int year;
+
+    @Column(name = "month", nullable = false)
+    private int month;
+
+    /**
+     * Content version of the calendar when the view was built
+     */
+    @Column(name = "calendar_version", nullable = false)
+    private long calendarVersion;
+
+    /**
+     * Entries of the month as a JSON array of calendar entry DTOs
+     */
+    @Lob
+    @Column(name = "entries", nullable = false)
+    private String entries;
+
+    public CalendarMonthView(Calendar calendar, int year, int month, long calendarVersion, String entries) {
+        this.calendar = calendar;
+        this.year = year;
+        this.month = month;
+        this.calendarVersion = calendarVersion;
+        this.entries = entries;
+    }
+}
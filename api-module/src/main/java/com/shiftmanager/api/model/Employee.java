@@ -7,7 +7,9 @@ import java.util.List;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -17,8 +19,14 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
+import com.shiftmanager.api.service.report.ReportDataChangeListener;
+
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_manager", columnList = "manager_id"),
+        @Index(name = "idx_employees_location", columnList = "location_id")
+})
+@EntityListeners(ReportDataChangeListener.class)
 @DiscriminatorValue("EMPLOYEE")
 @Data
 @EqualsAndHashCode(callSuper = true)
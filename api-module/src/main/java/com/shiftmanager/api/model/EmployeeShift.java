@@ -1,5 +1,6 @@
 package com.shiftmanager.api.model;
 
+import com.shiftmanager.api.service.report.ReportDataChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -11,7 +12,11 @@ import lombok.Setter;
  * EmployeeShift entity for mapping employees to shifts
  */
 @Entity
-@Table(name = "employee_shift")
+@Table(name = "employee_shift", indexes = {
+        @Index(name = "idx_employee_shift_employee", columnList = "employee_id, shift_id"),
+        @Index(name = "idx_employee_shift_shift", columnList = "shift_id, status")
+})
+@EntityListeners(ReportDataChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,6 +2,7 @@ package com.shiftmanager.api.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -9,8 +10,11 @@ import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.shiftmanager.api.service.report.ReportDataChangeListener;
+
 @Entity
 @Table(name = "locations")
+@EntityListeners(ReportDataChangeListener.class)
 @Data
 @NoArgsConstructor
 public class Location {
@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
  * Notification entity for sending notifications to employees
  */
 @Entity
-@Table(name = "notification")
+@Table(name = "notification", indexes = {
+        @Index(name = "idx_notification_employee", columnList = "employee_id, is_read, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,118 @@
+package com.shiftmanager.api.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ReportJob entity for reports that are rendered in the background and downloaded later
+ */
+@Entity
+@Table(name = "report_job")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReportJob extends BaseEntity {
+
+    public static final String TYPE_EMPLOYEE_SCHEDULE = "EMPLOYEE_SCHEDULE";
+    public static final String TYPE_TEAM_SCHEDULE = "TEAM_SCHEDULE";
+    public static final String TYPE_LOCATION_SCHEDULE = "LOCATION_SCHEDULE";
+    public static final String TYPE_VACATION_SUMMARY = "VACATION_SUMMARY";
+    public static final String TYPE_HOURS_WORKED = "HOURS_WORKED";
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @NotBlank(message = "Report type is required")
+    @Size(max = 30, message = "Report type cannot exceed 30 characters")
+    @Column(name = "report_type", nullable = false, length = 30)
+    private String reportType;
+
+    @NotBlank(message = "Status is required")
+    @Size(max = 20, message = "Status cannot exceed 20 characters")
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @NotBlank(message = "Requester is required")
+    @Column(name = "requested_by", nullable = false, length = 100)
+    private String requestedBy;
+
+    /**
+     * Employee, manager or location ID, depending on the report type
+     */
+    @Column(name = "subject_id")
+    private Long subjectId;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "report_year")
+    private Integer reportYear;
+
+    @Column(name = "report_month")
+    private Integer reportMonth;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    /**
+     * Comma-separated employee IDs for the hours worked report (all employees if empty)
+     */
+    @Column(name = "employee_ids", length = 4000)
+    private String employeeIds;
+
+    @Column(name = "report_format", nullable = false, length = 10)
+    private String reportFormat;
+
+    @Column(name = "filename", nullable = false)
+    private String filename;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    /**
+     * Size of the stored (compressed) artifact in bytes
+     */
+    @Column(name = "artifact_size")
+    private Long artifactSize;
+
+    @Size(max = 500, message = "Error message cannot exceed 500 characters")
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    /**
+     * Check if the job is still waiting or running
+     * @return true if the job has not finished yet
+     */
+    public boolean isPending() {
+        return STATUS_QUEUED.equals(status) || STATUS_RUNNING.equals(status);
+    }
+
+    /**
+     * Check if the artifact is ready for download
+     * @return true if the job completed successfully
+     */
+    public boolean isCompleted() {
+        return STATUS_COMPLETED.equals(status);
+    }
+}
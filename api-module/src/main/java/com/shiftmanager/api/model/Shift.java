@@ -10,6 +10,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -20,9 +21,14 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.shiftmanager.api.service.report.ReportDataChangeListener;
+
 @Entity
-@Table(name = "shifts")
-@EntityListeners(AuditingEntityListener.class)
+@Table(name = "shifts", indexes = {
+        @Index(name = "idx_shifts_location_date", columnList = "location_id, shift_date"),
+        @Index(name = "idx_shifts_date", columnList = "shift_date")
+})
+@EntityListeners({AuditingEntityListener.class, ReportDataChangeListener.class})
 @Data
 @NoArgsConstructor
 public class Shift {
@@ -0,0 +1,76 @@
+package com.shiftmanager.api.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ShiftPattern entity - a rotation of shifts at one location that repeats every cycle.
+ * Day 0 of the cycle is the cycle start date, so a 7 day pattern starting on a Monday can
+ * put DAY shifts on Monday to Friday and NIGHT shifts on the weekend, and an 8 day pattern
+ * with slots on days 0 to 3 is four on, four off.
+ */
+@Entity
+@Table(name = "shift_pattern", indexes = {
+        @Index(name = "idx_shift_pattern_location", columnList = "location_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ShiftPattern extends BaseEntity {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name cannot exceed 100 characters")
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @NotNull(message = "Location is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "location_id", nullable = false)
+    private Location location;
+
+    @NotNull(message = "Cycle start date is required")
+    @Column(name = "cycle_start_date", nullable = false)
+    private LocalDate cycleStartDate;
+
+    @Min(value = 1, message = "Cycle length must be at least 1 day")
+    @Max(value = 366, message = "Cycle length cannot exceed 366 days")
+    @Column(name = "cycle_length", nullable = false)
+    private int cycleLength;
+
+    @Column(name = "active", nullable = false)
+    private boolean active = true;
+
+    @OneToMany(mappedBy = "pattern", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("cycleDay")
+    private List<ShiftPatternSlot> slots = new ArrayList<>();
+
+    /**
+     * Add a slot to the pattern
+     * @param slot The slot to add
+     */
+    public void addSlot(ShiftPatternSlot slot) {
+        slot.setPattern(this);
+        slots.add(slot);
+    }
+
+    /**
+     * Get the day of the cycle a date falls on, also for dates before the cycle start date
+     * @param date The date
+     * @return Day of the cycle, from 0 to the cycle length - 1
+     */
+    public int getCycleDay(LocalDate date) {
+        return (int) Math.floorMod(ChronoUnit.DAYS.between(cycleStartDate, date), (long) cycleLength);
+    }
+}
@@ -0,0 +1,67 @@
+package com.shiftmanager.api.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalTime;
+
+/**
+ * ShiftPatternSlot entity - one shift a pattern creates on a day of its cycle. Without its
+ * own times the slot uses the default times of its shift type.
+ */
+@Entity
+@Table(name = "shift_pattern_slot", indexes = {
+        @Index(name = "idx_shift_pattern_slot_pattern", columnList = "pattern_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ShiftPatternSlot extends BaseEntity {
+
+    @NotNull(message = "Pattern is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pattern_id", nullable = false)
+    private ShiftPattern pattern;
+
+    @Min(value = 0, message = "Cycle day cannot be negative")
+    @Column(name = "cycle_day", nullable = false)
+    private int cycleDay;
+
+    @NotNull(message = "Shift type is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "shift_type_id", nullable = false)
+    private ShiftType shiftType;
+
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    @Column(name = "end_time")
+    private LocalTime endTime;
+
+    public ShiftPatternSlot(int cycleDay, ShiftType shiftType, LocalTime startTime, LocalTime endTime) {
+        this.cycleDay = cycleDay;
+        this.shiftType = shiftType;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    /**
+     * Get the start time of the slot's shifts
+     * @return The slot's start time, or the shift type's default
+     */
+    public LocalTime getEffectiveStartTime() {
+        return startTime != null ? startTime : shiftType.getDefaultStartTime();
+    }
+
+    /**
+     * Get the end time of the slot's shifts
+     * @return The slot's end time, or the shift type's default
+     */
+    public LocalTime getEffectiveEndTime() {
+        return endTime != null ? endTime : shiftType.getDefaultEndTime();
+    }
+}
@@ -3,6 +3,7 @@ package com.shiftmanager.api.model;
 import java.time.LocalTime;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -10,8 +11,11 @@ import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.shiftmanager.api.service.report.ReportDataChangeListener;
+
 @Entity
 @Table(name = "shift_types")
+@EntityListeners(ReportDataChangeListener.class)
 @Data
 @NoArgsConstructor
 public class ShiftType {
@@ -0,0 +1,36 @@
+package com.shiftmanager.api.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * StaffingRequirement entity - how many employees the shifts of a shift type need. A
+ * requirement without a location applies to all locations; one for a location takes
+ * precedence over it there.
+ */
+@Entity
+@Table(name = "staffing_requirement", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_staffing_requirement_location_type", columnNames = {"location_id", "shift_type_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class StaffingRequirement extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "location_id")
+    private Location location;
+
+    @NotNull(message = "Shift type is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "shift_type_id", nullable = false)
+    private ShiftType shiftType;
+
+    @Min(value = 0, message = "Required headcount cannot be negative")
+    @Column(name = "required_headcount", nullable = false)
+    private int requiredHeadcount;
+}
@@ -1,5 +1,6 @@
 package com.shiftmanager.api.model;
 
+import com.shiftmanager.api.service.report.ReportDataChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -16,7 +17,11 @@ import java.time.temporal.ChronoUnit;
  * VacationRequest entity for handling employee vacation/time-off requests
  */
 @Entity
-@Table(name = "vacation_request")
+@Table(name = "vacation_request", indexes = {
+        @Index(name = "idx_vacation_request_employee", columnList = "employee_id, status, start_date"),
+        @Index(name = "idx_vacation_request_dates", columnList = "start_date, end_date")
+})
+@EntityListeners(ReportDataChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
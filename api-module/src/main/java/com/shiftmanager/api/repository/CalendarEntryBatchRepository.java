@@ -0,0 +1,46 @@
+package com.shiftmanager.api.repository;
+
+import com.shiftmanager.api.model.CalendarEntry;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Bulk writes of calendar entries, which JPA cannot batch because of their identity IDs.
+ * Every write also marks the calendars it changed, by incrementing their version and
+ * updated-at timestamp, which calendar feeds derive their ETags from.
+ */
+public interface CalendarEntryBatchRepository {
+
+    /**
+     * Insert new calendar entries with JDBC batches. The entries are not attached to the
+     * persistence context and do not get their generated IDs.
+     * @param entries New entries, each with its calendar set
+     * @return Number of entries inserted
+     */
+    int insertAll(Collection<CalendarEntry> entries);
+
+    /**
+     * Update the date, times, title, description and colour of every entry with the same type
+     * and reference as one of the given entries, in all calendars, with JDBC batches
+     * @param entries Entries holding the new values
+     * @return Number of entries updated
+     */
+    int updateAllByReference(Collection<CalendarEntry> entries);
+
+    /**
+     * Delete entries by calendar and reference with JDBC batches
+     * @param entryType Entry type
+     * @param referenceIdsByCalendar Reference IDs to delete, by calendar ID
+     * @return Number of entries deleted
+     */
+    int deleteAllByReference(String entryType, Map<Long, ? extends Collection<Long>> referenceIdsByCalendar);
+
+    /**
+     * Delete the entries of all calendars that refer to any of the given entities, with JDBC batches
+     * @param entryType Entry type
+     * @param referenceIds Reference IDs
+     * @return Number of entries deleted
+     */
+    int deleteAllByReference(String entryType, Collection<Long> referenceIds);
+}
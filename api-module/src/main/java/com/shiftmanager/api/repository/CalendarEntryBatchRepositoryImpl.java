@@ -0,0 +1,165 @@
+package com.shiftmanager.api.repository;
+
+import com.shiftmanager.api.model.CalendarEntry;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC implementation of {@link CalendarEntryBatchRepository}, picked up by Spring Data as a
+ * fragment of {@link CalendarEntryRepository}. Runs on the connection of the current JPA
+ * transaction.
+ */
+@AllArgsConstructor
+public class CalendarEntryBatchRepositoryImpl implements CalendarEntryBatchRepository {
+
+    private static final int BATCH_SIZE = JdbcBatchInserts.BATCH_SIZE;
+    private static final String INSERT_SQL = "INSERT INTO calendar_entry (calendar_id, entry_date, end_date, "
+            + "start_time, end_time, entry_type, title, description, all_day, reference_id, color, version, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE calendar_entry SET entry_date = ?, start_time = ?, end_time = ?, "
+            + "title = ?, description = ?, color = ?, version = version + 1, updated_at = ? "
+            + "WHERE entry_type = ? AND reference_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM calendar_entry "
+            + "WHERE calendar_id = ? AND entry_type = ? AND reference_id = ?";
+    private static final String DELETE_REFERENCE_SQL = "DELETE FROM calendar_entry "
+            + "WHERE entry_type = ? AND reference_id = ?";
+    private static final String MARK_CHANGED_SQL = "UPDATE calendar SET content_version = content_version + 1, updated_at = ? "
+            + "WHERE id = ?";
+    private static final String MARK_REFERENCE_CHANGED_SQL = "UPDATE calendar SET content_version = content_version + 1, "
+            + "updated_at = ? WHERE id IN (SELECT calendar_id FROM calendar_entry "
+            + "WHERE entry_type = ? AND reference_id = ?)";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertAll(Collection<CalendarEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = JdbcBatchInserts.insertAll(jdbcTemplate, INSERT_SQL, entries, 12, (statement, entry) -> {
+            statement.setLong(1, entry.getCalendar().getId());
+            statement.setDate(2, Date.valueOf(entry.getEntryDate()));
+            statement.setDate(3, entry.getEndDate() != null ? Date.valueOf(entry.getEndDate()) : null);
+            statement.setTime(4, entry.getStartTime() != null ? Time.valueOf(entry.getStartTime()) : null);
+            statement.setTime(5, entry.getEndTime() != null ? Time.valueOf(entry.getEndTime()) : null);
+            statement.setString(6, entry.getEntryType());
+            statement.setString(7, entry.getTitle());
+            statement.setString(8, entry.getDescription());
+            statement.setBoolean(9, entry.isAllDay());
+            JdbcBatchInserts.setLong(statement, 10, entry.getReferenceId());
+            statement.setString(11, entry.getColor());
+        });
+        markChanged(entries.stream().map(entry -> entry.getCalendar().getId()).collect(Collectors.toSet()), now);
+        return entries.size();
+    }
+
+    @Override
+    public int updateAllByReference(Collection<CalendarEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(MARK_REFERENCE_CHANGED_SQL, entries, BATCH_SIZE, (statement, entry) -> {
+            statement.setTimestamp(1, now);
+            statement.setString(2, entry.getEntryType());
+            statement.setLong(3, entry.getReferenceId());
+        });
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, entries, BATCH_SIZE, (statement, entry) -> {
+            statement.setDate(1, Date.valueOf(entry.getEntryDate()));
+            statement.setTime(2, entry.getStartTime() != null ? Time.valueOf(entry.getStartTime()) : null);
+            statement.setTime(3, entry.getEndTime() != null ? Time.valueOf(entry.getEndTime()) : null);
+            statement.setString(4, entry.getTitle());
+            statement.setString(5, entry.getDescription());
+            statement.setString(6, entry.getColor());
+            statement.setTimestamp(7, now);
+            statement.setString(8, entry.getEntryType());
+            statement.setLong(9, entry.getReferenceId());
+        });
+        return sum(counts);
+    }
+
+    @Override
+    public int deleteAllByReference(String entryType, Map<Long, ? extends Collection<Long>> referenceIdsByCalendar) {
+        List<long[]> references = new ArrayList<>();
+        referenceIdsByCalendar.forEach((calendarId, referenceIds) -> referenceIds
+                .forEach(referenceId -> references.add(new long[]{calendarId, referenceId})));
+        if (references.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(DELETE_SQL, references, BATCH_SIZE, (statement, reference) -> {
+            statement.setLong(1, reference[0]);
+            statement.setString(2, entryType);
+            statement.setLong(3, reference[1]);
+        });
+
+        // Only calendars that lost an entry changed
+        Set<Long> changedCalendarIds = new HashSet<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 0) {
+                    changedCalendarIds.add(references.get(index)[0]);
+                }
+                index++;
+            }
+        }
+        markChanged(changedCalendarIds, Timestamp.valueOf(LocalDateTime.now()));
+        return sum(counts);
+    }
+
+    @Override
+    public int deleteAllByReference(String entryType, Collection<Long> referenceIds) {
+        if (referenceIds.isEmpty()) {
+            return 0;
+        }
+        // Marked first, while the entries still lead to their calendars
+        markReferencesChanged(entryType, referenceIds, Timestamp.valueOf(LocalDateTime.now()));
+        int[][] counts = jdbcTemplate.batchUpdate(DELETE_REFERENCE_SQL, referenceIds, BATCH_SIZE,
+                (statement, referenceId) -> {
+                    statement.setString(1, entryType);
+                    statement.setLong(2, referenceId);
+                });
+        return sum(counts);
+    }
+
+    private void markChanged(Collection<Long> calendarIds, Timestamp now) {
+        jdbcTemplate.batchUpdate(MARK_CHANGED_SQL, calendarIds, BATCH_SIZE, (statement, calendarId) -> {
+            statement.setTimestamp(1, now);
+            statement.setLong(2, calendarId);
+        });
+    }
+
+    private void markReferencesChanged(String entryType, Collection<Long> referenceIds, Timestamp now) {
+        jdbcTemplate.batchUpdate(MARK_REFERENCE_CHANGED_SQL, referenceIds, BATCH_SIZE, (statement, referenceId) -> {
+            statement.setTimestamp(1, now);
+            statement.setString(2, entryType);
+            statement.setLong(3, referenceId);
+        });
+    }
+
+    /**
+     * Total row count of a batch, where drivers that cannot tell count a statement as one row
+     */
+    private static int sum(int[][] counts) {
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+}
@@ -3,18 +3,22 @@ package com.shiftmanager.api.repository;
 import com.shiftmanager.api.model.Calendar;
 import com.shiftmanager.api.model.CalendarEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Repository for CalendarEntry entity
  */
 @Repository
-public interface CalendarEntryRepository extends JpaRepository<CalendarEntry, Long> {
+public interface CalendarEntryRepository extends JpaRepository<CalendarEntry, Long>, CalendarEntryBatchRepository {
     
     /**
      * Find entries by calendar
@@ -63,13 +67,15 @@ public interface CalendarEntryRepository extends JpaRepository<CalendarEntry, Lo
     List<CalendarEntry> findByCalendarIdAndEntryType(Long calendarId, String entryType);
     
     /**
-     * Find entries for a date range
+     * Find entries for a date range, including spanning entries that start before the range
+     * and reach into it
      * @param calendarId Calendar ID
      * @param startDate Start date
      * @param endDate End date
-     * @return List of calendar entries
+     * @return List of calendar entries, spanning entries once, ordered by entry date
      */
-    @Query("SELECT e FROM CalendarEntry e WHERE e.calendar.id = :calendarId AND e.entryDate BETWEEN :startDate AND :endDate ORDER BY e.entryDate ASC")
+    @Query("SELECT e FROM CalendarEntry e WHERE e.calendar.id = :calendarId AND e.entryDate <= :endDate " +
+           "AND COALESCE(e.endDate, e.entryDate) >= :startDate ORDER BY e.entryDate ASC")
     List<CalendarEntry> findByCalendarIdAndDateRange(
             @Param("calendarId") Long calendarId, 
             @Param("startDate") LocalDate startDate, 
@@ -89,4 +95,175 @@ public interface CalendarEntryRepository extends JpaRepository<CalendarEntry, Lo
      * @return List of calendar entries
      */
     List<CalendarEntry> findByEntryTypeAndReferenceId(String entryType, Long referenceId);
-}
\ No newline at end of file
+
+    /**
+     * Find the reference IDs of a calendar's entries of one type
+     * @param calendarId Calendar ID
+     * @param entryType Entry type
+     * @return Reference IDs
+     */
+    @Query("SELECT e.referenceId FROM CalendarEntry e " +
+           "WHERE e.calendar.id = :calendarId AND e.entryType = :entryType AND e.referenceId IS NOT NULL")
+    Set<Long> findReferenceIdsByCalendarIdAndEntryType(
+            @Param("calendarId") Long calendarId,
+            @Param("entryType") String entryType);
+
+    /**
+     * Find which of a set of references the given calendars already have entries for
+     * @param calendarIds Calendar IDs
+     * @param entryType Entry type
+     * @param referenceIds Reference IDs
+     * @return Calendar and reference ID of every matching entry
+     */
+    @Query("SELECT e.calendar.id AS calendarId, e.referenceId AS referenceId FROM CalendarEntry e " +
+           "WHERE e.calendar.id IN :calendarIds AND e.entryType = :entryType AND e.referenceId IN :referenceIds")
+    List<EntryReference> findReferences(
+            @Param("calendarIds") Collection<Long> calendarIds,
+            @Param("entryType") String entryType,
+            @Param("referenceIds") Collection<Long> referenceIds);
+
+    /**
+     * Find the entries of several calendars that overlap a date range, with their calendars
+     * @param calendarIds Calendar IDs
+     * @param startDate Start date
+     * @param endDate End date
+     * @return List of calendar entries ordered by calendar, date, all-day entries first, then start time
+     */
+    @Query("SELECT e FROM CalendarEntry e JOIN FETCH e.calendar c WHERE c.id IN :calendarIds " +
+           "AND e.entryDate <= :endDate AND COALESCE(e.endDate, e.entryDate) >= :startDate " +
+           "ORDER BY c.id, e.entryDate, e.allDay DESC, e.startTime")
+    List<CalendarEntry> findByCalendarIdInAndDateRange(
+            @Param("calendarIds") Collection<Long> calendarIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Delete the entries of some types from the calendars of a range of employees.
+     * The calendars are not marked changed.
+     * @param firstEmployeeId First employee ID of the range
+     * @param lastEmployeeId Last employee ID of the range
+     * @param entryTypes Entry types
+     * @return Number of entries deleted
+     */
+    @Modifying
+    @Query("DELETE FROM CalendarEntry e WHERE e.entryType IN :entryTypes AND e.calendar.id IN " +
+           "(SELECT c.id FROM Calendar c WHERE c.employee.id BETWEEN :firstEmployeeId AND :lastEmployeeId)")
+    int deleteByEmployeeIdBetweenAndEntryTypeIn(
+            @Param("firstEmployeeId") Long firstEmployeeId,
+            @Param("lastEmployeeId") Long lastEmployeeId,
+            @Param("entryTypes") Collection<String> entryTypes);
+
+    /**
+     * Find the entries of several employees' calendars for a date range, as rows for rendering.
+     * Spanning entries overlapping the range are included once, with their own start date.
+     * @param employeeIds Employee IDs
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Entry rows ordered by employee, date, all-day entries first, then start time
+     */
+    @Query("SELECT c.employee.id AS employeeId, e.entryDate AS entryDate, e.endDate AS endDate, " +
+           "e.startTime AS startTime, e.endTime AS endTime, e.title AS title, e.allDay AS allDay, e.color AS color " +
+           "FROM CalendarEntry e JOIN e.calendar c " +
+           "WHERE c.employee.id IN :employeeIds AND e.entryDate <= :endDate " +
+           "AND COALESCE(e.endDate, e.entryDate) >= :startDate " +
+           "ORDER BY c.employee.id, e.entryDate, e.allDay DESC, e.startTime")
+    List<CalendarEntryRow> findRowsByEmployeeIdsAndDateRange(
+            @Param("employeeIds") Collection<Long> employeeIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Find the entries of a manager's direct reports for a date range in one query. Every team
+     * member is returned, those without entries in the range as a single row without an entry.
+     * Spanning entries overlapping the range are included once, with their own start date.
+     * @param managerId Manager ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Rows ordered by employee name, then date, all-day entries first, then start time
+     */
+    @Query("SELECT emp.id AS employeeId, emp.firstName AS firstName, emp.lastName AS lastName, " +
+           "c.id AS calendarId, e.id AS id, e.entryDate AS entryDate, e.endDate AS endDate, " +
+           "e.startTime AS startTime, e.endTime AS endTime, e.entryType AS entryType, e.title AS title, " +
+           "e.description AS description, e.allDay AS allDay, e.referenceId AS referenceId, e.color AS color " +
+           "FROM Employee emp LEFT JOIN Calendar c ON c.employee = emp " +
+           "LEFT JOIN CalendarEntry e ON e.calendar = c AND e.entryDate <= :endDate " +
+           "AND COALESCE(e.endDate, e.entryDate) >= :startDate " +
+           "WHERE emp.manager.id = :managerId " +
+           "ORDER BY emp.lastName, emp.firstName, emp.id, e.entryDate, e.allDay DESC, e.startTime")
+    List<TeamEntryRow> findTeamRowsByManagerIdAndDateRange(
+            @Param("managerId") Long managerId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Calendar and reference of an entry
+     */
+    interface EntryReference {
+
+        Long getCalendarId();
+
+        Long getReferenceId();
+    }
+
+    /**
+     * Column-only view of a calendar entry for exports
+     */
+    interface CalendarEntryRow {
+
+        Long getEmployeeId();
+
+        LocalDate getEntryDate();
+
+        /**
+         * Last day of a spanning entry, null for a single day
+         */
+        LocalDate getEndDate();
+
+        LocalTime getStartTime();
+
+        LocalTime getEndTime();
+
+        String getTitle();
+
+        boolean isAllDay();
+
+        String getColor();
+    }
+
+    /**
+     * Team member with one of their calendar entries. The entry columns are null for a member
+     * without entries in the range.
+     */
+    interface TeamEntryRow {
+
+        Long getEmployeeId();
+
+        String getFirstName();
+
+        String getLastName();
+
+        Long getCalendarId();
+
+        Long getId();
+
+        LocalDate getEntryDate();
+
+        LocalDate getEndDate();
+
+        LocalTime getStartTime();
+
+        LocalTime getEndTime();
+
+        String getEntryType();
+
+        String getTitle();
+
+        String getDescription();
+
+        Boolean getAllDay();
+
+        Long getReferenceId();
+
+        String getColor();
+    }
+}
@@ -0,0 +1,77 @@
+package com.shiftmanager.api.repository;
+
+import com.shiftmanager.api.model.CalendarMonthView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for CalendarMonthView entity
+ */
+@Repository
+public interface CalendarMonthViewRepository extends JpaRepository<CalendarMonthView, Long> {
+
+    /**
+     * Find an employee's month view, together with its calendar's metadata, if it is still
+     * current with the calendar's content version
+     * @param employeeId Employee ID
+     * @param year Year
+     * @param month Month
+     * @return Optional current view (empty if missing or stale)
+     */
+    @Query("SELECT c.id AS calendarId, c.year AS calendarYear, c.month AS calendarMonth, e.id AS employeeId, " +
+           "e.firstName AS firstName, e.lastName AS lastName, v.entries AS entries " +
+           "FROM CalendarMonthView v JOIN v.calendar c JOIN c.employee e " +
+           "WHERE e.id = :employeeId AND v.year = :year AND v.month = :month " +
+           "AND v.calendarVersion = c.contentVersion")
+    Optional<CurrentMonthView> findCurrentByEmployeeId(
+            @Param("employeeId") Long employeeId,
+            @Param("year") int year,
+            @Param("month") int month);
+
+    /**
+     * Replace the entries of an existing month view
+     * @param calendarId Calendar ID
+     * @param year Year
+     * @param month Month
+     * @param calendarVersion Calendar content version the entries were read at
+     * @param entries Entries as a JSON array
+     * @param now Build timestamp
+     * @return Number of views updated (0 if the month has no view yet)
+     */
+    @Modifying
+    @Query("UPDATE CalendarMonthView v SET v.calendarVersion = :calendarVersion, v.entries = :entries, " +
+           "v.version = v.version + 1, v.updatedAt = :now " +
+           "WHERE v.calendar.id = :calendarId AND v.year = :year AND v.month = :month")
+    int refresh(@Param("calendarId") Long calendarId,
+                @Param("year") int year,
+                @Param("month") int month,
+                @Param("calendarVersion") long calendarVersion,
+                @Param("entries") String entries,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * Month view with the metadata of its calendar
+     */
+    interface CurrentMonthView {
+
+        Long getCalendarId();
+
+        int getCalendarYear();
+
+        int getCalendarMonth();
+
+        Long getEmployeeId();
+
+        String getFirstName();
+
+        String getLastName();
+
+        String getEntries();
+    }
+}
@@ -3,10 +3,13 @@ package com.shiftmanager.api.repository;
 import com.shiftmanager.api.model.Calendar;
 import com.shiftmanager.api.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +33,94 @@ public interface CalendarRepository extends JpaRepository<Calendar, Long> {
      */
     Optional<Calendar> findByEmployeeId(Long employeeId);
     
+    /**
+     * Find the calendars of several employees
+     * @param employeeIds Employee IDs
+     * @return Calendars (employees without a calendar are skipped)
+     */
+    @Query("SELECT c FROM Calendar c WHERE c.employee.id IN :employeeIds")
+    List<Calendar> findByEmployeeIdIn(@Param("employeeIds") Collection<Long> employeeIds);
+    
+    /**
+     * Find the calendars of a range of employees
+     * @param firstEmployeeId First employee ID of the range
+     * @param lastEmployeeId Last employee ID of the range
+     * @return Calendars (employees without a calendar are skipped)
+     */
+    @Query("SELECT c FROM Calendar c WHERE c.employee.id BETWEEN :firstEmployeeId AND :lastEmployeeId")
+    List<Calendar> findByEmployeeIdBetween(
+            @Param("firstEmployeeId") Long firstEmployeeId,
+            @Param("lastEmployeeId") Long lastEmployeeId);
+    
+    /**
+     * Create a calendar for every employee of a range that has none, in one statement
+     * @param firstEmployeeId First employee ID of the range
+     * @param lastEmployeeId Last employee ID of the range
+     * @param year Calendar year
+     * @param month Calendar month
+     * @param now Creation timestamp
+     * @return Number of calendars created
+     */
+    @Modifying
+    @Query("INSERT INTO Calendar (employee, year, month, contentVersion, version, createdAt, updatedAt) " +
+           "SELECT e, :year, :month, 0, 0, :now, :now FROM Employee e " +
+           "WHERE e.id BETWEEN :firstEmployeeId AND :lastEmployeeId " +
+           "AND NOT EXISTS (SELECT c.id FROM Calendar c WHERE c.employee = e)")
+    int createMissingCalendars(
+            @Param("firstEmployeeId") Long firstEmployeeId,
+            @Param("lastEmployeeId") Long lastEmployeeId,
+            @Param("year") int year,
+            @Param("month") int month,
+            @Param("now") LocalDateTime now);
+    
+    /**
+     * Mark a calendar's entries changed by incrementing its content version and updated-at
+     * timestamp. The optimistic lock version is left alone, so a concurrent save of the
+     * calendar does not fail.
+     * @param calendarId Calendar ID
+     * @param now Change timestamp
+     * @return Number of calendars marked
+     */
+    @Modifying
+    @Query("UPDATE Calendar c SET c.contentVersion = c.contentVersion + 1, c.updatedAt = :now " +
+           "WHERE c.id = :calendarId")
+    int markEntriesChanged(@Param("calendarId") Long calendarId, @Param("now") LocalDateTime now);
+    
+    /**
+     * Mark the calendars of a range of employees changed
+     * @param firstEmployeeId First employee ID of the range
+     * @param lastEmployeeId Last employee ID of the range
+     * @param now Change timestamp
+     * @return Number of calendars marked
+     * @see #markEntriesChanged(Long, LocalDateTime)
+     */
+    @Modifying
+    @Query("UPDATE Calendar c SET c.contentVersion = c.contentVersion + 1, c.updatedAt = :now " +
+           "WHERE c.employee.id BETWEEN :firstEmployeeId AND :lastEmployeeId")
+    int markEntriesChangedByEmployeeIdBetween(
+            @Param("firstEmployeeId") Long firstEmployeeId,
+            @Param("lastEmployeeId") Long lastEmployeeId,
+            @Param("now") LocalDateTime now);
+    
+    /**
+     * Find the content version of an employee's calendar without loading it
+     * @param employeeId Employee ID
+     * @return Optional calendar stamp
+     */
+    @Query("SELECT c.id AS id, c.contentVersion AS contentVersion, c.updatedAt AS updatedAt FROM Calendar c " +
+           "WHERE c.employee.id = :employeeId")
+    Optional<CalendarStamp> findStampByEmployeeId(@Param("employeeId") Long employeeId);
+    
+    /**
+     * Aggregate the content versions of a manager's team calendars without loading them
+     * @param managerId Manager ID
+     * @return Team stamp (zero calendars for an empty team)
+     */
+    @Query("SELECT COUNT(c) AS calendarCount, COALESCE(SUM(c.id), 0) AS idSum, " +
+           "COALESCE(SUM(c.contentVersion), 0) AS contentVersionSum, MAX(c.updatedAt) AS updatedAt " +
+           "FROM Calendar c WHERE c.employee.manager.id = :managerId")
+    TeamCalendarStamp findTeamStampByManagerId(@Param("managerId") Long managerId);
+    
     /**
      * Find calendars by year and month
      * @param year Year
@@ -53,4 +144,30 @@ public interface CalendarRepository extends JpaRepository<Calendar, Long> {
      */
     @Query("SELECT c FROM Calendar c WHERE c.employee.location.id = :locationId")
     List<Calendar> findByLocationId(@Param("locationId") Long locationId);
-}
\ No newline at end of file
+
+    /**
+     * Identity and content version of a calendar
+     */
+    interface CalendarStamp {
+
+        Long getId();
+
+        long getContentVersion();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Aggregated identity and content versions of a team's calendars
+     */
+    interface TeamCalendarStamp {
+
+        long getCalendarCount();
+
+        long getIdSum();
+
+        long getContentVersionSum();
+
+        LocalDateTime getUpdatedAt();
+    }
+}
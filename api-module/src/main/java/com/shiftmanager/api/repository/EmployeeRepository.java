@@ -1,5 +1,6 @@
 package com.shiftmanager.api.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +23,32 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     
     @Query("SELECT e FROM Employee e WHERE LOWER(e.firstName) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(e.employeeNumber) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<Employee> searchEmployees(@Param("query") String query);
+    
+    @Query("SELECT e.id FROM Employee e ORDER BY e.id")
+    List<Long> findAllIds();
+    
+    @Query("SELECT e.id AS id, e.firstName AS firstName, e.lastName AS lastName, e.position AS position, e.employeeNumber AS employeeNumber FROM Employee e ORDER BY e.id")
+    List<EmployeeSummary> findAllSummaries();
+    
+    @Query("SELECT e.id AS id, e.firstName AS firstName, e.lastName AS lastName, e.position AS position, e.employeeNumber AS employeeNumber FROM Employee e WHERE e.id IN :ids ORDER BY e.id")
+    List<EmployeeSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT e.id AS id, e.firstName AS firstName, e.lastName AS lastName, e.position AS position, e.employeeNumber AS employeeNumber FROM Employee e WHERE e.manager.id = :managerId ORDER BY e.lastName, e.firstName, e.id")
+    List<EmployeeSummary> findSummariesByManagerId(@Param("managerId") Long managerId);
+    
+    /**
+     * Column-only view of an employee for bulk reads that don't need the entity graph
+     */
+    interface EmployeeSummary {
+        
+        Long getId();
+        
+        String getFirstName();
+        
+        String getLastName();
+        
+        String getPosition();
+        
+        String getEmployeeNumber();
+    }
 }
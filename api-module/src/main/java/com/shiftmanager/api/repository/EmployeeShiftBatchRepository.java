@@ -0,0 +1,19 @@
+package com.shiftmanager.api.repository;
+
+import com.shiftmanager.api.model.EmployeeShift;
+
+import java.util.Collection;
+
+/**
+ * Bulk writes of shift assignments, which JPA cannot batch because of their identity IDs
+ */
+public interface EmployeeShiftBatchRepository {
+
+    /**
+     * Insert new shift assignments with JDBC batches. The assignments are not attached to the
+     * persistence context and do not get their generated IDs.
+     * @param employeeShifts New assignments, each with its employee and shift set
+     * @return Number of assignments inserted
+     */
+    int insertAll(Collection<EmployeeShift> employeeShifts);
+}
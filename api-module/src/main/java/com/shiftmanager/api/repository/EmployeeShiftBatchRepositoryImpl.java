@@ -0,0 +1,42 @@
+package com.shiftmanager.api.repository;
+
+import com.shiftmanager.api.model.EmployeeShift;
+import com.shiftmanager.api.service.report.ReportDataVersion;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+
+/**
+ * JDBC implementation of {@link EmployeeShiftBatchRepository}, picked up by Spring Data as a
+ * fragment of {@link EmployeeShiftRepository}. Runs on the connection of the current JPA
+ * transaction.
+ */
+@AllArgsConstructor
+public class EmployeeShiftBatchRepositoryImpl implements EmployeeShiftBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO employee_shift (employee_id, shift_id, status, note, "
+            + "assigned_by_id, assigned_at, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private JdbcTemplate jdbcTemplate;
+    private ReportDataVersion reportDataVersion;
+
+    @Override
+    public int insertAll(Collection<EmployeeShift> employeeShifts) {
+        if (employeeShifts.isEmpty()) {
+            return 0;
+        }
+        JdbcBatchInserts.insertAll(jdbcTemplate, INSERT_SQL, employeeShifts, 7, (statement, employeeShift) -> {
+            statement.setLong(1, employeeShift.getEmployee().getId());
+            statement.setLong(2, employeeShift.getShift().getId());
+            statement.setString(3, employeeShift.getStatus());
+            statement.setString(4, employeeShift.getNote());
+            JdbcBatchInserts.setLong(statement, 5, employeeShift.getAssignedById());
+            statement.setTimestamp(6, employeeShift.getAssignedAt() != null
+                    ? Timestamp.valueOf(employeeShift.getAssignedAt()) : null);
+        });
+        reportDataVersion.scheduleChanged();
+        return employeeShifts.size();
+    }
+}
@@ -10,14 +10,17 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Repository for EmployeeShift entity
  */
 @Repository
-public interface EmployeeShiftRepository extends JpaRepository<EmployeeShift, Long> {
+public interface EmployeeShiftRepository extends JpaRepository<EmployeeShift, Long>, EmployeeShiftBatchRepository {
     
     /**
      * Find employee shift by employee and shift
@@ -86,20 +89,217 @@ public interface EmployeeShiftRepository extends JpaRepository<EmployeeShift, Lo
     void deleteByShift(Shift shift);
     
     /**
-     * Find conflicting shifts for an employee on a specific date and time range
+     * Find the times of all shifts an employee is assigned to
      * @param employeeId Employee ID
-     * @param shiftDate Shift date
-     * @param startTime Start time
-     * @param endTime End time
-     * @return List of conflicting employee shifts
-     */
-    @Query("SELECT es FROM EmployeeShift es WHERE es.employee.id = :employeeId AND es.shift.shiftDate = :shiftDate AND " +
-           "((es.shift.startTime <= :endTime AND es.shift.endTime >= :startTime))")
-    List<EmployeeShift> findConflictingShifts(
-        @Param("employeeId") Long employeeId,
-        @Param("shiftDate") LocalDate shiftDate,
-        @Param("startTime") LocalTime startTime,
-        @Param("endTime") LocalTime endTime);
+     * @return One row per assigned shift
+     */
+    @Query("SELECT es.employee.id AS employeeId, s.id AS shiftId, s.shiftDate AS shiftDate, " +
+           "s.startTime AS startTime, s.endTime AS endTime " +
+           "FROM EmployeeShift es JOIN es.shift s WHERE es.employee.id = :employeeId")
+    List<AssignedShiftTime> findAssignedShiftTimesByEmployeeId(@Param("employeeId") Long employeeId);
+
+    /**
+     * Find the times of all shifts the given employees are assigned to
+     * @param employeeIds Employee IDs
+     * @return One row per assignment
+     */
+    @Query("SELECT es.employee.id AS employeeId, s.id AS shiftId, s.shiftDate AS shiftDate, " +
+           "s.startTime AS startTime, s.endTime AS endTime " +
+           "FROM EmployeeShift es JOIN es.shift s WHERE es.employee.id IN :employeeIds")
+    List<AssignedShiftTime> findAssignedShiftTimesByEmployeeIdIn(@Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * Find the times of the shifts the given employees are assigned to within a date range
+     * @param employeeIds Employee IDs
+     * @param startDate Start date
+     * @param endDate End date
+     * @return One row per assignment
+     */
+    @Query("SELECT es.employee.id AS employeeId, s.id AS shiftId, s.shiftDate AS shiftDate, " +
+           "s.startTime AS startTime, s.endTime AS endTime " +
+           "FROM EmployeeShift es JOIN es.shift s " +
+           "WHERE es.employee.id IN :employeeIds AND s.shiftDate BETWEEN :startDate AND :endDate")
+    List<AssignedShiftTime> findAssignedShiftTimesByEmployeeIdInAndDateRange(
+        @Param("employeeIds") Collection<Long> employeeIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    /**
+     * Find which of the given employees are assigned to which of the given shifts
+     * @param employeeIds Employee IDs
+     * @param shiftIds Shift IDs
+     * @return One row per existing assignment
+     */
+    @Query("SELECT es.employee.id AS employeeId, es.shift.id AS shiftId FROM EmployeeShift es " +
+           "WHERE es.employee.id IN :employeeIds AND es.shift.id IN :shiftIds")
+    List<AssignmentKey> findAssignmentKeys(
+        @Param("employeeIds") Collection<Long> employeeIds,
+        @Param("shiftIds") Collection<Long> shiftIds);
 
     List<EmployeeShift> findByEmployeeAndShift_ShiftDate(Employee employee, LocalDate shiftDate);
-}
\ No newline at end of file
+
+    /**
+     * Find all shift assignments of a manager's team within a date range.
+     * Employee, shift, location and shift type are fetched in the same query.
+     * @param managerId Manager ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @return List of employee shifts ordered by shift date and start time
+     */
+    @Query("SELECT es FROM EmployeeShift es JOIN FETCH es.employee e JOIN FETCH es.shift s " +
+           "JOIN FETCH s.location JOIN FETCH s.shiftType " +
+           "WHERE e.manager.id = :managerId AND s.shiftDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY s.shiftDate, s.startTime")
+    List<EmployeeShift> findTeamScheduleWithDetails(
+        @Param("managerId") Long managerId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    /**
+     * Find all shift assignments at a location within a date range.
+     * Employee and shift are fetched in the same query.
+     * @param locationId Location ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @return List of employee shifts
+     */
+    @Query("SELECT es FROM EmployeeShift es JOIN FETCH es.employee JOIN FETCH es.shift s " +
+           "WHERE s.location.id = :locationId AND s.shiftDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY es.id")
+    List<EmployeeShift> findByLocationAndDateRange(
+        @Param("locationId") Long locationId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    /**
+     * Find all shift assignments at several locations within a date range. Employee, address
+     * and shift are fetched in the same query.
+     * @param locationIds Location IDs
+     * @param startDate Start date
+     * @param endDate End date
+     * @return List of employee shifts
+     */
+    @Query("SELECT es FROM EmployeeShift es JOIN FETCH es.employee e LEFT JOIN FETCH e.address " +
+           "JOIN FETCH es.shift s " +
+           "WHERE s.location.id IN :locationIds AND s.shiftDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY es.id")
+    List<EmployeeShift> findByLocationIdsAndDateRange(
+        @Param("locationIds") Collection<Long> locationIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    /**
+     * Find all shift assignments at a location within a date range in one round trip
+     * @param locationId Location ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Employee shifts keyed by shift ID (shifts without assignments are absent)
+     */
+    default Map<Long, List<EmployeeShift>> findAssignmentsByShiftId(Long locationId, LocalDate startDate, LocalDate endDate) {
+        return findByLocationAndDateRange(locationId, startDate, endDate).stream()
+                .collect(Collectors.groupingBy(employeeShift -> employeeShift.getShift().getId()));
+    }
+
+    /**
+     * Aggregate completed shifts per employee and day within a date range. Minutes come from
+     * the clock-in/out times when both are recorded and from the scheduled times otherwise.
+     * @param startDate Start date
+     * @param endDate End date
+     * @return One row per employee and day, ordered by employee ID and date
+     */
+    @Query("SELECT es.employee.id AS employeeId, s.shiftDate AS shiftDate, COUNT(es) AS shiftCount, " +
+           "SUM(CASE WHEN es.clockInTime IS NOT NULL AND es.clockOutTime IS NOT NULL " +
+           "THEN (es.clockOutTime - es.clockInTime) BY MINUTE " +
+           "ELSE (s.endTime - s.startTime) BY MINUTE END) AS minutes " +
+           "FROM EmployeeShift es JOIN es.shift s " +
+           "WHERE es.status = 'COMPLETED' AND s.shiftDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY es.employee.id, s.shiftDate " +
+           "ORDER BY es.employee.id, s.shiftDate")
+    List<HoursWorkedRow> sumCompletedHoursByEmployeeAndDate(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    /**
+     * Aggregate completed shifts per employee and day within a date range for selected employees
+     * @param employeeIds Employee IDs
+     * @param startDate Start date
+     * @param endDate End date
+     * @return One row per employee and day, ordered by employee ID and date
+     * @see #sumCompletedHoursByEmployeeAndDate(LocalDate, LocalDate)
+     */
+    @Query("SELECT es.employee.id AS employeeId, s.shiftDate AS shiftDate, COUNT(es) AS shiftCount, " +
+           "SUM(CASE WHEN es.clockInTime IS NOT NULL AND es.clockOutTime IS NOT NULL " +
+           "THEN (es.clockOutTime - es.clockInTime) BY MINUTE " +
+           "ELSE (s.endTime - s.startTime) BY MINUTE END) AS minutes " +
+           "FROM EmployeeShift es JOIN es.shift s " +
+           "WHERE es.status = 'COMPLETED' AND es.employee.id IN :employeeIds " +
+           "AND s.shiftDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY es.employee.id, s.shiftDate " +
+           "ORDER BY es.employee.id, s.shiftDate")
+    List<HoursWorkedRow> sumCompletedHoursByEmployeeAndDate(
+        @Param("employeeIds") Collection<Long> employeeIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    /**
+     * Find the shift assignments of a range of employees without loading them
+     * @param firstEmployeeId First employee ID of the range
+     * @param lastEmployeeId Last employee ID of the range
+     * @return Distinct employee and shift ID pairs
+     */
+    @Query("SELECT DISTINCT es.employee.id AS employeeId, es.shift.id AS shiftId FROM EmployeeShift es " +
+           "WHERE es.employee.id BETWEEN :firstEmployeeId AND :lastEmployeeId")
+    List<AssignmentRow> findAssignmentsByEmployeeIdBetween(
+        @Param("firstEmployeeId") Long firstEmployeeId,
+        @Param("lastEmployeeId") Long lastEmployeeId);
+
+    /**
+     * Employee and shift of an assignment
+     */
+    interface AssignmentRow {
+
+        Long getEmployeeId();
+
+        Long getShiftId();
+    }
+
+    /**
+     * Completed shift count and minutes worked by one employee on one day
+     */
+    interface HoursWorkedRow {
+
+        Long getEmployeeId();
+
+        LocalDate getShiftDate();
+
+        long getShiftCount();
+
+        long getMinutes();
+    }
+
+    /**
+     * Date and times of a shift an employee is assigned to
+     */
+    interface AssignedShiftTime {
+
+        Long getEmployeeId();
+
+        Long getShiftId();
+
+        LocalDate getShiftDate();
+
+        LocalTime getStartTime();
+
+        LocalTime getEndTime();
+    }
+
+    /**
+     * Employee and shift of an assignment
+     */
+    interface AssignmentKey {
+
+        Long getEmployeeId();
+
+        Long getShiftId();
+    }
+}
@@ -0,0 +1,50 @@
+package com.shiftmanager.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Shared plumbing of the JDBC repository fragments, which insert rows past JPA. Auditing only
+ * applies to entities saved through JPA, so the created and updated timestamps are set here.
+ * Entity listeners do not run either, so callers signal the changes themselves after inserting.
+ */
+final class JdbcBatchInserts {
+
+    static final int BATCH_SIZE = 500;
+
+    private JdbcBatchInserts() {
+    }
+
+    /**
+     * Insert rows in batches
+     * @param sql Insert statement whose created_at and updated_at parameters come last
+     * @param timestampIndex Index of the created_at parameter, followed by updated_at
+     * @param setter Sets the parameters before the timestamps
+     * @return Timestamp the rows were inserted with
+     */
+    static <T> Timestamp insertAll(JdbcTemplate jdbcTemplate, String sql, Collection<T> rows, int timestampIndex,
+                                   ParameterizedPreparedStatementSetter<T> setter) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, (statement, row) -> {
+            setter.setValues(statement, row);
+            statement.setTimestamp(timestampIndex, now);
+            statement.setTimestamp(timestampIndex + 1, now);
+        });
+        return now;
+    }
+
+    static void setLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.shiftmanager.api.repository;
+
+import com.shiftmanager.api.model.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for ReportJob entity
+ */
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    /**
+     * Find jobs whose artifacts have expired
+     * @param now Current time
+     * @return Expired jobs
+     */
+    List<ReportJob> findByExpiresAtBefore(LocalDateTime now);
+
+    /**
+     * Mark jobs that were queued or running when the application stopped as failed
+     * @param errorMessage Error message to record
+     * @param expiresAt Expiry time of the failed jobs
+     * @return Number of jobs updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = 'FAILED', j.errorMessage = :errorMessage, j.expiresAt = :expiresAt " +
+           "WHERE j.status IN ('QUEUED', 'RUNNING')")
+    int failUnfinishedJobs(@Param("errorMessage") String errorMessage, @Param("expiresAt") LocalDateTime expiresAt);
+}
@@ -0,0 +1,19 @@
+package com.shiftmanager.api.repository;
+
+import com.shiftmanager.api.model.Shift;
+
+import java.util.Collection;
+
+/**
+ * Bulk writes of shifts, which JPA cannot batch because of their identity IDs
+ */
+public interface ShiftBatchRepository {
+
+    /**
+     * Insert new shifts with JDBC batches. The shifts are not attached to the persistence
+     * context and do not get their generated IDs.
+     * @param shifts New shifts, each with its location and shift type set
+     * @return Number of shifts inserted
+     */
+    int insertAll(Collection<Shift> shifts);
+}
@@ -0,0 +1,42 @@
+package com.shiftmanager.api.repository;
+
+import com.shiftmanager.api.model.Shift;
+import com.shiftmanager.api.service.report.ReportDataVersion;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.util.Collection;
+
+/**
+ * JDBC implementation of {@link ShiftBatchRepository}, picked up by Spring Data as a fragment
+ * of {@link ShiftRepository}. Runs on the connection of the current JPA transaction.
+ */
+@AllArgsConstructor
+public class ShiftBatchRepositoryImpl implements ShiftBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO shifts (shift_date, start_time, end_time, location_id, "
+            + "shift_type_id, note, created_by_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private JdbcTemplate jdbcTemplate;
+    private ReportDataVersion reportDataVersion;
+
+    @Override
+    public int insertAll(Collection<Shift> shifts) {
+        if (shifts.isEmpty()) {
+            return 0;
+        }
+        JdbcBatchInserts.insertAll(jdbcTemplate, INSERT_SQL, shifts, 8, (statement, shift) -> {
+            statement.setDate(1, Date.valueOf(shift.getShiftDate()));
+            statement.setTime(2, Time.valueOf(shift.getStartTime()));
+            statement.setTime(3, Time.valueOf(shift.getEndTime()));
+            statement.setLong(4, shift.getLocation().getId());
+            statement.setLong(5, shift.getShiftType().getId());
+            statement.setString(6, shift.getNote());
+            JdbcBatchInserts.setLong(statement, 7, shift.getCreatedById());
+        });
+        reportDataVersion.scheduleChanged();
+        return shifts.size();
+    }
+}
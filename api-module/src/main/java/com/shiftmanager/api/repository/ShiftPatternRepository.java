@@ -0,0 +1,49 @@
+package com.shiftmanager.api.repository;
+
+import com.shiftmanager.api.model.ShiftPattern;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ShiftPatternRepository extends JpaRepository<ShiftPattern, Long> {
+
+    /**
+     * Find a pattern with its location, slots and their shift types fetched in the same query
+     * @param id Pattern ID
+     * @return The pattern, if found
+     */
+    @Query("SELECT DISTINCT p FROM ShiftPattern p JOIN FETCH p.location " +
+           "LEFT JOIN FETCH p.slots sl LEFT JOIN FETCH sl.shiftType WHERE p.id = :id")
+    Optional<ShiftPattern> findWithSlotsById(@Param("id") Long id);
+
+    /**
+     * Find all patterns with their locations, slots and shift types
+     * @return Patterns ordered by location and name
+     */
+    @Query("SELECT DISTINCT p FROM ShiftPattern p JOIN FETCH p.location l " +
+           "LEFT JOIN FETCH p.slots sl LEFT JOIN FETCH sl.shiftType ORDER BY l.id, p.name")
+    List<ShiftPattern> findAllWithSlots();
+
+    /**
+     * Find patterns by ID with their locations, slots and shift types
+     * @param ids Pattern IDs
+     * @return Patterns (missing IDs are skipped)
+     */
+    @Query("SELECT DISTINCT p FROM ShiftPattern p JOIN FETCH p.location " +
+           "LEFT JOIN FETCH p.slots sl LEFT JOIN FETCH sl.shiftType WHERE p.id IN :ids")
+    List<ShiftPattern> findWithSlotsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the active patterns with their locations, slots and shift types
+     * @return Active patterns
+     */
+    @Query("SELECT DISTINCT p FROM ShiftPattern p JOIN FETCH p.location " +
+           "LEFT JOIN FETCH p.slots sl LEFT JOIN FETCH sl.shiftType WHERE p.active = true")
+    List<ShiftPattern> findActiveWithSlots();
+}
@@ -1,6 +1,8 @@
 package com.shiftmanager.api.repository;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,7 +13,7 @@ import org.springframework.stereotype.Repository;
 import com.shiftmanager.api.model.Shift;
 
 @Repository
-public interface ShiftRepository extends JpaRepository<Shift, Long> {
+public interface ShiftRepository extends JpaRepository<Shift, Long>, ShiftBatchRepository {
     
     @Query("SELECT s FROM Shift s WHERE s.shiftDate BETWEEN :startDate AND :endDate ORDER BY s.shiftDate, s.startTime")
     List<Shift> findByDateRange(
@@ -26,6 +28,56 @@ public interface ShiftRepository extends JpaRepository<Shift, Long> {
         @Param("endDate") LocalDate endDate
     );
     
+    /**
+     * Find the shifts of several locations within a date range, with shift type and location
+     * fetched in the same query
+     * @param locationIds Location IDs
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Shifts ordered by location, date and start time
+     */
+    @Query("SELECT s FROM Shift s JOIN FETCH s.shiftType JOIN FETCH s.location l " +
+           "WHERE l.id IN :locationIds AND s.shiftDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY l.id, s.shiftDate, s.startTime")
+    List<Shift> findByLocationIdsAndDateRange(
+        @Param("locationIds") Collection<Long> locationIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    /**
+     * Find shifts by ID with shift type and location fetched in the same query
+     * @param shiftIds Shift IDs
+     * @return Shifts (missing IDs are skipped)
+     */
+    @Query("SELECT s FROM Shift s JOIN FETCH s.shiftType JOIN FETCH s.location WHERE s.id IN :shiftIds")
+    List<Shift> findWithTypeAndLocationByIdIn(@Param("shiftIds") Collection<Long> shiftIds);
+    
+    /**
+     * Find all shifts an employee is assigned to, with shift type and location fetched in the
+     * same query
+     * @param employeeId Employee ID
+     * @return Shifts ordered by date and start time
+     */
+    @Query("SELECT s FROM Shift s JOIN FETCH s.shiftType JOIN FETCH s.location " +
+           "WHERE s.id IN (SELECT es.shift.id FROM EmployeeShift es WHERE es.employee.id = :employeeId) " +
+           "ORDER BY s.shiftDate, s.startTime")
+    List<Shift> findByAssignedEmployeeId(@Param("employeeId") Long employeeId);
+    
+    /**
+     * Find all shifts any employee of a range is assigned to, with shift type and location
+     * fetched in the same query
+     * @param firstEmployeeId First employee ID of the range
+     * @param lastEmployeeId Last employee ID of the range
+     * @return Shifts, each once
+     */
+    @Query("SELECT s FROM Shift s JOIN FETCH s.shiftType JOIN FETCH s.location " +
+           "WHERE s.id IN (SELECT es.shift.id FROM EmployeeShift es " +
+           "WHERE es.employee.id BETWEEN :firstEmployeeId AND :lastEmployeeId)")
+    List<Shift> findByAssignedEmployeeIdBetween(
+        @Param("firstEmployeeId") Long firstEmployeeId,
+        @Param("lastEmployeeId") Long lastEmployeeId);
+    
     @Query("SELECT s FROM Shift s WHERE s.shiftType.id = :shiftTypeId AND s.shiftDate BETWEEN :startDate AND :endDate ORDER BY s.shiftDate, s.startTime")
     List<Shift> findByShiftTypeAndDateRange(
         @Param("shiftTypeId") Long shiftTypeId,
@@ -46,4 +98,129 @@ public interface ShiftRepository extends JpaRepository<Shift, Long> {
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
+    
+    /**
+     * Find the location, date, shift type and start time of the shifts of several locations
+     * within a date range
+     * @param locationIds Location IDs
+     * @param startDate Start date
+     * @param endDate End date
+     * @return One row per shift
+     */
+    @Query("SELECT s.location.id AS locationId, s.shiftDate AS shiftDate, s.shiftType.id AS shiftTypeId, " +
+           "s.startTime AS startTime FROM Shift s " +
+           "WHERE s.location.id IN :locationIds AND s.shiftDate BETWEEN :startDate AND :endDate")
+    List<ShiftSlotKey> findSlotKeysByLocationIdsAndDateRange(
+        @Param("locationIds") Collection<Long> locationIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    /**
+     * Find the times of the shifts of a location within a date range that nobody is assigned to
+     * @param locationId Location ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Open shifts ordered by date and start time
+     */
+    @Query("SELECT s.id AS id, s.shiftDate AS shiftDate, s.startTime AS startTime, s.endTime AS endTime " +
+           "FROM Shift s WHERE s.location.id = :locationId AND s.shiftDate BETWEEN :startDate AND :endDate " +
+           "AND NOT EXISTS (SELECT es.id FROM EmployeeShift es WHERE es.shift = s) " +
+           "ORDER BY s.shiftDate, s.startTime, s.id")
+    List<ShiftTime> findOpenShiftTimesByLocationAndDateRange(
+        @Param("locationId") Long locationId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    /**
+     * Find the shifts of a location within a date range that fewer than a number of employees
+     * are assigned to, with their assignments counted in the same query
+     * @param locationId Location ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @param headcount Number of assignments a shift needs to be left out
+     * @return Shifts with their assignment counts, ordered by date and start time
+     */
+    @Query("SELECT s.id AS id, s.shiftDate AS shiftDate, s.startTime AS startTime, s.endTime AS endTime, " +
+           "st.id AS shiftTypeId, st.name AS shiftTypeName, COUNT(es.id) AS assigned " +
+           "FROM Shift s JOIN s.shiftType st LEFT JOIN EmployeeShift es ON es.shift = s " +
+           "WHERE s.location.id = :locationId AND s.shiftDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY s.id, s.shiftDate, s.startTime, s.endTime, st.id, st.name " +
+           "HAVING COUNT(es.id) < :headcount " +
+           "ORDER BY s.shiftDate, s.startTime, s.id")
+    List<ShiftStaffing> findStaffingBelowByLocationAndDateRange(
+        @Param("locationId") Long locationId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("headcount") long headcount
+    );
+    
+    /**
+     * Find the location and date of shifts
+     * @param shiftIds Shift IDs
+     * @return One row per shift (missing IDs are skipped)
+     */
+    @Query("SELECT s.id AS id, s.location.id AS locationId, s.shiftDate AS shiftDate FROM Shift s WHERE s.id IN :shiftIds")
+    List<ShiftLocationDate> findLocationDatesByIdIn(@Param("shiftIds") Collection<Long> shiftIds);
+    
+    /**
+     * What makes a shift the same as one generated from a pattern
+     */
+    interface ShiftSlotKey {
+        
+        Long getLocationId();
+        
+        LocalDate getShiftDate();
+        
+        Long getShiftTypeId();
+        
+        LocalTime getStartTime();
+    }
+    
+    /**
+     * Date and times of a shift
+     */
+    interface ShiftTime {
+        
+        Long getId();
+        
+        LocalDate getShiftDate();
+        
+        LocalTime getStartTime();
+        
+        LocalTime getEndTime();
+    }
+    
+    /**
+     * A shift with the number of employees assigned to it
+     */
+    interface ShiftStaffing {
+        
+        Long getId();
+        
+        LocalDate getShiftDate();
+        
+        LocalTime getStartTime();
+        
+        LocalTime getEndTime();
+        
+        Long getShiftTypeId();
+        
+        String getShiftTypeName();
+        
+        Long getAssigned();
+    }
+    
+    /**
+     * Where and when a shift is
+     */
+    interface ShiftLocationDate {
+        
+        Long getId();
+        
+        Long getLocationId();
+        
+        LocalDate getShiftDate();
+    }
 }
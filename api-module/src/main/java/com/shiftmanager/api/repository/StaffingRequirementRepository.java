@@ -0,0 +1,54 @@
+package com.shiftmanager.api.repository;
+
+import com.shiftmanager.api.model.StaffingRequirement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StaffingRequirementRepository extends JpaRepository<StaffingRequirement, Long> {
+
+    /**
+     * Find all requirements with their locations and shift types
+     * @return Requirements, those for all locations first
+     */
+    @Query("SELECT r FROM StaffingRequirement r LEFT JOIN FETCH r.location l JOIN FETCH r.shiftType st " +
+           "ORDER BY l.id NULLS FIRST, st.name")
+    List<StaffingRequirement> findAllWithLocationAndShiftType();
+
+    /**
+     * Find the requirement of a shift type at a location
+     * @param locationId Location ID, or null for the requirement of all locations
+     * @param shiftTypeId Shift type ID
+     * @return The requirement, if there is one
+     */
+    @Query("SELECT r FROM StaffingRequirement r LEFT JOIN r.location l WHERE r.shiftType.id = :shiftTypeId " +
+           "AND ((:locationId IS NULL AND l.id IS NULL) OR l.id = :locationId)")
+    Optional<StaffingRequirement> findByLocationIdAndShiftTypeId(
+        @Param("locationId") Long locationId,
+        @Param("shiftTypeId") Long shiftTypeId);
+
+    /**
+     * Find the headcounts of all requirements
+     * @return One row per requirement
+     */
+    @Query("SELECT l.id AS locationId, r.shiftType.id AS shiftTypeId, r.requiredHeadcount AS requiredHeadcount " +
+           "FROM StaffingRequirement r LEFT JOIN r.location l")
+    List<Headcount> findAllHeadcounts();
+
+    /**
+     * Required headcount of a shift type, at one location or all of them
+     */
+    interface Headcount {
+
+        Long getLocationId();
+
+        Long getShiftTypeId();
+
+        Integer getRequiredHeadcount();
+    }
+}
@@ -4,9 +4,11 @@ import com.shiftmanager.api.model.Employee;
 import com.shiftmanager.api.model.VacationRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -136,4 +138,121 @@ public interface VacationRequestRepository extends JpaRepository<VacationRequest
             "(:startDate BETWEEN vr.startDate AND vr.endDate))")
     List<VacationRequest> findByEmployeeAndStatusAndDateRange(Employee employee, String status, LocalDate startDate, LocalDate endDate);
 
-}
\ No newline at end of file
+    /**
+     * Find the report rows of vacation requests overlapping a date range, optionally restricted
+     * to one department, without loading the employees
+     * @param startDate Start date of range
+     * @param endDate End date of range
+     * @param department Department to filter on (null for all departments)
+     * @return Request rows ordered by employee and start date
+     */
+    @Query("SELECT e.id AS employeeId, e.firstName AS firstName, e.lastName AS lastName, " +
+            "e.position AS position, vr.startDate AS startDate, vr.endDate AS endDate, " +
+            "vr.status AS status, vr.requestNotes AS requestNotes " +
+            "FROM VacationRequest vr JOIN vr.employee e " +
+            "WHERE vr.startDate <= :endDate AND vr.endDate >= :startDate " +
+            "AND (:department IS NULL OR e.department = :department) " +
+            "ORDER BY e.lastName, e.firstName, e.id, vr.startDate")
+    List<VacationReportRow> findReportRowsByDateRangeAndDepartment(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("department") String department);
+
+    /**
+     * Summarize vacation requests overlapping a date range per status, optionally restricted
+     * to one department. Days are clipped to the range.
+     * @param startDate Start date of range
+     * @param endDate End date of range
+     * @param department Department to filter on (null for all departments)
+     * @return Request count and clipped day total per status
+     */
+    @Query("SELECT vr.status AS status, COUNT(vr) AS requestCount, " +
+            "SUM((LEAST(vr.endDate, :endDate) - GREATEST(vr.startDate, :startDate)) BY DAY + 1) AS days " +
+            "FROM VacationRequest vr JOIN vr.employee e " +
+            "WHERE vr.startDate <= :endDate AND vr.endDate >= :startDate " +
+            "AND (:department IS NULL OR e.department = :department) " +
+            "GROUP BY vr.status")
+    List<StatusSummary> summarizeByStatus(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("department") String department);
+
+    /**
+     * Find the approved vacation requests of a range of employees without loading the employees
+     * @param firstEmployeeId First employee ID of the range
+     * @param lastEmployeeId Last employee ID of the range
+     * @return Approved request rows
+     */
+    @Query("SELECT vr.id AS id, vr.employee.id AS employeeId, vr.startDate AS startDate, " +
+            "vr.endDate AS endDate, vr.reason AS reason FROM VacationRequest vr " +
+            "WHERE vr.status = 'APPROVED' AND vr.employee.id BETWEEN :firstEmployeeId AND :lastEmployeeId")
+    List<ApprovedVacationRow> findApprovedByEmployeeIdBetween(
+            @Param("firstEmployeeId") Long firstEmployeeId,
+            @Param("lastEmployeeId") Long lastEmployeeId);
+
+    /**
+     * Find the approved vacation requests of several employees that overlap a date range
+     * @param employeeIds Employee IDs
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Approved request rows
+     */
+    @Query("SELECT vr.id AS id, vr.employee.id AS employeeId, vr.startDate AS startDate, " +
+            "vr.endDate AS endDate, vr.reason AS reason FROM VacationRequest vr " +
+            "WHERE vr.status = 'APPROVED' AND vr.employee.id IN :employeeIds " +
+            "AND vr.startDate <= :endDate AND vr.endDate >= :startDate")
+    List<ApprovedVacationRow> findApprovedByEmployeeIdsAndDateRange(
+            @Param("employeeIds") Collection<Long> employeeIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Column-only view of an approved vacation request
+     */
+    interface ApprovedVacationRow {
+
+        Long getId();
+
+        Long getEmployeeId();
+
+        LocalDate getStartDate();
+
+        LocalDate getEndDate();
+
+        String getReason();
+    }
+
+    /**
+     * Column-only view of a vacation request with its employee, as the vacation summary prints it
+     */
+    interface VacationReportRow {
+
+        Long getEmployeeId();
+
+        String getFirstName();
+
+        String getLastName();
+
+        String getPosition();
+
+        LocalDate getStartDate();
+
+        LocalDate getEndDate();
+
+        String getStatus();
+
+        String getRequestNotes();
+    }
+
+    /**
+     * Per-status totals of vacation requests
+     */
+    interface StatusSummary {
+
+        String getStatus();
+
+        long getRequestCount();
+
+        long getDays();
+    }
+}
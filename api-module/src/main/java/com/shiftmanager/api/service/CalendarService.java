@@ -1,8 +1,11 @@
 package com.shiftmanager.api.service;
 
+import com.shiftmanager.api.dto.TeamCalendarDTO;
 import com.shiftmanager.api.model.Calendar;
 import com.shiftmanager.api.model.CalendarEntry;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -108,6 +111,16 @@ public interface CalendarService {
      */
     List<Calendar> getTeamCalendars(Long managerId);
     
+    /**
+     * Get the entries of a manager's direct reports for a date range, grouped by employee.
+     * Only entries overlapping the range are loaded, all in one query.
+     * @param managerId Manager ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @return One calendar per team member, ordered by name, with entries in date order
+     */
+    List<TeamCalendarDTO> getTeamCalendarEntries(Long managerId, LocalDate startDate, LocalDate endDate);
+    
     /**
      * Get all calendars in the system
      * @return List of all calendars
@@ -157,6 +170,55 @@ public interface CalendarService {
      */
     byte[] exportCalendarToPdf(Long employeeId, Integer month, Integer year);
     
+    /**
+     * Write an employee's calendar for a month as a PDF month grid
+     * @param employeeId Employee ID
+     * @param month Month (1-12)
+     * @param year Year
+     * @param outputStream Stream to write the PDF to
+     */
+    void writeCalendarPdf(Long employeeId, Integer month, Integer year, OutputStream outputStream) throws IOException;
+    
+    /**
+     * Write the calendars of a manager's team for a month as one PDF, one page per team member
+     * @param managerId Manager ID
+     * @param month Month (1-12)
+     * @param year Year
+     * @param outputStream Stream to write the PDF to
+     */
+    void writeTeamCalendarPdf(Long managerId, Integer month, Integer year, OutputStream outputStream) throws IOException;
+    
+    /**
+     * Get the ETag of an employee's iCalendar feed. It is derived from the calendar's version
+     * and the feed window alone, so polls can be answered without reading any entries.
+     * @param employeeId Employee ID
+     * @return Quoted strong ETag
+     */
+    String getEmployeeFeedETag(Long employeeId);
+    
+    /**
+     * Write an employee's calendar as an iCalendar feed, from three months back to a year ahead
+     * @param employeeId Employee ID
+     * @param outputStream Stream to write the feed to
+     */
+    void writeEmployeeFeed(Long employeeId, OutputStream outputStream) throws IOException;
+    
+    /**
+     * Get the ETag of a manager's team iCalendar feed, derived from the team's calendar versions
+     * @param managerId Manager ID
+     * @return Quoted strong ETag
+     * @see #getEmployeeFeedETag(Long)
+     */
+    String getTeamFeedETag(Long managerId);
+    
+    /**
+     * Write the calendars of a manager's team as one iCalendar feed, each event titled with the
+     * team member's name
+     * @param managerId Manager ID
+     * @param outputStream Stream to write the feed to
+     */
+    void writeTeamFeed(Long managerId, OutputStream outputStream) throws IOException;
+    
     /**
      * Get employee calendar for a specific month
      * @param employeeId Employee ID
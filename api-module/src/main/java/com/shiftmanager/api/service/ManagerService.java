@@ -1,5 +1,8 @@
 package com.shiftmanager.api.service;
 
+import com.shiftmanager.api.dto.ScheduleProposalDTO;
+import com.shiftmanager.api.dto.ShiftAssignmentDTO;
+import com.shiftmanager.api.dto.ShiftAssignmentResultDTO;
 import com.shiftmanager.api.model.Employee;
 import com.shiftmanager.api.model.Shift;
 import com.shiftmanager.api.model.VacationRequest;
@@ -22,6 +25,28 @@ public interface ManagerService {
      */
     boolean assignShiftToEmployee(Long shiftId, Long employeeId, Long managerId);
     
+    /**
+     * Assign many shifts at once. Each assignment is checked like a single one, including
+     * against the other assignments of the request, and the valid ones are made even if
+     * others are rejected. Each employee gets one notification for all of their new shifts.
+     * @param assignments Shift and employee pairs
+     * @param managerId Manager ID (for authorization)
+     * @return The result of each assignment, in request order
+     */
+    List<ShiftAssignmentResultDTO> assignShiftsToEmployees(List<ShiftAssignmentDTO> assignments, Long managerId);
+    
+    /**
+     * Propose which team members should take the open shifts of a location in a week,
+     * respecting their other shifts, approved vacations and weekly hours, with the hours
+     * spread fairly. Nothing is assigned until the proposal is committed with
+     * {@link #assignShiftsToEmployees}.
+     * @param locationId Location ID
+     * @param weekStart First day of the week
+     * @param managerId Manager ID (for authorization)
+     * @return The proposal
+     */
+    ScheduleProposalDTO proposeSchedule(Long locationId, LocalDate weekStart, Long managerId);
+    
     /**
      * Unassign a shift from an employee
      * @param shiftId Shift ID
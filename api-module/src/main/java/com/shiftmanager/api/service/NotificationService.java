@@ -1,6 +1,7 @@
 package com.shiftmanager.api.service;
 
 import com.shiftmanager.api.dto.NotificationDTO;
+import com.shiftmanager.api.model.Shift;
 
 import java.util.List;
 import java.util.Optional;
@@ -70,6 +71,14 @@ public interface NotificationService {
      */
     NotificationDTO sendShiftAssignmentNotification(Long employeeId, Long shiftId);
     
+    /**
+     * Send one notification for several shift assignments of an employee
+     * @param employeeId Employee ID
+     * @param shifts Assigned shifts, with their location and shift type loaded
+     * @return Created notification DTO
+     */
+    NotificationDTO sendShiftAssignmentsNotification(Long employeeId, List<Shift> shifts);
+    
     /**
      * Send vacation request status notification
      * @param employeeId Employee ID
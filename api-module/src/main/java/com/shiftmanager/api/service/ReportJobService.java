@@ -0,0 +1,45 @@
+package com.shiftmanager.api.service;
+
+import com.shiftmanager.api.dto.ReportJobRequestDTO;
+import com.shiftmanager.api.model.ReportJob;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for reports rendered in the background
+ */
+public interface ReportJobService {
+
+    /**
+     * Queue a report for background rendering
+     * @param request Report type and parameters
+     * @param requestedBy Username of the requester
+     * @return Queued report job
+     */
+    ReportJob submitReportJob(ReportJobRequestDTO request, String requestedBy);
+
+    /**
+     * Get a report job visible to a user
+     * @param jobId Report job ID
+     * @param username Username of the caller
+     * @param admin true if the caller may see every job
+     * @return Report job
+     */
+    ReportJob getReportJob(Long jobId, String username, boolean admin);
+
+    /**
+     * Write the artifact of a completed report job
+     * @param job Completed report job
+     * @param outputStream Stream the artifact is written to
+     * @param compressed true to write the stored gzip bytes, false to write the plain report
+     * @throws IOException if the artifact cannot be read or the stream fails
+     */
+    void writeReportJobArtifact(ReportJob job, OutputStream outputStream, boolean compressed) throws IOException;
+
+    /**
+     * Delete report jobs and artifacts whose time to live has passed
+     * @return Number of jobs deleted
+     */
+    int deleteExpiredReportJobs();
+}
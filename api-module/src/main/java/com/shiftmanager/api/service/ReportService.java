@@ -1,6 +1,11 @@
 package com.shiftmanager.api.service;
 
+import com.shiftmanager.api.service.report.writer.ReportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,7 +18,7 @@ public interface ReportService {
      * @param employeeId Employee ID
      * @param startDate Start date
      * @param endDate End date
-     * @return PDF report as byte array
+     * @return Plain text report as byte array
      */
     byte[] generateEmployeeScheduleReport(Long employeeId, LocalDate startDate, LocalDate endDate);
 
@@ -22,7 +27,7 @@ public interface ReportService {
      * @param managerId Manager ID
      * @param startDate Start date
      * @param endDate End date
-     * @return PDF report as byte array
+     * @return Plain text report as byte array
      */
     byte[] generateTeamScheduleReport(Long managerId, LocalDate startDate, LocalDate endDate);
 
@@ -31,7 +36,7 @@ public interface ReportService {
      * @param locationId Location ID
      * @param startDate Start date
      * @param endDate End date
-     * @return PDF report as byte array
+     * @return Plain text report as byte array
      */
     byte[] generateLocationScheduleReport(Long locationId, LocalDate startDate, LocalDate endDate);
 
@@ -40,7 +45,7 @@ public interface ReportService {
      * @param year Year
      * @param month Optional month (if not provided, full year report)
      * @param departmentId Optional department ID filter
-     * @return PDF report as byte array
+     * @return Plain text report as byte array
      */
     byte[] generateVacationSummaryReport(Integer year, Integer month, Long departmentId);
 
@@ -49,7 +54,80 @@ public interface ReportService {
      * @param employeeIds List of employee IDs (or null for all employees)
      * @param startDate Start date
      * @param endDate End date
-     * @return PDF report as byte array
+     * @return Plain text report as byte array
      */
     byte[] generateHoursWorkedReport(List<Long> employeeIds, LocalDate startDate, LocalDate endDate);
-}
\ No newline at end of file
+
+    /**
+     * Stream employee schedule report
+     * @param employeeId Employee ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @param format Output format
+     * @param outputStream Stream the report is written to as it is produced
+     * @throws IOException if writing to the stream fails
+     */
+    void writeEmployeeScheduleReport(Long employeeId, LocalDate startDate, LocalDate endDate,
+                                     ReportFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Stream team schedule report
+     * @param managerId Manager ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @param format Output format
+     * @param outputStream Stream the report is written to as it is produced
+     * @throws IOException if writing to the stream fails
+     */
+    void writeTeamScheduleReport(Long managerId, LocalDate startDate, LocalDate endDate,
+                                 ReportFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Stream location schedule report
+     * @param locationId Location ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @param format Output format
+     * @param outputStream Stream the report is written to as it is produced
+     * @throws IOException if writing to the stream fails
+     */
+    void writeLocationScheduleReport(Long locationId, LocalDate startDate, LocalDate endDate,
+                                     ReportFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Stream the location schedule reports of several locations as one zip archive, with one
+     * entry per location named like the single location download
+     * @param locationIds Location IDs, or null or empty for all active locations
+     * @param startDate Start date
+     * @param endDate End date
+     * @param format Output format of the reports in the archive
+     * @param outputStream Stream the archive is written to as it is produced
+     * @throws IOException if writing to the stream fails
+     */
+    void writeLocationScheduleReports(Collection<Long> locationIds, LocalDate startDate, LocalDate endDate,
+                                      ReportFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Stream vacation summary report
+     * @param year Year
+     * @param month Optional month (if not provided, full year report)
+     * @param departmentId Optional department ID filter
+     * @param format Output format
+     * @param outputStream Stream the report is written to as it is produced
+     * @throws IOException if writing to the stream fails
+     */
+    void writeVacationSummaryReport(Integer year, Integer month, Long departmentId,
+                                    ReportFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Stream hours worked report
+     * @param employeeIds List of employee IDs (or null for all employees)
+     * @param startDate Start date
+     * @param endDate End date
+     * @param format Output format
+     * @param outputStream Stream the report is written to as it is produced
+     * @throws IOException if writing to the stream fails
+     */
+    void writeHoursWorkedReport(List<Long> employeeIds, LocalDate startDate, LocalDate endDate,
+                                ReportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,56 @@
+package com.shiftmanager.api.service;
+
+import com.shiftmanager.api.dto.ShiftGenerationRequestDTO;
+import com.shiftmanager.api.dto.ShiftGenerationResultDTO;
+import com.shiftmanager.api.dto.ShiftPatternDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for recurring shift patterns and the shifts generated from them
+ */
+public interface ShiftPatternService {
+
+    /**
+     * Get all shift patterns
+     * @return Patterns ordered by location and name
+     */
+    List<ShiftPatternDTO> getAllPatterns();
+
+    /**
+     * Get a shift pattern
+     * @param id Pattern ID
+     * @return The pattern
+     */
+    ShiftPatternDTO getPatternById(Long id);
+
+    /**
+     * Create a shift pattern
+     * @param patternDTO The pattern
+     * @return The created pattern
+     */
+    ShiftPatternDTO createPattern(ShiftPatternDTO patternDTO);
+
+    /**
+     * Update a shift pattern, replacing its slots. Shifts generated before are kept.
+     * @param id Pattern ID
+     * @param patternDTO The pattern
+     * @return The updated pattern
+     */
+    ShiftPatternDTO updatePattern(Long id, ShiftPatternDTO patternDTO);
+
+    /**
+     * Delete a shift pattern. Shifts generated from it are kept.
+     * @param id Pattern ID
+     */
+    void deletePattern(Long id);
+
+    /**
+     * Create the shifts of patterns over a date range. Shifts a location already has, with
+     * the same date, shift type and start time, are not created again, so generating a range
+     * twice creates nothing the second time.
+     * @param request Patterns and date range
+     * @return Number of shifts created and skipped
+     */
+    ShiftGenerationResultDTO generateShifts(ShiftGenerationRequestDTO request);
+}
@@ -0,0 +1,32 @@
+package com.shiftmanager.api.service;
+
+import com.shiftmanager.api.dto.StaffingRequirementDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for the number of employees the shifts of each shift type need
+ */
+public interface StaffingRequirementService {
+
+    /**
+     * Get all staffing requirements
+     * @return Requirements, those for all locations first
+     */
+    List<StaffingRequirementDTO> getAllRequirements();
+
+    /**
+     * Set the headcount a shift type needs, at one location or all of them, replacing the
+     * requirement it had there
+     * @param requirementDTO The requirement
+     * @return The saved requirement
+     */
+    StaffingRequirementDTO setRequirement(StaffingRequirementDTO requirementDTO);
+
+    /**
+     * Delete a staffing requirement, so its shifts need the headcount of all locations or the
+     * default again
+     * @param id Requirement ID
+     */
+    void deleteRequirement(Long id);
+}
@@ -0,0 +1,198 @@
+package com.shiftmanager.api.service.calendar;
+
+import com.shiftmanager.api.event.ShiftAssignment;
+import com.shiftmanager.api.event.ShiftAssignmentEvent;
+import com.shiftmanager.api.event.ShiftChangeEvent;
+import com.shiftmanager.api.event.VacationApprovedEvent;
+import com.shiftmanager.api.model.Calendar;
+import com.shiftmanager.api.model.CalendarEntry;
+import com.shiftmanager.api.model.Shift;
+import com.shiftmanager.api.model.VacationRequest;
+import com.shiftmanager.api.repository.CalendarEntryRepository;
+import com.shiftmanager.api.repository.CalendarEntryRepository.EntryReference;
+import com.shiftmanager.api.repository.CalendarRepository;
+import com.shiftmanager.api.repository.EmployeeRepository;
+import com.shiftmanager.api.repository.ShiftRepository;
+import com.shiftmanager.api.repository.VacationRequestRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps calendars current by applying the delta of each committed schedule change to the
+ * affected calendar entries, so no full re-sync is needed.
+ *
+ * <p>Runs after the change has committed, in a transaction of its own, and writes with JDBC
+ * batches. A failure is logged and leaves the change itself in place; the calendar sync
+ * methods of {@link com.shiftmanager.api.service.CalendarService} repair a calendar that fell
+ * behind.
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class CalendarMaintenanceListener {
+
+    private static final String SHIFT = "SHIFT";
+    private static final String VACATION = "VACATION";
+
+    private CalendarRepository calendarRepository;
+    private CalendarEntryRepository calendarEntryRepository;
+    private EmployeeRepository employeeRepository;
+    private ShiftRepository shiftRepository;
+    private VacationRequestRepository vacationRequestRepository;
+
+    /**
+     * Remove the entries of removed assignments, then add entries for new ones
+     * @param event Assignment event
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onShiftAssignment(ShiftAssignmentEvent event) {
+        try {
+            int removed = removeAssignments(event.getUnassigned());
+            int added = addAssignments(event.getAssigned());
+            log.debug("Applied {} to calendars: {} entries added, {} removed", event, added, removed);
+        } catch (RuntimeException e) {
+            log.error("Could not update calendars for {}", event, e);
+        }
+    }
+
+    /**
+     * Rewrite the entries of updated shifts and delete those of deleted shifts
+     * @param event Shift change event
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onShiftChange(ShiftChangeEvent event) {
+        try {
+            int updated = 0;
+            if (!event.getUpdatedShiftIds().isEmpty()) {
+                List<CalendarEntry> values = new ArrayList<>();
+                for (Shift shift : shiftRepository.findWithTypeAndLocationByIdIn(event.getUpdatedShiftIds())) {
+                    values.add(new CalendarEntry(null, shift));
+                }
+                updated = calendarEntryRepository.updateAllByReference(values);
+            }
+            int deleted = event.getDeletedShiftIds().isEmpty() ? 0
+                    : calendarEntryRepository.deleteAllByReference(SHIFT, event.getDeletedShiftIds());
+            log.debug("Applied {} to calendars: {} entries updated, {} deleted", event, updated, deleted);
+        } catch (RuntimeException e) {
+            log.error("Could not update calendars for {}", event, e);
+        }
+    }
+
+    /**
+     * Add one spanning entry per approved vacation
+     * @param event Vacation approval event
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onVacationApproved(VacationApprovedEvent event) {
+        try {
+            List<VacationRequest> requests = vacationRequestRepository.findAllById(event.getVacationRequestIds()).stream()
+                    .filter(VacationRequest::isApproved).collect(Collectors.toList());
+            Map<Long, Calendar> calendars = getOrCreateCalendars(requests.stream()
+                    .map(request -> request.getEmployee().getId()).collect(Collectors.toSet()));
+            Map<Long, Set<Long>> existing = findExisting(calendars.values(), VACATION,
+                    requests.stream().map(VacationRequest::getId).collect(Collectors.toSet()));
+
+            List<CalendarEntry> entries = new ArrayList<>();
+            for (VacationRequest request : requests) {
+                Calendar calendar = calendars.get(request.getEmployee().getId());
+                if (existing.computeIfAbsent(calendar.getId(), id -> new HashSet<>()).add(request.getId())) {
+                    entries.add(new CalendarEntry(calendar, request));
+                }
+            }
+            log.debug("Applied {} to calendars: {} entries added", event, calendarEntryRepository.insertAll(entries));
+        } catch (RuntimeException e) {
+            log.error("Could not update calendars for {}", event, e);
+        }
+    }
+
+    private int addAssignments(List<ShiftAssignment> assignments) {
+        if (assignments.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Shift> shifts = shiftRepository.findWithTypeAndLocationByIdIn(assignments.stream()
+                .map(ShiftAssignment::getShiftId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Shift::getId, Function.identity()));
+        Map<Long, Calendar> calendars = getOrCreateCalendars(assignments.stream()
+                .map(ShiftAssignment::getEmployeeId).collect(Collectors.toSet()));
+        Map<Long, Set<Long>> existing = findExisting(calendars.values(), SHIFT, shifts.keySet());
+
+        List<CalendarEntry> entries = new ArrayList<>();
+        for (ShiftAssignment assignment : assignments) {
+            Shift shift = shifts.get(assignment.getShiftId());
+            Calendar calendar = calendars.get(assignment.getEmployeeId());
+            // A shift deleted since the assignment has nothing left to show
+            if (shift != null && existing.computeIfAbsent(calendar.getId(), id -> new HashSet<>()).add(shift.getId())) {
+                entries.add(new CalendarEntry(calendar, shift));
+            }
+        }
+        return calendarEntryRepository.insertAll(entries);
+    }
+
+    private int removeAssignments(List<ShiftAssignment> assignments) {
+        if (assignments.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<Long>> shiftIdsByEmployee = assignments.stream().collect(Collectors.groupingBy(
+                ShiftAssignment::getEmployeeId, Collectors.mapping(ShiftAssignment::getShiftId, Collectors.toList())));
+        Map<Long, List<Long>> shiftIdsByCalendar = new HashMap<>();
+        for (Calendar calendar : calendarRepository.findByEmployeeIdIn(shiftIdsByEmployee.keySet())) {
+            shiftIdsByCalendar.put(calendar.getId(), shiftIdsByEmployee.get(calendar.getEmployee().getId()));
+        }
+        return calendarEntryRepository.deleteAllByReference(SHIFT, shiftIdsByCalendar);
+    }
+
+    /**
+     * Get the calendars of employees by employee ID, creating the missing ones
+     */
+    private Map<Long, Calendar> getOrCreateCalendars(Set<Long> employeeIds) {
+        Map<Long, Calendar> calendars = new HashMap<>();
+        for (Calendar calendar : calendarRepository.findByEmployeeIdIn(employeeIds)) {
+            calendars.put(calendar.getEmployee().getId(), calendar);
+        }
+        LocalDate today = LocalDate.now();
+        for (Long employeeId : employeeIds) {
+            if (!calendars.containsKey(employeeId)) {
+                Calendar calendar = new Calendar();
+                calendar.setEmployee(employeeRepository.getReferenceById(employeeId));
+                calendar.setYear(today.getYear());
+                calendar.setMonth(today.getMonthValue());
+                calendars.put(employeeId, calendarRepository.save(calendar));
+            }
+        }
+        return calendars;
+    }
+
+    /**
+     * Get the references the calendars already have entries for, by calendar ID
+     */
+    private Map<Long, Set<Long>> findExisting(Collection<Calendar> calendars, String entryType,
+                                              Collection<Long> referenceIds) {
+        Map<Long, Set<Long>> existing = new HashMap<>();
+        if (calendars.isEmpty() || referenceIds.isEmpty()) {
+            return existing;
+        }
+        Set<Long> calendarIds = calendars.stream().map(Calendar::getId).collect(Collectors.toSet());
+        for (EntryReference reference : calendarEntryRepository.findReferences(calendarIds, entryType, referenceIds)) {
+            existing.computeIfAbsent(reference.getCalendarId(), id -> new HashSet<>()).add(reference.getReferenceId());
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,22 @@
+package com.shiftmanager.api.service.calendar;
+
+import com.shiftmanager.api.dto.CalendarDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One month of an employee's calendar as the dashboard serves it
+ */
+@Getter
+@AllArgsConstructor
+public class CalendarMonthContent {
+
+    private final CalendarDTO calendar;
+    private final int year;
+    private final int month;
+
+    /**
+     * Entries of the month as a JSON array of calendar entry DTOs, ready to be written out
+     */
+    private final String entries;
+}
@@ -0,0 +1,183 @@
+package com.shiftmanager.api.service.calendar;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiftmanager.api.dto.CalendarDTO;
+import com.shiftmanager.api.dto.CalendarEntryDTO;
+import com.shiftmanager.api.mapper.CalendarEntryMapper;
+import com.shiftmanager.api.mapper.CalendarMapper;
+import com.shiftmanager.api.model.Calendar;
+import com.shiftmanager.api.model.CalendarMonthView;
+import com.shiftmanager.api.repository.CalendarMonthViewRepository;
+import com.shiftmanager.api.repository.CalendarMonthViewRepository.CurrentMonthView;
+import com.shiftmanager.api.repository.CalendarRepository;
+import com.shiftmanager.api.service.CalendarService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves the months of employee calendars from precomputed month views, so a dashboard page
+ * load is one indexed lookup of the view joined to its calendar instead of a range query and
+ * entity mapping.
+ *
+ * <p>A view is current while the calendar's content version equals the version it was built
+ * from. Every write to a calendar's entries increments that version, so the first read after a
+ * change finds no current view, rebuilds the month from the entries and stores it again.
+ */
+@Service
+@Slf4j
+public class CalendarMonthViewService {
+
+    private static final TypeReference<List<CalendarEntryDTO>> ENTRY_LIST = new TypeReference<>() {
+    };
+
+    private final CalendarMonthViewRepository calendarMonthViewRepository;
+    private final CalendarRepository calendarRepository;
+    private final CalendarService calendarService;
+    private final CalendarMapper calendarMapper;
+    private final CalendarEntryMapper calendarEntryMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public CalendarMonthViewService(CalendarMonthViewRepository calendarMonthViewRepository,
+                                    CalendarRepository calendarRepository,
+                                    CalendarService calendarService,
+                                    CalendarMapper calendarMapper,
+                                    CalendarEntryMapper calendarEntryMapper,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.calendarMonthViewRepository = calendarMonthViewRepository;
+        this.calendarRepository = calendarRepository;
+        this.calendarService = calendarService;
+        this.calendarMapper = calendarMapper;
+        this.calendarEntryMapper = calendarEntryMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Get one month of an employee's calendar, creating the calendar if needed
+     * @param employeeId Employee ID
+     * @param year Year
+     * @param month Month
+     * @return Month with its entries serialized
+     */
+    public CalendarMonthContent getMonth(Long employeeId, int year, int month) {
+        return calendarMonthViewRepository.findCurrentByEmployeeId(employeeId, year, month)
+                .map(view -> new CalendarMonthContent(toCalendarDto(view), year, month, view.getEntries()))
+                .orElseGet(() -> buildMonth(employeeId, year, month));
+    }
+
+    /**
+     * Get the entries of an employee's calendar for a date range, read from the views of the
+     * months it covers
+     * @param employeeId Employee ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Entries in date order, spanning entries split into days
+     */
+    public List<CalendarEntryDTO> getEntries(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        List<CalendarEntryDTO> entries = new ArrayList<>();
+        YearMonth lastMonth = YearMonth.from(endDate);
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            for (CalendarEntryDTO entry : readEntries(getMonth(employeeId, month.getYear(), month.getMonthValue()))) {
+                LocalDate date = entry.getEntryDate();
+                if (!date.isBefore(startDate) && !date.isAfter(endDate)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Build a month from the calendar's entries and store it as the month's view
+     */
+    private CalendarMonthContent buildMonth(Long employeeId, int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        BuiltMonth built = transactionTemplate.execute(status -> {
+            Calendar calendar = calendarService.getOrCreateCalendarForEmployee(employeeId);
+            // Taken before the entries are read: a change committed in between leaves the view
+            // stale rather than wrong
+            long calendarVersion = calendar.getContentVersion();
+            List<CalendarEntryDTO> entries = calendarService.getCalendarEntriesForDateRange(calendar.getId(),
+                            yearMonth.atDay(1), yearMonth.atEndOfMonth()).stream()
+                    .map(calendarEntryMapper::toDto)
+                    .toList();
+            return new BuiltMonth(new CalendarMonthContent(calendarMapper.toDto(calendar), year, month,
+                    writeEntries(entries)), calendarVersion);
+        });
+        storeView(built.content.getCalendar().getId(), year, month, built.calendarVersion, built.content.getEntries());
+        return built.content;
+    }
+
+    /**
+     * Store a built month in its own transaction. Losing a race with another request building
+     * the same month is harmless, so a duplicate view is only logged.
+     */
+    private void storeView(Long calendarId, int year, int month, long calendarVersion, String entries) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int refreshed = calendarMonthViewRepository.refresh(calendarId, year, month, calendarVersion,
+                        entries, LocalDateTime.now());
+                if (refreshed == 0) {
+                    calendarMonthViewRepository.save(new CalendarMonthView(
+                            calendarRepository.getReferenceById(calendarId), year, month, calendarVersion, entries));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Month view {}-{} of calendar ID {} was built concurrently", year, month, calendarId);
+        }
+    }
+
+    private static CalendarDTO toCalendarDto(CurrentMonthView view) {
+        return CalendarDTO.builder()
+                .id(view.getCalendarId())
+                .employeeId(view.getEmployeeId())
+                .employeeName(view.getFirstName() + " " + view.getLastName())
+                .year(view.getCalendarYear())
+                .month(view.getCalendarMonth())
+                .build();
+    }
+
+    private String writeEntries(List<CalendarEntryDTO> entries) {
+        try {
+            return objectMapper.writeValueAsString(entries);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize calendar entries", e);
+        }
+    }
+
+    private List<CalendarEntryDTO> readEntries(CalendarMonthContent month) {
+        try {
+            return objectMapper.readValue(month.getEntries(), ENTRY_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read the month view of calendar ID "
+                    + month.getCalendar().getId(), e);
+        }
+    }
+
+    /**
+     * A built month and the calendar version it was built from
+     */
+    private static final class BuiltMonth {
+
+        private final CalendarMonthContent content;
+        private final long calendarVersion;
+
+        private BuiltMonth(CalendarMonthContent content, long calendarVersion) {
+            this.content = content;
+            this.calendarVersion = calendarVersion;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.shiftmanager.api.service.calendar;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint reporting the progress and throughput of the bulk calendar rebuild
+ */
+@Component
+@Endpoint(id = "calendarrebuild")
+@AllArgsConstructor
+public class CalendarRebuildEndpoint {
+
+    private CalendarRebuildService calendarRebuildService;
+
+    @ReadOperation
+    public CalendarRebuildStatus status() {
+        return calendarRebuildService.getStatus();
+    }
+}
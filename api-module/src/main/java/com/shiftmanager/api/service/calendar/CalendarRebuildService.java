@@ -0,0 +1,280 @@
+package com.shiftmanager.api.service.calendar;
+
+import com.shiftmanager.api.model.Calendar;
+import com.shiftmanager.api.model.CalendarEntry;
+import com.shiftmanager.api.model.Shift;
+import com.shiftmanager.api.model.VacationRequest;
+import com.shiftmanager.api.repository.CalendarEntryRepository;
+import com.shiftmanager.api.repository.CalendarRepository;
+import com.shiftmanager.api.repository.EmployeeRepository;
+import com.shiftmanager.api.repository.EmployeeShiftRepository;
+import com.shiftmanager.api.repository.EmployeeShiftRepository.AssignmentRow;
+import com.shiftmanager.api.repository.ShiftRepository;
+import com.shiftmanager.api.repository.VacationRequestRepository;
+import com.shiftmanager.api.repository.VacationRequestRepository.ApprovedVacationRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds the shift and vacation entries of every employee's calendar from the schedule,
+ * for use after data migrations. Employees are split into chunks of consecutive IDs that a
+ * small pool of low-priority workers rebuilds concurrently, each chunk in one transaction
+ * with a fixed number of statements plus batched inserts. The pool is kept well below the
+ * connection pool, so online requests still get connections while a rebuild runs.
+ *
+ * <p>Entries added by hand are left alone. Progress is available through the
+ * {@code calendarrebuild} actuator endpoint and the {@code calendar.rebuild.*} metrics.
+ */
+@Service
+@Slf4j
+public class CalendarRebuildService implements DisposableBean {
+
+    private static final String SHIFT = "SHIFT";
+    private static final String VACATION = "VACATION";
+    private static final List<String> GENERATED_TYPES = List.of(SHIFT, VACATION);
+
+    private final EmployeeRepository employeeRepository;
+    private final CalendarRepository calendarRepository;
+    private final CalendarEntryRepository calendarEntryRepository;
+    private final ShiftRepository shiftRepository;
+    private final EmployeeShiftRepository employeeShiftRepository;
+    private final VacationRequestRepository vacationRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final int chunkSize;
+
+    private final Counter rebuiltEmployees;
+    private final Counter writtenEntries;
+    private final Timer chunkTimer;
+
+    private volatile Run currentRun;
+
+    public CalendarRebuildService(EmployeeRepository employeeRepository,
+                                  CalendarRepository calendarRepository,
+                                  CalendarEntryRepository calendarEntryRepository,
+                                  ShiftRepository shiftRepository,
+                                  EmployeeShiftRepository employeeShiftRepository,
+                                  VacationRequestRepository vacationRequestRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.calendar.rebuild.worker-threads:2}") int workerThreads,
+                                  @Value("${app.calendar.rebuild.chunk-size:250}") int chunkSize) {
+        this.employeeRepository = employeeRepository;
+        this.calendarRepository = calendarRepository;
+        this.calendarEntryRepository = calendarEntryRepository;
+        this.shiftRepository = shiftRepository;
+        this.employeeShiftRepository = employeeShiftRepository;
+        this.vacationRequestRepository = vacationRequestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "calendar-rebuild-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+
+        this.rebuiltEmployees = Counter.builder("calendar.rebuild.employees")
+                .description("Employees whose calendars were rebuilt").register(meterRegistry);
+        this.writtenEntries = Counter.builder("calendar.rebuild.entries")
+                .description("Calendar entries written by rebuilds").register(meterRegistry);
+        this.chunkTimer = Timer.builder("calendar.rebuild.chunks")
+                .description("Time to rebuild one chunk of calendars").register(meterRegistry);
+    }
+
+    /**
+     * Start rebuilding all calendars in the background, unless a rebuild is already running
+     * @return true if a rebuild was started
+     */
+    public synchronized boolean startRebuild() {
+        if (currentRun != null && !currentRun.isFinished()) {
+            return false;
+        }
+
+        List<Long> employeeIds = employeeRepository.findAllIds();
+        List<long[]> chunks = new ArrayList<>();
+        for (int from = 0; from < employeeIds.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, employeeIds.size());
+            chunks.add(new long[]{employeeIds.get(from), employeeIds.get(to - 1), to - from});
+        }
+
+        Run run = new Run(employeeIds.size(), chunks.size());
+        currentRun = run;
+        log.info("Rebuilding the calendars of {} employees in {} chunks", employeeIds.size(), chunks.size());
+        for (long[] chunk : chunks) {
+            workers.execute(() -> rebuildChunk(run, chunk[0], chunk[1], (int) chunk[2]));
+        }
+        return true;
+    }
+
+    /**
+     * Get the progress of the current or last rebuild
+     * @return Rebuild status
+     */
+    public CalendarRebuildStatus getStatus() {
+        Run run = currentRun;
+        return run != null ? run.status() : CalendarRebuildStatus.idle();
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Rebuild one chunk in its own transaction and record the outcome. A failed chunk is
+     * rolled back and logged; the other chunks carry on.
+     */
+    private void rebuildChunk(Run run, long firstEmployeeId, long lastEmployeeId, int employees) {
+        long start = System.nanoTime();
+        boolean last;
+        try {
+            Integer entries = transactionTemplate.execute(status -> writeChunk(firstEmployeeId, lastEmployeeId));
+            rebuiltEmployees.increment(employees);
+            writtenEntries.increment(entries);
+            last = run.chunkCompleted(employees, entries);
+        } catch (RuntimeException e) {
+            log.error("Could not rebuild the calendars of employees {} to {}", firstEmployeeId, lastEmployeeId, e);
+            last = run.chunkFailed();
+        } finally {
+            chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (last) {
+            CalendarRebuildStatus status = run.status();
+            log.info("Rebuilt the calendars of {} employees with {} entries in {} s ({} chunks failed)",
+                    status.getRebuiltEmployees(), status.getEntriesWritten(),
+                    String.format("%.1f", status.getElapsedSeconds()), status.getFailedChunks());
+        }
+    }
+
+    /**
+     * Replace the shift and vacation entries of a range of employees
+     * @return Number of entries written
+     */
+    private int writeChunk(long firstEmployeeId, long lastEmployeeId) {
+        LocalDate today = LocalDate.now();
+        calendarRepository.createMissingCalendars(firstEmployeeId, lastEmployeeId,
+                today.getYear(), today.getMonthValue(), LocalDateTime.now());
+        Map<Long, Calendar> calendars = new HashMap<>();
+        for (Calendar calendar : calendarRepository.findByEmployeeIdBetween(firstEmployeeId, lastEmployeeId)) {
+            calendars.put(calendar.getEmployee().getId(), calendar);
+        }
+        calendarEntryRepository.deleteByEmployeeIdBetweenAndEntryTypeIn(firstEmployeeId, lastEmployeeId,
+                GENERATED_TYPES);
+        calendarRepository.markEntriesChangedByEmployeeIdBetween(firstEmployeeId, lastEmployeeId, LocalDateTime.now());
+
+        List<CalendarEntry> entries = new ArrayList<>();
+        Map<Long, Shift> shifts = shiftRepository.findByAssignedEmployeeIdBetween(firstEmployeeId, lastEmployeeId)
+                .stream().collect(Collectors.toMap(Shift::getId, Function.identity()));
+        for (AssignmentRow assignment : employeeShiftRepository
+                .findAssignmentsByEmployeeIdBetween(firstEmployeeId, lastEmployeeId)) {
+            entries.add(new CalendarEntry(calendars.get(assignment.getEmployeeId()), shifts.get(assignment.getShiftId())));
+        }
+        for (ApprovedVacationRow row : vacationRequestRepository
+                .findApprovedByEmployeeIdBetween(firstEmployeeId, lastEmployeeId)) {
+            entries.add(new CalendarEntry(calendars.get(row.getEmployeeId()), toVacationRequest(row)));
+        }
+        return calendarEntryRepository.insertAll(entries);
+    }
+
+    /**
+     * Detached request holding only what a vacation entry is built from
+     */
+    private static VacationRequest toVacationRequest(ApprovedVacationRow row) {
+        VacationRequest request = new VacationRequest();
+        request.setId(row.getId());
+        request.setStartDate(row.getStartDate());
+        request.setEndDate(row.getEndDate());
+        request.setReason(row.getReason());
+        return request;
+    }
+
+    /**
+     * Counters of one rebuild, updated by the workers
+     */
+    private static final class Run {
+
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final int totalEmployees;
+        private final int totalChunks;
+        private final AtomicInteger rebuiltEmployees = new AtomicInteger();
+        private final AtomicInteger completedChunks = new AtomicInteger();
+        private final AtomicInteger failedChunks = new AtomicInteger();
+        private final AtomicLong entriesWritten = new AtomicLong();
+        private volatile LocalDateTime completedAt;
+        private volatile long elapsedNanos;
+
+        private Run(int totalEmployees, int totalChunks) {
+            this.totalEmployees = totalEmployees;
+            this.totalChunks = totalChunks;
+            if (totalChunks == 0) {
+                finish();
+            }
+        }
+
+        /**
+         * @return true if this was the last chunk to finish
+         */
+        private boolean chunkCompleted(int employees, int entries) {
+            rebuiltEmployees.addAndGet(employees);
+            entriesWritten.addAndGet(entries);
+            return completedChunks.incrementAndGet() + failedChunks.get() == totalChunks && finish();
+        }
+
+        /**
+         * @return true if this was the last chunk to finish
+         */
+        private boolean chunkFailed() {
+            return failedChunks.incrementAndGet() + completedChunks.get() == totalChunks && finish();
+        }
+
+        private synchronized boolean finish() {
+            if (completedAt != null) {
+                return false;
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+            completedAt = LocalDateTime.now();
+            return true;
+        }
+
+        private boolean isFinished() {
+            return completedAt != null;
+        }
+
+        private CalendarRebuildStatus status() {
+            boolean finished = isFinished();
+            String state = !finished ? CalendarRebuildStatus.STATE_RUNNING
+                    : failedChunks.get() > 0 ? CalendarRebuildStatus.STATE_COMPLETED_WITH_ERRORS
+                    : CalendarRebuildStatus.STATE_COMPLETED;
+            long elapsed = finished ? elapsedNanos : System.nanoTime() - startNanos;
+            return new CalendarRebuildStatus(state, startedAt, completedAt, totalEmployees, rebuiltEmployees.get(),
+                    totalChunks, completedChunks.get(), failedChunks.get(), entriesWritten.get(), elapsed / 1e9);
+        }
+    }
+}
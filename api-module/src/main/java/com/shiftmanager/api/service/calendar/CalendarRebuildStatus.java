@@ -0,0 +1,45 @@
+package com.shiftmanager.api.service.calendar;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the current or last bulk calendar rebuild
+ */
+@Getter
+@AllArgsConstructor
+public class CalendarRebuildStatus {
+
+    public static final String STATE_IDLE = "IDLE";
+    public static final String STATE_RUNNING = "RUNNING";
+    public static final String STATE_COMPLETED = "COMPLETED";
+    public static final String STATE_COMPLETED_WITH_ERRORS = "COMPLETED_WITH_ERRORS";
+
+    private final String state;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime completedAt;
+    private final int totalEmployees;
+    private final int rebuiltEmployees;
+    private final int totalChunks;
+    private final int completedChunks;
+    private final int failedChunks;
+    private final long entriesWritten;
+    private final double elapsedSeconds;
+
+    /**
+     * Status before the first rebuild
+     */
+    static CalendarRebuildStatus idle() {
+        return new CalendarRebuildStatus(STATE_IDLE, null, null, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public double getEmployeesPerSecond() {
+        return elapsedSeconds > 0 ? rebuiltEmployees / elapsedSeconds : 0;
+    }
+
+    public double getEntriesPerSecond() {
+        return elapsedSeconds > 0 ? entriesWritten / elapsedSeconds : 0;
+    }
+}
@@ -0,0 +1,175 @@
+package com.shiftmanager.api.service.calendar;
+
+import com.shiftmanager.api.model.CalendarEntry;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Writes calendar entries as an iCalendar (RFC 5545) feed, one event per entry. Times are
+ * written as floating local times, the way shifts are scheduled; all-day and spanning
+ * entries become date events covering all of their days.
+ *
+ * <p>Lines are folded at 75 octets of UTF-8 and text values are escaped as the RFC requires,
+ * so the feed can be written straight to the response while the entries are read.
+ */
+public class ICalendarWriter implements Flushable {
+
+    private static final String PRODUCT_ID = "-//Shift Manager//Calendar Feed//EN";
+    private static final String UID_DOMAIN = "@shift-manager";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final Writer writer;
+    private final String timestamp;
+
+    public ICalendarWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 8 * 1024);
+        this.timestamp = UTC_DATE_TIME.format(LocalDateTime.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Start the calendar
+     * @param name Display name subscribing apps show for the calendar
+     * @throws IOException if the stream fails
+     */
+    public void startCalendar(String name) throws IOException {
+        line("BEGIN", "VCALENDAR");
+        line("VERSION", "2.0");
+        line("PRODID", PRODUCT_ID);
+        line("CALSCALE", "GREGORIAN");
+        line("METHOD", "PUBLISH");
+        line("X-WR-CALNAME", escape(name));
+    }
+
+    /**
+     * Write one entry as an event
+     * @param entry Calendar entry with its calendar set
+     * @param summaryPrefix Text put before the title, such as the employee's name in a team feed, or null
+     * @throws IOException if the stream fails
+     */
+    public void event(CalendarEntry entry, String summaryPrefix) throws IOException {
+        line("BEGIN", "VEVENT");
+        line("UID", uid(entry));
+        line("DTSTAMP", timestamp);
+        if (entry.getUpdatedAt() != null) {
+            line("LAST-MODIFIED", toUtc(entry.getUpdatedAt()));
+        }
+        if (entry.getVersion() != null) {
+            line("SEQUENCE", String.valueOf(entry.getVersion()));
+        }
+
+        LocalDate lastDate = entry.getLastDate();
+        if (entry.isAllDay() || entry.getStartTime() == null || entry.getEndTime() == null) {
+            // Date events end on the day after their last day
+            line("DTSTART;VALUE=DATE", DATE.format(entry.getEntryDate()));
+            line("DTEND;VALUE=DATE", DATE.format(lastDate.plusDays(1)));
+        } else {
+            LocalTime endTime = entry.getEndTime();
+            // A shift ending at or before its start time ends on the next day
+            LocalDate endDate = !entry.isSpanning() && !endTime.isAfter(entry.getStartTime())
+                    ? lastDate.plusDays(1) : lastDate;
+            line("DTSTART", DATE_TIME.format(entry.getEntryDate().atTime(entry.getStartTime())));
+            line("DTEND", DATE_TIME.format(endDate.atTime(endTime)));
+        }
+
+        String title = entry.getTitle() != null ? entry.getTitle() : "";
+        line("SUMMARY", escape(summaryPrefix != null ? summaryPrefix + ": " + title : title));
+        if (entry.getDescription() != null && !entry.getDescription().isEmpty()) {
+            line("DESCRIPTION", escape(entry.getDescription()));
+        }
+        if (entry.getEntryType() != null) {
+            line("CATEGORIES", escape(entry.getEntryType()));
+        }
+        line("TRANSP", "VACATION".equals(entry.getEntryType()) ? "TRANSPARENT" : "OPAQUE");
+        line("END", "VEVENT");
+    }
+
+    /**
+     * End the calendar and flush it to the stream
+     * @throws IOException if the stream fails
+     */
+    public void endCalendar() throws IOException {
+        line("END", "VCALENDAR");
+        flush();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Unique ID of an entry's event. Entries generated from a shift or vacation are named after
+     * it, so the ID survives the entry being rebuilt.
+     */
+    private static String uid(CalendarEntry entry) {
+        if (entry.getReferenceId() != null && entry.getEntryType() != null) {
+            return entry.getEntryType().toLowerCase(Locale.ROOT) + "-" + entry.getReferenceId()
+                    + "-calendar-" + entry.getCalendar().getId() + UID_DOMAIN;
+        }
+        return "entry-" + entry.getId() + UID_DOMAIN;
+    }
+
+    private static String toUtc(LocalDateTime dateTime) {
+        return UTC_DATE_TIME.format(dateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC));
+    }
+
+    /**
+     * Escape a TEXT value: backslashes, semicolons, commas and line breaks
+     */
+    static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Write a content line, folded so no line exceeds 75 octets. Continuation lines start with
+     * a space, and characters are never split across lines.
+     */
+    private void line(String name, String value) throws IOException {
+        writer.write(name);
+        writer.write(':');
+        int octets = name.length() + 1;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean pair = Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1));
+            int size = pair ? 4 : c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+            if (octets + size > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1;
+            }
+            writer.write(c);
+            if (pair) {
+                writer.write(value.charAt(++i));
+            }
+            octets += size;
+        }
+        writer.write("\r\n");
+    }
+}
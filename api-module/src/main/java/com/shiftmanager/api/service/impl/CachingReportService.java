@@ -0,0 +1,134 @@
+package com.shiftmanager.api.service.impl;
+
+import com.shiftmanager.api.service.ReportService;
+import com.shiftmanager.api.service.report.ReportBody;
+import com.shiftmanager.api.service.report.ReportCache;
+import com.shiftmanager.api.service.report.ReportDataVersion;
+import com.shiftmanager.api.service.report.writer.ReportFormat;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * ReportService that serves unchanged reports from the report cache and renders through
+ * ReportServiceImpl otherwise. It sits outside the transactional service, so a cache hit
+ * doesn't touch the database at all. A cached report is served byte for byte, so its
+ * "Generated On" property shows when it was first rendered rather than when it was served.
+ */
+@Service
+@Primary
+@AllArgsConstructor
+public class CachingReportService implements ReportService {
+
+    private ReportServiceImpl reportServiceImpl;
+    private ReportCache reportCache;
+    private ReportDataVersion reportDataVersion;
+
+    @Override
+    public byte[] generateEmployeeScheduleReport(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return render(out -> writeEmployeeScheduleReport(employeeId, startDate, endDate, ReportFormat.TEXT, out));
+    }
+
+    @Override
+    public byte[] generateTeamScheduleReport(Long managerId, LocalDate startDate, LocalDate endDate) {
+        return render(out -> writeTeamScheduleReport(managerId, startDate, endDate, ReportFormat.TEXT, out));
+    }
+
+    @Override
+    public byte[] generateLocationScheduleReport(Long locationId, LocalDate startDate, LocalDate endDate) {
+        return render(out -> writeLocationScheduleReport(locationId, startDate, endDate, ReportFormat.TEXT, out));
+    }
+
+    @Override
+    public byte[] generateVacationSummaryReport(Integer year, Integer month, Long departmentId) {
+        return render(out -> writeVacationSummaryReport(year, month, departmentId, ReportFormat.TEXT, out));
+    }
+
+    @Override
+    public byte[] generateHoursWorkedReport(List<Long> employeeIds, LocalDate startDate, LocalDate endDate) {
+        return render(out -> writeHoursWorkedReport(employeeIds, startDate, endDate, ReportFormat.TEXT, out));
+    }
+
+    @Override
+    public void writeEmployeeScheduleReport(Long employeeId, LocalDate startDate, LocalDate endDate,
+                                            ReportFormat format, OutputStream outputStream) throws IOException {
+        String key = scheduleKey("employee-schedule", format, employeeId + "|" + startDate + "|" + endDate);
+        reportCache.write(key, outputStream, out ->
+                reportServiceImpl.writeEmployeeScheduleReport(employeeId, startDate, endDate, format, out));
+    }
+
+    @Override
+    public void writeTeamScheduleReport(Long managerId, LocalDate startDate, LocalDate endDate,
+                                        ReportFormat format, OutputStream outputStream) throws IOException {
+        String key = scheduleKey("team-schedule", format, managerId + "|" + startDate + "|" + endDate);
+        reportCache.write(key, outputStream, out ->
+                reportServiceImpl.writeTeamScheduleReport(managerId, startDate, endDate, format, out));
+    }
+
+    @Override
+    public void writeLocationScheduleReport(Long locationId, LocalDate startDate, LocalDate endDate,
+                                            ReportFormat format, OutputStream outputStream) throws IOException {
+        String key = scheduleKey("location-schedule", format, locationId + "|" + startDate + "|" + endDate);
+        reportCache.write(key, outputStream, out ->
+                reportServiceImpl.writeLocationScheduleReport(locationId, startDate, endDate, format, out));
+    }
+
+    @Override
+    public void writeLocationScheduleReports(Collection<Long> locationIds, LocalDate startDate, LocalDate endDate,
+                                             ReportFormat format, OutputStream outputStream) throws IOException {
+        // Archives are streamed as they are rendered and would mostly exceed the entry size limit
+        reportServiceImpl.writeLocationScheduleReports(locationIds, startDate, endDate, format, outputStream);
+    }
+
+    @Override
+    public void writeVacationSummaryReport(Integer year, Integer month, Long departmentId,
+                                           ReportFormat format, OutputStream outputStream) throws IOException {
+        String key = "vacation-summary|" + format + "|" + year + "|" + month + "|" + departmentId
+                + "@" + reportDataVersion.getVacationVersion();
+        reportCache.write(key, outputStream, out ->
+                reportServiceImpl.writeVacationSummaryReport(year, month, departmentId, format, out));
+    }
+
+    @Override
+    public void writeHoursWorkedReport(List<Long> employeeIds, LocalDate startDate, LocalDate endDate,
+                                       ReportFormat format, OutputStream outputStream) throws IOException {
+        String employees = employeeIds == null || employeeIds.isEmpty() ? "all" : employeeIds.stream()
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        String key = scheduleKey("hours-worked", format, employees + "|" + startDate + "|" + endDate);
+        reportCache.write(key, outputStream, out ->
+                reportServiceImpl.writeHoursWorkedReport(employeeIds, startDate, endDate, format, out));
+    }
+
+    /**
+     * Build the cache key of a report that is rendered from schedule data
+     * @param reportType Report type
+     * @param format Output format
+     * @param parameters Report parameters
+     * @return Cache key
+     */
+    private String scheduleKey(String reportType, ReportFormat format, String parameters) {
+        return reportType + "|" + format + "|" + parameters + "@" + reportDataVersion.getScheduleVersion();
+    }
+
+    private static byte[] render(ReportBody report) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            report.writeTo(outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -1,9 +1,20 @@
 package com.shiftmanager.api.service.impl;
 
+import com.shiftmanager.api.dto.CalendarEntryDTO;
+import com.shiftmanager.api.dto.TeamCalendarDTO;
 import com.shiftmanager.api.exception.ResourceNotFoundException;
+import com.shiftmanager.api.exception.ValidationErrorResponse;
 import com.shiftmanager.api.model.*;
 import com.shiftmanager.api.repository.*;
+import com.shiftmanager.api.repository.CalendarEntryRepository.CalendarEntryRow;
+import com.shiftmanager.api.repository.CalendarEntryRepository.TeamEntryRow;
+import com.shiftmanager.api.repository.CalendarRepository.CalendarStamp;
+import com.shiftmanager.api.repository.CalendarRepository.TeamCalendarStamp;
+import com.shiftmanager.api.repository.EmployeeRepository.EmployeeSummary;
 import com.shiftmanager.api.service.CalendarService;
+import com.shiftmanager.api.service.calendar.ICalendarWriter;
+import com.shiftmanager.api.service.report.CalendarMonthData;
+import com.shiftmanager.api.service.report.CalendarPdfRenderer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
@@ -12,8 +23,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,12 +51,23 @@ import java.util.stream.Collectors;
 @Slf4j
 public class CalendarServiceImpl implements CalendarService {
 
+    /**
+     * Order of the rows of one employee's month, as the export query sorts them
+     */
+    private static final Comparator<CalendarEntryRow> ROW_ORDER = Comparator
+            .comparing(CalendarEntryRow::getEntryDate)
+            .thenComparing(CalendarEntryRow::isAllDay, Comparator.reverseOrder())
+            .thenComparing(CalendarEntryRow::getStartTime, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final int FEED_MONTHS_BEFORE = 3;
+    private static final int FEED_MONTHS_AFTER = 12;
+
     private CalendarRepository calendarRepository;
     private CalendarEntryRepository calendarEntryRepository;
     private EmployeeRepository employeeRepository;
-    private EmployeeShiftRepository employeeShiftRepository;
     private ShiftRepository shiftRepository;
     private VacationRequestRepository vacationRequestRepository;
+    private CalendarPdfRenderer calendarPdfRenderer;
 
     @Override
     public Calendar getCalendarById(Long calendarId) {
@@ -85,7 +122,7 @@ public class CalendarServiceImpl implements CalendarService {
         if (!calendarRepository.existsById(calendarId)) {
             throw new ResourceNotFoundException("Calendar not found with ID: " + calendarId);
         }
-        return calendarEntryRepository.findByCalendarIdAndEntryDate(calendarId, date);
+        return expandSpans(calendarEntryRepository.findByCalendarIdAndDateRange(calendarId, date, date), date, date);
     }
 
     @Override
@@ -95,7 +132,8 @@ public class CalendarServiceImpl implements CalendarService {
         if (!calendarRepository.existsById(calendarId)) {
             throw new ResourceNotFoundException("Calendar not found with ID: " + calendarId);
         }
-        return calendarEntryRepository.findByCalendarIdAndDateRange(calendarId, startDate, endDate);
+        return expandSpans(calendarEntryRepository.findByCalendarIdAndDateRange(calendarId, startDate, endDate),
+                startDate, endDate);
     }
 
     @Override
@@ -116,7 +154,9 @@ public class CalendarServiceImpl implements CalendarService {
                 .orElseThrow(() -> new ResourceNotFoundException("Calendar not found with ID: " + calendarId));
         
         entry.setCalendar(calendar);
-        return calendarEntryRepository.save(entry);
+        CalendarEntry savedEntry = calendarEntryRepository.save(entry);
+        markEntriesChanged(calendarId);
+        return savedEntry;
     }
 
     @Override
@@ -128,6 +168,7 @@ public class CalendarServiceImpl implements CalendarService {
         
         // Update fields but preserve relationships
         existingEntry.setEntryDate(updatedEntry.getEntryDate());
+        existingEntry.setEndDate(updatedEntry.getEndDate());
         existingEntry.setStartTime(updatedEntry.getStartTime());
         existingEntry.setEndTime(updatedEntry.getEndTime());
         existingEntry.setEntryType(updatedEntry.getEntryType());
@@ -136,18 +177,20 @@ public class CalendarServiceImpl implements CalendarService {
         existingEntry.setAllDay(updatedEntry.isAllDay());
         existingEntry.setColor(updatedEntry.getColor());
         
-        return calendarEntryRepository.save(existingEntry);
+        CalendarEntry savedEntry = calendarEntryRepository.save(existingEntry);
+        markEntriesChanged(existingEntry.getCalendar().getId());
+        return savedEntry;
     }
 
     @Override
     public boolean deleteCalendarEntry(Long entryId) {
         log.debug("Deleting calendar entry ID: {}", entryId);
         
-        if (!calendarEntryRepository.existsById(entryId)) {
-            throw new ResourceNotFoundException("Calendar entry not found with ID: " + entryId);
-        }
+        CalendarEntry existingEntry = calendarEntryRepository.findById(entryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Calendar entry not found with ID: " + entryId));
         
-        calendarEntryRepository.deleteById(entryId);
+        calendarEntryRepository.delete(existingEntry);
+        markEntriesChanged(existingEntry.getCalendar().getId());
         return true;
     }
 
@@ -156,28 +199,20 @@ public class CalendarServiceImpl implements CalendarService {
         log.debug("Syncing shifts to calendar for employee ID: {}", employeeId);
         
         Calendar calendar = getOrCreateCalendarForEmployee(employeeId);
-        Employee employee = calendar.getEmployee();
-        
-        // Get all employee shifts
-        List<EmployeeShift> employeeShifts = employeeShiftRepository.findByEmployee(employee);
-        
-        int entriesCreated = 0;
-        
-        for (EmployeeShift employeeShift : employeeShifts) {
-            Shift shift = employeeShift.getShift();
-            
-            // Check if we already have an entry for this shift
-            List<CalendarEntry> existingEntries = calendarEntryRepository
-                    .findByEntryTypeAndReferenceId("SHIFT", shift.getId());
-            
-            if (existingEntries.isEmpty()) {
-                // Create new calendar entry
-                CalendarEntry entry = new CalendarEntry(calendar, shift);
-                calendarEntryRepository.save(entry);
-                entriesCreated++;
+
+        // Diff the calendar's shift entries against the employee's shifts in memory, so the
+        // sync costs the same few statements however long the employee's history is
+        Set<Long> syncedShiftIds = calendarEntryRepository
+                .findReferenceIdsByCalendarIdAndEntryType(calendar.getId(), "SHIFT");
+        List<CalendarEntry> newEntries = new ArrayList<>();
+        for (Shift shift : shiftRepository.findByAssignedEmployeeId(employeeId)) {
+            if (syncedShiftIds.add(shift.getId())) {
+                newEntries.add(new CalendarEntry(calendar, shift));
             }
         }
 
+        int entriesCreated = calendarEntryRepository.insertAll(newEntries);
+
         log.info("Created {} new calendar entries for employee ID: {}", entriesCreated, employeeId);
         return entriesCreated;
     }
@@ -187,41 +222,19 @@ public class CalendarServiceImpl implements CalendarService {
         log.debug("Syncing vacation requests to calendar for employee ID: {}", employeeId);
         
         Calendar calendar = getOrCreateCalendarForEmployee(employeeId);
-        Employee employee = calendar.getEmployee();
-        
-        // Get all approved vacation requests
-        List<VacationRequest> vacationRequests = vacationRequestRepository
-                .findByEmployeeAndStatus(employee, "APPROVED");
-        
-        int entriesCreated = 0;
-        
-        for (VacationRequest vacationRequest : vacationRequests) {
-            // Check if we already have an entry for this vacation request
-            List<CalendarEntry> existingEntries = calendarEntryRepository
-                    .findByEntryTypeAndReferenceId("VACATION", vacationRequest.getId());
-            
-            if (existingEntries.isEmpty()) {
-                // Create entries for each day in the vacation request range
-                LocalDate currentDate = vacationRequest.getStartDate();
-                while (!currentDate.isAfter(vacationRequest.getEndDate())) {
-                    CalendarEntry entry = new CalendarEntry(
-                            calendar,
-                            currentDate,
-                            null,
-                            null,
-                            "VACATION",
-                            "Vacation",
-                            vacationRequest.getReason(),
-                            true,
-                            vacationRequest.getId(),
-                            "#F44336" // Red
-                    );
-                    calendarEntryRepository.save(entry);
-                    entriesCreated++;
-                    currentDate = currentDate.plusDays(1);
-                }
+        
+        // Each approved vacation becomes one entry spanning all of its days, expanded when read
+        Set<Long> syncedRequestIds = calendarEntryRepository
+                .findReferenceIdsByCalendarIdAndEntryType(calendar.getId(), "VACATION");
+        List<CalendarEntry> newEntries = new ArrayList<>();
+        for (VacationRequest vacationRequest : vacationRequestRepository
+                .findByEmployeeAndStatus(calendar.getEmployee(), "APPROVED")) {
+            if (syncedRequestIds.add(vacationRequest.getId())) {
+                newEntries.add(new CalendarEntry(calendar, vacationRequest));
             }
         }
+        
+        int entriesCreated = calendarEntryRepository.insertAll(newEntries);
 
         log.info("Created {} new vacation calendar entries for employee ID: {}", entriesCreated, employeeId);
         return entriesCreated;
@@ -239,6 +252,58 @@ public class CalendarServiceImpl implements CalendarService {
         return calendarRepository.findByManagerId(managerId);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<TeamCalendarDTO> getTeamCalendarEntries(Long managerId, LocalDate startDate, LocalDate endDate) {
+        log.debug("Getting team calendar entries for manager ID: {} between {} and {}", managerId, startDate, endDate);
+        
+        if (endDate.isBefore(startDate)) {
+            throw ValidationErrorResponse.exception("The end date cannot be before the start date");
+        }
+        
+        // Rows arrive grouped by employee, so each member's calendar is complete when the next starts
+        List<TeamCalendarDTO> teamCalendars = new ArrayList<>();
+        TeamCalendarDTO member = null;
+        for (TeamEntryRow row : calendarEntryRepository.findTeamRowsByManagerIdAndDateRange(
+                managerId, startDate, endDate)) {
+            if (member == null || !member.getEmployeeId().equals(row.getEmployeeId())) {
+                member = TeamCalendarDTO.builder()
+                        .employeeId(row.getEmployeeId())
+                        .employeeName(row.getFirstName() + " " + row.getLastName())
+                        .calendarId(row.getCalendarId())
+                        .entries(new ArrayList<>())
+                        .build();
+                teamCalendars.add(member);
+            }
+            if (row.getId() != null) {
+                member.getEntries().add(toEntryDto(row));
+            }
+        }
+        
+        // Only an empty team needs telling apart from an unknown manager
+        if (teamCalendars.isEmpty() && !employeeRepository.existsById(managerId)) {
+            throw new ResourceNotFoundException("Manager not found with ID: " + managerId);
+        }
+        return teamCalendars;
+    }
+    
+    private static CalendarEntryDTO toEntryDto(TeamEntryRow row) {
+        return CalendarEntryDTO.builder()
+                .id(row.getId())
+                .calendarId(row.getCalendarId())
+                .entryDate(row.getEntryDate())
+                .endDate(row.getEndDate())
+                .startTime(row.getStartTime())
+                .endTime(row.getEndTime())
+                .entryType(row.getEntryType())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .allDay(Boolean.TRUE.equals(row.getAllDay()))
+                .referenceId(row.getReferenceId())
+                .color(row.getColor())
+                .build();
+    }
+    
     @Override
     public List<Calendar> getAllCalendars() {
         log.debug("Getting all calendars");
@@ -253,7 +318,9 @@ public class CalendarServiceImpl implements CalendarService {
                 .orElseThrow(() -> new ResourceNotFoundException("Calendar not found with ID: " + calendarId));
         
         entry.setCalendar(calendar);
-        return calendarEntryRepository.save(entry);
+        CalendarEntry savedEntry = calendarEntryRepository.save(entry);
+        markEntriesChanged(calendarId);
+        return savedEntry;
     }
     
     @Override
@@ -275,6 +342,7 @@ public class CalendarServiceImpl implements CalendarService {
         
         // Update fields preserving relationships
         existingEntry.setEntryDate(entry.getEntryDate());
+        existingEntry.setEndDate(entry.getEndDate());
         existingEntry.setStartTime(entry.getStartTime());
         existingEntry.setEndTime(entry.getEndTime());
         existingEntry.setEntryType(entry.getEntryType());
@@ -283,7 +351,9 @@ public class CalendarServiceImpl implements CalendarService {
         existingEntry.setAllDay(entry.isAllDay());
         existingEntry.setColor(entry.getColor());
         
-        return calendarEntryRepository.save(existingEntry);
+        CalendarEntry savedEntry = calendarEntryRepository.save(existingEntry);
+        markEntriesChanged(calendarId);
+        return savedEntry;
     }
     
     @Override
@@ -304,6 +374,7 @@ public class CalendarServiceImpl implements CalendarService {
         }
         
         calendarEntryRepository.delete(existingEntry);
+        markEntriesChanged(calendarId);
         return true;
     }
     
@@ -316,35 +387,223 @@ public class CalendarServiceImpl implements CalendarService {
             throw new ResourceNotFoundException("Calendar not found with ID: " + calendarId);
         }
         
-        return calendarEntryRepository.findByCalendarIdAndDateRange(calendarId, startDate, endDate);
+        return expandSpans(calendarEntryRepository.findByCalendarIdAndDateRange(calendarId, startDate, endDate),
+                startDate, endDate);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public byte[] exportCalendarToPdf(Long employeeId, Integer month, Integer year) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            writeCalendarPdf(employeeId, month, year, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void writeCalendarPdf(Long employeeId, Integer month, Integer year, OutputStream outputStream)
+            throws IOException {
         log.debug("Exporting calendar to PDF for employee ID: {}, month: {}, year: {}", employeeId, month, year);
         
-        // Get employee calendar
-        Calendar calendar = getOrCreateCalendarForEmployee(employeeId);
+        YearMonth yearMonth = toYearMonth(month, year);
+        List<EmployeeSummary> employees = employeeRepository.findSummariesByIdIn(List.of(employeeId));
+        if (employees.isEmpty()) {
+            throw new ResourceNotFoundException("Employee not found with ID: " + employeeId);
+        }
         
-        // Get start and end dates for the month
-        LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = startDate.plusMonths(1).minusDays(1);
+        calendarPdfRenderer.render(loadCalendarMonths(employees, yearMonth), outputStream);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void writeTeamCalendarPdf(Long managerId, Integer month, Integer year, OutputStream outputStream)
+            throws IOException {
+        log.debug("Exporting team calendars to PDF for manager ID: {}, month: {}, year: {}", managerId, month, year);
         
-        // Get all entries for the month
-        List<CalendarEntry> entries = getCalendarEntriesForDateRange(calendar.getId(), startDate, endDate);
+        YearMonth yearMonth = toYearMonth(month, year);
+        if (!employeeRepository.existsById(managerId)) {
+            throw new ResourceNotFoundException("Manager not found with ID: " + managerId);
+        }
+        List<EmployeeSummary> teamMembers = employeeRepository.findSummariesByManagerId(managerId);
+        if (teamMembers.isEmpty()) {
+            throw new ResourceNotFoundException("No team members found for manager with ID: " + managerId);
+        }
         
-        // TODO: Generate PDF with the entries
-        // This would typically be handled by a PDF generation library like iText or PDFBox
-        // For now, just return a placeholder byte array
-        String content = "Calendar for " + calendar.getEmployee().getFirstName() + " " + 
-                calendar.getEmployee().getLastName() + "\n";
-        content += "Month: " + month + ", Year: " + year + "\n\n";
+        calendarPdfRenderer.render(loadCalendarMonths(teamMembers, yearMonth), outputStream);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public String getEmployeeFeedETag(Long employeeId) {
+        CalendarStamp stamp = calendarRepository.findStampByEmployeeId(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Calendar not found for employee with ID: " + employeeId));
+        return "\"" + stamp.getId() + "-" + stamp.getContentVersion() + "-" + toEpochMilli(stamp.getUpdatedAt())
+                + "-" + feedStart() + "\"";
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void writeEmployeeFeed(Long employeeId, OutputStream outputStream) throws IOException {
+        log.debug("Writing calendar feed for employee ID: {}", employeeId);
+        
+        Calendar calendar = getCalendarByEmployeeId(employeeId);
+        EmployeeSummary employee = employeeRepository.findSummariesByIdIn(List.of(employeeId)).get(0);
+        
+        ICalendarWriter writer = new ICalendarWriter(outputStream);
+        writer.startCalendar("Shifts - " + employee.getFirstName() + " " + employee.getLastName());
+        for (CalendarEntry entry : calendarEntryRepository.findByCalendarIdAndDateRange(
+                calendar.getId(), feedStart(), feedEnd())) {
+            writer.event(entry, null);
+        }
+        writer.endCalendar();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public String getTeamFeedETag(Long managerId) {
+        if (!employeeRepository.existsById(managerId)) {
+            throw new ResourceNotFoundException("Manager not found with ID: " + managerId);
+        }
+        TeamCalendarStamp stamp = calendarRepository.findTeamStampByManagerId(managerId);
+        return "\"team-" + managerId + "-" + stamp.getCalendarCount() + "-" + stamp.getIdSum() + "-"
+                + stamp.getContentVersionSum() + "-" + toEpochMilli(stamp.getUpdatedAt()) + "-" + feedStart() + "\"";
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void writeTeamFeed(Long managerId, OutputStream outputStream) throws IOException {
+        log.debug("Writing team calendar feed for manager ID: {}", managerId);
         
-        for (CalendarEntry entry : entries) {
-            content += entry.getEntryDate() + ": " + entry.getTitle() + "\n";
+        List<EmployeeSummary> managers = employeeRepository.findSummariesByIdIn(List.of(managerId));
+        if (managers.isEmpty()) {
+            throw new ResourceNotFoundException("Manager not found with ID: " + managerId);
+        }
+        Map<Long, String> namesByEmployee = new HashMap<>();
+        for (EmployeeSummary member : employeeRepository.findSummariesByManagerId(managerId)) {
+            namesByEmployee.put(member.getId(), member.getFirstName() + " " + member.getLastName());
+        }
+        Map<Long, String> namesByCalendar = new HashMap<>();
+        for (Calendar calendar : calendarRepository.findByManagerId(managerId)) {
+            namesByCalendar.put(calendar.getId(), namesByEmployee.get(calendar.getEmployee().getId()));
         }
         
-        return content.getBytes();
+        ICalendarWriter writer = new ICalendarWriter(outputStream);
+        EmployeeSummary manager = managers.get(0);
+        writer.startCalendar("Team of " + manager.getFirstName() + " " + manager.getLastName());
+        if (!namesByCalendar.isEmpty()) {
+            for (CalendarEntry entry : calendarEntryRepository.findByCalendarIdInAndDateRange(
+                    namesByCalendar.keySet(), feedStart(), feedEnd())) {
+                writer.event(entry, namesByCalendar.get(entry.getCalendar().getId()));
+            }
+        }
+        writer.endCalendar();
+    }
+    
+    /**
+     * First day of calendar feeds. Whole months, so the window and the feed ETags move once a month.
+     */
+    private static LocalDate feedStart() {
+        return YearMonth.now().minusMonths(FEED_MONTHS_BEFORE).atDay(1);
+    }
+    
+    private static LocalDate feedEnd() {
+        return YearMonth.now().plusMonths(FEED_MONTHS_AFTER).atEndOfMonth();
+    }
+    
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+    
+    private void markEntriesChanged(Long calendarId) {
+        calendarRepository.markEntriesChanged(calendarId, LocalDateTime.now());
+    }
+    
+    /**
+     * Load the calendar entries of all given employees for a month with one query
+     * @param employees Employees, in page order
+     * @param yearMonth Month
+     * @return One calendar month per employee (employees without a calendar get an empty month)
+     */
+    private List<CalendarMonthData> loadCalendarMonths(List<EmployeeSummary> employees, YearMonth yearMonth) {
+        List<Long> employeeIds = employees.stream().map(EmployeeSummary::getId).collect(Collectors.toList());
+        List<CalendarEntryRow> rows = calendarEntryRepository.findRowsByEmployeeIdsAndDateRange(
+                employeeIds, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+        
+        Map<Long, List<CalendarEntryRow>> rowsByEmployee = new HashMap<>();
+        Set<Long> employeesWithSpans = new HashSet<>();
+        for (CalendarEntryRow row : rows) {
+            List<CalendarEntryRow> employeeRows = rowsByEmployee
+                    .computeIfAbsent(row.getEmployeeId(), id -> new ArrayList<>());
+            if (row.getEndDate() == null || !row.getEndDate().isAfter(row.getEntryDate())) {
+                employeeRows.add(row);
+                continue;
+            }
+            // The renderer expects one row per day within the month, so spans are expanded here
+            LocalDate date = max(row.getEntryDate(), yearMonth.atDay(1));
+            LocalDate last = min(row.getEndDate(), yearMonth.atEndOfMonth());
+            for (; !date.isAfter(last); date = date.plusDays(1)) {
+                employeeRows.add(new CalendarDayRow(row, date));
+            }
+            employeesWithSpans.add(row.getEmployeeId());
+        }
+        for (Long employeeId : employeesWithSpans) {
+            rowsByEmployee.get(employeeId).sort(ROW_ORDER);
+        }
+        
+        List<CalendarMonthData> months = new ArrayList<>(employees.size());
+        for (EmployeeSummary employee : employees) {
+            months.add(new CalendarMonthData(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                    yearMonth, rowsByEmployee.getOrDefault(employee.getId(), Collections.emptyList())));
+        }
+        return months;
+    }
+    
+    /**
+     * Expand spanning entries into one occurrence per day they cover within a range
+     * @param entries Entries ordered by entry date
+     * @param startDate First day of the range
+     * @param endDate Last day of the range
+     * @return The entries, with every spanning entry replaced by its occurrences, ordered by date
+     */
+    private static List<CalendarEntry> expandSpans(List<CalendarEntry> entries, LocalDate startDate,
+                                                   LocalDate endDate) {
+        if (entries.stream().noneMatch(CalendarEntry::isSpanning)) {
+            return entries;
+        }
+        List<CalendarEntry> expanded = new ArrayList<>(entries.size());
+        for (CalendarEntry entry : entries) {
+            if (!entry.isSpanning()) {
+                expanded.add(entry);
+                continue;
+            }
+            LocalDate last = min(entry.getLastDate(), endDate);
+            for (LocalDate date = max(entry.getEntryDate(), startDate); !date.isAfter(last); date = date.plusDays(1)) {
+                expanded.add(CalendarEntry.occurrenceOf(entry, date));
+            }
+        }
+        // Stable, so entries of one day keep the order they had
+        expanded.sort(Comparator.comparing(CalendarEntry::getEntryDate));
+        return expanded;
+    }
+    
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+    
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+    
+    private static YearMonth toYearMonth(Integer month, Integer year) {
+        if (year == null || month == null || month < 1 || month > 12) {
+            throw ValidationErrorResponse.exception("A year and a month between 1 and 12 are required");
+        }
+        return YearMonth.of(year, month);
     }
     
     @Override
@@ -361,4 +620,58 @@ public class CalendarServiceImpl implements CalendarService {
         // Get all entries for the month
         return getCalendarEntriesForDateRange(calendar.getId(), startDate, endDate);
     }
+    
+    /**
+     * One day of a spanning entry row
+     */
+    private static final class CalendarDayRow implements CalendarEntryRow {
+        
+        private final CalendarEntryRow row;
+        private final LocalDate date;
+        
+        private CalendarDayRow(CalendarEntryRow row, LocalDate date) {
+            this.row = row;
+            this.date = date;
+        }
+        
+        @Override
+        public Long getEmployeeId() {
+            return row.getEmployeeId();
+        }
+        
+        @Override
+        public LocalDate getEntryDate() {
+            return date;
+        }
+        
+        @Override
+        public LocalDate getEndDate() {
+            return row.getEndDate();
+        }
+        
+        @Override
+        public LocalTime getStartTime() {
+            return row.getStartTime();
+        }
+        
+        @Override
+        public LocalTime getEndTime() {
+            return row.getEndTime();
+        }
+        
+        @Override
+        public String getTitle() {
+            return row.getTitle();
+        }
+        
+        @Override
+        public boolean isAllDay() {
+            return row.isAllDay();
+        }
+        
+        @Override
+        public String getColor() {
+            return row.getColor();
+        }
+    }
 }
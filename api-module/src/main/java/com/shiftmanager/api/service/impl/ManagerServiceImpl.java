@@ -1,24 +1,43 @@
 package com.shiftmanager.api.service.impl;
 
+import com.shiftmanager.api.dto.ScheduleProposalDTO;
+import com.shiftmanager.api.dto.ShiftAssignmentDTO;
+import com.shiftmanager.api.dto.ShiftAssignmentResultDTO;
+import com.shiftmanager.api.event.ShiftAssignment;
+import com.shiftmanager.api.event.ShiftAssignmentEvent;
+import com.shiftmanager.api.event.ShiftChangeEvent;
+import com.shiftmanager.api.event.ShiftCreatedEvent;
+import com.shiftmanager.api.event.VacationApprovedEvent;
 import com.shiftmanager.api.exception.ResourceNotFoundException;
 import com.shiftmanager.api.exception.ValidationErrorResponse;
 import com.shiftmanager.api.model.*;
 import com.shiftmanager.api.repository.*;
 import com.shiftmanager.api.service.ManagerService;
 import com.shiftmanager.api.service.NotificationService;
+import com.shiftmanager.api.service.schedule.AutoScheduleService;
+import com.shiftmanager.api.service.schedule.ShiftConflictService;
+import com.shiftmanager.api.service.schedule.ShiftInterval;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +50,11 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ManagerServiceImpl implements ManagerService {
 
+    /**
+     * Largest number of assignments accepted by one bulk request
+     */
+    private static final int MAX_BULK_ASSIGNMENTS = 1000;
+
     private EmployeeRepository employeeRepository;
 
     private ShiftRepository shiftRepository;
@@ -41,6 +65,12 @@ public class ManagerServiceImpl implements ManagerService {
 
     private NotificationService notificationService;
 
+    private ShiftConflictService shiftConflictService;
+
+    private AutoScheduleService autoScheduleService;
+
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public boolean assignShiftToEmployee(Long shiftId, Long employeeId, Long managerId) {
         log.debug("Manager with ID: {} assigning shift ID: {} to employee ID: {}", managerId, shiftId, employeeId);
@@ -66,13 +96,7 @@ public class ManagerServiceImpl implements ManagerService {
         }
         
         // Check if employee already has a shift at the same time
-        List<EmployeeShift> conflictingShifts = employeeShiftRepository.findConflictingShifts(
-                employee.getId(), 
-                shift.getShiftDate(), 
-                shift.getStartTime(), 
-                shift.getEndTime());
-        
-        if (!conflictingShifts.isEmpty()) {
+        if (shiftConflictService.findConflict(employee.getId(), shift, null).isPresent()) {
             throw ValidationErrorResponse.exception("Employee already has a shift during this time");
         }
         
@@ -85,6 +109,8 @@ public class ManagerServiceImpl implements ManagerService {
         employeeShift.setStatus("ASSIGNED");
         
         employeeShiftRepository.save(employeeShift);
+        shiftConflictService.assigned(employeeId, shift);
+        eventPublisher.publishEvent(ShiftAssignmentEvent.assigned(new ShiftAssignment(employeeId, shiftId)));
         
         // Send notification to employee
         notificationService.sendShiftAssignmentNotification(employeeId, shiftId);
@@ -92,6 +118,129 @@ public class ManagerServiceImpl implements ManagerService {
         return true;
     }
 
+    @Override
+    public List<ShiftAssignmentResultDTO> assignShiftsToEmployees(List<ShiftAssignmentDTO> assignments, Long managerId) {
+        log.debug("Manager with ID: {} assigning {} shifts", managerId, assignments.size());
+        
+        if (assignments.size() > MAX_BULK_ASSIGNMENTS) {
+            throw ValidationErrorResponse.exception(
+                    "At most " + MAX_BULK_ASSIGNMENTS + " assignments can be made in one request");
+        }
+        
+        // Verify manager exists and is authorized
+        Employee manager = getAndVerifyManager(managerId);
+        
+        // Load everything the checks need with one query each
+        Set<Long> employeeIds = new HashSet<>();
+        Set<Long> shiftIds = new HashSet<>();
+        for (ShiftAssignmentDTO assignment : assignments) {
+            if (assignment.getEmployeeId() != null) {
+                employeeIds.add(assignment.getEmployeeId());
+            }
+            if (assignment.getShiftId() != null) {
+                shiftIds.add(assignment.getShiftId());
+            }
+        }
+        Map<Long, Employee> employees = employeeRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        Map<Long, Shift> shifts = shiftIds.isEmpty() ? Map.of() : shiftRepository.findWithTypeAndLocationByIdIn(shiftIds).stream()
+                .collect(Collectors.toMap(Shift::getId, Function.identity()));
+        Set<ShiftAssignment> taken = new HashSet<>();
+        if (!employees.isEmpty() && !shifts.isEmpty()) {
+            for (EmployeeShiftRepository.AssignmentKey key : employeeShiftRepository.findAssignmentKeys(employees.keySet(), shifts.keySet())) {
+                taken.add(new ShiftAssignment(key.getEmployeeId(), key.getShiftId()));
+            }
+        }
+        shiftConflictService.preload(employees.keySet());
+        
+        // Check every assignment in the order of the single assignment endpoint. Accepted
+        // assignments count as taken for the rest of the batch.
+        List<ShiftAssignmentResultDTO> results = new ArrayList<>(assignments.size());
+        List<EmployeeShift> employeeShifts = new ArrayList<>();
+        List<ShiftAssignment> accepted = new ArrayList<>();
+        Map<Long, List<ShiftInterval>> acceptedIntervals = new HashMap<>();
+        Map<Long, List<Shift>> acceptedShifts = new LinkedHashMap<>();
+        LocalDateTime assignedAt = LocalDateTime.now();
+        for (ShiftAssignmentDTO assignment : assignments) {
+            Long employeeId = assignment.getEmployeeId();
+            Long shiftId = assignment.getShiftId();
+            Employee employee = employeeId != null ? employees.get(employeeId) : null;
+            Shift shift = shiftId != null ? shifts.get(shiftId) : null;
+            
+            String error = null;
+            if (employeeId == null || shiftId == null) {
+                error = "Shift ID and employee ID are required";
+            } else if (employee == null) {
+                error = "Employee not found with ID: " + employeeId;
+            } else if (employee.getManager() == null || !employee.getManager().getId().equals(managerId)) {
+                error = "Not authorized to manage this employee";
+            } else if (shift == null) {
+                error = "Shift not found with ID: " + shiftId;
+            } else if (!taken.add(new ShiftAssignment(employeeId, shiftId))) {
+                error = "Employee already assigned to this shift";
+            } else {
+                ShiftInterval interval = ShiftInterval.of(shift);
+                List<ShiftInterval> batchIntervals = acceptedIntervals.computeIfAbsent(employeeId, id -> new ArrayList<>());
+                if (shiftConflictService.findConflict(employeeId, shift, null).isPresent()
+                        || batchIntervals.stream().anyMatch(interval::overlaps)) {
+                    error = "Employee already has a shift during this time";
+                    taken.remove(new ShiftAssignment(employeeId, shiftId));
+                } else {
+                    batchIntervals.add(interval);
+                }
+            }
+            
+            if (error != null) {
+                results.add(ShiftAssignmentResultDTO.builder()
+                        .shiftId(shiftId).employeeId(employeeId).success(false).message(error).build());
+                continue;
+            }
+            
+            EmployeeShift employeeShift = new EmployeeShift();
+            employeeShift.setEmployee(employee);
+            employeeShift.setShift(shift);
+            employeeShift.setAssignedBy(manager);
+            employeeShift.setAssignedAt(assignedAt);
+            employeeShift.setStatus("ASSIGNED");
+            employeeShifts.add(employeeShift);
+            accepted.add(new ShiftAssignment(employeeId, shiftId));
+            acceptedShifts.computeIfAbsent(employeeId, id -> new ArrayList<>()).add(shift);
+            results.add(ShiftAssignmentResultDTO.builder()
+                    .shiftId(shiftId).employeeId(employeeId).success(true).message("Assigned").build());
+        }
+        
+        if (!accepted.isEmpty()) {
+            employeeShiftRepository.insertAll(employeeShifts);
+            for (EmployeeShift employeeShift : employeeShifts) {
+                shiftConflictService.assigned(employeeShift.getEmployee().getId(), employeeShift.getShift());
+            }
+            eventPublisher.publishEvent(new ShiftAssignmentEvent(accepted, List.of()));
+            
+            // One notification per employee for all of their new shifts
+            acceptedShifts.forEach(notificationService::sendShiftAssignmentsNotification);
+        }
+        
+        log.debug("Manager with ID: {} assigned {} of {} shifts", managerId, accepted.size(), assignments.size());
+        return results;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ScheduleProposalDTO proposeSchedule(Long locationId, LocalDate weekStart, Long managerId) {
+        log.debug("Manager with ID: {} requesting a schedule proposal for location ID: {} from {}", managerId, locationId, weekStart);
+        
+        // Verify manager exists and is authorized
+        getAndVerifyManager(managerId);
+        
+        // Only active team members are scheduled
+        List<Employee> team = employeeRepository.findByManagerId(managerId).stream()
+                .filter(employee -> employee.getStatus() == null || "ACTIVE".equals(employee.getStatus()))
+                .collect(Collectors.toList());
+        
+        // Outside a transaction, so that no connection is held while the solver runs
+        return autoScheduleService.propose(locationId, weekStart, team);
+    }
+
     @Override
     public boolean unassignShiftFromEmployee(Long shiftId, Long employeeId, Long managerId) {
         log.debug("Manager with ID: {} unassigning shift ID: {} from employee ID: {}", managerId, shiftId, employeeId);
@@ -118,6 +267,8 @@ public class ManagerServiceImpl implements ManagerService {
                         "Employee with ID: " + employeeId + " is not assigned to shift with ID: " + shiftId));
         
         employeeShiftRepository.delete(employeeShift);
+        shiftConflictService.unassigned(employeeId, shiftId);
+        eventPublisher.publishEvent(ShiftAssignmentEvent.unassigned(new ShiftAssignment(employeeId, shiftId)));
         
         // Create notification for employee
         notificationService.createNotification(
@@ -149,25 +300,14 @@ public class ManagerServiceImpl implements ManagerService {
         Shift newShift = shiftRepository.findById(newShiftId)
                 .orElseThrow(() -> new ResourceNotFoundException("New shift not found with ID: " + newShiftId));
         
-        // Check for conflicts with the new shift
-        List<EmployeeShift> conflictingShifts = employeeShiftRepository.findConflictingShifts(
-                employeeShift.getEmployee().getId(), 
-                newShift.getShiftDate(), 
-                newShift.getStartTime(), 
-                newShift.getEndTime());
-        
-        // Remove current shift from conflicts if it's in the list
-        conflictingShifts = conflictingShifts.stream()
-                .filter(shift -> !shift.getId().equals(employeeShiftId))
-                .collect(Collectors.toList());
+        // Store old shift details for notification
+        Shift oldShift = employeeShift.getShift();
         
-        if (!conflictingShifts.isEmpty()) {
+        // Check for conflicts with the new shift, apart from the current one
+        if (shiftConflictService.findConflict(employeeShift.getEmployee().getId(), newShift, oldShift.getId()).isPresent()) {
             throw ValidationErrorResponse.exception("Employee already has a shift during this time");
         }
         
-        // Store old shift details for notification
-        Shift oldShift = employeeShift.getShift();
-        
         // Update employee shift
         employeeShift.setShift(newShift);
         employeeShift.setAssignedBy(manager);
@@ -175,6 +315,12 @@ public class ManagerServiceImpl implements ManagerService {
         employeeShift.setStatus("REASSIGNED");
         
         employeeShiftRepository.save(employeeShift);
+        Long employeeId = employeeShift.getEmployee().getId();
+        shiftConflictService.unassigned(employeeId, oldShift.getId());
+        shiftConflictService.assigned(employeeId, newShift);
+        eventPublisher.publishEvent(new ShiftAssignmentEvent(
+                List.of(new ShiftAssignment(employeeId, newShift.getId())),
+                List.of(new ShiftAssignment(employeeId, oldShift.getId()))));
         
         // Create notification for employee
         notificationService.createNotification(
@@ -226,6 +372,7 @@ public class ManagerServiceImpl implements ManagerService {
         vacationRequest.setReviewNotes(reviewNotes);
         
         VacationRequest approvedRequest = vacationRequestRepository.save(vacationRequest);
+        eventPublisher.publishEvent(new VacationApprovedEvent(vacationRequestId));
         
         // Send notification to employee
         notificationService.sendVacationRequestStatusNotification(
@@ -333,7 +480,9 @@ public class ManagerServiceImpl implements ManagerService {
         // Set created by
         shift.setCreatedById(managerId);
         
-        return shiftRepository.save(shift);
+        Shift savedShift = shiftRepository.save(shift);
+        eventPublisher.publishEvent(ShiftCreatedEvent.of(List.of(savedShift)));
+        return savedShift;
     }
 
     @Override
@@ -359,6 +508,7 @@ public class ManagerServiceImpl implements ManagerService {
         existingShift.setUpdatedById(managerId);
         
         Shift savedShift = shiftRepository.save(existingShift);
+        eventPublisher.publishEvent(ShiftChangeEvent.updated(shiftId));
         
         // Notify all employees assigned to this shift
         List<EmployeeShift> assignedEmployees = employeeShiftRepository.findByShift(existingShift);
@@ -392,6 +542,7 @@ public class ManagerServiceImpl implements ManagerService {
         
         // Delete the shift
         shiftRepository.delete(shift);
+        eventPublisher.publishEvent(ShiftChangeEvent.deleted(shiftId));
         
         // Notify all employees who were assigned to this shift
         for (EmployeeShift assignment : assignedEmployees) {
@@ -22,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -143,8 +144,7 @@ public class NotificationServiceImpl implements NotificationService {
         Shift shift = shiftRepository.findById(shiftId)
                 .orElseThrow(() -> new ResourceNotFoundException("Shift not found with ID: " + shiftId));
         
-        String message = "You have been assigned to a shift on " + shift.getShiftDate() +
-                " at " + shift.getLocation().getName() + " (" + shift.getShiftType().getName() + " shift)";
+        String message = "You have been assigned to a shift on " + describeShift(shift);
         
         // Try to send email if employee has email address
         if (employee.getEmail() != null && !employee.getEmail().isEmpty()) {
@@ -158,6 +158,37 @@ public class NotificationServiceImpl implements NotificationService {
         return createNotification(employeeId, message, "SHIFT_ASSIGNMENT", shiftId);
     }
     
+    @Override
+    public NotificationDTO sendShiftAssignmentsNotification(Long employeeId, List<Shift> shifts) {
+        log.debug("Sending assignment notification for {} shifts to employee ID: {}", shifts.size(), employeeId);
+        
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
+        
+        String message;
+        Long referenceId = null;
+        if (shifts.size() == 1) {
+            message = "You have been assigned to a shift on " + describeShift(shifts.get(0));
+            referenceId = shifts.get(0).getId();
+        } else {
+            // A date range rather than every shift, to stay within the message length
+            List<LocalDate> dates = shifts.stream().map(Shift::getShiftDate).sorted().toList();
+            message = "You have been assigned to " + shifts.size() + " shifts between " +
+                    dates.get(0) + " and " + dates.get(dates.size() - 1);
+        }
+        
+        // Try to send email if employee has email address
+        if (employee.getEmail() != null && !employee.getEmail().isEmpty()) {
+            sendEmailNotification(
+                    employee.getEmail(),
+                    "New Shift Assignments",
+                    message);
+        }
+        
+        // Create in-app notification
+        return createNotification(employeeId, message, "SHIFT_ASSIGNMENT", referenceId);
+    }
+    
     @Override
     public NotificationDTO sendVacationRequestStatusNotification(Long employeeId, Long vacationRequestId, boolean approved) {
         log.debug("Sending vacation request {} notification to employee ID: {} for request ID: {}",
@@ -189,6 +220,16 @@ public class NotificationServiceImpl implements NotificationService {
         return createNotification(employeeId, message, "VACATION_" + (approved ? "APPROVED" : "REJECTED"), vacationRequestId);
     }
     
+    /**
+     * Describe a shift for a notification message
+     * @param shift The shift, with its location and shift type loaded
+     * @return Date, location and shift type of the shift
+     */
+    private String describeShift(Shift shift) {
+        return shift.getShiftDate() + " at " + shift.getLocation().getName() +
+                " (" + shift.getShiftType().getName() + " shift)";
+    }
+    
     /**
      * Convert a Notification entity to a NotificationDTO
      * @param notification The notification entity
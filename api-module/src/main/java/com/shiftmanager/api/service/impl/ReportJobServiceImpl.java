@@ -0,0 +1,298 @@
+package com.shiftmanager.api.service.impl;
+
+import com.shiftmanager.api.dto.ReportJobRequestDTO;
+import com.shiftmanager.api.exception.ReportQueueFullException;
+import com.shiftmanager.api.exception.ResourceNotFoundException;
+import com.shiftmanager.api.exception.ValidationErrorResponse;
+import com.shiftmanager.api.model.ReportJob;
+import com.shiftmanager.api.repository.ReportJobRepository;
+import com.shiftmanager.api.service.ReportJobService;
+import com.shiftmanager.api.service.ReportService;
+import com.shiftmanager.api.service.report.ReportArtifactStore;
+import com.shiftmanager.api.service.report.writer.ReportFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the ReportJobService interface. Jobs are persisted first and then rendered
+ * by a fixed pool of workers fed from a bounded queue, so a burst of report requests waits in
+ * the queue instead of holding request threads and database connections.
+ */
+@Service
+@Slf4j
+public class ReportJobServiceImpl implements ReportJobService, DisposableBean {
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportService reportService;
+    private final ReportArtifactStore artifactStore;
+    private final ThreadPoolExecutor workers;
+    private final Duration timeToLive;
+
+    public ReportJobServiceImpl(ReportJobRepository reportJobRepository,
+                                ReportService reportService,
+                                ReportArtifactStore artifactStore,
+                                @Value("${app.reports.jobs.worker-threads:4}") int workerThreads,
+                                @Value("${app.reports.jobs.queue-capacity:500}") int queueCapacity,
+                                @Value("${app.reports.jobs.ttl:PT24H}") Duration timeToLive) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportService = reportService;
+        this.artifactStore = artifactStore;
+        this.timeToLive = timeToLive;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public ReportJob submitReportJob(ReportJobRequestDTO request, String requestedBy) {
+        validateRequest(request);
+        ReportFormat format = request.getFormat() != null ? ReportFormat.valueOf(request.getFormat()) : ReportFormat.TEXT;
+
+        ReportJob job = new ReportJob();
+        job.setReportType(request.getReportType());
+        job.setReportFormat(format.name());
+        job.setStatus(ReportJob.STATUS_QUEUED);
+        job.setRequestedBy(requestedBy);
+        job.setSubjectId(request.getSubjectId());
+        job.setStartDate(request.getStartDate());
+        job.setEndDate(request.getEndDate());
+        job.setReportYear(request.getYear());
+        job.setReportMonth(request.getMonth());
+        job.setDepartmentId(request.getDepartmentId());
+        if (request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty()) {
+            job.setEmployeeIds(request.getEmployeeIds().stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        }
+        job.setFilename(reportFilename(request) + "." + format.getExtension());
+        job.setContentType(format.getContentType());
+
+        // Saved (and committed) before it is queued, so the worker always finds the row
+        ReportJob savedJob = reportJobRepository.save(job);
+        Long jobId = savedJob.getId();
+
+        try {
+            workers.execute(() -> runJob(jobId));
+        } catch (RejectedExecutionException e) {
+            reportJobRepository.deleteById(jobId);
+            log.warn("Report queue is full, rejected {} job requested by {}", request.getReportType(), requestedBy);
+            throw new ReportQueueFullException("Report queue is full, please retry later");
+        }
+
+        log.debug("Queued {} report job ID: {} for {} ({} jobs waiting)",
+                savedJob.getReportType(), jobId, requestedBy, workers.getQueue().size());
+        return savedJob;
+    }
+
+    @Override
+    public ReportJob getReportJob(Long jobId, String username, boolean admin) {
+        ReportJob job = reportJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with ID: " + jobId));
+
+        // Other users' jobs are reported as missing rather than forbidden
+        if (!admin && !job.getRequestedBy().equals(username)) {
+            throw new ResourceNotFoundException("Report job not found with ID: " + jobId);
+        }
+
+        return job;
+    }
+
+    @Override
+    public void writeReportJobArtifact(ReportJob job, OutputStream outputStream, boolean compressed) throws IOException {
+        if (!job.isCompleted()) {
+            throw ValidationErrorResponse.exception("Report job " + job.getId() + " is not completed (status: "
+                    + job.getStatus() + ")");
+        }
+        artifactStore.copyTo(job.getId(), outputStream, compressed);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.reports.jobs.cleanup-interval:PT15M}")
+    public int deleteExpiredReportJobs() {
+        List<ReportJob> expiredJobs = reportJobRepository.findByExpiresAtBefore(LocalDateTime.now());
+        for (ReportJob job : expiredJobs) {
+            artifactStore.delete(job.getId());
+        }
+        reportJobRepository.deleteAllInBatch(expiredJobs);
+
+        if (!expiredJobs.isEmpty()) {
+            log.info("Deleted {} expired report jobs", expiredJobs.size());
+        }
+        return expiredJobs.size();
+    }
+
+    /**
+     * Fail jobs that were cut off by a restart; their queue entries are gone
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        int interrupted = reportJobRepository.failUnfinishedJobs("Interrupted by application restart",
+                LocalDateTime.now().plus(timeToLive));
+        if (interrupted > 0) {
+            log.warn("Marked {} interrupted report jobs as failed", interrupted);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Render a queued job into its artifact and record the outcome
+     * @param jobId Report job ID
+     */
+    private void runJob(Long jobId) {
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            log.warn("Report job ID: {} disappeared before it could run", jobId);
+            return;
+        }
+
+        job.setStatus(ReportJob.STATUS_RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        ReportJob runningJob = reportJobRepository.save(job);
+
+        try {
+            long artifactSize = artifactStore.write(jobId, outputStream -> writeReport(runningJob, outputStream));
+            runningJob.setStatus(ReportJob.STATUS_COMPLETED);
+            runningJob.setArtifactSize(artifactSize);
+            log.debug("Report job ID: {} completed ({} bytes compressed)", jobId, artifactSize);
+        } catch (Exception e) {
+            log.error("Report job ID: {} failed: {}", jobId, e.getMessage(), e);
+            runningJob.setStatus(ReportJob.STATUS_FAILED);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            runningJob.setErrorMessage(message.length() > 500 ? message.substring(0, 500) : message);
+        }
+
+        runningJob.setCompletedAt(LocalDateTime.now());
+        runningJob.setExpiresAt(runningJob.getCompletedAt().plus(timeToLive));
+        reportJobRepository.save(runningJob);
+    }
+
+    /**
+     * Write the report a job describes
+     * @param job Report job
+     * @param outputStream Target stream
+     * @throws IOException if writing fails
+     */
+    private void writeReport(ReportJob job, OutputStream outputStream) throws IOException {
+        ReportFormat format = ReportFormat.valueOf(job.getReportFormat());
+        switch (job.getReportType()) {
+            case ReportJob.TYPE_EMPLOYEE_SCHEDULE -> reportService.writeEmployeeScheduleReport(
+                    job.getSubjectId(), job.getStartDate(), job.getEndDate(), format, outputStream);
+            case ReportJob.TYPE_TEAM_SCHEDULE -> reportService.writeTeamScheduleReport(
+                    job.getSubjectId(), job.getStartDate(), job.getEndDate(), format, outputStream);
+            case ReportJob.TYPE_LOCATION_SCHEDULE -> reportService.writeLocationScheduleReport(
+                    job.getSubjectId(), job.getStartDate(), job.getEndDate(), format, outputStream);
+            case ReportJob.TYPE_VACATION_SUMMARY -> reportService.writeVacationSummaryReport(
+                    job.getReportYear(), job.getReportMonth(), job.getDepartmentId(), format, outputStream);
+            case ReportJob.TYPE_HOURS_WORKED -> reportService.writeHoursWorkedReport(
+                    parseEmployeeIds(job.getEmployeeIds()), job.getStartDate(), job.getEndDate(), format, outputStream);
+            default -> throw new IllegalStateException("Unknown report type: " + job.getReportType());
+        }
+    }
+
+    /**
+     * Validate that a request carries the parameters its report type needs
+     * @param request Report job request
+     */
+    private void validateRequest(ReportJobRequestDTO request) {
+        List<String> errors = new ArrayList<>();
+        String reportType = request.getReportType();
+
+        switch (reportType) {
+            case ReportJob.TYPE_EMPLOYEE_SCHEDULE, ReportJob.TYPE_TEAM_SCHEDULE, ReportJob.TYPE_LOCATION_SCHEDULE -> {
+                if (request.getSubjectId() == null) {
+                    errors.add("subjectId is required for " + reportType + " reports");
+                }
+                validateDateRange(request, errors);
+            }
+            case ReportJob.TYPE_VACATION_SUMMARY -> {
+                if (request.getYear() == null) {
+                    errors.add("year is required for " + reportType + " reports");
+                }
+                if (request.getMonth() != null && (request.getMonth() < 1 || request.getMonth() > 12)) {
+                    errors.add("month must be between 1 and 12");
+                }
+            }
+            case ReportJob.TYPE_HOURS_WORKED -> validateDateRange(request, errors);
+            default -> errors.add("Unknown report type: " + reportType);
+        }
+
+        if (request.getFormat() != null && Arrays.stream(ReportFormat.values())
+                .noneMatch(format -> format.name().equals(request.getFormat()))) {
+            errors.add("format must be one of TEXT, CSV or JSON");
+        }
+
+        if (!errors.isEmpty()) {
+            throw ValidationErrorResponse.exception("Invalid report job request", errors);
+        }
+    }
+
+    private static void validateDateRange(ReportJobRequestDTO request, List<String> errors) {
+        if (request.getStartDate() == null || request.getEndDate() == null) {
+            errors.add("startDate and endDate are required");
+        } else if (request.getEndDate().isBefore(request.getStartDate())) {
+            errors.add("endDate cannot be before startDate");
+        }
+    }
+
+    /**
+     * Build the download filename, matching the names used by the synchronous report endpoints
+     * @param request Report job request
+     * @return Filename without extension
+     */
+    private static String reportFilename(ReportJobRequestDTO request) {
+        String range = request.getStartDate() + "-to-" + request.getEndDate();
+        return switch (request.getReportType()) {
+            case ReportJob.TYPE_EMPLOYEE_SCHEDULE -> "employee-schedule-" + request.getSubjectId() + "-" + range;
+            case ReportJob.TYPE_TEAM_SCHEDULE -> "team-schedule-" + request.getSubjectId() + "-" + range;
+            case ReportJob.TYPE_LOCATION_SCHEDULE -> "location-schedule-" + request.getSubjectId() + "-" + range;
+            case ReportJob.TYPE_VACATION_SUMMARY -> {
+                String filename = "vacation-summary-" + request.getYear();
+                if (request.getMonth() != null) {
+                    filename += "-" + request.getMonth();
+                }
+                if (request.getDepartmentId() != null) {
+                    filename += "-dept-" + request.getDepartmentId();
+                }
+                yield filename;
+            }
+            default -> "hours-worked-" + range;
+        };
+    }
+
+    private static List<Long> parseEmployeeIds(String employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return null;
+        }
+        return Arrays.stream(employeeIds.split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toList());
+    }
+}
@@ -5,13 +5,18 @@ import com.shiftmanager.api.model.Employee;
 import com.shiftmanager.api.model.EmployeeShift;
 import com.shiftmanager.api.model.Location;
 import com.shiftmanager.api.model.Shift;
-import com.shiftmanager.api.model.VacationRequest;
 import com.shiftmanager.api.repository.EmployeeRepository;
 import com.shiftmanager.api.repository.EmployeeShiftRepository;
-import com.shiftmanager.api.repository.LocationRepository;
-import com.shiftmanager.api.repository.ShiftRepository;
 import com.shiftmanager.api.repository.VacationRequestRepository;
 import com.shiftmanager.api.service.ReportService;
+import com.shiftmanager.api.service.report.LocationScheduleData;
+import com.shiftmanager.api.service.report.LocationScheduleDataLoader;
+import com.shiftmanager.api.service.report.ParallelSectionRenderer;
+import com.shiftmanager.api.service.report.ReportBody;
+import com.shiftmanager.api.service.report.TeamScheduleData;
+import com.shiftmanager.api.service.report.TeamScheduleDataLoader;
+import com.shiftmanager.api.service.report.writer.ReportFormat;
+import com.shiftmanager.api.service.report.writer.ReportWriter;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
@@ -20,15 +25,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.shiftmanager.api.service.report.ReportLayouts.*;
 
 /**
  * Implementation of the ReportService interface
@@ -39,17 +55,45 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ReportServiceImpl implements ReportService {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private static final Comparator<EmployeeShift> BY_SHIFT_START = Comparator
+            .comparing((EmployeeShift employeeShift) -> employeeShift.getShift().getShiftDate())
+            .thenComparing(employeeShift -> employeeShift.getShift().getStartTime());
 
     private EmployeeRepository employeeRepository;
-    private ShiftRepository shiftRepository;
     private EmployeeShiftRepository employeeShiftRepository;
-    private LocationRepository locationRepository;
     private VacationRequestRepository vacationRequestRepository;
+    private TeamScheduleDataLoader teamScheduleDataLoader;
+    private LocationScheduleDataLoader locationScheduleDataLoader;
+    private ParallelSectionRenderer sectionRenderer;
 
     @Override
     public byte[] generateEmployeeScheduleReport(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return render(out -> writeEmployeeScheduleReport(employeeId, startDate, endDate, ReportFormat.TEXT, out));
+    }
+
+    @Override
+    public byte[] generateTeamScheduleReport(Long managerId, LocalDate startDate, LocalDate endDate) {
+        return render(out -> writeTeamScheduleReport(managerId, startDate, endDate, ReportFormat.TEXT, out));
+    }
+
+    @Override
+    public byte[] generateLocationScheduleReport(Long locationId, LocalDate startDate, LocalDate endDate) {
+        return render(out -> writeLocationScheduleReport(locationId, startDate, endDate, ReportFormat.TEXT, out));
+    }
+
+    @Override
+    public byte[] generateVacationSummaryReport(Integer year, Integer month, Long departmentId) {
+        return render(out -> writeVacationSummaryReport(year, month, departmentId, ReportFormat.TEXT, out));
+    }
+
+    @Override
+    public byte[] generateHoursWorkedReport(List<Long> employeeIds, LocalDate startDate, LocalDate endDate) {
+        return render(out -> writeHoursWorkedReport(employeeIds, startDate, endDate, ReportFormat.TEXT, out));
+    }
+
+    @Override
+    public void writeEmployeeScheduleReport(Long employeeId, LocalDate startDate, LocalDate endDate,
+                                            ReportFormat format, OutputStream outputStream) throws IOException {
         log.debug("Generating employee schedule report for employee ID: {} from {} to {}",
                 employeeId, startDate, endDate);
 
@@ -57,322 +101,208 @@ public class ReportServiceImpl implements ReportService {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
 
-        // Get all employee shifts for the date range
-        List<EmployeeShift> employeeShifts = employeeShiftRepository.findByEmployeeAndShiftDateBetween(
-                employee, startDate, endDate);
-
-        // Generate report content
-        StringBuilder reportContent = new StringBuilder();
-        reportContent.append("EMPLOYEE SCHEDULE REPORT\n");
-        reportContent.append("=========================\n\n");
-        reportContent.append("Employee: ").append(employee.getFirstName()).append(" ").append(employee.getLastName())
-                .append(" (ID: ").append(employee.getId()).append(")\n");
-        reportContent.append("Employee Number: ").append(employee.getEmployeeNumber()).append("\n");
-        reportContent.append("Report Period: ").append(startDate.format(DATE_FORMATTER)).append(" to ")
-                .append(endDate.format(DATE_FORMATTER)).append("\n");
-        reportContent.append("Generated on: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .append("\n\n");
-
-        // Schedule summary
-        reportContent.append("SCHEDULE SUMMARY\n");
-        reportContent.append("----------------\n");
-        reportContent.append("Total Shifts: ").append(employeeShifts.size()).append("\n");
-
-        // Calculate total hours
-        double totalHours = 0;
-        for (EmployeeShift shift : employeeShifts) {
-            if (shift.getShift().getStartTime() != null && shift.getShift().getEndTime() != null) {
-                Duration duration = Duration.between(shift.getShift().getStartTime(), shift.getShift().getEndTime());
-                totalHours += duration.toMinutes() / 60.0;
-            }
-        }
-        reportContent.append("Total Hours: ").append(String.format("%.2f", totalHours)).append("\n\n");
-
-        // Shift details
-        reportContent.append("SHIFT DETAILS\n");
-        reportContent.append("-------------\n\n");
-
-        if (employeeShifts.isEmpty()) {
-            reportContent.append("No shifts scheduled for this period.\n\n");
-        } else {
-            // Group shifts by date
-            Map<LocalDate, List<EmployeeShift>> shiftsByDate = new HashMap<>();
-            for (EmployeeShift shift : employeeShifts) {
-                LocalDate date = shift.getShift().getShiftDate();
-                if (!shiftsByDate.containsKey(date)) {
-                    shiftsByDate.put(date, new ArrayList<>());
-                }
-                shiftsByDate.get(date).add(shift);
-            }
+        // Get all employee shifts for the date range, in date and start time order
+        List<EmployeeShift> employeeShifts = new ArrayList<>(employeeShiftRepository.findByEmployeeAndShiftDateBetween(
+                employee, startDate, endDate));
+        employeeShifts.sort(BY_SHIFT_START);
 
-            // Sort dates and display shifts
-            shiftsByDate.keySet().stream().sorted().forEach(date -> {
-                reportContent.append("Date: ").append(date.format(DATE_FORMATTER)).append("\n");
-
-                List<EmployeeShift> shiftsOnDate = shiftsByDate.get(date);
-                for (EmployeeShift shift : shiftsOnDate) {
-                    Shift shiftInfo = shift.getShift();
-                    reportContent.append("  - ")
-                            .append(shiftInfo.getStartTime().format(TIME_FORMATTER))
-                            .append(" to ")
-                            .append(shiftInfo.getEndTime().format(TIME_FORMATTER))
-                            .append(" (")
-                            .append(shiftInfo.getShiftType().getName())
-                            .append(") at ")
-                            .append(shiftInfo.getLocation().getName());
-
-                    if (shift.getStatus() != null) {
-                        reportContent.append(" - Status: ").append(shift.getStatus());
-                    }
-
-                    reportContent.append("\n");
-                }
-                reportContent.append("\n");
-            });
+        long totalMinutes = 0;
+        for (EmployeeShift employeeShift : employeeShifts) {
+            totalMinutes += scheduledMinutes(employeeShift.getShift());
         }
 
-        // Add footer
-        reportContent.append("\n");
-        reportContent.append("End of Report\n");
-        reportContent.append("=============\n");
+        ReportWriter report = format.newWriter(outputStream);
+        report.startReport(EMPLOYEE_SCHEDULE);
+        report.property(EMPLOYEE).name(employee.getFirstName(), employee.getLastName());
+        report.property(EMPLOYEE_ID).number(employee.getId());
+        report.property(EMPLOYEE_NUMBER).text(employee.getEmployeeNumber());
+        writePeriod(report, startDate, endDate);
+
+        report.startSection(SCHEDULE_SUMMARY);
+        report.property(TOTAL_SHIFTS).number(employeeShifts.size());
+        report.property(TOTAL_HOURS).hours(totalMinutes);
+        report.endSection();
+
+        report.startSection(SHIFT_DETAILS);
+        report.startTable(EMPLOYEE_SHIFTS);
+        for (EmployeeShift employeeShift : employeeShifts) {
+            Shift shift = employeeShift.getShift();
+            report.startRow();
+            report.date(shift.getShiftDate())
+                    .time(shift.getStartTime())
+                    .time(shift.getEndTime())
+                    .text(shift.getShiftType().getName())
+                    .text(shift.getLocation().getName())
+                    .text(employeeShift.getStatus());
+            report.endRow();
+        }
+        report.endTable();
+        report.endSection();
 
-        return reportContent.toString().getBytes();
+        report.endReport();
     }
 
     @Override
-    public byte[] generateTeamScheduleReport(Long managerId, LocalDate startDate, LocalDate endDate) {
+    public void writeTeamScheduleReport(Long managerId, LocalDate startDate, LocalDate endDate,
+                                        ReportFormat format, OutputStream outputStream) throws IOException {
         log.debug("Generating team schedule report for manager ID: {} from {} to {}",
                 managerId, startDate, endDate);
 
-        // Verify manager exists
-        Employee manager = employeeRepository.findById(managerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Manager not found with ID: " + managerId));
+        TeamScheduleData teamSchedule = teamScheduleDataLoader.load(managerId, startDate, endDate);
+        Employee manager = teamSchedule.getManager();
+        List<Employee> teamMembers = teamSchedule.getTeamMembers();
 
-        // Get all team members (employees reporting to this manager)
-        List<Employee> teamMembers = employeeRepository.findByManagerId(managerId);
+        ReportWriter report = format.newWriter(outputStream);
+        report.startReport(TEAM_SCHEDULE);
+        report.property(MANAGER).name(manager.getFirstName(), manager.getLastName());
+        report.property(MANAGER_ID).number(manager.getId());
+        writePeriod(report, startDate, endDate);
 
-        if (teamMembers.isEmpty()) {
-            throw new ResourceNotFoundException("No team members found for manager with ID: " + managerId);
-        }
-
-        // Generate report content
-        StringBuilder reportContent = new StringBuilder();
-        reportContent.append("TEAM SCHEDULE REPORT\n");
-        reportContent.append("====================\n\n");
-        reportContent.append("Manager: ").append(manager.getFirstName()).append(" ").append(manager.getLastName())
-                .append(" (ID: ").append(manager.getId()).append(")\n");
-        reportContent.append("Report Period: ").append(startDate.format(DATE_FORMATTER)).append(" to ")
-                .append(endDate.format(DATE_FORMATTER)).append("\n");
-        reportContent.append("Generated on: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .append("\n\n");
-
-        // Team summary
-        reportContent.append("TEAM SUMMARY\n");
-        reportContent.append("------------\n");
-        reportContent.append("Total Team Members: ").append(teamMembers.size()).append("\n\n");
-
-        reportContent.append("Team Members:\n");
+        report.startSection(TEAM_SUMMARY);
+        report.property(TOTAL_TEAM_MEMBERS).number(teamMembers.size());
+        report.startTable(TEAM_MEMBERS);
         for (Employee employee : teamMembers) {
-            reportContent.append("  - ").append(employee.getFirstName()).append(" ").append(employee.getLastName())
-                    .append(" (").append(employee.getPosition()).append(")\n");
+            report.startRow();
+            report.number(employee.getId())
+                    .name(employee.getFirstName(), employee.getLastName())
+                    .text(employee.getPosition());
+            report.endRow();
         }
-        reportContent.append("\n");
-
-        // Schedule details by date
-        reportContent.append("SCHEDULE BY DATE\n");
-        reportContent.append("----------------\n\n");
-
-        LocalDate currentDate = startDate;
-        while (!currentDate.isAfter(endDate)) {
-            final LocalDate dateToFind = currentDate;
-
-            reportContent.append("Date: ").append(currentDate.format(DATE_FORMATTER)).append("\n");
-
-            boolean shiftsFound = false;
-
-            for (Employee employee : teamMembers) {
-                List<EmployeeShift> employeeShifts = employeeShiftRepository.findByEmployeeAndShift_ShiftDate(employee, dateToFind);
-
-                if (!employeeShifts.isEmpty()) {
-                    shiftsFound = true;
-
-                    for (EmployeeShift shift : employeeShifts) {
-                        Shift shiftInfo = shift.getShift();
-                        reportContent.append("  - ")
-                                .append(employee.getFirstName()).append(" ").append(employee.getLastName())
-                                .append(": ")
-                                .append(shiftInfo.getStartTime().format(TIME_FORMATTER))
-                                .append(" to ")
-                                .append(shiftInfo.getEndTime().format(TIME_FORMATTER))
-                                .append(" (")
-                                .append(shiftInfo.getShiftType().getName())
-                                .append(") at ")
-                                .append(shiftInfo.getLocation().getName())
-                                .append("\n");
-                    }
-                }
+        report.endTable();
+        report.endSection();
+
+        report.startSection(SCHEDULE_BY_DATE);
+        report.startTable(TEAM_SHIFTS_BY_DATE);
+        for (List<EmployeeShift> shiftsOnDate : teamSchedule.getShiftsByDate().values()) {
+            for (EmployeeShift employeeShift : shiftsOnDate) {
+                Employee employee = employeeShift.getEmployee();
+                Shift shift = employeeShift.getShift();
+                report.startRow();
+                report.date(shift.getShiftDate())
+                        .name(employee.getFirstName(), employee.getLastName())
+                        .time(shift.getStartTime())
+                        .time(shift.getEndTime())
+                        .text(shift.getShiftType().getName())
+                        .text(shift.getLocation().getName());
+                report.endRow();
             }
-
-            if (!shiftsFound) {
-                reportContent.append("  No shifts scheduled\n");
-            }
-
-            reportContent.append("\n");
-            currentDate = currentDate.plusDays(1);
         }
+        report.endTable();
+        report.endSection();
 
-        // Schedule details by employee
-        reportContent.append("SCHEDULE BY EMPLOYEE\n");
-        reportContent.append("-------------------\n\n");
-
+        report.startSection(SCHEDULE_BY_EMPLOYEE);
+        report.startTable(TEAM_SHIFTS_BY_EMPLOYEE);
         for (Employee employee : teamMembers) {
-            reportContent.append(employee.getFirstName()).append(" ").append(employee.getLastName()).append("\n");
-            reportContent.append(new String(new char[employee.getFirstName().length() + employee.getLastName().length() + 1]).replace('\0', '-')).append("\n");
-
-            List<EmployeeShift> employeeShifts = employeeShiftRepository.findByEmployeeAndShiftDateBetween(
-                    employee, startDate, endDate);
-
-            if (employeeShifts.isEmpty()) {
-                reportContent.append("  No shifts scheduled for this period.\n\n");
-            } else {
-                for (EmployeeShift shift : employeeShifts) {
-                    Shift shiftInfo = shift.getShift();
-                    reportContent.append("  ")
-                            .append(shiftInfo.getShiftDate().format(DATE_FORMATTER))
-                            .append(": ")
-                            .append(shiftInfo.getStartTime().format(TIME_FORMATTER))
-                            .append(" to ")
-                            .append(shiftInfo.getEndTime().format(TIME_FORMATTER))
-                            .append(" (")
-                            .append(shiftInfo.getShiftType().getName())
-                            .append(") at ")
-                            .append(shiftInfo.getLocation().getName())
-                            .append("\n");
-                }
-                reportContent.append("\n");
+            for (EmployeeShift employeeShift : teamSchedule.getShiftsFor(employee.getId())) {
+                Shift shift = employeeShift.getShift();
+                report.startRow();
+                report.name(employee.getFirstName(), employee.getLastName())
+                        .date(shift.getShiftDate())
+                        .time(shift.getStartTime())
+                        .time(shift.getEndTime())
+                        .text(shift.getShiftType().getName())
+                        .text(shift.getLocation().getName());
+                report.endRow();
             }
         }
+        report.endTable();
+        report.endSection();
 
-        // Add footer
-        reportContent.append("\n");
-        reportContent.append("End of Report\n");
-        reportContent.append("=============\n");
-
-        return reportContent.toString().getBytes();
+        report.endReport();
     }
 
     @Override
-    public byte[] generateLocationScheduleReport(Long locationId, LocalDate startDate, LocalDate endDate) {
+    public void writeLocationScheduleReport(Long locationId, LocalDate startDate, LocalDate endDate,
+                                            ReportFormat format, OutputStream outputStream) throws IOException {
         log.debug("Generating location schedule report for location ID: {} from {} to {}",
                 locationId, startDate, endDate);
 
-        // Verify location exists
-        Location location = locationRepository.findById(locationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Location not found with ID: " + locationId));
-
-        // Get all shifts for this location in the date range
-        List<Shift> shifts = shiftRepository.findByLocationAndDateRange(locationId, startDate, endDate);
-
-        // Generate report content
-        StringBuilder reportContent = new StringBuilder();
-        reportContent.append("LOCATION SCHEDULE REPORT\n");
-        reportContent.append("=======================\n\n");
-        reportContent.append("Location: ").append(location.getName()).append(" (ID: ").append(location.getId()).append(")\n");
-        reportContent.append("Address: ").append(location.getAddress()).append("\n");
-        reportContent.append("Report Period: ").append(startDate.format(DATE_FORMATTER)).append(" to ")
-                .append(endDate.format(DATE_FORMATTER)).append("\n");
-        reportContent.append("Generated on: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .append("\n\n");
-
-        // Schedule summary
-        reportContent.append("SCHEDULE SUMMARY\n");
-        reportContent.append("----------------\n");
-        reportContent.append("Total Shifts: ").append(shifts.size()).append("\n\n");
-
-        // Schedule details by date
-        reportContent.append("SCHEDULE BY DATE\n");
-        reportContent.append("----------------\n\n");
-
-        if (shifts.isEmpty()) {
-            reportContent.append("No shifts scheduled for this location during the specified period.\n\n");
-        } else {
-            // Group shifts by date
-            Map<LocalDate, List<Shift>> shiftsByDate = new HashMap<>();
-            for (Shift shift : shifts) {
-                LocalDate date = shift.getShiftDate();
-                if (!shiftsByDate.containsKey(date)) {
-                    shiftsByDate.put(date, new ArrayList<>());
-                }
-                shiftsByDate.get(date).add(shift);
-            }
-
-            // Sort dates and display shifts
-            shiftsByDate.keySet().stream().sorted().forEach(date -> {
-                reportContent.append("Date: ").append(date.format(DATE_FORMATTER)).append("\n");
-
-                List<Shift> shiftsOnDate = shiftsByDate.get(date);
-                for (Shift shift : shiftsOnDate) {
-                    reportContent.append("  - ")
-                            .append(shift.getStartTime().format(TIME_FORMATTER))
-                            .append(" to ")
-                            .append(shift.getEndTime().format(TIME_FORMATTER))
-                            .append(" (")
-                            .append(shift.getShiftType().getName())
-                            .append(")");
-
-                    // Get employee assigned to this shift
-                    List<EmployeeShift> assignments = employeeShiftRepository.findByShift(shift);
-                    if (!assignments.isEmpty()) {
-                        reportContent.append(" - Assigned to: ");
-                        boolean first = true;
-                        for (EmployeeShift assignment : assignments) {
-                            if (!first) {
-                                reportContent.append(", ");
-                            }
-                            Employee employee = assignment.getEmployee();
-                            reportContent.append(employee.getFirstName()).append(" ").append(employee.getLastName());
-                            first = false;
-                        }
-                    } else {
-                        reportContent.append(" - Unassigned");
-                    }
-
-                    reportContent.append("\n");
-                }
-                reportContent.append("\n");
-            });
-        }
-
-        // Add staffing coverage analysis
-        reportContent.append("STAFFING COVERAGE ANALYSIS\n");
-        reportContent.append("-------------------------\n");
+        LocationScheduleData schedule = locationScheduleDataLoader.load(List.of(locationId), startDate, endDate).get(0);
+        writeLocationSchedule(schedule, format, outputStream);
+    }
 
-        if (shifts.isEmpty()) {
-            reportContent.append("No shifts to analyze for this period.\n\n");
-        } else {
-            int totalShifts = shifts.size();
-            long assignedShifts = shifts.stream()
-                    .filter(shift -> !employeeShiftRepository.findByShift(shift).isEmpty())
-                    .count();
+    @Override
+    public void writeLocationScheduleReports(Collection<Long> locationIds, LocalDate startDate, LocalDate endDate,
+                                             ReportFormat format, OutputStream outputStream) throws IOException {
+        log.debug("Generating location schedule reports for location IDs: {} from {} to {}",
+                locationIds == null || locationIds.isEmpty() ? "all active" : locationIds, startDate, endDate);
+
+        // One snapshot for all locations, then every report is rendered from memory in parallel
+        List<LocationScheduleData> schedules = locationScheduleDataLoader.load(locationIds, startDate, endDate);
+
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        sectionRenderer.renderDocuments(schedules,
+                (schedule, out) -> writeLocationSchedule(schedule, format, out),
+                (schedule, report) -> {
+                    zip.putNextEntry(new ZipEntry("location-schedule-" + schedule.getLocation().getId() + "-"
+                            + startDate + "-to-" + endDate + "." + format.getExtension()));
+                    zip.write(report);
+                    zip.closeEntry();
+                });
+        zip.finish();
+        zip.flush();
+    }
 
-            double coveragePercent = (double) assignedShifts / totalShifts * 100;
+    /**
+     * Write the schedule report of one location from loaded data
+     * @param schedule Location schedule
+     * @param format Output format
+     * @param outputStream Stream the report is written to
+     * @throws IOException if writing fails
+     */
+    private static void writeLocationSchedule(LocationScheduleData schedule, ReportFormat format,
+                                              OutputStream outputStream) throws IOException {
+        Location location = schedule.getLocation();
+        List<Shift> shifts = schedule.getShifts();
+
+        ReportWriter report = format.newWriter(outputStream);
+        report.startReport(LOCATION_SCHEDULE);
+        report.property(LOCATION).text(location.getName());
+        report.property(LOCATION_ID).number(location.getId());
+        report.property(ADDRESS).text(location.getAddress());
+        writePeriod(report, schedule.getStartDate(), schedule.getEndDate());
+
+        report.startSection(SCHEDULE_SUMMARY);
+        report.property(TOTAL_SHIFTS).number(shifts.size());
+        report.endSection();
+
+        // One row per assignment, so shifts staffed by several employees repeat
+        report.startSection(SCHEDULE_BY_DATE);
+        report.startTable(LOCATION_SHIFTS);
+        long assignedShifts = 0;
+        for (Shift shift : shifts) {
+            List<EmployeeShift> assignments = schedule.getAssignments(shift.getId());
+            if (assignments.isEmpty()) {
+                writeLocationShiftRow(report, shift).text(UNASSIGNED);
+                report.endRow();
+                continue;
+            }
 
-            reportContent.append("Total Shifts: ").append(totalShifts).append("\n");
-            reportContent.append("Assigned Shifts: ").append(assignedShifts).append("\n");
-            reportContent.append("Unassigned Shifts: ").append(totalShifts - assignedShifts).append("\n");
-            reportContent.append("Coverage: ").append(String.format("%.2f", coveragePercent)).append("%\n\n");
+            assignedShifts++;
+            for (EmployeeShift assignment : assignments) {
+                Employee employee = assignment.getEmployee();
+                writeLocationShiftRow(report, shift).name(employee.getFirstName(), employee.getLastName());
+                report.endRow();
+            }
         }
+        report.endTable();
+        report.endSection();
+
+        report.startSection(STAFFING_COVERAGE);
+        report.property(TOTAL_SHIFTS).number(shifts.size());
+        report.property(ASSIGNED_SHIFTS).number(assignedShifts);
+        report.property(UNASSIGNED_SHIFTS).number(shifts.size() - assignedShifts);
+        if (!shifts.isEmpty()) {
+            report.property(COVERAGE_PERCENT).percent(assignedShifts, shifts.size());
+        }
+        report.endSection();
 
-        // Add footer
-        reportContent.append("\n");
-        reportContent.append("End of Report\n");
-        reportContent.append("=============\n");
-
-        return reportContent.toString().getBytes();
+        report.endReport();
     }
 
     @Override
-    public byte[] generateVacationSummaryReport(Integer year, Integer month, Long departmentId) {
+    public void writeVacationSummaryReport(Integer year, Integer month, Long departmentId,
+                                           ReportFormat format, OutputStream outputStream) throws IOException {
         log.debug("Generating vacation summary report for year: {}, month: {}, department ID: {}",
                 year, month, departmentId);
 
@@ -388,244 +318,241 @@ public class ReportServiceImpl implements ReportService {
             endDate = LocalDate.of(year, 12, 31);
         }
 
-        List<VacationRequest> vacationRequests;
-        vacationRequests = vacationRequestRepository.findByDateRange(startDate, endDate);
+        // Department filter, per-status counts and clipped day totals are all pushed into the database
+        String department = departmentId != null ? String.valueOf(departmentId) : null;
+        Map<String, VacationRequestRepository.StatusSummary> summaryByStatus = new HashMap<>();
+        for (VacationRequestRepository.StatusSummary summary
+                : vacationRequestRepository.summarizeByStatus(startDate, endDate, department)) {
+            summaryByStatus.put(summary.getStatus(), summary);
+        }
 
-        StringBuilder reportContent = new StringBuilder();
-        reportContent.append("VACATION SUMMARY REPORT\n");
-        reportContent.append("======================\n\n");
+        long totalRequests = 0;
+        for (VacationRequestRepository.StatusSummary summary : summaryByStatus.values()) {
+            totalRequests += summary.getRequestCount();
+        }
+        VacationRequestRepository.StatusSummary approved = summaryByStatus.get("APPROVED");
 
+        ReportWriter report = format.newWriter(outputStream);
+        report.startReport(VACATION_SUMMARY);
+        report.property(YEAR).number(year);
         if (month != null) {
-            reportContent.append("Period: ").append(startDate.getMonth()).append(" ").append(year).append("\n");
-        } else {
-            reportContent.append("Period: Year ").append(year).append("\n");
+            report.property(MONTH).text(startDate.getMonth().name());
         }
-
         if (departmentId != null) {
-            reportContent.append("Department ID: ").append(departmentId).append("\n");
+            report.property(DEPARTMENT).number(departmentId);
         } else {
-            reportContent.append("All Departments\n");
-        }
-
-        reportContent.append("Generated on: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .append("\n\n");
-
-        reportContent.append("SUMMARY STATISTICS\n");
-        reportContent.append("------------------\n");
-        reportContent.append("Total Vacation Requests: ").append(vacationRequests.size()).append("\n");
-
-        long approvedRequests = vacationRequests.stream()
-                .filter(vr -> "APPROVED".equals(vr.getStatus()))
-                .count();
-
-        long pendingRequests = vacationRequests.stream()
-                .filter(vr -> "PENDING".equals(vr.getStatus()))
-                .count();
-
-        long rejectedRequests = vacationRequests.stream()
-                .filter(vr -> "REJECTED".equals(vr.getStatus()))
-                .count();
-
-        reportContent.append("Approved Requests: ").append(approvedRequests).append("\n");
-        reportContent.append("Pending Requests: ").append(pendingRequests).append("\n");
-        reportContent.append("Rejected Requests: ").append(rejectedRequests).append("\n\n");
-
-        int totalVacationDays = 0;
-        for (VacationRequest request : vacationRequests) {
-            if ("APPROVED".equals(request.getStatus())) {
-                // Count only the days that fall within our report period
-                LocalDate requestStart = request.getStartDate().isBefore(startDate) ? startDate : request.getStartDate();
-                LocalDate requestEnd = request.getEndDate().isAfter(endDate) ? endDate : request.getEndDate();
-
-                totalVacationDays += (int) (requestEnd.toEpochDay() - requestStart.toEpochDay() + 1);
-            }
+            report.property(DEPARTMENT).text(ALL_DEPARTMENTS);
         }
-
-        reportContent.append("Total Vacation Days (Approved): ").append(totalVacationDays).append("\n\n");
-
-        reportContent.append("VACATION DETAILS BY EMPLOYEE\n");
-        reportContent.append("----------------------------\n\n");
-
-        if (vacationRequests.isEmpty()) {
-            reportContent.append("No vacation requests for this period.\n\n");
-        } else {
-            // Group vacation requests by employee
-            Map<Long, List<VacationRequest>> requestsByEmployee = new HashMap<>();
-
-            for (VacationRequest request : vacationRequests) {
-                Long employeeId = request.getEmployee().getId();
-                if (!requestsByEmployee.containsKey(employeeId)) {
-                    requestsByEmployee.put(employeeId, new ArrayList<>());
+        report.property(GENERATED_ON).dateTime(LocalDateTime.now());
+
+        report.startSection(SUMMARY_STATISTICS);
+        report.property(TOTAL_REQUESTS).number(totalRequests);
+        report.property(APPROVED_REQUESTS).number(requestCount(summaryByStatus, "APPROVED"));
+        report.property(PENDING_REQUESTS).number(requestCount(summaryByStatus, "PENDING"));
+        report.property(REJECTED_REQUESTS).number(requestCount(summaryByStatus, "REJECTED"));
+        report.property(APPROVED_DAYS).number(approved != null ? approved.getDays() : 0);
+        report.endSection();
+
+        // Rows arrive ordered by employee with the employee's columns joined in, so each
+        // employee's requests form one consecutive run
+        List<VacationRequestRepository.VacationReportRow> vacationRequests = totalRequests == 0
+                ? Collections.emptyList()
+                : vacationRequestRepository.findReportRowsByDateRangeAndDepartment(startDate, endDate, department);
+
+        report.startSection(VACATION_DAYS_BY_EMPLOYEE);
+        report.startTable(EMPLOYEE_VACATION_DAYS);
+        int runStart = 0;
+        while (runStart < vacationRequests.size()) {
+            VacationRequestRepository.VacationReportRow employee = vacationRequests.get(runStart);
+            long employeeVacationDays = 0;
+            int runEnd = runStart;
+            while (runEnd < vacationRequests.size()
+                    && vacationRequests.get(runEnd).getEmployeeId().equals(employee.getEmployeeId())) {
+                VacationRequestRepository.VacationReportRow request = vacationRequests.get(runEnd);
+                if ("APPROVED".equals(request.getStatus())) {
+                    LocalDate requestStart = request.getStartDate().isBefore(startDate) ? startDate : request.getStartDate();
+                    LocalDate requestEnd = request.getEndDate().isAfter(endDate) ? endDate : request.getEndDate();
+                    employeeVacationDays += requestEnd.toEpochDay() - requestStart.toEpochDay() + 1;
                 }
-                requestsByEmployee.get(employeeId).add(request);
+                runEnd++;
             }
 
-            for (Long employeeId : requestsByEmployee.keySet()) {
-                Employee employee = employeeRepository.findById(employeeId).orElse(null);
-                if (employee != null) {
-                    reportContent.append(employee.getFirstName()).append(" ").append(employee.getLastName())
-                            .append(" (").append(employee.getPosition()).append(")\n");
-
-                    List<VacationRequest> employeeRequests = requestsByEmployee.get(employeeId);
-
-                    int employeeVacationDays = 0;
-                    for (VacationRequest request : employeeRequests) {
-                        if ("APPROVED".equals(request.getStatus())) {
-                            LocalDate requestStart = request.getStartDate().isBefore(startDate) ? startDate : request.getStartDate();
-                            LocalDate requestEnd = request.getEndDate().isAfter(endDate) ? endDate : request.getEndDate();
-
-                            employeeVacationDays += (int) (requestEnd.toEpochDay() - requestStart.toEpochDay() + 1);
-                        }
-                    }
-
-                    reportContent.append("  Total Vacation Days: ").append(employeeVacationDays).append("\n");
-
-                    for (VacationRequest request : employeeRequests) {
-                        reportContent.append("  - ")
-                                .append(request.getStartDate().format(DATE_FORMATTER))
-                                .append(" to ")
-                                .append(request.getEndDate().format(DATE_FORMATTER))
-                                .append(" (")
-                                .append(request.getStatus())
-                                .append(")");
-
-                        if (request.getRequestNotes() != null && !request.getRequestNotes().isEmpty()) {
-                            reportContent.append(" - Reason: ").append(request.getRequestNotes());
-                        }
-
-                        reportContent.append("\n");
-                    }
-
-                    reportContent.append("\n");
-                }
-            }
+            report.startRow();
+            report.number(employee.getEmployeeId())
+                    .name(employee.getFirstName(), employee.getLastName())
+                    .text(employee.getPosition())
+                    .number(employeeVacationDays);
+            report.endRow();
+            runStart = runEnd;
         }
+        report.endTable();
+        report.endSection();
+
+        report.startSection(VACATION_DETAILS);
+        report.startTable(VACATION_REQUESTS);
+        for (VacationRequestRepository.VacationReportRow request : vacationRequests) {
+            report.startRow();
+            report.number(request.getEmployeeId())
+                    .name(request.getFirstName(), request.getLastName())
+                    .date(request.getStartDate())
+                    .date(request.getEndDate())
+                    .text(request.getStatus())
+                    .text(request.getRequestNotes());
+            report.endRow();
+        }
+        report.endTable();
+        report.endSection();
 
-        reportContent.append("\n");
-        reportContent.append("End of Report\n");
-        reportContent.append("=============\n");
-
-        return reportContent.toString().getBytes();
+        report.endReport();
     }
 
     @Override
-    public byte[] generateHoursWorkedReport(List<Long> employeeIds, LocalDate startDate, LocalDate endDate) {
+    public void writeHoursWorkedReport(List<Long> employeeIds, LocalDate startDate, LocalDate endDate,
+                                       ReportFormat format, OutputStream outputStream) throws IOException {
         log.debug("Generating hours worked report for employees: {} from {} to {}",
                 employeeIds, startDate, endDate);
 
-        List<Employee> employees;
+        // One column-only read for the employees and one grouped query for all of their hours
+        List<EmployeeRepository.EmployeeSummary> employees;
+        List<EmployeeShiftRepository.HoursWorkedRow> hoursRows;
         if (employeeIds != null && !employeeIds.isEmpty()) {
-            // Get specific employees
-            employees = employeeRepository.findAllById(employeeIds);
-            if (employees.size() != employeeIds.size()) {
-                List<Long> foundIds = employees.stream().map(Employee::getId).collect(Collectors.toList());
-                List<Long> missingIds = employeeIds.stream()
-                        .filter(id -> !foundIds.contains(id))
-                        .collect(Collectors.toList());
-
-                log.warn("Some employee IDs were not found: {}", missingIds);
+            Set<Long> requestedIds = new HashSet<>(employeeIds);
+            employees = employeeRepository.findSummariesByIdIn(requestedIds);
+            if (employees.size() != requestedIds.size()) {
+                for (EmployeeRepository.EmployeeSummary employee : employees) {
+                    requestedIds.remove(employee.getId());
+                }
+                log.warn("Some employee IDs were not found: {}", requestedIds);
             }
+            hoursRows = employeeShiftRepository.sumCompletedHoursByEmployeeAndDate(employeeIds, startDate, endDate);
         } else {
-            employees = employeeRepository.findAll();
+            employees = employeeRepository.findAllSummaries();
+            hoursRows = employeeShiftRepository.sumCompletedHoursByEmployeeAndDate(startDate, endDate);
         }
 
-        StringBuilder reportContent = new StringBuilder();
-        reportContent.append("HOURS WORKED REPORT\n");
-        reportContent.append("==================\n\n");
-        reportContent.append("Report Period: ").append(startDate.format(DATE_FORMATTER)).append(" to ")
-                .append(endDate.format(DATE_FORMATTER)).append("\n");
-        reportContent.append("Generated on: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .append("\n\n");
+        // Rows arrive ordered by employee and date, so each employee's days stay in date order
+        Map<Long, List<EmployeeShiftRepository.HoursWorkedRow>> hoursByEmployee = new HashMap<>();
+        long grandTotalMinutes = 0;
+        for (EmployeeShiftRepository.HoursWorkedRow row : hoursRows) {
+            hoursByEmployee.computeIfAbsent(row.getEmployeeId(), id -> new ArrayList<>()).add(row);
+            grandTotalMinutes += row.getMinutes();
+        }
 
-        reportContent.append("SUMMARY STATISTICS\n");
-        reportContent.append("------------------\n");
-        reportContent.append("Total Employees: ").append(employees.size()).append("\n\n");
+        ReportWriter report = format.newWriter(outputStream);
+        report.startReport(HOURS_WORKED);
+        writePeriod(report, startDate, endDate);
+
+        report.startSection(SUMMARY_STATISTICS);
+        report.property(TOTAL_EMPLOYEES).number(employees.size());
+        report.property(TOTAL_HOURS).hours(grandTotalMinutes);
+        report.endSection();
+
+        report.startSection(HOURS_BY_EMPLOYEE);
+        report.startTable(EMPLOYEE_HOURS);
+        for (EmployeeRepository.EmployeeSummary employee : employees) {
+            long totalShifts = 0;
+            long totalMinutes = 0;
+            for (EmployeeShiftRepository.HoursWorkedRow day
+                    : hoursByEmployee.getOrDefault(employee.getId(), Collections.emptyList())) {
+                totalShifts += day.getShiftCount();
+                totalMinutes += day.getMinutes();
+            }
 
-        reportContent.append("HOURS WORKED BY EMPLOYEE\n");
-        reportContent.append("-----------------------\n\n");
+            report.startRow();
+            report.number(employee.getId())
+                    .text(employee.getEmployeeNumber())
+                    .name(employee.getFirstName(), employee.getLastName())
+                    .text(employee.getPosition())
+                    .number(totalShifts)
+                    .hours(totalMinutes);
+            report.endRow();
+        }
+        report.endTable();
+        report.endSection();
+
+        // Each employee's days are independent, so they are rendered in parallel and stitched in order
+        report.startSection(DAILY_BREAKDOWN);
+        report.startTable(DAILY_HOURS);
+        sectionRenderer.renderRows(employees, report, (employee, rows) -> {
+            for (EmployeeShiftRepository.HoursWorkedRow day
+                    : hoursByEmployee.getOrDefault(employee.getId(), Collections.emptyList())) {
+                rows.startRow();
+                rows.number(employee.getId())
+                        .date(day.getShiftDate())
+                        .number(day.getShiftCount())
+                        .hours(day.getMinutes());
+                rows.endRow();
+            }
+        });
+        report.endTable();
+        report.endSection();
 
-        if (employees.isEmpty()) {
-            reportContent.append("No employees found for this report.\n\n");
-        } else {
-            double grandTotalHours = 0;
-
-            for (Employee employee : employees) {
-                List<EmployeeShift> completedShifts = employeeShiftRepository.findByEmployeeAndStatusAndShiftDateBetween(
-                        employee, "COMPLETED", startDate, endDate);
-
-                double totalHours = 0;
-                for (EmployeeShift shift : completedShifts) {
-                    if (shift.getClockInTime() != null && shift.getClockOutTime() != null) {
-                        Duration duration = Duration.between(shift.getClockInTime(), shift.getClockOutTime());
-                        totalHours += duration.toMinutes() / 60.0;
-                    } else if (shift.getShift().getStartTime() != null && shift.getShift().getEndTime() != null) {
-                        Duration duration = Duration.between(shift.getShift().getStartTime(), shift.getShift().getEndTime());
-                        totalHours += duration.toMinutes() / 60.0;
-                    }
-                }
+        report.endReport();
+    }
 
-                grandTotalHours += totalHours;
-
-                reportContent.append(employee.getFirstName()).append(" ").append(employee.getLastName())
-                        .append(" (").append(employee.getPosition()).append(")\n");
-
-                reportContent.append("  Employee ID: ").append(employee.getId()).append("\n");
-                reportContent.append("  Employee Number: ").append(employee.getEmployeeNumber()).append("\n");
-                reportContent.append("  Total Shifts: ").append(completedShifts.size()).append("\n");
-                reportContent.append("  Total Hours: ").append(String.format("%.2f", totalHours)).append("\n");
-
-                reportContent.append("  Daily Breakdown:\n");
-
-                if (completedShifts.isEmpty()) {
-                    reportContent.append("    No shifts completed in this period.\n");
-                } else {
-                    Map<LocalDate, List<EmployeeShift>> shiftsByDate = new HashMap<>();
-                    for (EmployeeShift shift : completedShifts) {
-                        LocalDate date = shift.getShift().getShiftDate();
-                        if (!shiftsByDate.containsKey(date)) {
-                            shiftsByDate.put(date, new ArrayList<>());
-                        }
-                        shiftsByDate.get(date).add(shift);
-                    }
-
-                    shiftsByDate.keySet().stream().sorted().forEach(date -> {
-                        double dailyHours = 0;
-                        List<EmployeeShift> shiftsOnDate = shiftsByDate.get(date);
-
-                        for (EmployeeShift shift : shiftsOnDate) {
-                            if (shift.getClockInTime() != null && shift.getClockOutTime() != null) {
-                                Duration duration = Duration.between(shift.getClockInTime(), shift.getClockOutTime());
-                                dailyHours += duration.toMinutes() / 60.0;
-                            } else if (shift.getShift().getStartTime() != null && shift.getShift().getEndTime() != null) {
-                                Duration duration = Duration.between(shift.getShift().getStartTime(), shift.getShift().getEndTime());
-                                dailyHours += duration.toMinutes() / 60.0;
-                            }
-                        }
-
-                        reportContent.append("    ")
-                                .append(date.format(DATE_FORMATTER))
-                                .append(": ")
-                                .append(String.format("%.2f", dailyHours))
-                                .append(" hours");
-
-                        if (shiftsOnDate.size() > 1) {
-                            reportContent.append(" (").append(shiftsOnDate.size()).append(" shifts)");
-                        }
-
-                        reportContent.append("\n");
-                    });
-                }
+    /**
+     * Write the report period and generation time properties
+     * @param report Report writer
+     * @param startDate Start date
+     * @param endDate End date
+     * @throws IOException if writing fails
+     */
+    private static void writePeriod(ReportWriter report, LocalDate startDate, LocalDate endDate) throws IOException {
+        report.property(PERIOD_START).date(startDate);
+        report.property(PERIOD_END).date(endDate);
+        report.property(GENERATED_ON).dateTime(LocalDateTime.now());
+    }
 
-                reportContent.append("\n");
-            }
+    /**
+     * Start a location schedule row with the shift columns; the caller adds the assignee and ends the row
+     * @param report Report writer
+     * @param shift Shift
+     * @return Report writer
+     * @throws IOException if writing fails
+     */
+    private static ReportWriter writeLocationShiftRow(ReportWriter report, Shift shift) throws IOException {
+        report.startRow();
+        return report.date(shift.getShiftDate())
+                .time(shift.getStartTime())
+                .time(shift.getEndTime())
+                .text(shift.getShiftType().getName());
+    }
 
-            reportContent.append("GRAND TOTAL HOURS: ").append(String.format("%.2f", grandTotalHours)).append("\n\n");
+    /**
+     * Get the scheduled length of a shift
+     * @param shift Shift
+     * @return Minutes between the scheduled start and end times
+     */
+    private static long scheduledMinutes(Shift shift) {
+        if (shift.getStartTime() == null || shift.getEndTime() == null) {
+            return 0;
         }
+        return ChronoUnit.MINUTES.between(shift.getStartTime(), shift.getEndTime());
+    }
 
-        reportContent.append("\n");
-        reportContent.append("End of Report\n");
-        reportContent.append("=============\n");
+    /**
+     * Get the number of requests with a status from the per-status summary
+     * @param summaryByStatus Summary rows keyed by status
+     * @param status Status
+     * @return Request count (0 if the status does not occur)
+     */
+    private static long requestCount(Map<String, VacationRequestRepository.StatusSummary> summaryByStatus, String status) {
+        VacationRequestRepository.StatusSummary summary = summaryByStatus.get(status);
+        return summary != null ? summary.getRequestCount() : 0;
+    }
 
-        return reportContent.toString().getBytes();
+    /**
+     * Render a streaming report into a byte array for callers that need the whole report
+     * @param report Report writer
+     * @return Report content
+     */
+    private static byte[] render(ReportBody report) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            report.writeTo(outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,233 @@
+package com.shiftmanager.api.service.impl;
+
+import com.shiftmanager.api.dto.ShiftGenerationRequestDTO;
+import com.shiftmanager.api.dto.ShiftGenerationResultDTO;
+import com.shiftmanager.api.dto.ShiftPatternDTO;
+import com.shiftmanager.api.dto.ShiftPatternSlotDTO;
+import com.shiftmanager.api.event.ShiftCreatedEvent;
+import com.shiftmanager.api.exception.ResourceNotFoundException;
+import com.shiftmanager.api.exception.ValidationErrorResponse;
+import com.shiftmanager.api.model.Location;
+import com.shiftmanager.api.model.Shift;
+import com.shiftmanager.api.model.ShiftPattern;
+import com.shiftmanager.api.model.ShiftPatternSlot;
+import com.shiftmanager.api.model.ShiftType;
+import com.shiftmanager.api.repository.LocationRepository;
+import com.shiftmanager.api.repository.ShiftPatternRepository;
+import com.shiftmanager.api.repository.ShiftRepository;
+import com.shiftmanager.api.repository.ShiftTypeRepository;
+import com.shiftmanager.api.service.ShiftPatternService;
+import com.shiftmanager.api.service.schedule.ShiftPatternExpander;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ShiftPatternService. Generated shifts are expanded in memory and written
+ * with JDBC batches, so a quarter for many locations is one request.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class ShiftPatternServiceImpl implements ShiftPatternService {
+
+    /**
+     * Longest date range shifts can be generated for in one request
+     */
+    private static final int MAX_GENERATION_DAYS = 366;
+
+    private final ShiftPatternRepository shiftPatternRepository;
+    private final ShiftRepository shiftRepository;
+    private final LocationRepository locationRepository;
+    private final ShiftTypeRepository shiftTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ShiftPatternDTO> getAllPatterns() {
+        return shiftPatternRepository.findAllWithSlots()
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ShiftPatternDTO getPatternById(Long id) {
+        return convertToDTO(findPattern(id));
+    }
+
+    @Override
+    @Transactional
+    public ShiftPatternDTO createPattern(ShiftPatternDTO patternDTO) {
+        ShiftPattern pattern = new ShiftPattern();
+        applyDTO(pattern, patternDTO);
+        return convertToDTO(shiftPatternRepository.save(pattern));
+    }
+
+    @Override
+    @Transactional
+    public ShiftPatternDTO updatePattern(Long id, ShiftPatternDTO patternDTO) {
+        ShiftPattern pattern = findPattern(id);
+        applyDTO(pattern, patternDTO);
+        return convertToDTO(shiftPatternRepository.save(pattern));
+    }
+
+    @Override
+    @Transactional
+    public void deletePattern(Long id) {
+        if (!shiftPatternRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Shift pattern not found with id: " + id);
+        }
+        shiftPatternRepository.deleteById(id);
+    }
+
+    @Override
+    @Transactional
+    public ShiftGenerationResultDTO generateShifts(ShiftGenerationRequestDTO request) {
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw ValidationErrorResponse.exception("A start date on or before the end date is required");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_GENERATION_DAYS) {
+            throw ValidationErrorResponse.exception(
+                    "Shifts can be generated for at most " + MAX_GENERATION_DAYS + " days at a time");
+        }
+
+        List<ShiftPattern> patterns;
+        if (request.getPatternIds() == null || request.getPatternIds().isEmpty()) {
+            patterns = shiftPatternRepository.findActiveWithSlots();
+        } else {
+            Set<Long> patternIds = new HashSet<>(request.getPatternIds());
+            patterns = shiftPatternRepository.findWithSlotsByIdIn(patternIds);
+            if (patterns.size() < patternIds.size()) {
+                patterns.forEach(pattern -> patternIds.remove(pattern.getId()));
+                throw new ResourceNotFoundException("Shift patterns not found with ids: " + patternIds);
+            }
+        }
+        if (patterns.isEmpty()) {
+            return ShiftGenerationResultDTO.builder().startDate(startDate).endDate(endDate).build();
+        }
+
+        // The shifts the locations already have, from one query, so generating a range again
+        // or patterns that overlap do not create duplicates
+        Set<Long> locationIds = patterns.stream().map(pattern -> pattern.getLocation().getId()).collect(Collectors.toSet());
+        Set<SlotKey> taken = shiftRepository.findSlotKeysByLocationIdsAndDateRange(locationIds, startDate, endDate)
+                .stream()
+                .map(key -> new SlotKey(key.getLocationId(), key.getShiftDate(), key.getShiftTypeId(), key.getStartTime()))
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<Shift> shifts = new ArrayList<>();
+        int skipped = 0;
+        for (ShiftPattern pattern : patterns) {
+            for (Shift shift : ShiftPatternExpander.expand(pattern, startDate, endDate)) {
+                if (taken.add(SlotKey.of(shift))) {
+                    shifts.add(shift);
+                } else {
+                    skipped++;
+                }
+            }
+        }
+        shiftRepository.insertAll(shifts);
+        if (!shifts.isEmpty()) {
+            eventPublisher.publishEvent(ShiftCreatedEvent.of(shifts));
+        }
+
+        log.info("Generated {} shifts from {} patterns for {} to {}, skipped {} existing",
+                shifts.size(), patterns.size(), startDate, endDate, skipped);
+        return ShiftGenerationResultDTO.builder()
+                .patterns(patterns.size())
+                .startDate(startDate)
+                .endDate(endDate)
+                .created(shifts.size())
+                .skipped(skipped)
+                .build();
+    }
+
+    private ShiftPattern findPattern(Long id) {
+        return shiftPatternRepository.findWithSlotsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shift pattern not found with id: " + id));
+    }
+
+    /**
+     * Copy a DTO onto a pattern, replacing its slots
+     * @param pattern The pattern entity
+     * @param patternDTO The pattern DTO
+     */
+    private void applyDTO(ShiftPattern pattern, ShiftPatternDTO patternDTO) {
+        for (ShiftPatternSlotDTO slot : patternDTO.getSlots()) {
+            if (slot.getCycleDay() < 0 || slot.getCycleDay() >= patternDTO.getCycleLength()) {
+                throw ValidationErrorResponse.exception("Cycle day " + slot.getCycleDay()
+                        + " is outside the cycle of " + patternDTO.getCycleLength() + " days");
+            }
+        }
+
+        Location location = locationRepository.findById(patternDTO.getLocationId())
+                .orElseThrow(() -> new ResourceNotFoundException("Location not found with id: " + patternDTO.getLocationId()));
+        Set<Long> shiftTypeIds = patternDTO.getSlots().stream().map(ShiftPatternSlotDTO::getShiftTypeId).collect(Collectors.toSet());
+        Map<Long, ShiftType> shiftTypes = shiftTypeRepository.findAllById(shiftTypeIds).stream()
+                .collect(Collectors.toMap(ShiftType::getId, Function.identity()));
+
+        pattern.setName(patternDTO.getName());
+        pattern.setLocation(location);
+        pattern.setCycleStartDate(patternDTO.getCycleStartDate());
+        pattern.setCycleLength(patternDTO.getCycleLength());
+        pattern.setActive(patternDTO.isActive());
+        pattern.getSlots().clear();
+        for (ShiftPatternSlotDTO slot : patternDTO.getSlots()) {
+            ShiftType shiftType = shiftTypes.get(slot.getShiftTypeId());
+            if (shiftType == null) {
+                throw new ResourceNotFoundException("Shift type not found with id: " + slot.getShiftTypeId());
+            }
+            pattern.addSlot(new ShiftPatternSlot(slot.getCycleDay(), shiftType, slot.getStartTime(), slot.getEndTime()));
+        }
+    }
+
+    /**
+     * Convert a ShiftPattern entity to a ShiftPatternDTO
+     * @param pattern The pattern entity
+     * @return The pattern DTO
+     */
+    private ShiftPatternDTO convertToDTO(ShiftPattern pattern) {
+        List<ShiftPatternSlotDTO> slots = pattern.getSlots().stream()
+                .map(slot -> new ShiftPatternSlotDTO(slot.getCycleDay(), slot.getShiftType().getId(),
+                        slot.getStartTime(), slot.getEndTime()))
+                .collect(Collectors.toList());
+        return new ShiftPatternDTO(pattern.getId(), pattern.getName(), pattern.getLocation().getId(),
+                pattern.getCycleStartDate(), pattern.getCycleLength(), pattern.isActive(), slots);
+    }
+
+    /**
+     * Location, date, shift type and start time of a shift, which a generated shift must not
+     * repeat
+     */
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class SlotKey {
+
+        private final Long locationId;
+        private final LocalDate shiftDate;
+        private final Long shiftTypeId;
+        private final LocalTime startTime;
+
+        static SlotKey of(Shift shift) {
+            return new SlotKey(shift.getLocation().getId(), shift.getShiftDate(),
+                    shift.getShiftType().getId(), shift.getStartTime());
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.shiftmanager.api.dto.EmployeeShiftDTO;
 import com.shiftmanager.api.dto.ShiftDTO;
+import com.shiftmanager.api.event.ShiftChangeEvent;
+import com.shiftmanager.api.event.ShiftCreatedEvent;
 import com.shiftmanager.api.exception.ResourceNotFoundException;
 import com.shiftmanager.api.mapper.EmployeeShiftMapper;
 import com.shiftmanager.api.mapper.ShiftMapper;
@@ -37,6 +40,7 @@ public class ShiftServiceImpl implements ShiftService {
     private final EmployeeShiftRepository employeeShiftRepository;
     private final ShiftMapper shiftMapper;
     private final EmployeeShiftMapper employeeShiftMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -82,6 +86,7 @@ public class ShiftServiceImpl implements ShiftService {
         shift.setShiftType(shiftType);
         
         Shift savedShift = shiftRepository.save(shift);
+        eventPublisher.publishEvent(ShiftCreatedEvent.of(List.of(savedShift)));
         return shiftMapper.toDTO(savedShift);
     }
 
@@ -111,6 +116,7 @@ public class ShiftServiceImpl implements ShiftService {
         }
         
         Shift updatedShift = shiftRepository.save(existingShift);
+        eventPublisher.publishEvent(ShiftChangeEvent.updated(id));
         return shiftMapper.toDTO(updatedShift);
     }
 
@@ -121,6 +127,7 @@ public class ShiftServiceImpl implements ShiftService {
             throw new ResourceNotFoundException("Shift not found with id: " + id);
         }
         shiftRepository.deleteById(id);
+        eventPublisher.publishEvent(ShiftChangeEvent.deleted(id));
     }
 
     @Override
@@ -0,0 +1,94 @@
+package com.shiftmanager.api.service.impl;
+
+import com.shiftmanager.api.dto.StaffingRequirementDTO;
+import com.shiftmanager.api.exception.ResourceNotFoundException;
+import com.shiftmanager.api.model.Location;
+import com.shiftmanager.api.model.ShiftType;
+import com.shiftmanager.api.model.StaffingRequirement;
+import com.shiftmanager.api.repository.LocationRepository;
+import com.shiftmanager.api.repository.ShiftTypeRepository;
+import com.shiftmanager.api.repository.StaffingRequirementRepository;
+import com.shiftmanager.api.service.StaffingRequirementService;
+import com.shiftmanager.api.service.schedule.CoverageService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of StaffingRequirementService. Changes evict the cached coverage of all
+ * locations once they have committed.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class StaffingRequirementServiceImpl implements StaffingRequirementService {
+
+    private final StaffingRequirementRepository staffingRequirementRepository;
+    private final LocationRepository locationRepository;
+    private final ShiftTypeRepository shiftTypeRepository;
+    private final CoverageService coverageService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StaffingRequirementDTO> getAllRequirements() {
+        return staffingRequirementRepository.findAllWithLocationAndShiftType()
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public StaffingRequirementDTO setRequirement(StaffingRequirementDTO requirementDTO) {
+        Location location = null;
+        if (requirementDTO.getLocationId() != null) {
+            location = locationRepository.findById(requirementDTO.getLocationId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Location not found with id: " + requirementDTO.getLocationId()));
+        }
+        ShiftType shiftType = shiftTypeRepository.findById(requirementDTO.getShiftTypeId())
+                .orElseThrow(() -> new ResourceNotFoundException("Shift type not found with id: " + requirementDTO.getShiftTypeId()));
+
+        StaffingRequirement requirement = staffingRequirementRepository
+                .findByLocationIdAndShiftTypeId(requirementDTO.getLocationId(), requirementDTO.getShiftTypeId())
+                .orElseGet(StaffingRequirement::new);
+        requirement.setLocation(location);
+        requirement.setShiftType(shiftType);
+        requirement.setRequiredHeadcount(requirementDTO.getRequiredHeadcount());
+        StaffingRequirement savedRequirement = staffingRequirementRepository.save(requirement);
+        coverageService.requirementsChanged();
+
+        log.info("{} shifts at {} need {} employees", shiftType.getName(),
+                location != null ? location.getName() : "all locations", requirementDTO.getRequiredHeadcount());
+        return convertToDTO(savedRequirement);
+    }
+
+    @Override
+    @Transactional
+    public void deleteRequirement(Long id) {
+        StaffingRequirement requirement = staffingRequirementRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Staffing requirement not found with id: " + id));
+        staffingRequirementRepository.delete(requirement);
+        coverageService.requirementsChanged();
+    }
+
+    /**
+     * Convert a StaffingRequirement entity to a StaffingRequirementDTO
+     * @param requirement The requirement entity
+     * @return The requirement DTO
+     */
+    private StaffingRequirementDTO convertToDTO(StaffingRequirement requirement) {
+        Location location = requirement.getLocation();
+        ShiftType shiftType = requirement.getShiftType();
+        return new StaffingRequirementDTO(
+                requirement.getId(),
+                location != null ? location.getId() : null,
+                location != null ? location.getName() : null,
+                shiftType.getId(),
+                shiftType.getName(),
+                requirement.getRequiredHeadcount());
+    }
+}
@@ -0,0 +1,26 @@
+package com.shiftmanager.api.service.report;
+
+import com.shiftmanager.api.repository.CalendarEntryRepository.CalendarEntryRow;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * One employee's calendar entries for a month, as shown on one page of a calendar export
+ */
+@Getter
+@AllArgsConstructor
+public class CalendarMonthData {
+
+    private final Long employeeId;
+    private final String firstName;
+    private final String lastName;
+    private final YearMonth month;
+
+    /**
+     * Entries ordered by date, all-day entries first, then by start time
+     */
+    private final List<CalendarEntryRow> entries;
+}
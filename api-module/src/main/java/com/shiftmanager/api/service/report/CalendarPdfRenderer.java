@@ -0,0 +1,257 @@
+package com.shiftmanager.api.service.report;
+
+import com.shiftmanager.api.repository.CalendarEntryRepository.CalendarEntryRow;
+import com.shiftmanager.api.service.report.pdf.PdfContent;
+import com.shiftmanager.api.service.report.pdf.PdfDocumentWriter;
+import com.shiftmanager.api.service.report.pdf.PdfFont;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Renders calendar months as PDF month grids, one landscape A4 page per employee and month.
+ *
+ * <p>The parts of a page that only depend on the shape of the month (weekday header, grid
+ * lines, day numbers and the shading of days outside the month) are drawn once per shape,
+ * compressed and cached for the life of the application; there are at most 7 x 4 shapes. A
+ * document writes each shape it uses once and shares it between its pages, so a page costs
+ * only its title and entries. Rendering is budgeted at 100 employee-months per second per
+ * core, data loading excluded.
+ */
+@Component
+public class CalendarPdfRenderer {
+
+    private static final int PAGE_WIDTH = 842;
+    private static final int PAGE_HEIGHT = 595;
+    private static final float MARGIN = 28;
+    private static final float TITLE_SIZE = 16;
+    private static final float TITLE_BASELINE = PAGE_HEIGHT - MARGIN - TITLE_SIZE;
+    private static final float HEADER_HEIGHT = 16;
+    private static final float HEADER_TOP = TITLE_BASELINE - 14;
+    private static final float GRID_TOP = HEADER_TOP - HEADER_HEIGHT;
+    private static final float GRID_BOTTOM = MARGIN;
+    private static final float COLUMN_WIDTH = (PAGE_WIDTH - 2 * MARGIN) / 7;
+    private static final float DAY_NUMBER_SIZE = 9;
+    private static final float ENTRY_SIZE = 7;
+    private static final float ENTRY_LEADING = 9;
+    private static final float ENTRY_TOP_OFFSET = 22;
+    private static final float MARKER_SIZE = 4;
+    private static final float ENTRY_TEXT_OFFSET = 11;
+    private static final float CELL_PADDING = 4;
+
+    private static final int MAX_LEADING_DAYS = 7;
+    private static final int MAX_DAYS = 32;
+    private static final String[] MONTH_NAMES = new String[13];
+    private static final String[] WEEKDAY_NAMES = new String[7];
+    private static final String[] DAY_NUMBERS = new String[MAX_DAYS];
+
+    static {
+        for (Month month : Month.values()) {
+            MONTH_NAMES[month.getValue()] = month.getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            WEEKDAY_NAMES[day.getValue() - 1] = day.getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+        }
+        for (int day = 1; day < MAX_DAYS; day++) {
+            DAY_NUMBERS[day] = Integer.toString(day);
+        }
+    }
+
+    /**
+     * Compressed grid templates indexed by leading days * 32 + days in month
+     */
+    private final AtomicReferenceArray<byte[]> gridTemplates = new AtomicReferenceArray<>(MAX_LEADING_DAYS * MAX_DAYS);
+
+    /**
+     * Render calendar months into one PDF document
+     * @param months Months to render, one page each, in page order
+     * @param outputStream Stream to write the document to
+     */
+    public void render(List<CalendarMonthData> months, OutputStream outputStream) throws IOException {
+        PdfDocumentWriter document = new PdfDocumentWriter(outputStream, PAGE_WIDTH, PAGE_HEIGHT);
+        int[] templateObjects = new int[MAX_LEADING_DAYS * MAX_DAYS];
+        PdfContent content = new PdfContent();
+        StringBuilder line = new StringBuilder(64);
+
+        for (CalendarMonthData month : months) {
+            int leadingDays = month.getMonth().atDay(1).getDayOfWeek().getValue() - 1;
+            int days = month.getMonth().lengthOfMonth();
+            int shape = leadingDays * MAX_DAYS + days;
+            if (templateObjects[shape] == 0) {
+                templateObjects[shape] = document.writeStream(gridTemplate(shape, leadingDays, days));
+            }
+
+            content.reset();
+            writeMonth(content, month, leadingDays, days, line);
+            document.writePage(templateObjects[shape], document.writeContent(content));
+        }
+
+        document.finish();
+    }
+
+    private byte[] gridTemplate(int shape, int leadingDays, int days) {
+        byte[] template = gridTemplates.get(shape);
+        if (template == null) {
+            // Racing threads build identical bytes, so whichever wins is fine
+            template = drawGrid(leadingDays, days).deflate();
+            gridTemplates.set(shape, template);
+        }
+        return template;
+    }
+
+    private static PdfContent drawGrid(int leadingDays, int days) {
+        int weeks = weeks(leadingDays, days);
+        float rowHeight = (GRID_TOP - GRID_BOTTOM) / weeks;
+        float gridWidth = COLUMN_WIDTH * 7;
+        PdfContent grid = new PdfContent();
+        grid.saveState();
+
+        grid.fillGray(0.9f).rectangle(MARGIN, GRID_TOP, gridWidth, HEADER_HEIGHT).fill();
+        grid.fillGray(0.96f);
+        for (int cell = 0; cell < weeks * 7; cell++) {
+            if (cell < leadingDays || cell >= leadingDays + days) {
+                grid.rectangle(cellLeft(cell), cellTop(cell, rowHeight) - rowHeight, COLUMN_WIDTH, rowHeight);
+            }
+        }
+        grid.fill();
+
+        grid.lineWidth(0.5f).strokeGray(0.6f);
+        for (int row = 0; row <= weeks; row++) {
+            float y = GRID_TOP - row * rowHeight;
+            grid.moveTo(MARGIN, y).lineTo(MARGIN + gridWidth, y);
+        }
+        grid.moveTo(MARGIN, HEADER_TOP).lineTo(MARGIN + gridWidth, HEADER_TOP);
+        for (int column = 0; column <= 7; column++) {
+            float x = MARGIN + column * COLUMN_WIDTH;
+            grid.moveTo(x, HEADER_TOP).lineTo(x, GRID_BOTTOM);
+        }
+        grid.stroke();
+
+        grid.fillGray(0);
+        for (int column = 0; column < 7; column++) {
+            grid.text(PdfFont.HELVETICA_BOLD, 8, MARGIN + column * COLUMN_WIDTH + CELL_PADDING, GRID_TOP + 5,
+                    WEEKDAY_NAMES[column]);
+        }
+        for (int day = 1; day <= days; day++) {
+            int cell = leadingDays + day - 1;
+            grid.text(PdfFont.HELVETICA_BOLD, DAY_NUMBER_SIZE, cellLeft(cell) + CELL_PADDING,
+                    cellTop(cell, rowHeight) - 11, DAY_NUMBERS[day]);
+        }
+
+        grid.restoreState();
+        return grid;
+    }
+
+    private static void writeMonth(PdfContent content, CalendarMonthData month, int leadingDays, int days,
+                                   StringBuilder line) {
+        line.setLength(0);
+        line.append(month.getFirstName()).append(' ').append(month.getLastName());
+        content.text(PdfFont.HELVETICA_BOLD, TITLE_SIZE, MARGIN, TITLE_BASELINE, line, PAGE_WIDTH / 2f);
+
+        line.setLength(0);
+        line.append(MONTH_NAMES[month.getMonth().getMonthValue()]).append(' ').append(month.getMonth().getYear());
+        float titleWidth = PdfFont.HELVETICA.textWidth(line, TITLE_SIZE);
+        content.text(PdfFont.HELVETICA, TITLE_SIZE, PAGE_WIDTH - MARGIN - titleWidth, TITLE_BASELINE, line);
+
+        float rowHeight = (GRID_TOP - GRID_BOTTOM) / weeks(leadingDays, days);
+        int maxLines = (int) ((rowHeight - ENTRY_TOP_OFFSET + ENTRY_LEADING - 2) / ENTRY_LEADING);
+        float textWidth = COLUMN_WIDTH - ENTRY_TEXT_OFFSET - CELL_PADDING;
+
+        List<CalendarEntryRow> entries = month.getEntries();
+        int next = 0;
+        for (int day = 1; day <= days; day++) {
+            while (next < entries.size() && entries.get(next).getEntryDate().getDayOfMonth() < day) {
+                next++;
+            }
+            int end = next;
+            while (end < entries.size() && entries.get(end).getEntryDate().getDayOfMonth() == day) {
+                end++;
+            }
+            int count = end - next;
+            if (count == 0) {
+                continue;
+            }
+
+            int cell = leadingDays + day - 1;
+            float x = cellLeft(cell);
+            float baseline = cellTop(cell, rowHeight) - ENTRY_TOP_OFFSET;
+            int shown = count > maxLines ? maxLines - 1 : count;
+            for (int i = 0; i < shown; i++, baseline -= ENTRY_LEADING) {
+                CalendarEntryRow entry = entries.get(next + i);
+                writeMarker(content, entry.getColor(), x + CELL_PADDING, baseline);
+                line.setLength(0);
+                if (!entry.isAllDay() && entry.getStartTime() != null) {
+                    appendTime(line, entry.getStartTime());
+                    if (entry.getEndTime() != null) {
+                        line.append('-');
+                        appendTime(line, entry.getEndTime());
+                    }
+                    line.append(' ');
+                }
+                line.append(entry.getTitle());
+                content.text(PdfFont.HELVETICA, ENTRY_SIZE, x + ENTRY_TEXT_OFFSET, baseline, line, textWidth);
+            }
+            if (shown < count) {
+                line.setLength(0);
+                line.append('+').append(count - shown).append(" more");
+                content.fillGray(0.4f)
+                        .text(PdfFont.HELVETICA, ENTRY_SIZE, x + ENTRY_TEXT_OFFSET, baseline, line)
+                        .fillGray(0);
+            }
+            next = end;
+        }
+    }
+
+    /**
+     * Draw the entry's colour as a small square, parsed from #RRGGBB (grey otherwise)
+     */
+    private static void writeMarker(PdfContent content, String color, float x, float baseline) {
+        int rgb = parseHexColor(color);
+        if (rgb < 0) {
+            content.fillGray(0.5f);
+        } else {
+            content.fillColor(((rgb >> 16) & 0xFF) / 255f, ((rgb >> 8) & 0xFF) / 255f, (rgb & 0xFF) / 255f);
+        }
+        content.rectangle(x, baseline, MARKER_SIZE, MARKER_SIZE).fill().fillGray(0);
+    }
+
+    private static int parseHexColor(String color) {
+        if (color == null || color.length() != 7 || color.charAt(0) != '#') {
+            return -1;
+        }
+        int rgb = 0;
+        for (int i = 1; i < 7; i++) {
+            int digit = Character.digit(color.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            rgb = rgb << 4 | digit;
+        }
+        return rgb;
+    }
+
+    private static void appendTime(StringBuilder line, LocalTime time) {
+        line.append((char) ('0' + time.getHour() / 10)).append((char) ('0' + time.getHour() % 10)).append(':')
+                .append((char) ('0' + time.getMinute() / 10)).append((char) ('0' + time.getMinute() % 10));
+    }
+
+    private static int weeks(int leadingDays, int days) {
+        return (leadingDays + days + 6) / 7;
+    }
+
+    private static float cellLeft(int cell) {
+        return MARGIN + cell % 7 * COLUMN_WIDTH;
+    }
+
+    private static float cellTop(int cell, float rowHeight) {
+        return GRID_TOP - cell / 7 * rowHeight;
+    }
+}
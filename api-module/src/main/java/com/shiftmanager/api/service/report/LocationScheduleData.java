@@ -0,0 +1,40 @@
+package com.shiftmanager.api.service.report;
+
+import com.shiftmanager.api.model.EmployeeShift;
+import com.shiftmanager.api.model.Location;
+import com.shiftmanager.api.model.Shift;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schedule of one location for a date range, fully loaded so it can be rendered off the
+ * request thread
+ */
+@Getter
+@AllArgsConstructor
+public class LocationScheduleData {
+
+    private final Location location;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    /**
+     * Shifts ordered by date and start time
+     */
+    private final List<Shift> shifts;
+    private final Map<Long, List<EmployeeShift>> assignmentsByShift;
+
+    /**
+     * Get the assignments of a shift
+     * @param shiftId Shift ID
+     * @return Employee shifts (empty if the shift is unassigned)
+     */
+    public List<EmployeeShift> getAssignments(Long shiftId) {
+        return assignmentsByShift.getOrDefault(shiftId, Collections.emptyList());
+    }
+}
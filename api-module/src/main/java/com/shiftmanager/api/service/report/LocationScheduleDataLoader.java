@@ -0,0 +1,101 @@
+package com.shiftmanager.api.service.report;
+
+import com.shiftmanager.api.exception.ResourceNotFoundException;
+import com.shiftmanager.api.model.EmployeeShift;
+import com.shiftmanager.api.model.Location;
+import com.shiftmanager.api.model.Shift;
+import com.shiftmanager.api.repository.EmployeeShiftRepository;
+import com.shiftmanager.api.repository.LocationRepository;
+import com.shiftmanager.api.repository.ShiftRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the schedules of any number of locations with a fixed number of queries: the
+ * locations, one fetch-joined query for all of their shifts and one for all assignments
+ */
+@Component
+@Transactional(readOnly = true)
+@AllArgsConstructor
+@Slf4j
+public class LocationScheduleDataLoader {
+
+    private LocationRepository locationRepository;
+    private ShiftRepository shiftRepository;
+    private EmployeeShiftRepository employeeShiftRepository;
+
+    /**
+     * Load the schedules of a set of locations
+     * @param locationIds Location IDs, or null or empty for all active locations
+     * @param startDate Start date
+     * @param endDate End date
+     * @return One schedule per location, ordered by location name
+     */
+    public List<LocationScheduleData> load(Collection<Long> locationIds, LocalDate startDate, LocalDate endDate) {
+        List<Location> locations = findLocations(locationIds);
+        if (locations.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> ids = locations.stream().map(Location::getId).collect(Collectors.toSet());
+
+        // Shifts first, so the assignment query finds their types and locations already loaded
+        Map<Long, List<Shift>> shiftsByLocation = new HashMap<>();
+        for (Shift shift : shiftRepository.findByLocationIdsAndDateRange(ids, startDate, endDate)) {
+            shiftsByLocation.computeIfAbsent(shift.getLocation().getId(), id -> new ArrayList<>()).add(shift);
+        }
+        Map<Long, List<EmployeeShift>> assignmentsByShift = employeeShiftRepository
+                .findByLocationIdsAndDateRange(ids, startDate, endDate).stream()
+                .collect(Collectors.groupingBy(employeeShift -> employeeShift.getShift().getId()));
+
+        log.debug("Loaded {} shifts and {} assigned shifts for {} locations from {} to {}",
+                shiftsByLocation.values().stream().mapToInt(List::size).sum(), assignmentsByShift.size(),
+                locations.size(), startDate, endDate);
+
+        List<LocationScheduleData> schedules = new ArrayList<>(locations.size());
+        for (Location location : locations) {
+            List<Shift> shifts = shiftsByLocation.getOrDefault(location.getId(), List.of());
+            Map<Long, List<EmployeeShift>> assignments = new HashMap<>();
+            for (Shift shift : shifts) {
+                List<EmployeeShift> shiftAssignments = assignmentsByShift.get(shift.getId());
+                if (shiftAssignments != null) {
+                    assignments.put(shift.getId(), shiftAssignments);
+                }
+            }
+            schedules.add(new LocationScheduleData(location, startDate, endDate, shifts, assignments));
+        }
+        return schedules;
+    }
+
+    private List<Location> findLocations(Collection<Long> locationIds) {
+        List<Location> locations;
+        if (locationIds == null || locationIds.isEmpty()) {
+            locations = new ArrayList<>(locationRepository.findByActiveTrue());
+        } else {
+            Set<Long> requested = new LinkedHashSet<>(locationIds);
+            locations = new ArrayList<>(locationRepository.findAllById(requested));
+            if (locations.size() != requested.size()) {
+                locations.forEach(location -> requested.remove(location.getId()));
+                throw new ResourceNotFoundException(requested.size() == 1
+                        ? "Location not found with ID: " + requested.iterator().next()
+                        : "Locations not found with IDs: " + requested);
+            }
+        }
+        locations.sort(Comparator.comparing(Location::getName, Comparator.nullsLast(String::compareToIgnoreCase))
+                .thenComparing(Location::getId));
+        return locations;
+    }
+}
@@ -0,0 +1,156 @@
+package com.shiftmanager.api.service.report;
+
+import com.shiftmanager.api.service.report.writer.ReportWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+/**
+ * Renders independent pieces of reports (runs of table rows, or whole documents) on a
+ * fork-join pool of worker threads and hands them on in their original order. At most a
+ * fixed window of pieces is in flight at once, so memory stays flat no matter how many
+ * pieces there are.
+ */
+@Component
+@Slf4j
+public class ParallelSectionRenderer implements DisposableBean {
+
+    private final ForkJoinPool pool;
+    private final int window;
+
+    public ParallelSectionRenderer(@Value("${app.reports.render-threads:0}") int renderThreads) {
+        int threads = renderThreads > 0 ? renderThreads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, ParallelSectionRenderer::newRenderThread, null, false);
+        this.window = threads * 4;
+        log.info("Report section rendering uses {} threads", threads);
+    }
+
+    /**
+     * Render the rows for each item into the current table of a report writer, in item order
+     * @param items Items to render, in output order
+     * @param writer Report writer positioned inside a table
+     * @param rows Writes the rows of one item; runs on a worker thread, so it must only touch data already loaded
+     * @throws IOException if rendering or the stream fails
+     */
+    public <T> void renderRows(Iterable<T> items, ReportWriter writer, RowBody<T> rows) throws IOException {
+        renderInOrder(items, item -> () -> renderFragment(item, writer, rows), (item, fragment) -> writer.appendRows(fragment));
+    }
+
+    /**
+     * Render one document per item and pass each to a sink, in item order
+     * @param items Items to render, in output order
+     * @param document Writes the document of one item; runs on a worker thread, so it must only touch data already loaded
+     * @param sink Receives each rendered document on the calling thread
+     * @throws IOException if rendering or the sink fails
+     */
+    public <T> void renderDocuments(Iterable<T> items, DocumentBody<T> document, DocumentSink<T> sink) throws IOException {
+        renderInOrder(items, item -> () -> renderDocument(item, document), sink);
+    }
+
+    private <T> void renderInOrder(Iterable<T> items, RenderTask<T> task, DocumentSink<T> sink) throws IOException {
+        Deque<T> pendingItems = new ArrayDeque<>();
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+        try {
+            for (T item : items) {
+                pendingItems.add(item);
+                inFlight.add(pool.submit(task.of(item)));
+                if (inFlight.size() >= window) {
+                    sink.accept(pendingItems.poll(), await(inFlight.poll()));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                sink.accept(pendingItems.poll(), await(inFlight.poll()));
+            }
+        } finally {
+            for (Future<byte[]> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private static <T> byte[] renderFragment(T item, ReportWriter writer, RowBody<T> rows) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+        ReportWriter fragment = writer.rowFragment(buffer);
+        rows.writeTo(item, fragment);
+        fragment.flush();
+        return buffer.toByteArray();
+    }
+
+    private static <T> byte[] renderDocument(T item, DocumentBody<T> document) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8 * 1024);
+        document.writeTo(item, buffer);
+        return buffer.toByteArray();
+    }
+
+    private static byte[] await(Future<byte[]> section) throws IOException {
+        try {
+            return section.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while rendering report rows");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new UncheckedIOException(new IOException("Failed to render report rows", cause));
+        }
+    }
+
+    private static ForkJoinWorkerThread newRenderThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("report-render-" + (thread.getPoolIndex() + 1));
+        return thread;
+    }
+
+    /**
+     * Writes the rows for one item
+     */
+    @FunctionalInterface
+    public interface RowBody<T> {
+        void writeTo(T item, ReportWriter rows) throws IOException;
+    }
+
+    /**
+     * Writes the document for one item
+     */
+    @FunctionalInterface
+    public interface DocumentBody<T> {
+        void writeTo(T item, OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * Receives a rendered piece together with its item
+     */
+    @FunctionalInterface
+    public interface DocumentSink<T> {
+        void accept(T item, byte[] content) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RenderTask<T> {
+        Callable<byte[]> of(T item);
+    }
+}
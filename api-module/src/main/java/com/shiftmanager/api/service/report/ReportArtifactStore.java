@@ -0,0 +1,93 @@
+package com.shiftmanager.api.service.report;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores rendered report job artifacts as gzip files on local disk, one file per job
+ */
+@Component
+@Slf4j
+public class ReportArtifactStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    public ReportArtifactStore(
+            @Value("${app.reports.jobs.storage-dir:${java.io.tmpdir}/shiftmanager-report-jobs}") String directory) {
+        this.directory = Paths.get(directory);
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create report artifact directory " + directory, e);
+        }
+        log.info("Report job artifacts are stored in {}", this.directory.toAbsolutePath());
+    }
+
+    /**
+     * Render a report straight into the compressed artifact of a job. The file only
+     * becomes visible once rendering has finished, so readers never see a partial artifact.
+     * @param jobId Report job ID
+     * @param report Report content
+     * @return Size of the compressed artifact in bytes
+     * @throws IOException if rendering or writing fails
+     */
+    public long write(Long jobId, ReportBody report) throws IOException {
+        Path target = artifactPath(jobId);
+        Path partial = directory.resolve(target.getFileName() + ".part");
+        try {
+            try (OutputStream out = new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(partial), BUFFER_SIZE), BUFFER_SIZE)) {
+                report.writeTo(out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return Files.size(target);
+    }
+
+    /**
+     * Copy the artifact of a job to a stream
+     * @param jobId Report job ID
+     * @param outputStream Target stream
+     * @param compressed true to copy the gzip bytes as stored, false to decompress them
+     * @throws IOException if the artifact cannot be read or the stream fails
+     */
+    public void copyTo(Long jobId, OutputStream outputStream, boolean compressed) throws IOException {
+        try (InputStream stored = Files.newInputStream(artifactPath(jobId));
+             InputStream in = compressed ? stored : new GZIPInputStream(stored, BUFFER_SIZE)) {
+            in.transferTo(outputStream);
+        }
+    }
+
+    /**
+     * Delete the artifact of a job if it exists
+     * @param jobId Report job ID
+     */
+    public void delete(Long jobId) {
+        try {
+            Files.deleteIfExists(artifactPath(jobId));
+        } catch (IOException e) {
+            log.warn("Could not delete report artifact for job ID: {}", jobId, e);
+        }
+    }
+
+    private Path artifactPath(Long jobId) {
+        return directory.resolve("report-job-" + jobId + ".gz");
+    }
+}
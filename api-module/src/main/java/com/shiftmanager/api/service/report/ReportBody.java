@@ -0,0 +1,12 @@
+package com.shiftmanager.api.service.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Report content that can be written to a stream
+ */
+@FunctionalInterface
+public interface ReportBody {
+    void writeTo(OutputStream outputStream) throws IOException;
+}
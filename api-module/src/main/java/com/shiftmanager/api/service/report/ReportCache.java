@@ -0,0 +1,148 @@
+package com.shiftmanager.api.service.report;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory cache of rendered reports, bounded by total size and evicted least recently used
+ * first. Keys carry the data version the report was rendered from, so a changed version simply
+ * misses and the stale entry ages out.
+ */
+@Component
+@Slf4j
+public class ReportCache {
+
+    private final Map<String, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ReportCache(@Value("${app.reports.cache.max-bytes:67108864}") long maxBytes,
+                       @Value("${app.reports.cache.max-entry-bytes:4194304}") int maxEntryBytes,
+                       MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+
+        this.hits = Counter.builder("report.cache.requests").tag("result", "hit")
+                .description("Report requests served from the cache").register(meterRegistry);
+        this.misses = Counter.builder("report.cache.requests").tag("result", "miss")
+                .description("Report requests that had to be rendered").register(meterRegistry);
+        this.evictions = Counter.builder("report.cache.evictions")
+                .description("Reports evicted to stay within the cache size").register(meterRegistry);
+        Gauge.builder("report.cache.size", this, ReportCache::size)
+                .description("Number of cached reports").register(meterRegistry);
+        Gauge.builder("report.cache.bytes", this, ReportCache::bytes)
+                .description("Total size of cached reports").baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * Write a report from the cache, or render it and cache the result
+     * @param key Report type, parameters and data version
+     * @param outputStream Target stream
+     * @param report Renders the report on a miss
+     * @throws IOException if rendering or the stream fails
+     */
+    public void write(String key, OutputStream outputStream, ReportBody report) throws IOException {
+        byte[] cached = get(key);
+        if (cached != null) {
+            hits.increment();
+            outputStream.write(cached);
+            return;
+        }
+
+        misses.increment();
+        CapturingOutputStream capture = new CapturingOutputStream(outputStream, maxEntryBytes);
+        report.writeTo(capture);
+        byte[] rendered = capture.captured();
+        if (rendered != null) {
+            put(key, rendered);
+        }
+    }
+
+    private synchronized byte[] get(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, byte[] report) {
+        byte[] previous = entries.put(key, report);
+        totalBytes += report.length - (previous != null ? previous.length : 0);
+
+        Iterator<byte[]> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized long bytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Passes everything through to the target stream and keeps a copy until it grows past the limit
+     */
+    private static class CapturingOutputStream extends OutputStream {
+
+        private final OutputStream target;
+        private final int limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream(8 * 1024);
+
+        CapturingOutputStream(OutputStream target, int limit) {
+            this.target = target;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        byte[] captured() {
+            return copy != null ? copy.toByteArray() : null;
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) {
+                copy = null;
+            }
+        }
+    }
+}
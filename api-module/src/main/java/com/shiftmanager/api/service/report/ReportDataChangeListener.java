@@ -0,0 +1,35 @@
+package com.shiftmanager.api.service.report;
+
+import com.shiftmanager.api.model.Employee;
+import com.shiftmanager.api.model.VacationRequest;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that bumps the report data versions of every report that reads the
+ * entity it is attached to. Employees appear in schedule and vacation reports alike; shifts,
+ * assignments, locations and shift types only in schedule reports.
+ */
+@Component
+@AllArgsConstructor
+public class ReportDataChangeListener {
+
+    private ReportDataVersion reportDataVersion;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void dataChanged(Object entity) {
+        if (entity instanceof VacationRequest) {
+            reportDataVersion.vacationChanged();
+        } else if (entity instanceof Employee) {
+            reportDataVersion.scheduleChanged();
+            reportDataVersion.vacationChanged();
+        } else {
+            reportDataVersion.scheduleChanged();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.shiftmanager.api.service.report;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamps for the data reports are built from. A stamp is bumped after every committed
+ * change to its data, so a cached report is current exactly as long as its stamp is.
+ */
+@Component
+public class ReportDataVersion {
+
+    private final AtomicLong scheduleVersion = new AtomicLong();
+    private final AtomicLong vacationVersion = new AtomicLong();
+
+    /**
+     * Get the stamp of shifts, shift assignments, employees, locations and shift types
+     * @return Current schedule data version
+     */
+    public long getScheduleVersion() {
+        return scheduleVersion.get();
+    }
+
+    /**
+     * Get the stamp of vacation requests and employees
+     * @return Current vacation data version
+     */
+    public long getVacationVersion() {
+        return vacationVersion.get();
+    }
+
+    /**
+     * Record a change to schedule data; takes effect when the current transaction commits
+     */
+    public void scheduleChanged() {
+        bumpAfterCommit(scheduleVersion);
+    }
+
+    /**
+     * Record a change to vacation data; takes effect when the current transaction commits
+     */
+    public void vacationChanged() {
+        bumpAfterCommit(vacationVersion);
+    }
+
+    /**
+     * Bump a stamp once the surrounding transaction commits. Bumping earlier would let a
+     * concurrent report read the old rows and cache them under the new stamp.
+     * @param version Stamp to bump
+     */
+    private static void bumpAfterCommit(AtomicLong version) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+
+        // One bump per transaction is enough, however many rows it touches
+        if (!TransactionSynchronizationManager.hasResource(version)) {
+            TransactionSynchronizationManager.bindResource(version, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(version);
+                }
+            });
+        }
+    }
+}
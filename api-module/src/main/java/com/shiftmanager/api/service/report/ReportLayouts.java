@@ -0,0 +1,162 @@
+package com.shiftmanager.api.service.report;
+
+import com.shiftmanager.api.service.report.writer.ReportLabel;
+import com.shiftmanager.api.service.report.writer.ReportTable;
+
+/**
+ * Titles, headings, property names and table layouts of the built-in reports. They are
+ * encoded once at class load, so writing them costs a byte copy.
+ */
+public final class ReportLayouts {
+
+    // Shared properties
+
+    public static final ReportLabel PERIOD_START = ReportLabel.of("Period Start", "periodStart");
+    public static final ReportLabel PERIOD_END = ReportLabel.of("Period End", "periodEnd");
+    /**
+     * Time the report was rendered. A cached report is served as it was rendered, so this is
+     * when its data was read, which has not changed since.
+     */
+    public static final ReportLabel GENERATED_ON = ReportLabel.of("Generated On", "generatedOn");
+    public static final ReportLabel TOTAL_SHIFTS = ReportLabel.of("Total Shifts", "totalShifts");
+    public static final ReportLabel TOTAL_HOURS = ReportLabel.of("Total Hours", "totalHours");
+    public static final ReportLabel SCHEDULE_SUMMARY = ReportLabel.of("SCHEDULE SUMMARY", "scheduleSummary");
+    public static final ReportLabel SCHEDULE_BY_DATE = ReportLabel.of("SCHEDULE BY DATE", "scheduleByDate");
+    public static final ReportLabel SUMMARY_STATISTICS = ReportLabel.of("SUMMARY STATISTICS", "summary");
+
+    // Employee schedule
+
+    public static final ReportLabel EMPLOYEE_SCHEDULE = ReportLabel.of("EMPLOYEE SCHEDULE REPORT", "employeeSchedule");
+    public static final ReportLabel EMPLOYEE = ReportLabel.of("Employee", "employee");
+    public static final ReportLabel EMPLOYEE_ID = ReportLabel.of("Employee ID", "employeeId");
+    public static final ReportLabel EMPLOYEE_NUMBER = ReportLabel.of("Employee Number", "employeeNumber");
+    public static final ReportLabel SHIFT_DETAILS = ReportLabel.of("SHIFT DETAILS", "shiftDetails");
+    public static final ReportTable EMPLOYEE_SHIFTS = ReportTable.builder(
+                    ReportLabel.of("Shifts", "shifts"),
+                    ReportLabel.of("No shifts scheduled for this period.", "empty"))
+            .column("Date", "date", 10)
+            .column("Start", "start", 5)
+            .column("End", "end", 5)
+            .column("Shift Type", "shiftType", 12)
+            .column("Location", "location", 20)
+            .column("Status", "status", 10)
+            .build();
+
+    // Team schedule
+
+    public static final ReportLabel TEAM_SCHEDULE = ReportLabel.of("TEAM SCHEDULE REPORT", "teamSchedule");
+    public static final ReportLabel MANAGER = ReportLabel.of("Manager", "manager");
+    public static final ReportLabel MANAGER_ID = ReportLabel.of("Manager ID", "managerId");
+    public static final ReportLabel TEAM_SUMMARY = ReportLabel.of("TEAM SUMMARY", "teamSummary");
+    public static final ReportLabel TOTAL_TEAM_MEMBERS = ReportLabel.of("Total Team Members", "totalTeamMembers");
+    public static final ReportTable TEAM_MEMBERS = ReportTable.builder(
+                    ReportLabel.of("Team Members", "teamMembers"),
+                    ReportLabel.of("No team members.", "empty"))
+            .column("Employee ID", "employeeId", 11)
+            .column("Name", "name", 25)
+            .column("Position", "position", 20)
+            .build();
+    public static final ReportTable TEAM_SHIFTS_BY_DATE = ReportTable.builder(
+                    ReportLabel.of("Shifts", "shifts"),
+                    ReportLabel.of("No shifts scheduled for this period.", "empty"))
+            .column("Date", "date", 10)
+            .column("Employee", "employee", 25)
+            .column("Start", "start", 5)
+            .column("End", "end", 5)
+            .column("Shift Type", "shiftType", 12)
+            .column("Location", "location", 20)
+            .build();
+    public static final ReportLabel SCHEDULE_BY_EMPLOYEE = ReportLabel.of("SCHEDULE BY EMPLOYEE", "scheduleByEmployee");
+    public static final ReportTable TEAM_SHIFTS_BY_EMPLOYEE = ReportTable.builder(
+                    ReportLabel.of("Shifts", "shifts"),
+                    ReportLabel.of("No shifts scheduled for this period.", "empty"))
+            .column("Employee", "employee", 25)
+            .column("Date", "date", 10)
+            .column("Start", "start", 5)
+            .column("End", "end", 5)
+            .column("Shift Type", "shiftType", 12)
+            .column("Location", "location", 20)
+            .build();
+
+    // Location schedule
+
+    public static final ReportLabel LOCATION_SCHEDULE = ReportLabel.of("LOCATION SCHEDULE REPORT", "locationSchedule");
+    public static final ReportLabel LOCATION = ReportLabel.of("Location", "location");
+    public static final ReportLabel LOCATION_ID = ReportLabel.of("Location ID", "locationId");
+    public static final ReportLabel ADDRESS = ReportLabel.of("Address", "address");
+    public static final ReportLabel UNASSIGNED = ReportLabel.of("Unassigned", "unassigned");
+    public static final ReportTable LOCATION_SHIFTS = ReportTable.builder(
+                    ReportLabel.of("Shifts", "shifts"),
+                    ReportLabel.of("No shifts scheduled for this location during the specified period.", "empty"))
+            .column("Date", "date", 10)
+            .column("Start", "start", 5)
+            .column("End", "end", 5)
+            .column("Shift Type", "shiftType", 12)
+            .column("Assigned To", "assignedTo", 25)
+            .build();
+    public static final ReportLabel STAFFING_COVERAGE = ReportLabel.of("STAFFING COVERAGE ANALYSIS", "coverage");
+    public static final ReportLabel ASSIGNED_SHIFTS = ReportLabel.of("Assigned Shifts", "assignedShifts");
+    public static final ReportLabel UNASSIGNED_SHIFTS = ReportLabel.of("Unassigned Shifts", "unassignedShifts");
+    public static final ReportLabel COVERAGE_PERCENT = ReportLabel.of("Coverage %", "coveragePercent");
+
+    // Vacation summary
+
+    public static final ReportLabel VACATION_SUMMARY = ReportLabel.of("VACATION SUMMARY REPORT", "vacationSummary");
+    public static final ReportLabel YEAR = ReportLabel.of("Year", "year");
+    public static final ReportLabel MONTH = ReportLabel.of("Month", "month");
+    public static final ReportLabel DEPARTMENT = ReportLabel.of("Department", "department");
+    public static final ReportLabel ALL_DEPARTMENTS = ReportLabel.of("All Departments", "allDepartments");
+    public static final ReportLabel TOTAL_REQUESTS = ReportLabel.of("Total Vacation Requests", "totalRequests");
+    public static final ReportLabel APPROVED_REQUESTS = ReportLabel.of("Approved Requests", "approvedRequests");
+    public static final ReportLabel PENDING_REQUESTS = ReportLabel.of("Pending Requests", "pendingRequests");
+    public static final ReportLabel REJECTED_REQUESTS = ReportLabel.of("Rejected Requests", "rejectedRequests");
+    public static final ReportLabel APPROVED_DAYS = ReportLabel.of("Total Vacation Days (Approved)", "approvedDays");
+    public static final ReportLabel VACATION_DAYS_BY_EMPLOYEE = ReportLabel.of("VACATION DAYS BY EMPLOYEE", "daysByEmployee");
+    public static final ReportTable EMPLOYEE_VACATION_DAYS = ReportTable.builder(
+                    ReportLabel.of("Employees", "employees"),
+                    ReportLabel.of("No vacation requests for this period.", "empty"))
+            .column("Employee ID", "employeeId", 11)
+            .column("Employee", "employee", 25)
+            .column("Position", "position", 20)
+            .column("Approved Days", "approvedDays", 13)
+            .build();
+    public static final ReportLabel VACATION_DETAILS = ReportLabel.of("VACATION DETAILS BY EMPLOYEE", "details");
+    public static final ReportTable VACATION_REQUESTS = ReportTable.builder(
+                    ReportLabel.of("Requests", "requests"),
+                    ReportLabel.of("No vacation requests for this period.", "empty"))
+            .column("Employee ID", "employeeId", 11)
+            .column("Employee", "employee", 25)
+            .column("Start Date", "startDate", 10)
+            .column("End Date", "endDate", 10)
+            .column("Status", "status", 10)
+            .column("Reason", "reason", 30)
+            .build();
+
+    // Hours worked
+
+    public static final ReportLabel HOURS_WORKED = ReportLabel.of("HOURS WORKED REPORT", "hoursWorked");
+    public static final ReportLabel TOTAL_EMPLOYEES = ReportLabel.of("Total Employees", "totalEmployees");
+    public static final ReportLabel HOURS_BY_EMPLOYEE = ReportLabel.of("HOURS WORKED BY EMPLOYEE", "hoursByEmployee");
+    public static final ReportTable EMPLOYEE_HOURS = ReportTable.builder(
+                    ReportLabel.of("Employees", "employees"),
+                    ReportLabel.of("No employees found for this report.", "empty"))
+            .column("Employee ID", "employeeId", 11)
+            .column("Employee Number", "employeeNumber", 15)
+            .column("Employee", "employee", 25)
+            .column("Position", "position", 20)
+            .column("Shifts", "shifts", 6)
+            .column("Hours", "hours", 8)
+            .build();
+    public static final ReportLabel DAILY_BREAKDOWN = ReportLabel.of("DAILY BREAKDOWN", "dailyBreakdown");
+    public static final ReportTable DAILY_HOURS = ReportTable.builder(
+                    ReportLabel.of("Days", "days"),
+                    ReportLabel.of("No shifts completed in this period.", "empty"))
+            .column("Employee ID", "employeeId", 11)
+            .column("Date", "date", 10)
+            .column("Shifts", "shifts", 6)
+            .column("Hours", "hours", 8)
+            .build();
+
+    private ReportLayouts() {
+    }
+}
@@ -0,0 +1,44 @@
+package com.shiftmanager.api.service.report;
+
+import com.shiftmanager.api.model.Employee;
+import com.shiftmanager.api.model.EmployeeShift;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Team schedule for a date range, grouped in memory by date and by employee
+ */
+@Getter
+@AllArgsConstructor
+public class TeamScheduleData {
+
+    private final Employee manager;
+    private final List<Employee> teamMembers;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Map<LocalDate, List<EmployeeShift>> shiftsByDate;
+    private final Map<Long, List<EmployeeShift>> shiftsByEmployee;
+
+    /**
+     * Get the shifts scheduled on a date
+     * @param date Date
+     * @return Shifts ordered by start time (empty if none)
+     */
+    public List<EmployeeShift> getShiftsOn(LocalDate date) {
+        return shiftsByDate.getOrDefault(date, Collections.emptyList());
+    }
+
+    /**
+     * Get the shifts scheduled for an employee
+     * @param employeeId Employee ID
+     * @return Shifts ordered by date and start time (empty if none)
+     */
+    public List<EmployeeShift> getShiftsFor(Long employeeId) {
+        return shiftsByEmployee.getOrDefault(employeeId, Collections.emptyList());
+    }
+}
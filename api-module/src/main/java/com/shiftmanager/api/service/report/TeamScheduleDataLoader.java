@@ -0,0 +1,68 @@
+package com.shiftmanager.api.service.report;
+
+import com.shiftmanager.api.exception.ResourceNotFoundException;
+import com.shiftmanager.api.model.Employee;
+import com.shiftmanager.api.model.EmployeeShift;
+import com.shiftmanager.api.repository.EmployeeRepository;
+import com.shiftmanager.api.repository.EmployeeShiftRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Loads everything the team schedule report needs with a fixed number of queries:
+ * the manager, the team members and one fetch-joined query for all of the team's shifts
+ */
+@Component
+@Transactional(readOnly = true)
+@AllArgsConstructor
+@Slf4j
+public class TeamScheduleDataLoader {
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeShiftRepository employeeShiftRepository;
+
+    /**
+     * Load the team schedule of a manager
+     * @param managerId Manager ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Team schedule grouped by date and by employee
+     */
+    public TeamScheduleData load(Long managerId, LocalDate startDate, LocalDate endDate) {
+        Employee manager = employeeRepository.findById(managerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Manager not found with ID: " + managerId));
+
+        List<Employee> teamMembers = employeeRepository.findByManagerId(managerId);
+
+        if (teamMembers.isEmpty()) {
+            throw new ResourceNotFoundException("No team members found for manager with ID: " + managerId);
+        }
+
+        List<EmployeeShift> teamShifts = employeeShiftRepository.findTeamScheduleWithDetails(
+                managerId, startDate, endDate);
+
+        // Rows arrive ordered by date and start time, so both groupings keep that order
+        Map<LocalDate, List<EmployeeShift>> shiftsByDate = new TreeMap<>();
+        Map<Long, List<EmployeeShift>> shiftsByEmployee = new HashMap<>();
+        for (EmployeeShift employeeShift : teamShifts) {
+            shiftsByDate.computeIfAbsent(employeeShift.getShift().getShiftDate(), date -> new ArrayList<>())
+                    .add(employeeShift);
+            shiftsByEmployee.computeIfAbsent(employeeShift.getEmployee().getId(), id -> new ArrayList<>())
+                    .add(employeeShift);
+        }
+
+        log.debug("Loaded {} team shifts for manager ID: {} from {} to {}",
+                teamShifts.size(), managerId, startDate, endDate);
+
+        return new TeamScheduleData(manager, teamMembers, startDate, endDate, shiftsByDate, shiftsByEmployee);
+    }
+}
@@ -0,0 +1,237 @@
+package com.shiftmanager.api.service.report.pdf;
+
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Content stream of a page: drawing and text operators encoded straight into a growable
+ * byte buffer. A content can be reset and reused for the next page. Coordinates are in
+ * points from the bottom left corner and are written with at most two decimals.
+ */
+public class PdfContent {
+
+    private static final int INITIAL_CAPACITY = 4 * 1024;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+    private PdfFont font;
+    private float fontSize;
+
+    public void reset() {
+        length = 0;
+        font = null;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Compress the content for use as a shared stream, such as a cached page template
+     * @return FlateDecode compressed content
+     */
+    public byte[] deflate() {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(buffer, 0, length);
+            deflater.finish();
+            byte[] compressed = new byte[length + 64];
+            int compressedLength = 0;
+            while (!deflater.finished()) {
+                if (compressedLength == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+            }
+            return Arrays.copyOf(compressed, compressedLength);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // Graphics state
+
+    public PdfContent saveState() {
+        return operator('q');
+    }
+
+    public PdfContent restoreState() {
+        // The font belongs to the graphics state, so it has to be selected again
+        font = null;
+        return operator('Q');
+    }
+
+    public PdfContent lineWidth(float width) {
+        number(width);
+        return operator('w');
+    }
+
+    public PdfContent fillGray(float gray) {
+        number(gray);
+        return operator('g');
+    }
+
+    public PdfContent strokeGray(float gray) {
+        number(gray);
+        return operator('G');
+    }
+
+    public PdfContent fillColor(float red, float green, float blue) {
+        number(red);
+        number(green);
+        number(blue);
+        put('r');
+        return operator('g');
+    }
+
+    // Paths
+
+    public PdfContent rectangle(float x, float y, float width, float height) {
+        number(x);
+        number(y);
+        number(width);
+        number(height);
+        put('r');
+        return operator('e');
+    }
+
+    public PdfContent moveTo(float x, float y) {
+        number(x);
+        number(y);
+        return operator('m');
+    }
+
+    public PdfContent lineTo(float x, float y) {
+        number(x);
+        number(y);
+        return operator('l');
+    }
+
+    public PdfContent fill() {
+        return operator('f');
+    }
+
+    public PdfContent stroke() {
+        return operator('S');
+    }
+
+    // Text
+
+    /**
+     * Show a single line of text
+     * @param font Font
+     * @param size Font size
+     * @param x Left edge of the text
+     * @param y Baseline
+     * @param text Text
+     * @return This content
+     */
+    public PdfContent text(PdfFont font, float size, float x, float y, CharSequence text) {
+        return text(font, size, x, y, text, 0, text.length(), false);
+    }
+
+    /**
+     * Show a single line of text, cut short with an ellipsis if it is wider than maxWidth
+     */
+    public PdfContent text(PdfFont font, float size, float x, float y, CharSequence text, float maxWidth) {
+        int shown = font.fit(text, size, maxWidth);
+        return text(font, size, x, y, text, 0, shown, shown < text.length());
+    }
+
+    private PdfContent text(PdfFont font, float size, float x, float y, CharSequence text,
+                            int start, int end, boolean ellipsis) {
+        put('B');
+        operator('T');
+        if (font != this.font || size != this.fontSize) {
+            put(font.resourceNameBytes());
+            put(' ');
+            number(size);
+            put('T');
+            operator('f');
+            this.font = font;
+            this.fontSize = size;
+        }
+        number(x);
+        number(y);
+        put('T');
+        operator('d');
+        put('(');
+        for (int i = start; i < end; i++) {
+            byte code = PdfFont.encode(text.charAt(i));
+            if (code == '(' || code == ')' || code == '\\') {
+                put('\\');
+            }
+            put(code);
+        }
+        if (ellipsis) {
+            put(PdfFont.ELLIPSIS);
+        }
+        put(')');
+        put(' ');
+        put('T');
+        operator('j');
+        put('E');
+        return operator('T');
+    }
+
+    // Encoding
+
+    private PdfContent operator(char operator) {
+        put(operator);
+        put('\n');
+        return this;
+    }
+
+    /**
+     * Write a number with up to two decimals and a trailing space
+     */
+    private void number(float value) {
+        long hundredths = Math.round(value * 100.0);
+        if (hundredths < 0) {
+            put('-');
+            hundredths = -hundredths;
+        }
+        putLong(hundredths / 100);
+        int fraction = (int) (hundredths % 100);
+        if (fraction != 0) {
+            put('.');
+            put((char) ('0' + fraction / 10));
+            if (fraction % 10 != 0) {
+                put((char) ('0' + fraction % 10));
+            }
+        }
+        put(' ');
+    }
+
+    private void putLong(long value) {
+        if (value >= 10) {
+            putLong(value / 10);
+        }
+        put((char) ('0' + value % 10));
+    }
+
+    private void put(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void put(char c) {
+        put((byte) c);
+    }
+
+    private void put(byte b) {
+        ensureCapacity(1);
+        buffer[length++] = b;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
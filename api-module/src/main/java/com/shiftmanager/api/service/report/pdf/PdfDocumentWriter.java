@@ -0,0 +1,202 @@
+package com.shiftmanager.api.service.report.pdf;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a PDF document page by page. Every page is written out as soon as it is added,
+ * so a document of any length is produced with the memory of a single page; only the
+ * object offsets are kept until the cross-reference table is written by {@link #finish()}.
+ *
+ * <p>Objects 1 to 3 are the catalog, the page tree and the shared resources, followed by
+ * the fonts of {@link PdfFont#ALL}. Content streams and pages are numbered as they come.
+ */
+public class PdfDocumentWriter {
+
+    private static final int CATALOG = 1;
+    private static final int PAGE_TREE = 2;
+    private static final int RESOURCES = 3;
+    private static final int OUTPUT_BUFFER_SIZE = 16 * 1024;
+
+    // The comment line with high bytes tells transfer tools that the file is binary
+    private static final byte[] HEADER = "%PDF-1.4\n%âãÏÓ\n".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] STREAM_START = " /Filter /FlateDecode >>\nstream\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] STREAM_END = "\nendstream\nendobj\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final String pagePrefix;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private byte[] deflateBuffer = new byte[8 * 1024];
+
+    private long position;
+    private long[] offsets = new long[64];
+    private int objectCount;
+    private int[] pages = new int[16];
+    private int pageCount;
+
+    /**
+     * Start a document; the header, catalog, resources and fonts are written immediately
+     * @param outputStream Stream the document is written to (not closed by this writer)
+     * @param pageWidth Page width in points
+     * @param pageHeight Page height in points
+     */
+    public PdfDocumentWriter(OutputStream outputStream, int pageWidth, int pageHeight) throws IOException {
+        this.out = new BufferedOutputStream(outputStream, OUTPUT_BUFFER_SIZE);
+        this.pagePrefix = "<< /Type /Page /Parent " + PAGE_TREE + " 0 R /MediaBox [0 0 " + pageWidth + " "
+                + pageHeight + "] /Resources " + RESOURCES + " 0 R /Contents [";
+        objectCount = RESOURCES + PdfFont.ALL.length;
+
+        write(HEADER);
+        startObject(CATALOG);
+        writeAscii("<< /Type /Catalog /Pages " + PAGE_TREE + " 0 R >>");
+        endObject();
+
+        startObject(RESOURCES);
+        StringBuilder resources = new StringBuilder("<< /ProcSet [/PDF /Text] /Font <<");
+        for (int i = 0; i < PdfFont.ALL.length; i++) {
+            resources.append(" /").append(PdfFont.ALL[i].getResourceName()).append(' ')
+                    .append(fontObject(i)).append(" 0 R");
+        }
+        writeAscii(resources.append(" >> >>"));
+        endObject();
+
+        for (int i = 0; i < PdfFont.ALL.length; i++) {
+            startObject(fontObject(i));
+            write(PdfFont.ALL[i].dictionary());
+            endObject();
+        }
+    }
+
+    /**
+     * Write a stream that is already compressed, typically one shared by many pages
+     * @param compressed FlateDecode compressed content
+     * @return Object number of the stream
+     */
+    public int writeStream(byte[] compressed) throws IOException {
+        return writeStream(compressed, compressed.length);
+    }
+
+    /**
+     * Compress and write a page content
+     * @param content Content
+     * @return Object number of the stream
+     */
+    public int writeContent(PdfContent content) throws IOException {
+        deflater.reset();
+        deflater.setInput(content.buffer(), 0, content.length());
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == deflateBuffer.length) {
+                deflateBuffer = Arrays.copyOf(deflateBuffer, deflateBuffer.length * 2);
+            }
+            length += deflater.deflate(deflateBuffer, length, deflateBuffer.length - length);
+        }
+        return writeStream(deflateBuffer, length);
+    }
+
+    /**
+     * Add a page drawn by the given content streams, in order
+     * @param contentObjects Object numbers of the content streams
+     */
+    public void writePage(int... contentObjects) throws IOException {
+        int page = ++objectCount;
+        startObject(page);
+        StringBuilder dictionary = new StringBuilder(pagePrefix);
+        for (int i = 0; i < contentObjects.length; i++) {
+            if (i > 0) {
+                dictionary.append(' ');
+            }
+            dictionary.append(contentObjects[i]).append(" 0 R");
+        }
+        writeAscii(dictionary.append("] >>"));
+        endObject();
+
+        if (pageCount == pages.length) {
+            pages = Arrays.copyOf(pages, pages.length * 2);
+        }
+        pages[pageCount++] = page;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Write the page tree, cross-reference table and trailer, and flush the document
+     */
+    public void finish() throws IOException {
+        try {
+            startObject(PAGE_TREE);
+            StringBuilder pageTree = new StringBuilder("<< /Type /Pages /Count ").append(pageCount).append(" /Kids [");
+            for (int i = 0; i < pageCount; i++) {
+                if (i > 0) {
+                    pageTree.append(' ');
+                }
+                pageTree.append(pages[i]).append(" 0 R");
+            }
+            writeAscii(pageTree.append("] >>"));
+            endObject();
+
+            long crossReference = position;
+            StringBuilder table = new StringBuilder((objectCount + 1) * 20 + 64)
+                    .append("xref\n0 ").append(objectCount + 1).append("\n0000000000 65535 f \n");
+            for (int object = 1; object <= objectCount; object++) {
+                String offset = Long.toString(offsets[object]);
+                for (int i = offset.length(); i < 10; i++) {
+                    table.append('0');
+                }
+                table.append(offset).append(" 00000 n \n");
+            }
+            table.append("trailer\n<< /Size ").append(objectCount + 1).append(" /Root ").append(CATALOG)
+                    .append(" 0 R >>\nstartxref\n").append(crossReference).append("\n%%EOF\n");
+            writeAscii(table);
+            out.flush();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private int writeStream(byte[] compressed, int length) throws IOException {
+        int object = ++objectCount;
+        startObject(object);
+        writeAscii("<< /Length " + length);
+        write(STREAM_START);
+        out.write(compressed, 0, length);
+        position += length;
+        write(STREAM_END);
+        return object;
+    }
+
+    private static int fontObject(int fontIndex) {
+        return RESOURCES + 1 + fontIndex;
+    }
+
+    private void startObject(int object) throws IOException {
+        if (object >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(offsets.length * 2, object + 1));
+        }
+        offsets[object] = position;
+        writeAscii(object + " 0 obj\n");
+    }
+
+    private void endObject() throws IOException {
+        writeAscii("\nendobj\n");
+    }
+
+    private void writeAscii(CharSequence text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            out.write(text.charAt(i));
+        }
+        position += text.length();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+}
@@ -0,0 +1,155 @@
+package com.shiftmanager.api.service.report.pdf;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+
+/**
+ * One of the standard PDF fonts, which every viewer provides, so documents need neither
+ * embedded font programs nor font files on the server. Text is encoded as WinAnsi; the
+ * encoding table and glyph widths are built once per JVM and shared by all documents.
+ */
+public final class PdfFont {
+
+    /**
+     * WinAnsi codes 0x80-0x9F and the characters they stand for (unused codes are 0)
+     */
+    private static final char[] WIN_ANSI_HIGH = {
+            '€', 0, '‚', 'ƒ', '„', '…', '†', '‡',
+            'ˆ', '‰', 'Š', '‹', 'Œ', 0, 'Ž', 0,
+            0, '‘', '’', '“', '”', '•', '–', '—',
+            '˜', '™', 'š', '›', 'œ', 0, 'ž', 'Ÿ'};
+
+    /**
+     * Helvetica widths of codes 0x80-0x9F, close enough for the bold face as well
+     */
+    private static final short[] WIN_ANSI_HIGH_WIDTHS = {
+            556, 0, 222, 556, 333, 1000, 556, 556, 333, 1000, 667, 333, 1000, 0, 611, 0,
+            0, 222, 222, 333, 333, 350, 556, 1000, 333, 1000, 500, 333, 944, 0, 500, 667};
+
+    static final byte ELLIPSIS = (byte) 0x85;
+    private static final byte REPLACEMENT = '?';
+    private static final int FIRST_ASCII = 32;
+    private static final int DEFAULT_WIDTH = 556;
+
+    // Declared after the tables above, which the constructor reads
+
+    public static final PdfFont HELVETICA = new PdfFont("F1", "Helvetica", new short[]{
+            278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556,
+            1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556,
+            333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556,
+            556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584});
+
+    public static final PdfFont HELVETICA_BOLD = new PdfFont("F2", "Helvetica-Bold", new short[]{
+            278, 333, 474, 556, 556, 889, 722, 238, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 333, 333, 584, 584, 584, 611,
+            975, 722, 722, 722, 722, 667, 611, 778, 722, 278, 556, 722, 611, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 333, 278, 333, 584, 556,
+            333, 556, 611, 556, 611, 556, 333, 611, 611, 278, 278, 556, 278, 889, 611, 611,
+            611, 611, 389, 556, 333, 611, 556, 778, 556, 556, 500, 389, 280, 389, 584});
+
+    /**
+     * Fonts every document declares, in resource order
+     */
+    static final PdfFont[] ALL = {HELVETICA, HELVETICA_BOLD};
+
+    private final String resourceName;
+    private final byte[] resourceNameBytes;
+    private final byte[] dictionary;
+    private final short[] widths = new short[256];
+
+    private PdfFont(String resourceName, String baseFont, short[] asciiWidths) {
+        this.resourceName = resourceName;
+        this.resourceNameBytes = ("/" + resourceName).getBytes(StandardCharsets.US_ASCII);
+        this.dictionary = ("<< /Type /Font /Subtype /Type1 /BaseFont /" + baseFont
+                + " /Encoding /WinAnsiEncoding >>").getBytes(StandardCharsets.US_ASCII);
+
+        System.arraycopy(asciiWidths, 0, widths, FIRST_ASCII, asciiWidths.length);
+        System.arraycopy(WIN_ANSI_HIGH_WIDTHS, 0, widths, 0x80, WIN_ANSI_HIGH_WIDTHS.length);
+        widths[0xA0] = widths[' '];
+        for (int code = 0xA1; code <= 0xFF; code++) {
+            // Accented letters are as wide as their base letter; other Latin-1 symbols get an average width
+            char base = Normalizer.normalize(String.valueOf((char) code), Normalizer.Form.NFD).charAt(0);
+            widths[code] = base >= FIRST_ASCII && base < 0x7F ? widths[base] : DEFAULT_WIDTH;
+        }
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    byte[] resourceNameBytes() {
+        return resourceNameBytes;
+    }
+
+    byte[] dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Encode a character as WinAnsi
+     * @param c Character
+     * @return Code of the character, or '?' if the font has no glyph for it
+     */
+    static byte encode(char c) {
+        if (c < 0x80) {
+            return c < FIRST_ASCII ? (byte) ' ' : (byte) c;
+        }
+        if (c >= 0xA0 && c <= 0xFF) {
+            return (byte) c;
+        }
+        for (int i = 0; i < WIN_ANSI_HIGH.length; i++) {
+            if (WIN_ANSI_HIGH[i] == c) {
+                return (byte) (0x80 + i);
+            }
+        }
+        return REPLACEMENT;
+    }
+
+    /**
+     * Width of an encoded glyph in thousandths of the font size
+     */
+    int width(byte code) {
+        return widths[code & 0xFF];
+    }
+
+    /**
+     * Width of a text in points
+     * @param text Text
+     * @param size Font size
+     * @return Width in points
+     */
+    public float textWidth(CharSequence text, float size) {
+        int total = 0;
+        for (int i = 0; i < text.length(); i++) {
+            total += width(encode(text.charAt(i)));
+        }
+        return total * size / 1000f;
+    }
+
+    /**
+     * Number of leading characters of a text that fit into a width together with a
+     * trailing ellipsis, or the full length if the whole text fits
+     * @param text Text
+     * @param size Font size
+     * @param maxWidth Available width in points
+     * @return Number of characters to show
+     */
+    int fit(CharSequence text, float size, float maxWidth) {
+        int limit = (int) (maxWidth * 1000f / size);
+        int total = 0;
+        int fitsWithEllipsis = 0;
+        int ellipsisLimit = limit - width(ELLIPSIS);
+        for (int i = 0; i < text.length(); i++) {
+            total += width(encode(text.charAt(i)));
+            if (total > limit) {
+                return fitsWithEllipsis;
+            }
+            if (total <= ellipsisLimit) {
+                fitsWithEllipsis = i + 1;
+            }
+        }
+        return text.length();
+    }
+}
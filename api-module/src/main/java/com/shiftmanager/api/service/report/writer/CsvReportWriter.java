@@ -0,0 +1,143 @@
+package com.shiftmanager.api.service.report.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * CSV backend (RFC 4180). Only tables are written: each starts with a header row, and
+ * consecutive tables are separated by an empty line. Titles, headings and properties are
+ * left out so the rows can be loaded as they are.
+ */
+public class CsvReportWriter extends ReportWriter {
+
+    private static final byte[] LINE_END = {'\r', '\n'};
+
+    private int tableCount;
+
+    public CsvReportWriter(OutputStream outputStream) {
+        super(outputStream);
+    }
+
+    @Override
+    public void startReport(ReportLabel title) {
+    }
+
+    @Override
+    public void endReport() throws IOException {
+        flush();
+    }
+
+    @Override
+    public void startSection(ReportLabel heading) {
+    }
+
+    @Override
+    public void endSection() {
+    }
+
+    @Override
+    public ReportWriter property(ReportLabel label) {
+        return this;
+    }
+
+    @Override
+    public void startTable(ReportTable table) throws IOException {
+        super.startTable(table);
+        if (tableCount++ > 0) {
+            put(LINE_END);
+        }
+        for (int i = 0; i < table.columnCount(); i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            put(table.column(i).csvHeader());
+        }
+        put(LINE_END);
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        super.endRow();
+        put(LINE_END);
+    }
+
+    @Override
+    public ReportWriter rowFragment(OutputStream outputStream) {
+        CsvReportWriter fragment = new CsvReportWriter(outputStream);
+        fragment.table = table;
+        return fragment;
+    }
+
+    @Override
+    protected boolean beginValue() throws IOException {
+        if (table == null) {
+            return false;
+        }
+        if (cellIndex > 0) {
+            put((byte) ',');
+        }
+        return true;
+    }
+
+    @Override
+    protected void endValue() {
+        cellIndex++;
+    }
+
+    @Override
+    protected void putString(CharSequence first, CharSequence second) throws IOException {
+        if (!needsQuotes(first) && !needsQuotes(second)) {
+            super.putString(first, second);
+            return;
+        }
+        put((byte) '"');
+        putEscaped(first);
+        if (second != null) {
+            put((byte) ' ');
+            putEscaped(second);
+        }
+        put((byte) '"');
+    }
+
+    @Override
+    protected void putLabelText(ReportLabel label) throws IOException {
+        put(label.csvHeader());
+    }
+
+    private void putEscaped(CharSequence value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int runStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                putUtf8(value, runStart, i + 1);
+                put((byte) '"');
+                runStart = i + 1;
+            }
+        }
+        putUtf8(value, runStart, value.length());
+    }
+
+    private static boolean needsQuotes(CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quote a fixed value for use in CSV if it needs it
+     * @param value Value
+     * @return Value as a CSV field
+     */
+    static String quote(String value) {
+        return needsQuotes(value) ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
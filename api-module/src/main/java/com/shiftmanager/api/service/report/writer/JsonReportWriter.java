@@ -0,0 +1,196 @@
+package com.shiftmanager.api.service.report.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON backend. The report is one object: the title key under "report", root properties as
+ * members, each section as a nested object and each table as an array of row objects.
+ */
+public class JsonReportWriter extends ReportWriter {
+
+    private static final byte[] REPORT_KEY = "{\"report\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * Whether the object or array at each nesting level already has a member
+     */
+    private final boolean[] hasMembers = new boolean[MAX_DEPTH];
+    private int depth;
+
+    public JsonReportWriter(OutputStream outputStream) {
+        super(outputStream);
+    }
+
+    @Override
+    public void startReport(ReportLabel title) throws IOException {
+        put(REPORT_KEY);
+        byte[] key = title.jsonKey();
+        // The label's key is stored as "key": so skip its opening quote and the trailing colon
+        put(key, 1, key.length - 2);
+        depth = 0;
+        hasMembers[0] = true;
+    }
+
+    @Override
+    public void endReport() throws IOException {
+        put((byte) '}');
+        flush();
+    }
+
+    @Override
+    public void startSection(ReportLabel heading) throws IOException {
+        member(heading);
+        put((byte) '{');
+        push();
+    }
+
+    @Override
+    public void endSection() throws IOException {
+        put((byte) '}');
+        depth--;
+    }
+
+    @Override
+    public ReportWriter property(ReportLabel label) throws IOException {
+        member(label);
+        return this;
+    }
+
+    @Override
+    public void startTable(ReportTable table) throws IOException {
+        super.startTable(table);
+        member(table.label());
+        put((byte) '[');
+        push();
+    }
+
+    @Override
+    public void startRow() throws IOException {
+        super.startRow();
+        if (hasMembers[depth]) {
+            put((byte) ',');
+        }
+        hasMembers[depth] = true;
+        put((byte) '{');
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        super.endRow();
+        put((byte) '}');
+    }
+
+    @Override
+    public void endTable() throws IOException {
+        put((byte) ']');
+        depth--;
+        super.endTable();
+    }
+
+    @Override
+    public ReportWriter rowFragment(OutputStream outputStream) {
+        // Every row of a fragment starts with a separator; appendRows drops it where not needed
+        JsonReportWriter fragment = new JsonReportWriter(outputStream);
+        fragment.table = table;
+        fragment.hasMembers[0] = true;
+        return fragment;
+    }
+
+    @Override
+    public void appendRows(byte[] rows) throws IOException {
+        if (rows.length == 0) {
+            return;
+        }
+        if (hasMembers[depth]) {
+            put(rows, 0, rows.length);
+        } else {
+            put(rows, 1, rows.length - 1);
+            hasMembers[depth] = true;
+        }
+        rowCount++;
+    }
+
+    @Override
+    protected boolean beginValue() throws IOException {
+        if (table != null) {
+            if (cellIndex > 0) {
+                put((byte) ',');
+            }
+            put(table.column(cellIndex).jsonKey());
+        }
+        return true;
+    }
+
+    @Override
+    protected void endValue() {
+        cellIndex++;
+    }
+
+    @Override
+    protected void putQuote() throws IOException {
+        put((byte) '"');
+    }
+
+    @Override
+    protected void putNull() throws IOException {
+        put(NULL);
+    }
+
+    @Override
+    protected void putString(CharSequence first, CharSequence second) throws IOException {
+        put((byte) '"');
+        putEscaped(first);
+        if (second != null) {
+            put((byte) ' ');
+            putEscaped(second);
+        }
+        put((byte) '"');
+    }
+
+    private void putEscaped(CharSequence value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int runStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                putUtf8(value, runStart, i);
+                put((byte) '\\');
+                switch (c) {
+                    case '"' -> put((byte) '"');
+                    case '\\' -> put((byte) '\\');
+                    case '\n' -> put((byte) 'n');
+                    case '\r' -> put((byte) 'r');
+                    case '\t' -> put((byte) 't');
+                    default -> {
+                        put((byte) 'u');
+                        put((byte) '0');
+                        put((byte) '0');
+                        put(HEX[c >> 4]);
+                        put(HEX[c & 0xF]);
+                    }
+                }
+                runStart = i + 1;
+            }
+        }
+        putUtf8(value, runStart, value.length());
+    }
+
+    private void member(ReportLabel label) throws IOException {
+        if (hasMembers[depth]) {
+            put((byte) ',');
+        }
+        hasMembers[depth] = true;
+        put(label.jsonKey());
+    }
+
+    private void push() {
+        depth++;
+        hasMembers[depth] = false;
+    }
+}
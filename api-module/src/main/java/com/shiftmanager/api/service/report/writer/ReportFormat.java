@@ -0,0 +1,91 @@
+package com.shiftmanager.api.service.report.writer;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Output formats a report can be written in
+ */
+public enum ReportFormat {
+
+    TEXT("text/plain;charset=UTF-8", "txt"),
+    CSV("text/csv;charset=UTF-8", "csv"),
+    JSON("application/json", "json");
+
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ReportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Create a writer for this format
+     * @param outputStream Stream the report is written to
+     * @return Report writer
+     */
+    public ReportWriter newWriter(OutputStream outputStream) {
+        return switch (this) {
+            case TEXT -> new TextReportWriter(outputStream);
+            case CSV -> new CsvReportWriter(outputStream);
+            case JSON -> new JsonReportWriter(outputStream);
+        };
+    }
+
+    /**
+     * Pick the format that best matches an Accept header; anything unrecognised gets plain text
+     * @param accept Accept header value (may be null)
+     * @return Report format
+     */
+    public static ReportFormat fromAcceptHeader(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return TEXT;
+        }
+
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return TEXT;
+        }
+
+        // Highest quality wins; on a tie the type listed first wins
+        ReportFormat best = TEXT;
+        double bestQuality = -1;
+        for (MediaType mediaType : mediaTypes) {
+            ReportFormat format = forMediaType(mediaType);
+            if (format != null && mediaType.getQualityValue() > bestQuality) {
+                best = format;
+                bestQuality = mediaType.getQualityValue();
+            }
+        }
+        return best;
+    }
+
+    private static ReportFormat forMediaType(MediaType mediaType) {
+        if (mediaType.includes(MediaType.TEXT_PLAIN)) {
+            return TEXT;
+        }
+        if (mediaType.includes(TEXT_CSV)) {
+            return CSV;
+        }
+        if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+            return JSON;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.shiftmanager.api.service.report.writer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A fixed piece of report text (title, heading, field or column name), encoded once for every
+ * backend so writing it is a plain byte copy
+ */
+public final class ReportLabel {
+
+    private final String text;
+    private final byte[] textBytes;
+    private final byte[] jsonKey;
+    private final byte[] csvHeader;
+    private final byte[] doubleUnderline;
+    private final byte[] singleUnderline;
+
+    private ReportLabel(String text, String key) {
+        this.text = text;
+        this.textBytes = text.getBytes(StandardCharsets.UTF_8);
+        this.jsonKey = ('"' + key + "\":").getBytes(StandardCharsets.UTF_8);
+        this.csvHeader = CsvReportWriter.quote(text).getBytes(StandardCharsets.UTF_8);
+        this.doubleUnderline = repeat('=', text.length());
+        this.singleUnderline = repeat('-', text.length());
+    }
+
+    /**
+     * Create a label
+     * @param text Text shown in text reports and CSV headers
+     * @param key JSON member name (plain identifier, not escaped)
+     * @return Label
+     */
+    public static ReportLabel of(String text, String key) {
+        return new ReportLabel(text, key);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    byte[] textBytes() {
+        return textBytes;
+    }
+
+    byte[] jsonKey() {
+        return jsonKey;
+    }
+
+    byte[] csvHeader() {
+        return csvHeader;
+    }
+
+    byte[] doubleUnderline() {
+        return doubleUnderline;
+    }
+
+    byte[] singleUnderline() {
+        return singleUnderline;
+    }
+
+    int length() {
+        return text.length();
+    }
+
+    private static byte[] repeat(char c, int count) {
+        byte[] line = new byte[count];
+        Arrays.fill(line, (byte) c);
+        return line;
+    }
+}
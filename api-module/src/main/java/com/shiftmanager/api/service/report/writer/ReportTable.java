@@ -0,0 +1,86 @@
+package com.shiftmanager.api.service.report.writer;
+
+import java.util.Arrays;
+
+/**
+ * Layout of a report table: its name, its columns and what text reports print when it has no rows
+ */
+public final class ReportTable {
+
+    private final ReportLabel label;
+    private final ReportLabel emptyMessage;
+    private final ReportLabel[] columns;
+    private final int[] widths;
+
+    private ReportTable(ReportLabel label, ReportLabel emptyMessage, ReportLabel[] columns, int[] widths) {
+        this.label = label;
+        this.emptyMessage = emptyMessage;
+        this.columns = columns;
+        this.widths = widths;
+    }
+
+    /**
+     * Start a table layout
+     * @param label Table name
+     * @param emptyMessage Text printed by text reports when the table has no rows
+     * @return Builder
+     */
+    public static Builder builder(ReportLabel label, ReportLabel emptyMessage) {
+        return new Builder(label, emptyMessage);
+    }
+
+    ReportLabel label() {
+        return label;
+    }
+
+    ReportLabel emptyMessage() {
+        return emptyMessage;
+    }
+
+    int columnCount() {
+        return columns.length;
+    }
+
+    ReportLabel column(int index) {
+        return columns[index];
+    }
+
+    int width(int index) {
+        return widths[index];
+    }
+
+    /**
+     * Builder for ReportTable
+     */
+    public static class Builder {
+        private final ReportLabel label;
+        private final ReportLabel emptyMessage;
+        private ReportLabel[] columns = new ReportLabel[0];
+        private int[] widths = new int[0];
+
+        private Builder(ReportLabel label, ReportLabel emptyMessage) {
+            this.label = label;
+            this.emptyMessage = emptyMessage;
+        }
+
+        /**
+         * Add a column
+         * @param text Column header
+         * @param key JSON member name
+         * @param width Column width in text reports
+         * @return This builder
+         */
+        public Builder column(String text, String key, int width) {
+            int count = columns.length;
+            columns = Arrays.copyOf(columns, count + 1);
+            widths = Arrays.copyOf(widths, count + 1);
+            columns[count] = ReportLabel.of(text, key);
+            widths[count] = Math.max(width, text.length());
+            return this;
+        }
+
+        public ReportTable build() {
+            return new ReportTable(label, emptyMessage, columns, widths);
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package com.shiftmanager.api.service.report.writer;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Writes a report as a tree of properties, sections and tables. Backends decide how that
+ * structure is laid out; this class owns the output buffer and encodes values (text as UTF-8,
+ * numbers, dates, times and fixed-point hours) straight into it without intermediate Strings.
+ *
+ * <p>A report is written as:
+ * <pre>
+ * startReport(title)
+ *   property(label).value(...)            root properties
+ *   startSection(heading)
+ *     property(label).value(...)
+ *     startTable(table)
+ *       startRow() value(...)... endRow()
+ *     endTable()
+ *   endSection()
+ * endReport()
+ * </pre>
+ * A property or cell takes exactly one value. A section holds at most one table, after its properties.
+ */
+public abstract class ReportWriter implements Flushable {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final byte[] DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
+    private static final byte[] MIN_LONG = "-9223372036854775808".getBytes();
+
+    private final OutputStream outputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private long flushed;
+    private long extraBytes;
+
+    /**
+     * Current table, or null outside tables
+     */
+    protected ReportTable table;
+
+    /**
+     * Index of the next cell within the current row
+     */
+    protected int cellIndex;
+
+    /**
+     * Rows written to the current table so far
+     */
+    protected int rowCount;
+
+    protected ReportWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    // Structure
+
+    public abstract void startReport(ReportLabel title) throws IOException;
+
+    /**
+     * Finish the report and flush everything to the stream
+     */
+    public abstract void endReport() throws IOException;
+
+    public abstract void startSection(ReportLabel heading) throws IOException;
+
+    public abstract void endSection() throws IOException;
+
+    /**
+     * Start a property; the next value call supplies its value
+     * @param label Property name
+     * @return This writer
+     */
+    public abstract ReportWriter property(ReportLabel label) throws IOException;
+
+    public void startTable(ReportTable table) throws IOException {
+        this.table = table;
+        this.rowCount = 0;
+    }
+
+    public void startRow() throws IOException {
+        cellIndex = 0;
+    }
+
+    public void endRow() throws IOException {
+        rowCount++;
+    }
+
+    public void endTable() throws IOException {
+        table = null;
+    }
+
+    /**
+     * Create a writer for a run of rows of the current table that is rendered separately
+     * (for example on another thread) and added later with {@link #appendRows(byte[])}
+     * @param outputStream Buffer the rows are written to
+     * @return Writer positioned inside the current table
+     */
+    public abstract ReportWriter rowFragment(OutputStream outputStream);
+
+    /**
+     * Add rows rendered by a {@link #rowFragment(OutputStream)} writer to the current table
+     * @param rows Encoded rows (empty if the fragment had none)
+     */
+    public void appendRows(byte[] rows) throws IOException {
+        if (rows.length > 0) {
+            put(rows, 0, rows.length);
+            rowCount++;
+        }
+    }
+
+    // Values
+
+    public ReportWriter text(CharSequence value) throws IOException {
+        if (beginValue()) {
+            if (value == null) {
+                putNull();
+            } else {
+                putString(value, null);
+            }
+            endValue();
+        }
+        return this;
+    }
+
+    /**
+     * Write a person's name as "first last"
+     */
+    public ReportWriter name(CharSequence firstName, CharSequence lastName) throws IOException {
+        if (beginValue()) {
+            putString(firstName, lastName);
+            endValue();
+        }
+        return this;
+    }
+
+    public ReportWriter text(ReportLabel value) throws IOException {
+        if (beginValue()) {
+            putQuote();
+            putLabelText(value);
+            putQuote();
+            endValue();
+        }
+        return this;
+    }
+
+    public ReportWriter number(long value) throws IOException {
+        if (beginValue()) {
+            putLong(value);
+            endValue();
+        }
+        return this;
+    }
+
+    public ReportWriter date(LocalDate value) throws IOException {
+        if (beginValue()) {
+            if (value == null) {
+                putNull();
+            } else {
+                putQuote();
+                putDate(value);
+                putQuote();
+            }
+            endValue();
+        }
+        return this;
+    }
+
+    public ReportWriter time(LocalTime value) throws IOException {
+        if (beginValue()) {
+            if (value == null) {
+                putNull();
+            } else {
+                putQuote();
+                putTime(value);
+                putQuote();
+            }
+            endValue();
+        }
+        return this;
+    }
+
+    public ReportWriter dateTime(LocalDateTime value) throws IOException {
+        if (beginValue()) {
+            if (value == null) {
+                putNull();
+            } else {
+                putQuote();
+                putDate(value.toLocalDate());
+                put((byte) ' ');
+                putTime(value.toLocalTime());
+                put((byte) ':');
+                putTwoDigits(value.getSecond());
+                putQuote();
+            }
+            endValue();
+        }
+        return this;
+    }
+
+    /**
+     * Write a number of minutes as hours with two decimals, rounded half up
+     */
+    public ReportWriter hours(long minutes) throws IOException {
+        if (beginValue()) {
+            long hundredths = (Math.abs(minutes) * 100 + 30) / 60;
+            putFixed2(minutes < 0 ? -hundredths : hundredths);
+            endValue();
+        }
+        return this;
+    }
+
+    /**
+     * Write part / whole as a percentage with two decimals, rounded half up
+     */
+    public ReportWriter percent(long part, long whole) throws IOException {
+        if (beginValue()) {
+            putFixed2(whole == 0 ? 0 : (part * 10000 + whole / 2) / whole);
+            endValue();
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        outputStream.flush();
+    }
+
+    // Backend hooks
+
+    /**
+     * Called before every value
+     * @return false to drop the value (the backend does not show it)
+     */
+    protected abstract boolean beginValue() throws IOException;
+
+    /**
+     * Called after every value that was not dropped
+     */
+    protected abstract void endValue() throws IOException;
+
+    /**
+     * Write a string value; the second part, if any, follows after a space
+     */
+    protected void putString(CharSequence first, CharSequence second) throws IOException {
+        putUtf8(first);
+        if (second != null) {
+            put((byte) ' ');
+            putUtf8(second);
+        }
+    }
+
+    /**
+     * Write a label's text as a string value
+     */
+    protected void putLabelText(ReportLabel label) throws IOException {
+        put(label.textBytes());
+        extraBytes += label.textBytes().length - label.length();
+    }
+
+    /**
+     * Write the quote that surrounds non-numeric values (nothing by default)
+     */
+    protected void putQuote() throws IOException {
+    }
+
+    /**
+     * Write a missing value (nothing by default)
+     */
+    protected void putNull() throws IOException {
+    }
+
+    // Encoding primitives
+
+    /**
+     * Number of bytes written through this writer so far
+     */
+    protected final long written() {
+        return flushed + position;
+    }
+
+    /**
+     * Number of characters written through {@link #putUtf8} and {@link #putLabelText} plus all other
+     * bytes so far, for lining up text where multibyte characters take one column
+     */
+    protected final long writtenCharacters() {
+        return written() - extraBytes;
+    }
+
+    protected final void put(byte b) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = b;
+    }
+
+    protected final void put(byte[] bytes) throws IOException {
+        put(bytes, 0, bytes.length);
+    }
+
+    protected final void put(byte[] bytes, int offset, int length) throws IOException {
+        if (length > buffer.length - position) {
+            drain();
+            if (length > buffer.length) {
+                outputStream.write(bytes, offset, length);
+                flushed += length;
+                return;
+            }
+        }
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    protected final void putSpaces(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            put((byte) ' ');
+        }
+    }
+
+    /**
+     * Encode characters as UTF-8
+     */
+    protected final void putUtf8(CharSequence value) throws IOException {
+        if (value != null) {
+            putUtf8(value, 0, value.length());
+        }
+    }
+
+    protected final void putUtf8(CharSequence value, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                put((byte) c);
+            } else if (c < 0x800) {
+                put((byte) (0xC0 | (c >> 6)));
+                put((byte) (0x80 | (c & 0x3F)));
+                extraBytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                put((byte) (0xF0 | (codePoint >> 18)));
+                put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                put((byte) (0x80 | (codePoint & 0x3F)));
+                extraBytes += 2;
+            } else if (Character.isSurrogate(c)) {
+                put((byte) '?');
+            } else {
+                put((byte) (0xE0 | (c >> 12)));
+                put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                put((byte) (0x80 | (c & 0x3F)));
+                extraBytes += 2;
+            }
+        }
+    }
+
+    protected final void putLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            put(MIN_LONG);
+            return;
+        }
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        if (value < 10) {
+            put(DIGITS[(int) value]);
+            return;
+        }
+
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            put(DIGITS[(int) (value / divisor % 10)]);
+            divisor /= 10;
+        }
+    }
+
+    /**
+     * Write a fixed-point number given in hundredths, e.g. 1234 as 12.34
+     */
+    protected final void putFixed2(long hundredths) throws IOException {
+        if (hundredths < 0) {
+            put((byte) '-');
+            hundredths = -hundredths;
+        }
+        putLong(hundredths / 100);
+        put((byte) '.');
+        putTwoDigits((int) (hundredths % 100));
+    }
+
+    protected final void putTwoDigits(int value) throws IOException {
+        put(DIGITS[value / 10]);
+        put(DIGITS[value % 10]);
+    }
+
+    protected final void putDate(LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year >= 0 && year <= 9999) {
+            putTwoDigits(year / 100);
+            putTwoDigits(year % 100);
+        } else {
+            putLong(year);
+        }
+        put((byte) '-');
+        putTwoDigits(date.getMonthValue());
+        put((byte) '-');
+        putTwoDigits(date.getDayOfMonth());
+    }
+
+    protected final void putTime(LocalTime time) throws IOException {
+        putTwoDigits(time.getHour());
+        put((byte) ':');
+        putTwoDigits(time.getMinute());
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            outputStream.write(buffer, 0, position);
+            flushed += position;
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.shiftmanager.api.service.report.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Plain text backend: underlined title and headings, "Label: value" properties and
+ * tables with fixed-width columns
+ */
+public class TextReportWriter extends ReportWriter {
+
+    private static final byte[] PROPERTY_SEPARATOR = ": ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FOOTER = "End of Report\n=============\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int COLUMN_GAP = 2;
+
+    private boolean inProperty;
+    private boolean blankLine;
+    private boolean headerWritten;
+    private long cellStart;
+
+    public TextReportWriter(OutputStream outputStream) {
+        super(outputStream);
+    }
+
+    @Override
+    public void startReport(ReportLabel title) throws IOException {
+        put(title.textBytes());
+        put((byte) '\n');
+        put(title.doubleUnderline());
+        put((byte) '\n');
+        put((byte) '\n');
+        blankLine = true;
+    }
+
+    @Override
+    public void endReport() throws IOException {
+        separate();
+        put(FOOTER);
+        flush();
+    }
+
+    @Override
+    public void startSection(ReportLabel heading) throws IOException {
+        separate();
+        put(heading.textBytes());
+        put((byte) '\n');
+        put(heading.singleUnderline());
+        put((byte) '\n');
+        blankLine = false;
+    }
+
+    @Override
+    public void endSection() {
+    }
+
+    @Override
+    public ReportWriter property(ReportLabel label) throws IOException {
+        put(label.textBytes());
+        put(PROPERTY_SEPARATOR);
+        inProperty = true;
+        blankLine = false;
+        return this;
+    }
+
+    @Override
+    public void startTable(ReportTable table) throws IOException {
+        super.startTable(table);
+        separate();
+        headerWritten = false;
+    }
+
+    @Override
+    public void startRow() throws IOException {
+        super.startRow();
+        if (!headerWritten) {
+            writeHeader();
+        }
+        cellStart = writtenCharacters();
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        super.endRow();
+        put((byte) '\n');
+    }
+
+    @Override
+    public void endTable() throws IOException {
+        if (rowCount == 0) {
+            put(table.emptyMessage().textBytes());
+            put((byte) '\n');
+        }
+        blankLine = false;
+        super.endTable();
+    }
+
+    @Override
+    public ReportWriter rowFragment(OutputStream outputStream) {
+        TextReportWriter fragment = new TextReportWriter(outputStream);
+        fragment.table = table;
+        fragment.headerWritten = true;
+        return fragment;
+    }
+
+    @Override
+    public void appendRows(byte[] rows) throws IOException {
+        if (rows.length > 0 && !headerWritten) {
+            writeHeader();
+        }
+        super.appendRows(rows);
+    }
+
+    @Override
+    protected boolean beginValue() throws IOException {
+        if (!inProperty && table != null && cellIndex > 0) {
+            // Pad the previous cell out to its column width, counting characters rather than bytes
+            int used = (int) (writtenCharacters() - cellStart);
+            putSpaces(Math.max(table.width(cellIndex - 1) - used, 0) + COLUMN_GAP);
+            cellStart = writtenCharacters();
+        }
+        return true;
+    }
+
+    @Override
+    protected void endValue() throws IOException {
+        if (inProperty) {
+            put((byte) '\n');
+            inProperty = false;
+        } else {
+            cellIndex++;
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        int last = table.columnCount() - 1;
+        for (int i = 0; i <= last; i++) {
+            ReportLabel column = table.column(i);
+            put(column.textBytes());
+            if (i < last) {
+                putSpaces(table.width(i) - column.length() + COLUMN_GAP);
+            }
+        }
+        put((byte) '\n');
+        for (int i = 0; i <= last; i++) {
+            for (int j = 0; j < table.width(i); j++) {
+                put((byte) '-');
+            }
+            if (i < last) {
+                putSpaces(COLUMN_GAP);
+            }
+        }
+        put((byte) '\n');
+        headerWritten = true;
+    }
+
+    /**
+     * Leave one empty line before the next block
+     */
+    private void separate() throws IOException {
+        if (!blankLine) {
+            put((byte) '\n');
+            blankLine = true;
+        }
+    }
+}
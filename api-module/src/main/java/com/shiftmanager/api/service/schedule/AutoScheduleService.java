@@ -0,0 +1,71 @@
+package com.shiftmanager.api.service.schedule;
+
+import com.shiftmanager.api.dto.ScheduleProposalDTO;
+import com.shiftmanager.api.dto.ShiftAssignmentDTO;
+import com.shiftmanager.api.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Proposes who should take the open shifts of a location in a week. The
+ * {@link ScheduleProblemLoader} loads the week into a {@link ScheduleProblem} in a short
+ * read-only transaction, and the {@link ScheduleSolver} then solves it in memory outside any
+ * transaction, so no connection is held while it searches. Nothing is written; the proposal
+ * is committed through the bulk assignment endpoint.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class AutoScheduleService {
+
+    private final ScheduleProblemLoader scheduleProblemLoader;
+    private final ScheduleSolver scheduleSolver;
+
+    /**
+     * Propose assignments of a location's open shifts in a week to team members. Must not be
+     * called within a transaction, which would stay open while the solver runs.
+     * @param locationId Location ID
+     * @param weekStart First day of the week
+     * @param team Employees who can be scheduled
+     * @return The proposal
+     */
+    public ScheduleProposalDTO propose(Long locationId, LocalDate weekStart, List<Employee> team) {
+        LocalDate weekEnd = weekStart.plusDays(6);
+        ScheduleProblem problem = scheduleProblemLoader.load(locationId, weekStart, team);
+        ScheduleSolution solution = scheduleSolver.solve(problem);
+
+        List<ShiftAssignmentDTO> assignments = new ArrayList<>();
+        List<Long> unfilledShiftIds = new ArrayList<>();
+        for (int shift = 0; shift < problem.getShiftCount(); shift++) {
+            int employee = solution.getEmployee(shift);
+            if (employee >= 0) {
+                assignments.add(new ShiftAssignmentDTO(problem.getShiftId(shift), problem.getEmployeeId(employee)));
+            } else {
+                unfilledShiftIds.add(problem.getShiftId(shift));
+            }
+        }
+        Map<Long, Double> weeklyHours = new LinkedHashMap<>();
+        for (int employee = 0; employee < problem.getEmployeeCount(); employee++) {
+            weeklyHours.put(problem.getEmployeeId(employee), solution.getMinutes(employee) / 60.0);
+        }
+
+        log.debug("Proposed {} of {} open shifts at location ID {} for the week of {} to {} employees",
+                assignments.size(), problem.getShiftCount(), locationId, weekStart, team.size());
+        return ScheduleProposalDTO.builder()
+                .locationId(locationId)
+                .weekStart(weekStart)
+                .weekEnd(weekEnd)
+                .openShifts(problem.getShiftCount())
+                .assignments(assignments)
+                .unfilledShiftIds(unfilledShiftIds)
+                .weeklyHours(weeklyHours)
+                .build();
+    }
+}
@@ -0,0 +1,445 @@
+package com.shiftmanager.api.service.schedule;
+
+import com.shiftmanager.api.dto.CoverageDTO;
+import com.shiftmanager.api.dto.CoverageGapDTO;
+import com.shiftmanager.api.event.ShiftAssignment;
+import com.shiftmanager.api.event.ShiftAssignmentEvent;
+import com.shiftmanager.api.event.ShiftChangeEvent;
+import com.shiftmanager.api.event.ShiftCreatedEvent;
+import com.shiftmanager.api.exception.ValidationErrorResponse;
+import com.shiftmanager.api.repository.ShiftRepository;
+import com.shiftmanager.api.repository.ShiftRepository.ShiftLocationDate;
+import com.shiftmanager.api.repository.ShiftRepository.ShiftStaffing;
+import com.shiftmanager.api.repository.StaffingRequirementRepository;
+import com.shiftmanager.api.repository.StaffingRequirementRepository.Headcount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the open and understaffed shifts of a location. The shifts of a date range with
+ * fewer assignments than the most the location requires are found with one query, which
+ * counts the assignments, and the gaps are kept per location and day, so polling the same
+ * days again needs no database round trip.
+ *
+ * <p>A cached day is evicted once a change to it has committed: an assignment to or removal
+ * from one of its shifts, an updated or deleted shift, or a new shift on it. Changed staffing
+ * requirements evict all days. Every change makes loads that overlapped it skip the cache, so
+ * a load cannot hide a change it missed. The number of days is bounded and the least recently
+ * used are evicted first.
+ */
+@Service
+@Slf4j
+public class CoverageService {
+
+    /**
+     * Longest date range coverage can be requested for
+     */
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final ShiftRepository shiftRepository;
+    private final StaffingRequirementRepository staffingRequirementRepository;
+    private final int defaultHeadcount;
+    private final int maxDays;
+    private final Map<LocationDay, List<CoverageGap>> days = new LinkedHashMap<>(256, 0.75f, true);
+
+    /**
+     * Day of each shift that is a gap of a cached day
+     */
+    private final Map<Long, LocationDay> gapDays = new HashMap<>();
+
+    /**
+     * Counts the changes, so a load can tell if one committed while it ran
+     */
+    private long generation;
+
+    /**
+     * Staffing requirements, null until loaded
+     */
+    private Headcounts headcounts;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+
+    public CoverageService(ShiftRepository shiftRepository,
+                           StaffingRequirementRepository staffingRequirementRepository,
+                           @Value("${app.scheduling.coverage.default-headcount:1}") int defaultHeadcount,
+                           @Value("${app.scheduling.coverage.max-days:20000}") int maxDays,
+                           MeterRegistry meterRegistry) {
+        this.shiftRepository = shiftRepository;
+        this.staffingRequirementRepository = staffingRequirementRepository;
+        this.defaultHeadcount = defaultHeadcount;
+        this.maxDays = maxDays;
+
+        this.hits = Counter.builder("shift.coverage.days").tag("result", "hit")
+                .description("Location days served from the cache").register(meterRegistry);
+        this.misses = Counter.builder("shift.coverage.days").tag("result", "miss")
+                .description("Location days that had to be loaded").register(meterRegistry);
+        this.evictions = Counter.builder("shift.coverage.evictions")
+                .description("Location days evicted to stay within the cache size").register(meterRegistry);
+        this.invalidations = Counter.builder("shift.coverage.invalidations")
+                .description("Location days evicted because their shifts or assignments changed").register(meterRegistry);
+        Gauge.builder("shift.coverage.size", this, CoverageService::size)
+                .description("Number of cached location days").register(meterRegistry);
+    }
+
+    /**
+     * Get the shifts of a location in a date range that need more employees than are assigned
+     * @param locationId Location ID
+     * @param startDate Start date
+     * @param endDate End date
+     * @return Open and understaffed shifts
+     */
+    public CoverageDTO getCoverage(Long locationId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw ValidationErrorResponse.exception("End date cannot be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw ValidationErrorResponse.exception("Coverage can be requested for at most " + MAX_RANGE_DAYS + " days");
+        }
+
+        Map<LocalDate, List<CoverageGap>> gapsByDate = new HashMap<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        int missing = 0;
+        long loadGeneration;
+        Headcounts loadHeadcounts;
+        synchronized (this) {
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                List<CoverageGap> gaps = days.get(new LocationDay(locationId, date));
+                if (gaps != null) {
+                    gapsByDate.put(date, gaps);
+                } else {
+                    firstMissing = firstMissing == null ? date : firstMissing;
+                    lastMissing = date;
+                    missing++;
+                }
+            }
+            loadGeneration = generation;
+            loadHeadcounts = headcounts;
+        }
+        hits.increment(gapsByDate.size());
+
+        if (firstMissing != null) {
+            misses.increment(missing);
+            if (loadHeadcounts == null) {
+                loadHeadcounts = loadHeadcounts(loadGeneration);
+            }
+            // The days in between that were cached are loaded again with the others
+            gapsByDate.putAll(load(locationId, firstMissing, lastMissing, loadHeadcounts, loadGeneration));
+        }
+
+        List<CoverageGapDTO> gaps = new ArrayList<>();
+        int openShifts = 0;
+        int missingHeadcount = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            for (CoverageGap gap : gapsByDate.get(date)) {
+                gaps.add(gap.toDTO());
+                openShifts += gap.getAssigned() == 0 ? 1 : 0;
+                missingHeadcount += gap.getRequired() - gap.getAssigned();
+            }
+        }
+        return CoverageDTO.builder()
+                .locationId(locationId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .openShifts(openShifts)
+                .understaffedShifts(gaps.size() - openShifts)
+                .missingHeadcount(missingHeadcount)
+                .gaps(gaps)
+                .build();
+    }
+
+    /**
+     * Evict the days of shifts whose assignments changed
+     * @param event Assignment event
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onShiftAssignment(ShiftAssignmentEvent event) {
+        List<Long> unresolved = new ArrayList<>();
+        synchronized (this) {
+            generation++;
+            // A shift that gains an employee is either a gap of a cached day or stays staffed
+            for (ShiftAssignment assignment : event.getAssigned()) {
+                evictDayOf(assignment.getShiftId());
+            }
+            // One that loses an employee may become a gap of a day that has none of it yet
+            for (ShiftAssignment assignment : event.getUnassigned()) {
+                if (!evictDayOf(assignment.getShiftId()) && !days.isEmpty()) {
+                    unresolved.add(assignment.getShiftId());
+                }
+            }
+        }
+        evictDaysOf(unresolved);
+    }
+
+    /**
+     * Evict the days of updated and deleted shifts
+     * @param event Shift change event
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onShiftChange(ShiftChangeEvent event) {
+        boolean cached;
+        synchronized (this) {
+            generation++;
+            event.getUpdatedShiftIds().forEach(this::evictDayOf);
+            event.getDeletedShiftIds().forEach(this::evictDayOf);
+            cached = !days.isEmpty();
+        }
+        // An updated shift may have moved to another day or location, or changed its shift type
+        if (cached) {
+            evictDaysOf(event.getUpdatedShiftIds());
+        }
+    }
+
+    /**
+     * Evict the days new shifts were created on
+     * @param event Shift creation event
+     */
+    @TransactionalEventListener
+    public synchronized void onShiftCreated(ShiftCreatedEvent event) {
+        generation++;
+        event.getDatesByLocationId().forEach((locationId, dates) -> {
+            for (LocalDate date : dates) {
+                evict(new LocationDay(locationId, date));
+            }
+        });
+    }
+
+    /**
+     * Record that staffing requirements changed, so all days are evicted once the change has
+     * committed
+     */
+    public void requirementsChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clear();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clear();
+            }
+        });
+    }
+
+    /**
+     * Load the gaps of a location over a date range and cache them by day, unless a change
+     * committed since the load began
+     */
+    private Map<LocalDate, List<CoverageGap>> load(Long locationId, LocalDate startDate, LocalDate endDate,
+                                                   Headcounts loadHeadcounts, long loadGeneration) {
+        Map<LocalDate, List<CoverageGap>> loaded = new LinkedHashMap<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            loaded.put(date, new ArrayList<>());
+        }
+        int maximum = loadHeadcounts.getMaximum(locationId);
+        for (ShiftStaffing shift : shiftRepository.findStaffingBelowByLocationAndDateRange(locationId, startDate, endDate, maximum)) {
+            int required = loadHeadcounts.get(locationId, shift.getShiftTypeId());
+            if (shift.getAssigned() < required) {
+                loaded.get(shift.getShiftDate()).add(new CoverageGap(shift, required));
+            }
+        }
+        loaded.replaceAll((date, gaps) -> List.copyOf(gaps));
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                loaded.forEach((date, gaps) -> put(new LocationDay(locationId, date), gaps));
+            }
+        }
+        log.debug("Loaded the coverage of location ID {} from {} to {}", locationId, startDate, endDate);
+        return loaded;
+    }
+
+    private Headcounts loadHeadcounts(long loadGeneration) {
+        Headcounts loaded = new Headcounts(defaultHeadcount, staffingRequirementRepository.findAllHeadcounts());
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                headcounts = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Evict the days of shifts, looked up in the database
+     */
+    private void evictDaysOf(Collection<Long> shiftIds) {
+        if (shiftIds.isEmpty()) {
+            return;
+        }
+        List<ShiftLocationDate> shifts = shiftRepository.findLocationDatesByIdIn(shiftIds);
+        synchronized (this) {
+            for (ShiftLocationDate shift : shifts) {
+                evict(new LocationDay(shift.getLocationId(), shift.getShiftDate()));
+            }
+        }
+    }
+
+    /**
+     * Evict the cached day a shift is a gap of
+     * @return false if the shift is no gap of a cached day
+     */
+    private boolean evictDayOf(Long shiftId) {
+        LocationDay day = gapDays.get(shiftId);
+        if (day == null) {
+            return false;
+        }
+        evict(day);
+        return true;
+    }
+
+    private void put(LocationDay day, List<CoverageGap> gaps) {
+        removeGaps(days.put(day, gaps));
+        gaps.forEach(gap -> gapDays.put(gap.getShiftId(), day));
+
+        Iterator<List<CoverageGap>> eldest = days.values().iterator();
+        while (days.size() > maxDays && eldest.hasNext()) {
+            removeGaps(eldest.next());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void evict(LocationDay day) {
+        List<CoverageGap> gaps = days.remove(day);
+        if (gaps != null) {
+            removeGaps(gaps);
+            invalidations.increment();
+        }
+    }
+
+    private void removeGaps(List<CoverageGap> gaps) {
+        if (gaps != null) {
+            gaps.forEach(gap -> gapDays.remove(gap.getShiftId()));
+        }
+    }
+
+    private synchronized void clear() {
+        generation++;
+        headcounts = null;
+        invalidations.increment(days.size());
+        days.clear();
+        gapDays.clear();
+        log.debug("Evicted all coverage for changed staffing requirements");
+    }
+
+    private synchronized int size() {
+        return days.size();
+    }
+
+    /**
+     * Day of a location
+     */
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class LocationDay {
+
+        private final Long locationId;
+        private final LocalDate date;
+    }
+
+    /**
+     * A shift that needs more employees than are assigned to it
+     */
+    @Getter
+    private static final class CoverageGap {
+
+        private final Long shiftId;
+        private final LocalDate shiftDate;
+        private final LocalTime startTime;
+        private final LocalTime endTime;
+        private final Long shiftTypeId;
+        private final String shiftTypeName;
+        private final int assigned;
+        private final int required;
+
+        CoverageGap(ShiftStaffing shift, int required) {
+            this.shiftId = shift.getId();
+            this.shiftDate = shift.getShiftDate();
+            this.startTime = shift.getStartTime();
+            this.endTime = shift.getEndTime();
+            this.shiftTypeId = shift.getShiftTypeId();
+            this.shiftTypeName = shift.getShiftTypeName();
+            this.assigned = shift.getAssigned().intValue();
+            this.required = required;
+        }
+
+        CoverageGapDTO toDTO() {
+            return new CoverageGapDTO(shiftId, shiftDate, startTime, endTime, shiftTypeId, shiftTypeName, assigned, required);
+        }
+    }
+
+    /**
+     * Required headcounts by location and shift type
+     */
+    private static final class Headcounts {
+
+        private final int defaultHeadcount;
+        private final Map<Long, Integer> allLocations = new HashMap<>();
+        private final Map<Long, Map<Long, Integer>> byLocation = new HashMap<>();
+
+        Headcounts(int defaultHeadcount, List<Headcount> requirements) {
+            this.defaultHeadcount = defaultHeadcount;
+            for (Headcount requirement : requirements) {
+                if (requirement.getLocationId() == null) {
+                    allLocations.put(requirement.getShiftTypeId(), requirement.getRequiredHeadcount());
+                } else {
+                    byLocation.computeIfAbsent(requirement.getLocationId(), id -> new HashMap<>())
+                            .put(requirement.getShiftTypeId(), requirement.getRequiredHeadcount());
+                }
+            }
+        }
+
+        /**
+         * Get the headcount shifts of a type need at a location
+         */
+        int get(Long locationId, Long shiftTypeId) {
+            Integer headcount = byLocation.getOrDefault(locationId, Map.of()).get(shiftTypeId);
+            if (headcount == null) {
+                headcount = allLocations.get(shiftTypeId);
+            }
+            return headcount != null ? headcount : defaultHeadcount;
+        }
+
+        /**
+         * Get the most any shift at a location can need
+         */
+        int getMaximum(Long locationId) {
+            int maximum = defaultHeadcount;
+            for (int headcount : allLocations.values()) {
+                maximum = Math.max(maximum, headcount);
+            }
+            for (int headcount : byLocation.getOrDefault(locationId, Map.of()).values()) {
+                maximum = Math.max(maximum, headcount);
+            }
+            return maximum;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.shiftmanager.api.service.schedule;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Open shifts and candidate employees of one scheduling run, reduced to arrays indexed by
+ * shift and employee position. Times are minutes from an origin, and for each shift the
+ * problem holds the employees who could take it on its own: they are free at that time,
+ * not on vacation, and have enough hours left in the week. Which shifts can go to the same
+ * employee together is left to the solver.
+ */
+public final class ScheduleProblem {
+
+    private final long[] shiftIds;
+    private final int[] shiftStarts;
+    private final int[] shiftEnds;
+    private final long[] employeeIds;
+    private final int[] maxMinutes;
+    private final int[] workedMinutes;
+    private final int[][] candidates;
+
+    private ScheduleProblem(long[] shiftIds, int[] shiftStarts, int[] shiftEnds, long[] employeeIds,
+                            int[] maxMinutes, int[] workedMinutes, int[][] candidates) {
+        this.shiftIds = shiftIds;
+        this.shiftStarts = shiftStarts;
+        this.shiftEnds = shiftEnds;
+        this.employeeIds = employeeIds;
+        this.maxMinutes = maxMinutes;
+        this.workedMinutes = workedMinutes;
+        this.candidates = candidates;
+    }
+
+    /**
+     * Start building a problem
+     * @param origin Time that minute 0 stands for; every time added must be after it
+     * @return Builder
+     */
+    public static Builder builder(LocalDateTime origin) {
+        return new Builder(origin);
+    }
+
+    public int getShiftCount() {
+        return shiftIds.length;
+    }
+
+    public int getEmployeeCount() {
+        return employeeIds.length;
+    }
+
+    public long getShiftId(int shift) {
+        return shiftIds[shift];
+    }
+
+    public int getShiftStart(int shift) {
+        return shiftStarts[shift];
+    }
+
+    public int getShiftEnd(int shift) {
+        return shiftEnds[shift];
+    }
+
+    public int getDuration(int shift) {
+        return shiftEnds[shift] - shiftStarts[shift];
+    }
+
+    public long getEmployeeId(int employee) {
+        return employeeIds[employee];
+    }
+
+    /**
+     * Get the minutes an employee may work in the week
+     * @param employee Employee position
+     * @return Weekly maximum in minutes
+     */
+    public int getMaxMinutes(int employee) {
+        return maxMinutes[employee];
+    }
+
+    /**
+     * Get the minutes an employee already works in the week
+     * @param employee Employee position
+     * @return Minutes of the employee's assigned shifts in the week
+     */
+    public int getWorkedMinutes(int employee) {
+        return workedMinutes[employee];
+    }
+
+    /**
+     * Get the employees who could take a shift
+     * @param shift Shift position
+     * @return Employee positions in ascending order; not to be modified
+     */
+    public int[] getCandidates(int shift) {
+        return candidates[shift];
+    }
+
+    /**
+     * Check if an employee could take a shift
+     * @param shift Shift position
+     * @param employee Employee position
+     * @return true if the employee is a candidate for the shift
+     */
+    public boolean isCandidate(int shift, int employee) {
+        return Arrays.binarySearch(candidates[shift], employee) >= 0;
+    }
+
+    /**
+     * Collects shifts, employees and the times employees are not available
+     */
+    public static final class Builder {
+
+        private final LocalDateTime origin;
+        private final List<ShiftInterval> shifts = new ArrayList<>();
+        private final Map<Long, Integer> employeePositions = new HashMap<>();
+        private final List<Long> employeeIds = new ArrayList<>();
+        private final List<Integer> maxMinutes = new ArrayList<>();
+        private final List<Integer> workedMinutes = new ArrayList<>();
+        private final List<List<int[]>> busy = new ArrayList<>();
+
+        private Builder(LocalDateTime origin) {
+            this.origin = origin;
+        }
+
+        /**
+         * Add an open shift
+         * @param interval Time of the shift
+         * @return This builder
+         */
+        public Builder shift(ShiftInterval interval) {
+            shifts.add(interval);
+            return this;
+        }
+
+        /**
+         * Add an employee who can be scheduled. Adding an employee again has no effect.
+         * @param employeeId Employee ID
+         * @param maxMinutes Minutes the employee may work in the week
+         * @return This builder
+         */
+        public Builder employee(Long employeeId, int maxMinutes) {
+            if (employeePositions.putIfAbsent(employeeId, employeeIds.size()) == null) {
+                employeeIds.add(employeeId);
+                this.maxMinutes.add(maxMinutes);
+                workedMinutes.add(0);
+                busy.add(new ArrayList<>());
+            }
+            return this;
+        }
+
+        /**
+         * Record a time an employee cannot take shifts, e.g. an assigned shift or a vacation.
+         * Ignored for employees that were not added.
+         * @param employeeId Employee ID
+         * @param start Start of the time
+         * @param end End of the time (exclusive)
+         * @return This builder
+         */
+        public Builder unavailable(Long employeeId, LocalDateTime start, LocalDateTime end) {
+            Integer employee = employeePositions.get(employeeId);
+            if (employee != null) {
+                busy.get(employee).add(new int[] {minutes(start), minutes(end)});
+            }
+            return this;
+        }
+
+        /**
+         * Record minutes an employee already works in the week. Ignored for employees that
+         * were not added.
+         * @param employeeId Employee ID
+         * @param minutes Minutes of an assigned shift
+         * @return This builder
+         */
+        public Builder worked(Long employeeId, int minutes) {
+            Integer employee = employeePositions.get(employeeId);
+            if (employee != null) {
+                workedMinutes.set(employee, workedMinutes.get(employee) + minutes);
+            }
+            return this;
+        }
+
+        /**
+         * Build the problem, working out the candidates of each shift
+         * @return The problem
+         */
+        public ScheduleProblem build() {
+            int shiftCount = shifts.size();
+            int employeeCount = employeeIds.size();
+            long[] shiftIds = new long[shiftCount];
+            int[] starts = new int[shiftCount];
+            int[] ends = new int[shiftCount];
+            for (int shift = 0; shift < shiftCount; shift++) {
+                shiftIds[shift] = shifts.get(shift).getShiftId();
+                starts[shift] = minutes(shifts.get(shift).getStart());
+                ends[shift] = minutes(shifts.get(shift).getEnd());
+            }
+
+            long[] ids = new long[employeeCount];
+            int[] max = new int[employeeCount];
+            int[] worked = new int[employeeCount];
+            int[][] busyStarts = new int[employeeCount][];
+            int[][] busyEnds = new int[employeeCount][];
+            for (int employee = 0; employee < employeeCount; employee++) {
+                ids[employee] = employeeIds.get(employee);
+                max[employee] = maxMinutes.get(employee);
+                worked[employee] = workedMinutes.get(employee);
+                mergeBusy(busy.get(employee), employee, busyStarts, busyEnds);
+            }
+
+            int[][] candidates = new int[shiftCount][];
+            int[] buffer = new int[employeeCount];
+            for (int shift = 0; shift < shiftCount; shift++) {
+                int count = 0;
+                int duration = ends[shift] - starts[shift];
+                for (int employee = 0; employee < employeeCount; employee++) {
+                    if (worked[employee] + duration <= max[employee]
+                            && isFree(busyStarts[employee], busyEnds[employee], starts[shift], ends[shift])) {
+                        buffer[count++] = employee;
+                    }
+                }
+                candidates[shift] = Arrays.copyOf(buffer, count);
+            }
+            return new ScheduleProblem(shiftIds, starts, ends, ids, max, worked, candidates);
+        }
+
+        private int minutes(LocalDateTime time) {
+            return Math.toIntExact(ChronoUnit.MINUTES.between(origin, time));
+        }
+
+        /**
+         * Sort and merge overlapping busy times, so a lookup is one binary search
+         */
+        private static void mergeBusy(List<int[]> times, int employee, int[][] starts, int[][] ends) {
+            times.sort((a, b) -> Integer.compare(a[0], b[0]));
+            int[] mergedStarts = new int[times.size()];
+            int[] mergedEnds = new int[times.size()];
+            int count = 0;
+            for (int[] time : times) {
+                if (count > 0 && time[0] <= mergedEnds[count - 1]) {
+                    mergedEnds[count - 1] = Math.max(mergedEnds[count - 1], time[1]);
+                } else {
+                    mergedStarts[count] = time[0];
+                    mergedEnds[count] = time[1];
+                    count++;
+                }
+            }
+            starts[employee] = Arrays.copyOf(mergedStarts, count);
+            ends[employee] = Arrays.copyOf(mergedEnds, count);
+        }
+
+        private static boolean isFree(int[] busyStarts, int[] busyEnds, int start, int end) {
+            // The last busy time starting before the end is the only one that can overlap,
+            // since merged times do not overlap each other
+            int index = Arrays.binarySearch(busyStarts, end);
+            int last = index >= 0 ? index - 1 : -index - 2;
+            return last < 0 || busyEnds[last] <= start;
+        }
+    }
+}
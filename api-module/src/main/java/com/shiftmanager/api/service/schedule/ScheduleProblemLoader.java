@@ -0,0 +1,82 @@
+package com.shiftmanager.api.service.schedule;
+
+import com.shiftmanager.api.model.Employee;
+import com.shiftmanager.api.repository.EmployeeShiftRepository;
+import com.shiftmanager.api.repository.EmployeeShiftRepository.AssignedShiftTime;
+import com.shiftmanager.api.repository.ShiftRepository;
+import com.shiftmanager.api.repository.ShiftRepository.ShiftTime;
+import com.shiftmanager.api.repository.VacationRequestRepository;
+import com.shiftmanager.api.repository.VacationRequestRepository.ApprovedVacationRow;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the {@link ScheduleProblem} of a location's week: the open shifts, the team's assigned
+ * shifts around the week and their approved vacations, with one query each. A bean of its own
+ * so that its read-only transaction ends before the solver runs.
+ */
+@Component
+@AllArgsConstructor
+public class ScheduleProblemLoader {
+
+    /**
+     * Weekly hours of employees without a maximum of their own
+     */
+    private static final int DEFAULT_MAX_HOURS_PER_WEEK = 40;
+
+    private final ShiftRepository shiftRepository;
+    private final EmployeeShiftRepository employeeShiftRepository;
+    private final VacationRequestRepository vacationRequestRepository;
+
+    /**
+     * Load the problem of staffing a location's open shifts in a week
+     * @param locationId Location ID
+     * @param weekStart First day of the week
+     * @param team Employees who can be scheduled
+     * @return The problem, with one shift per open shift
+     */
+    @Transactional(readOnly = true)
+    public ScheduleProblem load(Long locationId, LocalDate weekStart, List<Employee> team) {
+        LocalDate weekEnd = weekStart.plusDays(6);
+        List<ShiftTime> openShifts = shiftRepository.findOpenShiftTimesByLocationAndDateRange(locationId, weekStart, weekEnd);
+
+        // A shift can start the evening before the week, and an open shift on its last day
+        // can run into the next, so availability is loaded for a day either side
+        LocalDate availableFrom = weekStart.minusDays(1);
+        LocalDate availableTo = weekEnd.plusDays(1);
+        ScheduleProblem.Builder builder = ScheduleProblem.builder(availableFrom.atStartOfDay());
+        for (ShiftTime shift : openShifts) {
+            builder.shift(new ShiftInterval(shift.getId(), shift.getShiftDate(), shift.getStartTime(), shift.getEndTime()));
+        }
+        for (Employee employee : team) {
+            int maxHours = employee.getMaxHoursPerWeek() != null ? employee.getMaxHoursPerWeek() : DEFAULT_MAX_HOURS_PER_WEEK;
+            builder.employee(employee.getId(), maxHours * 60);
+        }
+
+        Set<Long> teamIds = team.stream().map(Employee::getId).collect(Collectors.toSet());
+        if (!teamIds.isEmpty() && !openShifts.isEmpty()) {
+            for (AssignedShiftTime time : employeeShiftRepository.findAssignedShiftTimesByEmployeeIdInAndDateRange(
+                    teamIds, availableFrom, availableTo)) {
+                ShiftInterval interval = new ShiftInterval(time.getShiftId(), time.getShiftDate(), time.getStartTime(), time.getEndTime());
+                builder.unavailable(time.getEmployeeId(), interval.getStart(), interval.getEnd());
+                if (!time.getShiftDate().isBefore(weekStart) && !time.getShiftDate().isAfter(weekEnd)) {
+                    builder.worked(time.getEmployeeId(), (int) ChronoUnit.MINUTES.between(interval.getStart(), interval.getEnd()));
+                }
+            }
+            for (ApprovedVacationRow vacation : vacationRequestRepository.findApprovedByEmployeeIdsAndDateRange(
+                    teamIds, availableFrom, availableTo)) {
+                builder.unavailable(vacation.getEmployeeId(), vacation.getStartDate().atStartOfDay(),
+                        vacation.getEndDate().plusDays(1).atStartOfDay());
+            }
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.shiftmanager.api.service.schedule;
+
+import lombok.Getter;
+
+/**
+ * Outcome of solving a {@link ScheduleProblem}: the employee position chosen for each shift
+ * position, or -1 for a shift left open
+ */
+@Getter
+public final class ScheduleSolution {
+
+    private final ScheduleProblem problem;
+    private final int[] employeeOf;
+    private final int unfilledCount;
+
+    /**
+     * Sum over employees of their squared weekly minutes divided by their maximum. Lower is
+     * fairer; at the minimum everyone works the same share of their maximum.
+     */
+    private final double imbalance;
+
+    /**
+     * Local search iterations run across all searches
+     */
+    private final long iterations;
+
+    ScheduleSolution(ScheduleProblem problem, int[] employeeOf, int unfilledCount, double imbalance, long iterations) {
+        this.problem = problem;
+        this.employeeOf = employeeOf;
+        this.unfilledCount = unfilledCount;
+        this.imbalance = imbalance;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Get the employee chosen for a shift
+     * @param shift Shift position
+     * @return Employee position, or -1 if the shift stays open
+     */
+    public int getEmployee(int shift) {
+        return employeeOf[shift];
+    }
+
+    /**
+     * Get the minutes an employee works in the week with the solution
+     * @param employee Employee position
+     * @return Minutes of assigned and proposed shifts
+     */
+    public int getMinutes(int employee) {
+        int minutes = problem.getWorkedMinutes(employee);
+        for (int shift = 0; shift < employeeOf.length; shift++) {
+            if (employeeOf[shift] == employee) {
+                minutes += problem.getDuration(shift);
+            }
+        }
+        return minutes;
+    }
+}
@@ -0,0 +1,429 @@
+package com.shiftmanager.api.service.schedule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns the open shifts of a {@link ScheduleProblem} to employees. A greedy pass gives the
+ * most constrained shifts first to the candidate they unbalance least; then one local search
+ * per worker thread improves that start with its own random moves, and the best result wins.
+ *
+ * <p>The searches never break a hard constraint: an employee's shifts do not overlap and stay
+ * within their weekly maximum, and every shift goes to one of its candidates. Among those
+ * schedules they fill as many shifts as they can and then balance the hours, both folded
+ * into one cost that late acceptance hill climbing lowers. Moves give an open shift to a
+ * candidate (moving one of the candidate's shifts elsewhere if needed), move a shift to
+ * another candidate, or swap shifts between two employees.
+ */
+@Component
+@Slf4j
+public class ScheduleSolver implements DisposableBean {
+
+    /**
+     * Costs compared by the late acceptance history, i.e. how far back a move may be worse
+     */
+    private static final int HISTORY_LENGTH = 500;
+
+    private final ForkJoinPool pool;
+    private final int searches;
+    private final long timeLimitNanos;
+
+    public ScheduleSolver(@Value("${app.scheduling.auto.threads:0}") int threads,
+                          @Value("${app.scheduling.auto.time-limit-ms:2000}") long timeLimitMillis) {
+        this.searches = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(searches, ScheduleSolver::newSolverThread, null, false);
+        this.timeLimitNanos = timeLimitMillis * 1_000_000L;
+        log.info("Auto scheduling runs {} searches of up to {} ms", searches, timeLimitMillis);
+    }
+
+    /**
+     * Solve a problem
+     * @param problem The problem
+     * @return The best solution found within the time limit
+     */
+    public ScheduleSolution solve(ScheduleProblem problem) {
+        long deadline = System.nanoTime() + timeLimitNanos;
+        Search start = new Search(problem, new SplittableRandom(0));
+        start.fillGreedily();
+        if (problem.getShiftCount() == 0 || problem.getEmployeeCount() == 0) {
+            return start.toSolution(0);
+        }
+
+        List<Future<Search>> results = new ArrayList<>(searches);
+        for (int seed = 1; seed <= searches; seed++) {
+            Search search = start.copy(new SplittableRandom(seed));
+            Callable<Search> task = () -> {
+                search.improve(deadline);
+                return search;
+            };
+            results.add(pool.submit(task));
+        }
+
+        Search best = null;
+        long iterations = 0;
+        try {
+            for (Future<Search> result : results) {
+                Search search = result.get();
+                iterations += search.iterations;
+                if (best == null || search.bestCost < best.bestCost) {
+                    best = search;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            results.forEach(result -> result.cancel(true));
+            throw new IllegalStateException("Interrupted while scheduling shifts", e);
+        } catch (ExecutionException e) {
+            results.forEach(result -> result.cancel(true));
+            throw new IllegalStateException("Failed to schedule shifts", e.getCause());
+        }
+        best.restoreBest();
+        log.debug("Scheduled {} of {} shifts over {} employees in {} iterations",
+                problem.getShiftCount() - best.unfilledCount, problem.getShiftCount(),
+                problem.getEmployeeCount(), iterations);
+        return best.toSolution(iterations);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private static ForkJoinWorkerThread newSolverThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("schedule-solver-" + (thread.getPoolIndex() + 1));
+        return thread;
+    }
+
+    /**
+     * Mutable schedule of one search, with per-employee shift lists and loads kept in step
+     * with the assignment array
+     */
+    private static final class Search {
+
+        private final ScheduleProblem problem;
+        private final SplittableRandom random;
+
+        private final int[] employeeOf;
+        private final int[] load;
+        private final int[][] shiftsOf;
+        private final int[] shiftCount;
+        private final int[] unfilled;
+        private final int[] unfilledIndex;
+        private int unfilledCount;
+        private double imbalance;
+
+        /**
+         * Cost of an open shift, higher than anything one shift can change the imbalance by,
+         * so filling a shift always pays
+         */
+        private final double unfilledCost;
+
+        private int[] bestEmployeeOf;
+        private double bestCost;
+        private long iterations;
+
+        // Undo log of the current move: shift positions and their previous employees
+        private final int[] movedShifts = new int[4];
+        private final int[] movedFrom = new int[4];
+        private int moveCount;
+
+        Search(ScheduleProblem problem, SplittableRandom random) {
+            this.problem = problem;
+            this.random = random;
+            int shifts = problem.getShiftCount();
+            int employees = problem.getEmployeeCount();
+            this.employeeOf = new int[shifts];
+            this.load = new int[employees];
+            this.shiftsOf = new int[employees][4];
+            this.shiftCount = new int[employees];
+            this.unfilled = new int[shifts];
+            this.unfilledIndex = new int[shifts];
+
+            int longest = 1;
+            for (int shift = 0; shift < shifts; shift++) {
+                employeeOf[shift] = -1;
+                unfilled[shift] = shift;
+                unfilledIndex[shift] = shift;
+                longest = Math.max(longest, problem.getDuration(shift));
+            }
+            unfilledCount = shifts;
+            for (int employee = 0; employee < employees; employee++) {
+                load[employee] = problem.getWorkedMinutes(employee);
+                imbalance += weight(employee, load[employee]);
+            }
+            this.unfilledCost = 4.0 * longest + 1;
+        }
+
+        Search copy(SplittableRandom random) {
+            Search copy = new Search(problem, random);
+            for (int shift = 0; shift < employeeOf.length; shift++) {
+                if (employeeOf[shift] >= 0) {
+                    copy.move(shift, employeeOf[shift]);
+                }
+            }
+            copy.bestEmployeeOf = employeeOf.clone();
+            copy.bestCost = copy.cost();
+            return copy;
+        }
+
+        /**
+         * Give each shift, most constrained first, to the free candidate whose imbalance grows least
+         */
+        void fillGreedily() {
+            Integer[] order = IntStream.range(0, employeeOf.length).boxed().toArray(Integer[]::new);
+            Arrays.sort(order, Comparator.<Integer>comparingInt(shift -> problem.getCandidates(shift).length)
+                    .thenComparingInt(problem::getShiftStart));
+            for (int shift : order) {
+                int duration = problem.getDuration(shift);
+                int chosen = -1;
+                double lowest = Double.MAX_VALUE;
+                for (int employee : problem.getCandidates(shift)) {
+                    if (canTake(employee, shift)) {
+                        double increase = weight(employee, load[employee] + duration) - weight(employee, load[employee]);
+                        if (increase < lowest) {
+                            lowest = increase;
+                            chosen = employee;
+                        }
+                    }
+                }
+                if (chosen >= 0) {
+                    move(shift, chosen);
+                }
+            }
+            bestEmployeeOf = employeeOf.clone();
+            bestCost = cost();
+        }
+
+        /**
+         * Late acceptance hill climbing: a move is kept if it is no worse than the current
+         * cost or than the cost a fixed number of iterations ago
+         */
+        void improve(long deadline) {
+            double[] history = new double[HISTORY_LENGTH];
+            double current = cost();
+            Arrays.fill(history, current);
+            long staleLimit = Math.max(100_000L, 200L * employeeOf.length);
+            long lastImprovement = 0;
+
+            while (iterations - lastImprovement < staleLimit) {
+                if ((iterations & 1023) == 0 && (System.nanoTime() - deadline > 0 || Thread.currentThread().isInterrupted())) {
+                    break;
+                }
+                iterations++;
+                moveCount = 0;
+                if (!tryMove()) {
+                    continue;
+                }
+                double candidate = cost();
+                int slot = (int) (iterations % HISTORY_LENGTH);
+                if (candidate <= current || candidate <= history[slot]) {
+                    current = candidate;
+                    if (current < bestCost - 1e-9) {
+                        bestCost = current;
+                        System.arraycopy(employeeOf, 0, bestEmployeeOf, 0, employeeOf.length);
+                        lastImprovement = iterations;
+                    }
+                } else {
+                    undo();
+                }
+                history[slot] = current;
+            }
+        }
+
+        private boolean tryMove() {
+            int kind = random.nextInt(10);
+            if (unfilledCount > 0 && kind < 4) {
+                return fillMove();
+            }
+            return kind < 7 ? reassignMove() : swapMove();
+        }
+
+        /**
+         * Give an open shift to a candidate, moving one of the candidate's shifts away if it
+         * is in the way
+         */
+        private boolean fillMove() {
+            int shift = unfilled[random.nextInt(unfilledCount)];
+            int[] candidates = problem.getCandidates(shift);
+            if (candidates.length == 0) {
+                return false;
+            }
+            int employee = candidates[random.nextInt(candidates.length)];
+            if (canTake(employee, shift)) {
+                logged(shift, employee);
+                return true;
+            }
+            if (shiftCount[employee] == 0) {
+                return false;
+            }
+            int displaced = shiftsOf[employee][random.nextInt(shiftCount[employee])];
+            logged(displaced, -1);
+            if (!canTake(employee, shift)) {
+                undo();
+                return false;
+            }
+            logged(shift, employee);
+            int[] others = problem.getCandidates(displaced);
+            int other = others[random.nextInt(others.length)];
+            if (other != employee && canTake(other, displaced)) {
+                logged(displaced, other);
+            }
+            return true;
+        }
+
+        /**
+         * Move an assigned shift to another candidate
+         */
+        private boolean reassignMove() {
+            int shift = random.nextInt(employeeOf.length);
+            int from = employeeOf[shift];
+            int[] candidates = problem.getCandidates(shift);
+            if (from < 0 || candidates.length < 2) {
+                return false;
+            }
+            int to = candidates[random.nextInt(candidates.length)];
+            if (to == from || !canTake(to, shift)) {
+                return false;
+            }
+            logged(shift, to);
+            return true;
+        }
+
+        /**
+         * Swap a shift of one employee with a shift of another
+         */
+        private boolean swapMove() {
+            int shift = random.nextInt(employeeOf.length);
+            int first = employeeOf[shift];
+            int[] candidates = problem.getCandidates(shift);
+            if (first < 0 || candidates.length < 2) {
+                return false;
+            }
+            int second = candidates[random.nextInt(candidates.length)];
+            if (second == first || shiftCount[second] == 0) {
+                return false;
+            }
+            int other = shiftsOf[second][random.nextInt(shiftCount[second])];
+            if (!problem.isCandidate(other, first)) {
+                return false;
+            }
+            logged(shift, -1);
+            logged(other, -1);
+            if (!canTake(second, shift)) {
+                undo();
+                return false;
+            }
+            logged(shift, second);
+            if (!canTake(first, other)) {
+                undo();
+                return false;
+            }
+            logged(other, first);
+            return true;
+        }
+
+        private boolean canTake(int employee, int shift) {
+            if (load[employee] + problem.getDuration(shift) > problem.getMaxMinutes(employee)) {
+                return false;
+            }
+            int start = problem.getShiftStart(shift);
+            int end = problem.getShiftEnd(shift);
+            int[] shifts = shiftsOf[employee];
+            for (int i = 0; i < shiftCount[employee]; i++) {
+                if (problem.getShiftStart(shifts[i]) < end && start < problem.getShiftEnd(shifts[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void logged(int shift, int employee) {
+            movedShifts[moveCount] = shift;
+            movedFrom[moveCount] = employeeOf[shift];
+            moveCount++;
+            move(shift, employee);
+        }
+
+        private void undo() {
+            while (moveCount > 0) {
+                moveCount--;
+                move(movedShifts[moveCount], movedFrom[moveCount]);
+            }
+        }
+
+        /**
+         * Assign a shift to an employee, or leave it open for -1
+         */
+        private void move(int shift, int employee) {
+            int from = employeeOf[shift];
+            if (from == employee) {
+                return;
+            }
+            int duration = problem.getDuration(shift);
+            if (from >= 0) {
+                int[] shifts = shiftsOf[from];
+                for (int i = 0; i < shiftCount[from]; i++) {
+                    if (shifts[i] == shift) {
+                        shifts[i] = shifts[--shiftCount[from]];
+                        break;
+                    }
+                }
+                imbalance += weight(from, load[from] - duration) - weight(from, load[from]);
+                load[from] -= duration;
+            } else {
+                int index = unfilledIndex[shift];
+                int last = unfilled[--unfilledCount];
+                unfilled[index] = last;
+                unfilledIndex[last] = index;
+            }
+            if (employee >= 0) {
+                if (shiftCount[employee] == shiftsOf[employee].length) {
+                    shiftsOf[employee] = Arrays.copyOf(shiftsOf[employee], shiftCount[employee] * 2);
+                }
+                shiftsOf[employee][shiftCount[employee]++] = shift;
+                imbalance += weight(employee, load[employee] + duration) - weight(employee, load[employee]);
+                load[employee] += duration;
+            } else {
+                unfilled[unfilledCount] = shift;
+                unfilledIndex[shift] = unfilledCount++;
+            }
+            employeeOf[shift] = employee;
+        }
+
+        private double weight(int employee, int minutes) {
+            return (double) minutes * minutes / Math.max(1, problem.getMaxMinutes(employee));
+        }
+
+        private double cost() {
+            return unfilledCount * unfilledCost + imbalance;
+        }
+
+        /**
+         * Reset the schedule to the best one seen
+         */
+        void restoreBest() {
+            for (int shift = 0; shift < employeeOf.length; shift++) {
+                move(shift, bestEmployeeOf[shift]);
+            }
+        }
+
+        ScheduleSolution toSolution(long totalIterations) {
+            return new ScheduleSolution(problem, employeeOf.clone(), unfilledCount, imbalance, totalIterations);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.shiftmanager.api.service.schedule;
+
+import com.shiftmanager.api.event.ShiftChangeEvent;
+import com.shiftmanager.api.model.Shift;
+import com.shiftmanager.api.repository.EmployeeShiftRepository;
+import com.shiftmanager.api.repository.EmployeeShiftRepository.AssignedShiftTime;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Detects overlapping shift assignments from in-memory interval trees of the employees'
+ * shifts, so a conflict check needs no database round trip once an employee is loaded.
+ * Shifts are compared by their absolute start and end, so a night shift running past
+ * midnight conflicts with an early shift on the next day.
+ *
+ * <p>An employee's tree is loaded on the first check, or together with others by
+ * {@link #preload}, and kept current by the assignment writes reported through
+ * {@link #assigned} and {@link #unassigned}. A write is applied at once, so later checks in
+ * the same transaction see it, and applied again after commit in case a concurrent load
+ * missed it; a rolled back write evicts the tree so it is reloaded.
+ * Changed or deleted shifts evict the trees that hold them. The number of trees is bounded
+ * and the least recently used are evicted first.
+ */
+@Service
+@Slf4j
+public class ShiftConflictService {
+
+    private final EmployeeShiftRepository employeeShiftRepository;
+    private final int maxEmployees;
+    private final Map<Long, EmployeeSchedule> schedules = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ShiftConflictService(EmployeeShiftRepository employeeShiftRepository,
+                                @Value("${app.scheduling.conflicts.max-employees:10000}") int maxEmployees,
+                                MeterRegistry meterRegistry) {
+        this.employeeShiftRepository = employeeShiftRepository;
+        this.maxEmployees = maxEmployees;
+
+        this.hits = Counter.builder("shift.conflicts.schedules").tag("result", "hit")
+                .description("Conflict checks served from a loaded schedule").register(meterRegistry);
+        this.misses = Counter.builder("shift.conflicts.schedules").tag("result", "miss")
+                .description("Conflict checks that had to load the employee's schedule").register(meterRegistry);
+        this.evictions = Counter.builder("shift.conflicts.evictions")
+                .description("Schedules evicted to stay within the cache size").register(meterRegistry);
+        Gauge.builder("shift.conflicts.size", this, ShiftConflictService::size)
+                .description("Number of loaded employee schedules").register(meterRegistry);
+    }
+
+    /**
+     * Find a shift of an employee that overlaps a shift
+     * @param employeeId Employee ID
+     * @param shift Shift to check
+     * @param ignoredShiftId Assigned shift that does not count as a conflict, e.g. the one
+     *                       being replaced, or null
+     * @return ID of an overlapping shift, or empty if there is none
+     */
+    public Optional<Long> findConflict(Long employeeId, Shift shift, Long ignoredShiftId) {
+        ShiftInterval interval = ShiftInterval.of(shift);
+        EmployeeSchedule schedule = getSchedule(employeeId);
+        synchronized (schedule) {
+            if (schedule.tree == null) {
+                misses.increment();
+                schedule.tree = load(employeeId);
+            } else {
+                hits.increment();
+            }
+            ShiftInterval overlap = schedule.tree.findOverlap(interval, ignoredShiftId);
+            return Optional.ofNullable(overlap).map(ShiftInterval::getShiftId);
+        }
+    }
+
+    /**
+     * Load the schedules of several employees with one query, so the following checks for
+     * them need no database round trip
+     * @param employeeIds Employee IDs
+     */
+    public void preload(Collection<Long> employeeIds) {
+        Map<Long, Integer> writesBefore = new HashMap<>();
+        for (Long employeeId : new HashSet<>(employeeIds)) {
+            EmployeeSchedule schedule = getSchedule(employeeId);
+            synchronized (schedule) {
+                if (schedule.tree == null) {
+                    writesBefore.put(employeeId, schedule.unloadedWrites);
+                }
+            }
+        }
+        if (writesBefore.isEmpty()) {
+            return;
+        }
+
+        Map<Long, ShiftIntervalTree> trees = new HashMap<>();
+        for (AssignedShiftTime time : employeeShiftRepository.findAssignedShiftTimesByEmployeeIdIn(writesBefore.keySet())) {
+            trees.computeIfAbsent(time.getEmployeeId(), id -> new ShiftIntervalTree()).add(toInterval(time));
+        }
+        for (Map.Entry<Long, Integer> entry : writesBefore.entrySet()) {
+            EmployeeSchedule schedule = findSchedule(entry.getKey());
+            if (schedule == null) {
+                continue;
+            }
+            synchronized (schedule) {
+                // A write committed while the query ran may be missing from its result, so
+                // such a schedule is left to be loaded on its next check
+                if (schedule.tree == null && schedule.unloadedWrites == entry.getValue()) {
+                    schedule.tree = trees.getOrDefault(entry.getKey(), new ShiftIntervalTree());
+                }
+            }
+        }
+        misses.increment(writesBefore.size());
+        log.debug("Loaded the schedules of {} employees for conflict checks", writesBefore.size());
+    }
+
+    /**
+     * Record that an employee was assigned to a shift
+     * @param employeeId Employee ID
+     * @param shift Assigned shift
+     */
+    public void assigned(Long employeeId, Shift shift) {
+        ShiftInterval interval = ShiftInterval.of(shift);
+        applyWrite(employeeId, tree -> tree.add(interval));
+    }
+
+    /**
+     * Record that an employee was removed from a shift
+     * @param employeeId Employee ID
+     * @param shiftId Shift ID
+     */
+    public void unassigned(Long employeeId, Long shiftId) {
+        applyWrite(employeeId, tree -> tree.remove(shiftId));
+    }
+
+    /**
+     * Evict the schedules holding updated or deleted shifts, so they are reloaded with the
+     * committed times
+     * @param event Shift change event
+     */
+    @TransactionalEventListener
+    public void onShiftChange(ShiftChangeEvent event) {
+        Set<Long> shiftIds = new HashSet<>(event.getUpdatedShiftIds());
+        shiftIds.addAll(event.getDeletedShiftIds());
+
+        List<Long> affected = new ArrayList<>();
+        for (Map.Entry<Long, EmployeeSchedule> entry : snapshot()) {
+            EmployeeSchedule schedule = entry.getValue();
+            synchronized (schedule) {
+                if (schedule.tree != null && shiftIds.stream().anyMatch(schedule.tree::contains)) {
+                    affected.add(entry.getKey());
+                }
+            }
+        }
+        affected.forEach(this::evict);
+        log.debug("Evicted {} schedules for {}", affected.size(), event);
+    }
+
+    /**
+     * Apply a write to the employee's schedule if it is loaded, again after commit, and evict
+     * the schedule if the transaction rolls back
+     */
+    private void applyWrite(Long employeeId, ScheduleWrite write) {
+        applyIfLoaded(employeeId, write);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    applyIfLoaded(employeeId, write);
+                } else {
+                    evict(employeeId);
+                }
+            }
+        });
+    }
+
+    private void applyIfLoaded(Long employeeId, ScheduleWrite write) {
+        EmployeeSchedule schedule = findSchedule(employeeId);
+        if (schedule == null) {
+            // Loaded from the database on the next check
+            return;
+        }
+        synchronized (schedule) {
+            if (schedule.tree != null) {
+                write.apply(schedule.tree);
+            } else {
+                schedule.unloadedWrites++;
+            }
+        }
+    }
+
+    private ShiftIntervalTree load(Long employeeId) {
+        ShiftIntervalTree tree = new ShiftIntervalTree();
+        for (AssignedShiftTime time : employeeShiftRepository.findAssignedShiftTimesByEmployeeId(employeeId)) {
+            tree.add(toInterval(time));
+        }
+        log.debug("Loaded {} shifts of employee ID {} for conflict checks", tree.size(), employeeId);
+        return tree;
+    }
+
+    private static ShiftInterval toInterval(AssignedShiftTime time) {
+        return new ShiftInterval(time.getShiftId(), time.getShiftDate(), time.getStartTime(), time.getEndTime());
+    }
+
+    /**
+     * Get the schedule of an employee, adding an empty one and evicting the least recently
+     * used beyond the limit. Loading happens outside this lock, under the schedule's own.
+     */
+    private synchronized EmployeeSchedule getSchedule(Long employeeId) {
+        EmployeeSchedule schedule = schedules.get(employeeId);
+        if (schedule == null) {
+            schedule = new EmployeeSchedule();
+            schedules.put(employeeId, schedule);
+
+            Iterator<EmployeeSchedule> eldest = schedules.values().iterator();
+            while (schedules.size() > maxEmployees && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+        return schedule;
+    }
+
+    private synchronized EmployeeSchedule findSchedule(Long employeeId) {
+        return schedules.get(employeeId);
+    }
+
+    private synchronized void evict(Long employeeId) {
+        schedules.remove(employeeId);
+    }
+
+    private synchronized List<Map.Entry<Long, EmployeeSchedule>> snapshot() {
+        return new ArrayList<>(schedules.entrySet());
+    }
+
+    private synchronized int size() {
+        return schedules.size();
+    }
+
+    /**
+     * Change to a loaded interval tree
+     */
+    @FunctionalInterface
+    private interface ScheduleWrite {
+
+        void apply(ShiftIntervalTree tree);
+    }
+
+    /**
+     * Interval tree of one employee, null until loaded. Guarded by the schedule's monitor.
+     */
+    private static final class EmployeeSchedule {
+
+        private ShiftIntervalTree tree;
+
+        /**
+         * Writes that arrived before the tree was loaded
+         */
+        private int unloadedWrites;
+    }
+}
@@ -0,0 +1,50 @@
+package com.shiftmanager.api.service.schedule;
+
+import com.shiftmanager.api.model.Shift;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * The time a shift occupies, from its start to its end on the following day if it runs
+ * past midnight. Intervals are half-open, so a shift ending at 16:00 does not overlap one
+ * starting at 16:00.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class ShiftInterval {
+
+    private final Long shiftId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public ShiftInterval(Long shiftId, LocalDate shiftDate, LocalTime startTime, LocalTime endTime) {
+        this.shiftId = shiftId;
+        this.start = shiftDate.atTime(startTime);
+        // An end at or before the start is on the next day; equal times make a 24 hour shift
+        this.end = endTime.isAfter(startTime) ? shiftDate.atTime(endTime) : shiftDate.plusDays(1).atTime(endTime);
+    }
+
+    /**
+     * Create the interval of a shift
+     * @param shift Shift
+     * @return Interval of the shift
+     */
+    public static ShiftInterval of(Shift shift) {
+        return new ShiftInterval(shift.getId(), shift.getShiftDate(), shift.getStartTime(), shift.getEndTime());
+    }
+
+    /**
+     * Check if this interval overlaps another
+     * @param other Other interval
+     * @return true if the intervals share any time
+     */
+    public boolean overlaps(ShiftInterval other) {
+        return start.isBefore(other.end) && other.start.isBefore(end);
+    }
+}
@@ -0,0 +1,188 @@
+package com.shiftmanager.api.service.schedule;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Interval tree of the shifts of one employee: a treap ordered by start time in which every
+ * node also holds the latest end time of its subtree. Adding, removing and finding an
+ * overlapping shift take O(log n) expected time. Not thread-safe.
+ */
+final class ShiftIntervalTree {
+
+    private final Map<Long, ShiftInterval> intervalsByShiftId = new HashMap<>();
+    private Node root;
+
+    /**
+     * Add a shift, replacing its previous interval if it was already in the tree
+     * @param interval Interval of the shift
+     */
+    void add(ShiftInterval interval) {
+        ShiftInterval previous = intervalsByShiftId.put(interval.getShiftId(), interval);
+        if (previous != null) {
+            root = delete(root, previous);
+        }
+        root = insert(root, new Node(interval));
+    }
+
+    /**
+     * Remove a shift
+     * @param shiftId Shift ID
+     * @return true if the shift was in the tree
+     */
+    boolean remove(Long shiftId) {
+        ShiftInterval interval = intervalsByShiftId.remove(shiftId);
+        if (interval == null) {
+            return false;
+        }
+        root = delete(root, interval);
+        return true;
+    }
+
+    /**
+     * Check if a shift is in the tree
+     * @param shiftId Shift ID
+     * @return true if the tree holds the shift
+     */
+    boolean contains(Long shiftId) {
+        return intervalsByShiftId.containsKey(shiftId);
+    }
+
+    int size() {
+        return intervalsByShiftId.size();
+    }
+
+    /**
+     * Find a shift overlapping an interval
+     * @param interval Interval to check
+     * @param ignoredShiftId Shift that does not count as a conflict, or null
+     * @return An overlapping shift, or null if there is none
+     */
+    ShiftInterval findOverlap(ShiftInterval interval, Long ignoredShiftId) {
+        return findOverlap(root, interval.getStart(), interval.getEnd(), ignoredShiftId);
+    }
+
+    private static ShiftInterval findOverlap(Node node, LocalDateTime start, LocalDateTime end, Long ignoredShiftId) {
+        // Nothing in this subtree ends after the start
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return null;
+        }
+        ShiftInterval found = findOverlap(node.left, start, end, ignoredShiftId);
+        if (found != null) {
+            return found;
+        }
+        // This node and everything after it starts too late
+        if (!node.interval.getStart().isBefore(end)) {
+            return null;
+        }
+        if (node.interval.getEnd().isAfter(start) && !node.interval.getShiftId().equals(ignoredShiftId)) {
+            return node.interval;
+        }
+        return findOverlap(node.right, start, end, ignoredShiftId);
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted.interval, node.interval) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node delete(Node node, ShiftInterval interval) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(interval, node.interval);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = delete(node.left, interval);
+        } else {
+            node.right = delete(node.right, interval);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Merge two treaps where every interval of the first sorts before every interval of the second
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.update();
+        return second;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int compare(ShiftInterval first, ShiftInterval second) {
+        int comparison = first.getStart().compareTo(second.getStart());
+        return comparison != 0 ? comparison : first.getShiftId().compareTo(second.getShiftId());
+    }
+
+    private static final class Node {
+
+        private final ShiftInterval interval;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private LocalDateTime maxEnd;
+
+        private Node(ShiftInterval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.getEnd();
+        }
+
+        private void update() {
+            maxEnd = interval.getEnd();
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
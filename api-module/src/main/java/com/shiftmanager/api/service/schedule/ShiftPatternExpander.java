@@ -0,0 +1,53 @@
+package com.shiftmanager.api.service.schedule;
+
+import com.shiftmanager.api.model.Shift;
+import com.shiftmanager.api.model.ShiftPattern;
+import com.shiftmanager.api.model.ShiftPatternSlot;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expands shift patterns into the shifts they define over a date range. The shifts are new,
+ * unsaved entities with their location and shift type set.
+ */
+public final class ShiftPatternExpander {
+
+    private ShiftPatternExpander() {
+    }
+
+    /**
+     * Expand a pattern over a date range
+     * @param pattern Pattern with its slots, their shift types and its location loaded
+     * @param startDate First date (inclusive)
+     * @param endDate Last date (inclusive)
+     * @return Shifts ordered by date and the slot order of each day
+     */
+    public static List<Shift> expand(ShiftPattern pattern, LocalDate startDate, LocalDate endDate) {
+        // Slots by cycle day, so each date only looks at its own slots
+        List<List<ShiftPatternSlot>> slotsByDay = new ArrayList<>(pattern.getCycleLength());
+        for (int day = 0; day < pattern.getCycleLength(); day++) {
+            slotsByDay.add(new ArrayList<>());
+        }
+        for (ShiftPatternSlot slot : pattern.getSlots()) {
+            slotsByDay.get(slot.getCycleDay()).add(slot);
+        }
+
+        List<Shift> shifts = new ArrayList<>();
+        int cycleDay = pattern.getCycleDay(startDate);
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            for (ShiftPatternSlot slot : slotsByDay.get(cycleDay)) {
+                Shift shift = new Shift();
+                shift.setShiftDate(date);
+                shift.setStartTime(slot.getEffectiveStartTime());
+                shift.setEndTime(slot.getEffectiveEndTime());
+                shift.setLocation(pattern.getLocation());
+                shift.setShiftType(slot.getShiftType());
+                shifts.add(shift);
+            }
+            cycleDay = cycleDay + 1 == pattern.getCycleLength() ? 0 : cycleDay + 1;
+        }
+        return shifts;
+    }
+}
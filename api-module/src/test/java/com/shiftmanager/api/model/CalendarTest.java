@@ -0,0 +1,113 @@
+package com.shiftmanager.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+
+    @Test
+    void findsEntriesByDateTypeAndRangeInDateOrder() {
+        Calendar calendar = new Calendar();
+        CalendarEntry thursday = entry(calendar, 1L, MONDAY.plusDays(3), "SHIFT");
+        CalendarEntry monday = entry(calendar, 2L, MONDAY, "SHIFT");
+        CalendarEntry note = entry(calendar, 3L, MONDAY, "NOTE");
+        CalendarEntry nextWeek = entry(calendar, 4L, MONDAY.plusDays(7), "VACATION");
+
+        assertEquals(Set.of(monday, note), calendar.getEntriesForDate(MONDAY));
+        assertTrue(calendar.getEntriesForDate(MONDAY.plusDays(1)).isEmpty());
+        assertEquals(Set.of(thursday, monday), calendar.getEntriesByType("SHIFT"));
+        assertEquals(List.of(monday, note, thursday),
+                new ArrayList<>(calendar.getEntriesForDateRange(MONDAY, MONDAY.plusDays(6))));
+        assertEquals(3, calendar.getEntriesForDateRange(MONDAY, MONDAY.plusDays(6)).size());
+        assertTrue(calendar.getEntriesForDateRange(MONDAY.plusDays(1), MONDAY).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> calendar.getEntriesForDate(MONDAY).clear());
+        assertEquals(List.of(nextWeek), new ArrayList<>(calendar.getEntriesForDateRange(MONDAY.plusDays(7), MONDAY.plusDays(7))));
+    }
+
+    @Test
+    void keepsTheIndexCurrentAsEntriesChange() {
+        Calendar calendar = new Calendar();
+        CalendarEntry monday = entry(calendar, 1L, MONDAY, "SHIFT");
+        assertEquals(Set.of(monday), calendar.getEntriesForDate(MONDAY));
+
+        // Added and removed after the index was built
+        CalendarEntry tuesday = entry(calendar, 2L, MONDAY.plusDays(1), "SHIFT");
+        calendar.removeEntry(monday);
+        assertTrue(calendar.getEntriesForDate(MONDAY).isEmpty());
+        assertEquals(Set.of(tuesday), calendar.getEntriesByType("SHIFT"));
+
+        // Moved to another date while indexed
+        tuesday.setEntryDate(MONDAY.plusDays(2));
+        calendar.removeEntry(tuesday);
+        assertTrue(calendar.getEntriesForDateRange(MONDAY, MONDAY.plusDays(6)).isEmpty());
+        assertTrue(calendar.getEntriesByType("SHIFT").isEmpty());
+
+        CalendarEntry replaced = new CalendarEntry(calendar, MONDAY, "NOTE", "Replaced");
+        replaced.setId(3L);
+        calendar.setEntries(new HashSet<>(Set.of(replaced)));
+        assertEquals(Set.of(replaced), calendar.getEntriesForDate(MONDAY));
+    }
+
+    @Test
+    void findsSpanningEntriesOnEveryDayTheyCover() {
+        Calendar calendar = new Calendar();
+        CalendarEntry vacation = entry(calendar, 1L, MONDAY, "VACATION");
+        vacation.setEndDate(MONDAY.plusDays(4));
+        CalendarEntry wednesday = entry(calendar, 2L, MONDAY.plusDays(2), "SHIFT");
+
+        assertEquals(Set.of(vacation), calendar.getEntriesForDate(MONDAY));
+        assertEquals(List.of(vacation, wednesday), new ArrayList<>(calendar.getEntriesForDate(MONDAY.plusDays(2))));
+        assertEquals(Set.of(vacation), calendar.getEntriesForDate(MONDAY.plusDays(4)));
+        assertTrue(calendar.getEntriesForDate(MONDAY.plusDays(5)).isEmpty());
+        assertTrue(calendar.getEntriesForDate(MONDAY.minusDays(1)).isEmpty());
+
+        // Once per range, whether the range starts on the first day, after it or covers it all
+        assertEquals(List.of(vacation, wednesday),
+                new ArrayList<>(calendar.getEntriesForDateRange(MONDAY, MONDAY.plusDays(6))));
+        assertEquals(List.of(vacation, wednesday),
+                new ArrayList<>(calendar.getEntriesForDateRange(MONDAY.plusDays(1), MONDAY.plusDays(2))));
+        assertEquals(2, calendar.getEntriesForDateRange(MONDAY.minusDays(7), MONDAY.plusDays(13)).size());
+        assertEquals(List.of(vacation), new ArrayList<>(calendar.getEntriesForDateRange(MONDAY.plusDays(3), MONDAY.plusDays(6))));
+        assertTrue(calendar.getEntriesForDateRange(MONDAY.plusDays(5), MONDAY.plusDays(6)).isEmpty());
+    }
+
+    @Test
+    void keepsSpanningEntriesCurrentAsEntriesChange() {
+        Calendar calendar = new Calendar();
+        CalendarEntry monday = entry(calendar, 1L, MONDAY, "SHIFT");
+        assertEquals(Set.of(monday), calendar.getEntriesForDate(MONDAY));
+
+        // Added and removed after the index was built
+        CalendarEntry vacation = new CalendarEntry(calendar, MONDAY, "VACATION", "Vacation");
+        vacation.setId(2L);
+        vacation.setEndDate(MONDAY.plusDays(2));
+        calendar.addEntry(vacation);
+        assertEquals(Set.of(vacation), calendar.getEntriesForDate(MONDAY.plusDays(1)));
+        calendar.removeEntry(vacation);
+        assertTrue(calendar.getEntriesForDate(MONDAY.plusDays(1)).isEmpty());
+
+        // Became spanning while indexed
+        monday.setEndDate(MONDAY.plusDays(1));
+        calendar.removeEntry(monday);
+        calendar.addEntry(monday);
+        assertEquals(Set.of(monday), calendar.getEntriesForDate(MONDAY.plusDays(1)));
+        calendar.removeEntry(monday);
+        assertTrue(calendar.getEntriesForDateRange(MONDAY.plusDays(1), MONDAY.plusDays(6)).isEmpty());
+    }
+
+    private static CalendarEntry entry(Calendar calendar, Long id, LocalDate date, String entryType) {
+        CalendarEntry entry = new CalendarEntry(calendar, date, entryType, entryType + " " + id);
+        entry.setId(id);
+        calendar.addEntry(entry);
+        return entry;
+    }
+}
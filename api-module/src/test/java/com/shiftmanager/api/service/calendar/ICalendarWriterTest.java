@@ -0,0 +1,82 @@
+package com.shiftmanager.api.service.calendar;
+
+import com.shiftmanager.api.model.Calendar;
+import com.shiftmanager.api.model.CalendarEntry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ICalendarWriterTest {
+
+    @Test
+    void writesTimedAndSpanningEntriesAsEvents() throws IOException {
+        CalendarEntry night = entry(LocalDate.of(2024, 3, 4), null, LocalTime.of(22, 0), LocalTime.of(6, 0),
+                "SHIFT", "Night Shift", 7L);
+        CalendarEntry vacation = entry(LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 14), null, null,
+                "VACATION", "Vacation", 9L);
+        vacation.setAllDay(true);
+
+        List<String> lines = lines(write(night, vacation));
+
+        assertEquals("BEGIN:VCALENDAR", lines.get(0));
+        assertEquals("END:VCALENDAR", lines.get(lines.size() - 1));
+        assertTrue(lines.contains("UID:shift-7-calendar-1@shift-manager"));
+        // The night shift ends on the next morning
+        assertTrue(lines.contains("DTSTART:20240304T220000"));
+        assertTrue(lines.contains("DTEND:20240305T060000"));
+        // Date events end on the day after their last day
+        assertTrue(lines.contains("DTSTART;VALUE=DATE:20240310"));
+        assertTrue(lines.contains("DTEND;VALUE=DATE:20240315"));
+        assertTrue(lines.contains("SUMMARY:Ann Lee: Vacation"));
+    }
+
+    @Test
+    void escapesTextAndFoldsLongLinesWithoutSplittingCharacters() throws IOException {
+        String title = "Früh; Schicht, Halle \\ Nord\n" + "äöü".repeat(30);
+        CalendarEntry entry = entry(LocalDate.of(2024, 3, 4), null, LocalTime.of(6, 0), LocalTime.of(14, 0),
+                "SHIFT", title, 3L);
+
+        String feed = write(entry);
+
+        for (String line : feed.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        String unfolded = feed.replace("\r\n ", "");
+        assertTrue(unfolded.contains("\r\nSUMMARY:Ann Lee: Früh\\; Schicht\\, Halle \\\\ Nord\\n" + "äöü".repeat(30) + "\r\n"));
+    }
+
+    private static String write(CalendarEntry... entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ICalendarWriter writer = new ICalendarWriter(out);
+        writer.startCalendar("Team");
+        for (CalendarEntry entry : entries) {
+            writer.event(entry, "Ann Lee");
+        }
+        writer.endCalendar();
+        String feed = out.toString(StandardCharsets.UTF_8);
+        assertTrue(feed.endsWith("\r\n"));
+        assertFalse(feed.replace("\r\n", "").contains("\n"));
+        return feed;
+    }
+
+    private static List<String> lines(String feed) {
+        return Arrays.asList(feed.split("\r\n"));
+    }
+
+    private static CalendarEntry entry(LocalDate date, LocalDate endDate, LocalTime start, LocalTime end,
+                                       String type, String title, Long referenceId) {
+        Calendar calendar = new Calendar();
+        calendar.setId(1L);
+        CalendarEntry entry = new CalendarEntry(calendar, date, start, end, type, title, null, false, referenceId, null);
+        entry.setEndDate(endDate);
+        return entry;
+    }
+}
@@ -1,5 +1,7 @@
 package com.shiftmanager.api.service.impl;
 
+import com.shiftmanager.api.dto.ShiftAssignmentDTO;
+import com.shiftmanager.api.dto.ShiftAssignmentResultDTO;
 import com.shiftmanager.api.exception.ResourceNotFoundException;
 import com.shiftmanager.api.exception.ValidationErrorResponse;
 import com.shiftmanager.api.model.*;
@@ -8,12 +10,15 @@ import com.shiftmanager.api.repository.EmployeeShiftRepository;
 import com.shiftmanager.api.repository.ShiftRepository;
 import com.shiftmanager.api.repository.VacationRequestRepository;
 import com.shiftmanager.api.service.NotificationService;
+import com.shiftmanager.api.service.schedule.AutoScheduleService;
+import com.shiftmanager.api.service.schedule.ShiftConflictService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -21,6 +26,7 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +49,15 @@ public class ManagerServiceImplTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private ShiftConflictService shiftConflictService;
+
+    @Mock
+    private AutoScheduleService autoScheduleService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ManagerServiceImpl managerService;
 
@@ -133,8 +148,7 @@ public class ManagerServiceImplTest {
         when(employeeRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
         when(shiftRepository.findById(shift.getId())).thenReturn(Optional.of(shift));
         when(employeeShiftRepository.findByEmployeeAndShift(employee, shift)).thenReturn(Optional.empty());
-        when(employeeShiftRepository.findConflictingShifts(employee.getId(), shift.getShiftDate(), 
-                shift.getStartTime(), shift.getEndTime())).thenReturn(new ArrayList<>());
+        when(shiftConflictService.findConflict(employee.getId(), shift, null)).thenReturn(Optional.empty());
         
         // Act
         boolean result = managerService.assignShiftToEmployee(shift.getId(), employee.getId(), manager.getId());
@@ -187,21 +201,39 @@ public class ManagerServiceImplTest {
     @Test
     void assignShiftToEmployee_ConflictingShift() {
         // Arrange
-        List<EmployeeShift> conflictingShifts = new ArrayList<>();
-        conflictingShifts.add(employeeShift);
-        
         when(employeeRepository.findById(manager.getId())).thenReturn(Optional.of(manager));
         when(employeeRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
         when(shiftRepository.findById(shift.getId())).thenReturn(Optional.of(shift));
         when(employeeShiftRepository.findByEmployeeAndShift(employee, shift)).thenReturn(Optional.empty());
-        when(employeeShiftRepository.findConflictingShifts(employee.getId(), shift.getShiftDate(), 
-                shift.getStartTime(), shift.getEndTime())).thenReturn(conflictingShifts);
+        when(shiftConflictService.findConflict(employee.getId(), shift, null)).thenReturn(Optional.of(99L));
         
         // Act & Assert
         assertThrows(ValidationErrorResponse.class, () -> 
                 managerService.assignShiftToEmployee(shift.getId(), employee.getId(), manager.getId()));
     }
 
+    @Test
+    void assignShiftsToEmployees_MissingShiftIds() {
+        // Arrange
+        when(employeeRepository.findById(manager.getId())).thenReturn(Optional.of(manager));
+        when(employeeRepository.findAllById(Set.of(employee.getId()))).thenReturn(List.of(employee));
+        List<ShiftAssignmentDTO> assignments = List.of(
+                new ShiftAssignmentDTO(null, employee.getId()),
+                new ShiftAssignmentDTO(null, null));
+        
+        // Act
+        List<ShiftAssignmentResultDTO> results = managerService.assignShiftsToEmployees(assignments, manager.getId());
+        
+        // Assert
+        assertEquals(2, results.size());
+        for (ShiftAssignmentResultDTO result : results) {
+            assertFalse(result.isSuccess());
+            assertEquals("Shift ID and employee ID are required", result.getMessage());
+        }
+        verifyNoInteractions(shiftRepository);
+        verify(employeeShiftRepository, never()).insertAll(any());
+    }
+
     @Test
     void approveVacationRequest_Success() {
         // Arrange
@@ -0,0 +1,172 @@
+package com.shiftmanager.api.service.report;
+
+import com.shiftmanager.api.repository.CalendarEntryRepository.CalendarEntryRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarPdfRendererTest {
+
+    private static final Pattern STREAM = Pattern.compile("<< /Length (\\d+) /Filter /FlateDecode >>\nstream\n");
+
+    private final CalendarPdfRenderer renderer = new CalendarPdfRenderer();
+
+    @Test
+    void rendersOnePagePerMonthWithValidCrossReferences() throws IOException {
+        List<CalendarMonthData> months = List.of(
+                month("Ann", "Lee", YearMonth.of(2024, 1), List.of()),
+                month("Bob", "Ray", YearMonth.of(2024, 1), List.of()),
+                month("Cy", "Fox", YearMonth.of(2024, 2), List.of()));
+
+        String pdf = render(months);
+
+        assertTrue(pdf.startsWith("%PDF-1.4\n"));
+        assertTrue(pdf.endsWith("%%EOF\n"));
+        assertTrue(pdf.contains("/Type /Pages /Count 3 "));
+
+        Matcher startXref = Pattern.compile("startxref\n(\\d+)\n").matcher(pdf);
+        assertTrue(startXref.find());
+        int crossReference = Integer.parseInt(startXref.group(1));
+        String[] table = pdf.substring(crossReference).split("\n");
+        assertEquals("xref", table[0]);
+        int objects = Integer.parseInt(table[1].split(" ")[1]);
+        for (int object = 1; object < objects; object++) {
+            int offset = Integer.parseInt(table[2 + object].substring(0, 10));
+            assertTrue(pdf.startsWith(object + " 0 obj\n", offset), "offset of object " + object);
+        }
+
+        // January is shared by the first two pages, so there are two grids and three page contents
+        assertEquals(5, contents(pdf).size());
+    }
+
+    @Test
+    void writesEntriesEscapedAndCutToTheCellWidth() throws IOException {
+        String longTitle = "Evening Shift - Downtown Hospital Main Building North Wing";
+        List<CalendarEntryRow> entries = List.of(
+                entry(LocalDate.of(2024, 3, 4), null, null, "Team (offsite)", true),
+                entry(LocalDate.of(2024, 3, 4), LocalTime.of(9, 0), LocalTime.of(17, 30), longTitle, false));
+
+        List<String> contents = contents(render(List.of(month("Zoë", "Ünal", YearMonth.of(2024, 3), entries))));
+        String page = contents.get(contents.size() - 1);
+
+        assertTrue(page.contains("(Zoë Ünal) Tj"));
+        assertTrue(page.contains("(March 2024) Tj"));
+        assertTrue(page.contains("(Team \\(offsite\\)) Tj"));
+        assertTrue(page.contains("(09:00-17:30 Evening Shift"));
+        assertFalse(page.contains(longTitle));
+        // The ellipsis is WinAnsi code 0x85
+        assertTrue(page.contains("\u0085) Tj"));
+    }
+
+    @Test
+    void collapsesEntriesThatDoNotFitIntoTheCell() throws IOException {
+        List<CalendarEntryRow> entries = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            entries.add(entry(LocalDate.of(2024, 3, 15), LocalTime.of(i, 0), LocalTime.of(i, 30), "Meeting " + i, false));
+        }
+
+        List<String> contents = contents(render(List.of(month("Ann", "Lee", YearMonth.of(2024, 3), entries))));
+        String page = contents.get(contents.size() - 1);
+
+        assertTrue(page.contains("(00:00-00:30 Meeting 0) Tj"));
+        assertFalse(page.contains("Meeting 19) Tj"));
+        assertTrue(page.matches("(?s).*\\(\\+\\d+ more\\) Tj.*"));
+    }
+
+    private String render(List<CalendarMonthData> months) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(months, out);
+        return out.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static List<String> contents(String pdf) {
+        List<String> contents = new ArrayList<>();
+        Matcher stream = STREAM.matcher(pdf);
+        while (stream.find()) {
+            int length = Integer.parseInt(stream.group(1));
+            byte[] compressed = pdf.substring(stream.end(), stream.end() + length).getBytes(StandardCharsets.ISO_8859_1);
+            assertTrue(pdf.startsWith("\nendstream", stream.end() + length));
+            contents.add(inflate(compressed));
+        }
+        return contents;
+    }
+
+    private static String inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        inflater.setInput(compressed);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        try {
+            while (!inflater.finished()) {
+                out.write(buffer, 0, inflater.inflate(buffer));
+            }
+        } catch (DataFormatException e) {
+            fail(e);
+        } finally {
+            inflater.end();
+        }
+        return out.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static CalendarMonthData month(String firstName, String lastName, YearMonth month,
+                                           List<CalendarEntryRow> entries) {
+        return new CalendarMonthData(1L, firstName, lastName, month, entries);
+    }
+
+    private static CalendarEntryRow entry(LocalDate date, LocalTime start, LocalTime end, String title, boolean allDay) {
+        return new CalendarEntryRow() {
+            @Override
+            public Long getEmployeeId() {
+                return 1L;
+            }
+
+            @Override
+            public LocalDate getEntryDate() {
+                return date;
+            }
+
+            @Override
+            public LocalDate getEndDate() {
+                return null;
+            }
+
+            @Override
+            public LocalTime getStartTime() {
+                return start;
+            }
+
+            @Override
+            public LocalTime getEndTime() {
+                return end;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public boolean isAllDay() {
+                return allDay;
+            }
+
+            @Override
+            public String getColor() {
+                return "#4CAF50";
+            }
+        };
+    }
+}
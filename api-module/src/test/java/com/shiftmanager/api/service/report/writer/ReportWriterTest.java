@@ -0,0 +1,150 @@
+package com.shiftmanager.api.service.report.writer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportWriterTest {
+
+    private static final ReportLabel TITLE = ReportLabel.of("TEST REPORT", "test");
+    private static final ReportLabel GENERATED_ON = ReportLabel.of("Generated On", "generatedOn");
+    private static final ReportLabel SUMMARY = ReportLabel.of("SUMMARY", "summary");
+    private static final ReportLabel TOTAL_HOURS = ReportLabel.of("Total Hours", "totalHours");
+    private static final ReportLabel COVERAGE = ReportLabel.of("Coverage", "coverage");
+    private static final ReportTable SHIFTS = ReportTable.builder(
+                    ReportLabel.of("Shifts", "shifts"),
+                    ReportLabel.of("No shifts.", "empty"))
+            .column("Date", "date", 10)
+            .column("Start", "start", 5)
+            .column("Employee", "employee", 12)
+            .column("Hours", "hours", 5)
+            .build();
+
+    @Test
+    void textReportUsesUnderlinedHeadingsAndFixedWidthColumns() throws IOException {
+        String report = render(ReportFormat.TEXT, false);
+
+        assertEquals("TEST REPORT\n" +
+                "===========\n" +
+                "\n" +
+                "Generated On: 2024-01-05 07:08:09\n" +
+                "\n" +
+                "SUMMARY\n" +
+                "-------\n" +
+                "Total Hours: 8.50\n" +
+                "Coverage: 66.67\n" +
+                "\n" +
+                "Date        Start  Employee      Hours\n" +
+                "----------  -----  ------------  -----\n" +
+                "2024-01-10  09:00  Ann Lee       8.00\n" +
+                "2024-01-11  22:00  Zoë \"Z\", Jr   0.50\n" +
+                "\n" +
+                "End of Report\n" +
+                "=============\n", report);
+    }
+
+    @Test
+    void textReportPrintsEmptyMessageForTableWithoutRows() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportWriter writer = ReportFormat.TEXT.newWriter(out);
+        writer.startReport(TITLE);
+        writer.startSection(SUMMARY);
+        writer.startTable(SHIFTS);
+        writer.endTable();
+        writer.endSection();
+        writer.endReport();
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("-------\n\nNo shifts.\n"));
+    }
+
+    @Test
+    void csvReportContainsOnlyQuotedTableRows() throws IOException {
+        String report = render(ReportFormat.CSV, false);
+
+        assertEquals("Date,Start,Employee,Hours\r\n" +
+                "2024-01-10,09:00,Ann Lee,8.00\r\n" +
+                "2024-01-11,22:00,\"Zoë \"\"Z\"\", Jr\",0.50\r\n", report);
+    }
+
+    @Test
+    void jsonReportIsValidAndTyped() throws IOException {
+        JsonNode report = new ObjectMapper().readTree(render(ReportFormat.JSON, false));
+
+        assertEquals("test", report.get("report").asText());
+        assertEquals("2024-01-05 07:08:09", report.get("generatedOn").asText());
+        assertEquals(8.5, report.get("summary").get("totalHours").asDouble());
+        JsonNode shifts = report.get("summary").get("shifts");
+        assertEquals(2, shifts.size());
+        assertEquals("Zoë \"Z\", Jr", shifts.get(1).get("employee").asText());
+        assertEquals(0.5, shifts.get(1).get("hours").asDouble());
+    }
+
+    @Test
+    void rowFragmentsProduceSameOutputAsDirectRows() throws IOException {
+        for (ReportFormat format : ReportFormat.values()) {
+            assertEquals(render(format, false), render(format, true), format.name());
+        }
+    }
+
+    @Test
+    void hoursAreRoundedHalfUp() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportWriter writer = ReportFormat.TEXT.newWriter(out);
+        writer.property(TOTAL_HOURS).hours(1);
+        writer.property(TOTAL_HOURS).hours(-61);
+        writer.property(TOTAL_HOURS).hours(0);
+        writer.flush();
+
+        assertEquals("Total Hours: 0.02\nTotal Hours: -1.02\nTotal Hours: 0.00\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static String render(ReportFormat format, boolean asFragments) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportWriter writer = format.newWriter(out);
+        writer.startReport(TITLE);
+        writer.property(GENERATED_ON).dateTime(LocalDateTime.of(2024, 1, 5, 7, 8, 9));
+        writer.startSection(SUMMARY);
+        writer.property(TOTAL_HOURS).hours(510);
+        writer.property(COVERAGE).percent(2, 3);
+        writer.startTable(SHIFTS);
+        if (asFragments) {
+            writer.appendRows(fragment(writer, false));
+            writer.appendRows(new byte[0]);
+            writer.appendRows(fragment(writer, true));
+        } else {
+            writeRow(writer, false);
+            writeRow(writer, true);
+        }
+        writer.endTable();
+        writer.endSection();
+        writer.endReport();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] fragment(ReportWriter writer, boolean second) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportWriter rows = writer.rowFragment(out);
+        writeRow(rows, second);
+        rows.flush();
+        return out.toByteArray();
+    }
+
+    private static void writeRow(ReportWriter writer, boolean second) throws IOException {
+        writer.startRow();
+        if (second) {
+            writer.date(LocalDate.of(2024, 1, 11)).time(LocalTime.of(22, 0)).name("Zoë \"Z\",", "Jr").hours(30);
+        } else {
+            writer.date(LocalDate.of(2024, 1, 10)).time(LocalTime.of(9, 0)).name("Ann", "Lee").hours(480);
+        }
+        writer.endRow();
+    }
+}
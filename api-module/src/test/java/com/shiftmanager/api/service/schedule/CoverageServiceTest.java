@@ -0,0 +1,170 @@
+package com.shiftmanager.api.service.schedule;
+
+import com.shiftmanager.api.dto.CoverageDTO;
+import com.shiftmanager.api.dto.CoverageGapDTO;
+import com.shiftmanager.api.event.ShiftAssignment;
+import com.shiftmanager.api.event.ShiftAssignmentEvent;
+import com.shiftmanager.api.event.ShiftChangeEvent;
+import com.shiftmanager.api.event.ShiftCreatedEvent;
+import com.shiftmanager.api.repository.ShiftRepository;
+import com.shiftmanager.api.repository.ShiftRepository.ShiftLocationDate;
+import com.shiftmanager.api.repository.ShiftRepository.ShiftStaffing;
+import com.shiftmanager.api.repository.StaffingRequirementRepository;
+import com.shiftmanager.api.repository.StaffingRequirementRepository.Headcount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CoverageServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+    private static final Long LOCATION_ID = 3L;
+    private static final Long DAY = 10L;
+    private static final Long NIGHT = 20L;
+
+    private final ShiftRepository shiftRepository = mock(ShiftRepository.class);
+    private final StaffingRequirementRepository staffingRequirementRepository = mock(StaffingRequirementRepository.class);
+    private final List<ShiftStaffing> shifts = new ArrayList<>();
+
+    @BeforeEach
+    void stubShiftQuery() {
+        when(shiftRepository.findStaffingBelowByLocationAndDateRange(eq(LOCATION_ID), any(), any(), anyLong())).thenAnswer(invocation -> {
+            LocalDate startDate = invocation.getArgument(1);
+            LocalDate endDate = invocation.getArgument(2);
+            long headcount = invocation.getArgument(3);
+            return shifts.stream()
+                    .filter(shift -> !shift.getShiftDate().isBefore(startDate) && !shift.getShiftDate().isAfter(endDate))
+                    .filter(shift -> shift.getAssigned() < headcount)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    void appliesLocationRequirementsBeforeThoseOfAllLocations() {
+        List<Headcount> headcounts = List.of(headcount(null, DAY, 2), headcount(LOCATION_ID, DAY, 3), headcount(99L, NIGHT, 5));
+        when(staffingRequirementRepository.findAllHeadcounts()).thenReturn(headcounts);
+        shifts.add(shift(1L, MONDAY, DAY, 2));
+        shifts.add(shift(2L, MONDAY, NIGHT, 0));
+        shifts.add(shift(3L, MONDAY.plusDays(1), NIGHT, 1));
+        shifts.add(shift(4L, MONDAY.plusDays(1), DAY, 3));
+
+        CoverageDTO coverage = service(100).getCoverage(LOCATION_ID, MONDAY, MONDAY.plusDays(6));
+
+        assertEquals(List.of(1L, 2L), coverage.getGaps().stream().map(CoverageGapDTO::getShiftId).collect(Collectors.toList()));
+        assertEquals(3, coverage.getGaps().get(0).getRequired());
+        assertEquals(1, coverage.getGaps().get(1).getRequired());
+        assertEquals(1, coverage.getOpenShifts());
+        assertEquals(1, coverage.getUnderstaffedShifts());
+        assertEquals(2, coverage.getMissingHeadcount());
+        // Shifts are only fetched below the highest headcount the location requires
+        verify(shiftRepository).findStaffingBelowByLocationAndDateRange(LOCATION_ID, MONDAY, MONDAY.plusDays(6), 3L);
+    }
+
+    @Test
+    void loadsOnlyTheDaysNotCached() {
+        shifts.add(shift(1L, MONDAY, DAY, 0));
+        shifts.add(shift(2L, MONDAY.plusDays(3), DAY, 0));
+        CoverageService service = service(100);
+
+        assertEquals(1, service.getCoverage(LOCATION_ID, MONDAY, MONDAY.plusDays(2)).getGaps().size());
+        assertEquals(2, service.getCoverage(LOCATION_ID, MONDAY, MONDAY.plusDays(4)).getGaps().size());
+        assertEquals(2, service.getCoverage(LOCATION_ID, MONDAY, MONDAY.plusDays(4)).getGaps().size());
+
+        verify(shiftRepository).findStaffingBelowByLocationAndDateRange(LOCATION_ID, MONDAY, MONDAY.plusDays(2), 1L);
+        verify(shiftRepository).findStaffingBelowByLocationAndDateRange(LOCATION_ID, MONDAY.plusDays(3), MONDAY.plusDays(4), 1L);
+        verify(shiftRepository, times(2)).findStaffingBelowByLocationAndDateRange(anyLong(), any(), any(), anyLong());
+        verify(staffingRequirementRepository, times(1)).findAllHeadcounts();
+    }
+
+    @Test
+    void evictsTheDaysOfChangedShifts() {
+        shifts.add(shift(1L, MONDAY, DAY, 0));
+        shifts.add(shift(2L, MONDAY.plusDays(1), DAY, 1));
+        CoverageService service = service(100);
+        service.getCoverage(LOCATION_ID, MONDAY, MONDAY.plusDays(6));
+
+        // Staffing a gap evicts its day without a lookup
+        shifts.set(0, shift(1L, MONDAY, DAY, 1));
+        service.onShiftAssignment(ShiftAssignmentEvent.assigned(new ShiftAssignment(7L, 1L)));
+        assertTrue(service.getCoverage(LOCATION_ID, MONDAY, MONDAY.plusDays(6)).getGaps().isEmpty());
+        verify(shiftRepository).findStaffingBelowByLocationAndDateRange(LOCATION_ID, MONDAY, MONDAY, 1L);
+        verify(shiftRepository, never()).findLocationDatesByIdIn(any());
+
+        // A staffed shift that loses its employee is looked up
+        ShiftLocationDate location = mock(ShiftLocationDate.class);
+        when(location.getLocationId()).thenReturn(LOCATION_ID);
+        when(location.getShiftDate()).thenReturn(MONDAY.plusDays(1));
+        when(shiftRepository.findLocationDatesByIdIn(List.of(2L))).thenReturn(List.of(location));
+        shifts.set(1, shift(2L, MONDAY.plusDays(1), DAY, 0));
+        service.onShiftAssignment(ShiftAssignmentEvent.unassigned(new ShiftAssignment(7L, 2L)));
+        assertEquals(1, service.getCoverage(LOCATION_ID, MONDAY, MONDAY.plusDays(6)).getOpenShifts());
+
+        // A deleted gap evicts its day, a new shift the day it is on
+        service.onShiftChange(ShiftChangeEvent.deleted(2L));
+        shifts.remove(1);
+        shifts.add(shift(3L, MONDAY.plusDays(5), NIGHT, 0));
+        service.onShiftCreated(new ShiftCreatedEvent(Map.of(LOCATION_ID, Set.of(MONDAY.plusDays(5)))));
+        List<CoverageGapDTO> gaps = service.getCoverage(LOCATION_ID, MONDAY, MONDAY.plusDays(6)).getGaps();
+        assertEquals(List.of(3L), gaps.stream().map(CoverageGapDTO::getShiftId).collect(Collectors.toList()));
+        verify(shiftRepository).findStaffingBelowByLocationAndDateRange(LOCATION_ID, MONDAY.plusDays(1), MONDAY.plusDays(5), 1L);
+    }
+
+    @Test
+    void reloadsEverythingWhenRequirementsChange() {
+        shifts.add(shift(1L, MONDAY, DAY, 1));
+        CoverageService service = service(100);
+        assertTrue(service.getCoverage(LOCATION_ID, MONDAY, MONDAY).getGaps().isEmpty());
+
+        List<Headcount> headcounts = List.of(headcount(null, DAY, 2));
+        when(staffingRequirementRepository.findAllHeadcounts()).thenReturn(headcounts);
+        service.requirementsChanged();
+        assertEquals(1, service.getCoverage(LOCATION_ID, MONDAY, MONDAY).getUnderstaffedShifts());
+        verify(staffingRequirementRepository, times(2)).findAllHeadcounts();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedDays() {
+        CoverageService service = service(3);
+        service.getCoverage(LOCATION_ID, MONDAY, MONDAY.plusDays(2));
+        service.getCoverage(LOCATION_ID, MONDAY.plusDays(3), MONDAY.plusDays(3));
+        service.getCoverage(LOCATION_ID, MONDAY.plusDays(3), MONDAY.plusDays(3));
+        service.getCoverage(LOCATION_ID, MONDAY, MONDAY);
+
+        verify(shiftRepository, times(1)).findStaffingBelowByLocationAndDateRange(LOCATION_ID, MONDAY.plusDays(3), MONDAY.plusDays(3), 1L);
+        verify(shiftRepository, times(1)).findStaffingBelowByLocationAndDateRange(LOCATION_ID, MONDAY, MONDAY, 1L);
+    }
+
+    private CoverageService service(int maxDays) {
+        return new CoverageService(shiftRepository, staffingRequirementRepository, 1, maxDays, new SimpleMeterRegistry());
+    }
+
+    private static ShiftStaffing shift(Long id, LocalDate date, Long shiftTypeId, long assigned) {
+        ShiftStaffing shift = mock(ShiftStaffing.class);
+        when(shift.getId()).thenReturn(id);
+        when(shift.getShiftDate()).thenReturn(date);
+        when(shift.getStartTime()).thenReturn(LocalTime.of(8, 0));
+        when(shift.getEndTime()).thenReturn(LocalTime.of(16, 0));
+        when(shift.getShiftTypeId()).thenReturn(shiftTypeId);
+        when(shift.getAssigned()).thenReturn(assigned);
+        return shift;
+    }
+
+    private static Headcount headcount(Long locationId, Long shiftTypeId, int requiredHeadcount) {
+        Headcount headcount = mock(Headcount.class);
+        when(headcount.getLocationId()).thenReturn(locationId);
+        when(headcount.getShiftTypeId()).thenReturn(shiftTypeId);
+        when(headcount.getRequiredHeadcount()).thenReturn(requiredHeadcount);
+        return headcount;
+    }
+}
@@ -0,0 +1,119 @@
+package com.shiftmanager.api.service.schedule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleSolverTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+    private static final LocalDateTime ORIGIN = MONDAY.minusDays(1).atStartOfDay();
+
+    private final ScheduleSolver solver = new ScheduleSolver(2, 1000);
+
+    @AfterEach
+    void tearDown() {
+        solver.destroy();
+    }
+
+    @Test
+    void respectsAvailabilityAndBalancesHours() {
+        ScheduleProblem.Builder builder = ScheduleProblem.builder(ORIGIN)
+                .employee(1L, 40 * 60)
+                .employee(2L, 40 * 60)
+                .employee(3L, 16 * 60);
+        // Employee 2 is on vacation on Tuesday, employee 3 has worked 8 hours already
+        builder.unavailable(2L, MONDAY.plusDays(1).atStartOfDay(), MONDAY.plusDays(2).atStartOfDay());
+        builder.worked(3L, 8 * 60);
+        long shiftId = 1;
+        for (int day = 0; day < 5; day++) {
+            builder.shift(new ShiftInterval(shiftId++, MONDAY.plusDays(day), LocalTime.of(8, 0), LocalTime.of(16, 0)));
+            builder.shift(new ShiftInterval(shiftId++, MONDAY.plusDays(day), LocalTime.of(12, 0), LocalTime.of(20, 0)));
+        }
+        ScheduleProblem problem = builder.build();
+
+        ScheduleSolution solution = solver.solve(problem);
+
+        assertEquals(0, solution.getUnfilledCount());
+        assertValid(problem, solution);
+        // Employee 3 can take one more shift; the other nine split as evenly as possible
+        assertEquals(16 * 60, solution.getMinutes(2));
+        assertEquals(1, Math.abs(solution.getMinutes(0) - solution.getMinutes(1)) / 480);
+        assertFalse(problem.isCandidate(2, 1), "Tuesday shift offered to an employee on vacation");
+    }
+
+    @Test
+    void leavesShiftsOpenWhenNobodyCanTakeThem() {
+        ScheduleProblem problem = ScheduleProblem.builder(ORIGIN)
+                .employee(1L, 8 * 60)
+                .shift(new ShiftInterval(1L, MONDAY, LocalTime.of(8, 0), LocalTime.of(16, 0)))
+                .shift(new ShiftInterval(2L, MONDAY.plusDays(1), LocalTime.of(8, 0), LocalTime.of(16, 0)))
+                // Longer than the employee's whole week
+                .shift(new ShiftInterval(3L, MONDAY.plusDays(2), LocalTime.of(8, 0), LocalTime.of(8, 0)))
+                .build();
+
+        ScheduleSolution solution = solver.solve(problem);
+
+        assertEquals(2, solution.getUnfilledCount());
+        assertEquals(0, problem.getCandidates(2).length);
+        assertValid(problem, solution);
+    }
+
+    @Test
+    void staffsALargeWeekWithinTheTimeLimit() {
+        Random random = new Random(7);
+        ScheduleProblem.Builder builder = ScheduleProblem.builder(ORIGIN);
+        for (long employeeId = 1; employeeId <= 300; employeeId++) {
+            builder.employee(employeeId, (random.nextBoolean() ? 40 : 24) * 60);
+            if (random.nextInt(10) == 0) {
+                LocalDate vacation = MONDAY.plusDays(random.nextInt(7));
+                builder.unavailable(employeeId, vacation.atStartOfDay(), vacation.plusDays(2).atStartOfDay());
+            }
+        }
+        for (long shiftId = 1; shiftId <= 1000; shiftId++) {
+            LocalTime start = LocalTime.of(random.nextInt(24), 0);
+            builder.shift(new ShiftInterval(shiftId, MONDAY.plusDays(random.nextInt(7)), start, start.plusHours(8)));
+        }
+        ScheduleProblem problem = builder.build();
+
+        long started = System.nanoTime();
+        ScheduleSolution solution = solver.solve(problem);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(millis < 5000, "Took " + millis + " ms");
+        assertEquals(0, solution.getUnfilledCount());
+        assertValid(problem, solution);
+    }
+
+    private static void assertValid(ScheduleProblem problem, ScheduleSolution solution) {
+        List<List<Integer>> shiftsOf = new ArrayList<>();
+        for (int employee = 0; employee < problem.getEmployeeCount(); employee++) {
+            shiftsOf.add(new ArrayList<>());
+        }
+        for (int shift = 0; shift < problem.getShiftCount(); shift++) {
+            int employee = solution.getEmployee(shift);
+            if (employee >= 0) {
+                assertTrue(problem.isCandidate(shift, employee));
+                shiftsOf.get(employee).add(shift);
+            }
+        }
+        for (int employee = 0; employee < problem.getEmployeeCount(); employee++) {
+            assertTrue(solution.getMinutes(employee) <= problem.getMaxMinutes(employee));
+            List<Integer> shifts = shiftsOf.get(employee);
+            for (int a : shifts) {
+                for (int b : shifts) {
+                    assertFalse(a != b && problem.getShiftStart(a) < problem.getShiftEnd(b)
+                            && problem.getShiftStart(b) < problem.getShiftEnd(a), "Overlapping shifts " + a + ", " + b);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.shiftmanager.api.service.schedule;
+
+import com.shiftmanager.api.model.Shift;
+import com.shiftmanager.api.repository.EmployeeShiftRepository;
+import com.shiftmanager.api.repository.EmployeeShiftRepository.AssignedShiftTime;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ShiftConflictServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+    private static final Long EMPLOYEE_ID = 7L;
+
+    private final EmployeeShiftRepository employeeShiftRepository = mock(EmployeeShiftRepository.class);
+
+    @Test
+    void detectsOvernightShiftsCrossingMidnight() {
+        ShiftConflictService service = service(10, shift(1L, MONDAY, 22, 6));
+
+        // Early shift on Tuesday overlaps Monday's night shift
+        assertEquals(Optional.of(1L), service.findConflict(EMPLOYEE_ID, shift(2L, MONDAY.plusDays(1), 5, 13), null));
+        // Back to back with the night shift
+        assertEquals(Optional.empty(), service.findConflict(EMPLOYEE_ID, shift(3L, MONDAY.plusDays(1), 6, 14), null));
+        assertEquals(Optional.empty(), service.findConflict(EMPLOYEE_ID, shift(4L, MONDAY, 14, 22), null));
+        // Replacing the night shift itself is no conflict
+        assertEquals(Optional.empty(), service.findConflict(EMPLOYEE_ID, shift(2L, MONDAY.plusDays(1), 5, 13), 1L));
+        verify(employeeShiftRepository, times(1)).findAssignedShiftTimesByEmployeeId(EMPLOYEE_ID);
+    }
+
+    @Test
+    void appliesWritesAndEvictsOnRollback() {
+        ShiftConflictService service = service(10);
+        Shift morning = shift(1L, MONDAY, 8, 16);
+        assertEquals(Optional.empty(), service.findConflict(EMPLOYEE_ID, morning, null));
+
+        service.assigned(EMPLOYEE_ID, morning);
+        assertEquals(Optional.of(1L), service.findConflict(EMPLOYEE_ID, shift(2L, MONDAY, 12, 20), null));
+        service.unassigned(EMPLOYEE_ID, 1L);
+        assertEquals(Optional.empty(), service.findConflict(EMPLOYEE_ID, shift(2L, MONDAY, 12, 20), null));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.assigned(EMPLOYEE_ID, morning);
+            assertEquals(Optional.of(1L), service.findConflict(EMPLOYEE_ID, shift(2L, MONDAY, 12, 20), null));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        // Reloaded from the repository, which never saw the rolled back assignment
+        assertEquals(Optional.empty(), service.findConflict(EMPLOYEE_ID, shift(2L, MONDAY, 12, 20), null));
+        verify(employeeShiftRepository, times(2)).findAssignedShiftTimesByEmployeeId(EMPLOYEE_ID);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedSchedules() {
+        ShiftConflictService service = service(2);
+        Shift shift = shift(1L, MONDAY, 8, 16);
+        service.findConflict(1L, shift, null);
+        service.findConflict(2L, shift, null);
+        service.findConflict(1L, shift, null);
+        service.findConflict(3L, shift, null);
+        service.findConflict(1L, shift, null);
+        service.findConflict(2L, shift, null);
+
+        verify(employeeShiftRepository, times(1)).findAssignedShiftTimesByEmployeeId(1L);
+        verify(employeeShiftRepository, times(2)).findAssignedShiftTimesByEmployeeId(2L);
+    }
+
+    @Test
+    void preloadsSchedulesWithOneQuery() {
+        ShiftConflictService service = service(10);
+        AssignedShiftTime time = mock(AssignedShiftTime.class);
+        when(time.getEmployeeId()).thenReturn(1L);
+        when(time.getShiftId()).thenReturn(1L);
+        when(time.getShiftDate()).thenReturn(MONDAY);
+        when(time.getStartTime()).thenReturn(LocalTime.of(8, 0));
+        when(time.getEndTime()).thenReturn(LocalTime.of(16, 0));
+        when(employeeShiftRepository.findAssignedShiftTimesByEmployeeIdIn(anyCollection())).thenReturn(List.of(time));
+
+        service.preload(List.of(1L, 2L, 1L));
+        service.preload(List.of(1L, 2L));
+        assertEquals(Optional.of(1L), service.findConflict(1L, shift(2L, MONDAY, 12, 20), null));
+        assertEquals(Optional.empty(), service.findConflict(2L, shift(2L, MONDAY, 12, 20), null));
+
+        verify(employeeShiftRepository, times(1)).findAssignedShiftTimesByEmployeeIdIn(anyCollection());
+        verify(employeeShiftRepository, never()).findAssignedShiftTimesByEmployeeId(anyLong());
+    }
+
+    @Test
+    void treeFindsTheSameOverlapsAsAScan() {
+        Random random = new Random(42);
+        ShiftIntervalTree tree = new ShiftIntervalTree();
+        List<ShiftInterval> intervals = new ArrayList<>();
+        for (long shiftId = 1; shiftId <= 2000; shiftId++) {
+            ShiftInterval interval = randomInterval(random, shiftId);
+            tree.add(interval);
+            intervals.add(interval);
+            if (random.nextInt(4) == 0) {
+                ShiftInterval removed = intervals.remove(random.nextInt(intervals.size()));
+                assertTrue(tree.remove(removed.getShiftId()));
+            }
+        }
+        assertEquals(intervals.size(), tree.size());
+
+        for (int check = 0; check < 2000; check++) {
+            ShiftInterval probe = randomInterval(random, -1L);
+            Long ignored = random.nextBoolean() ? intervals.get(random.nextInt(intervals.size())).getShiftId() : null;
+            boolean expected = intervals.stream().anyMatch(interval -> !interval.getShiftId().equals(ignored)
+                    && interval.getStart().isBefore(probe.getEnd()) && probe.getStart().isBefore(interval.getEnd()));
+            ShiftInterval found = tree.findOverlap(probe, ignored);
+            assertEquals(expected, found != null, probe.toString());
+            if (found != null) {
+                assertNotEquals(ignored, found.getShiftId());
+                assertTrue(found.getStart().isBefore(probe.getEnd()) && probe.getStart().isBefore(found.getEnd()));
+            }
+        }
+    }
+
+    private ShiftConflictService service(int maxEmployees, Shift... assigned) {
+        List<AssignedShiftTime> times = new ArrayList<>();
+        for (Shift shift : assigned) {
+            AssignedShiftTime time = mock(AssignedShiftTime.class);
+            when(time.getShiftId()).thenReturn(shift.getId());
+            when(time.getShiftDate()).thenReturn(shift.getShiftDate());
+            when(time.getStartTime()).thenReturn(shift.getStartTime());
+            when(time.getEndTime()).thenReturn(shift.getEndTime());
+            times.add(time);
+        }
+        when(employeeShiftRepository.findAssignedShiftTimesByEmployeeId(anyLong())).thenReturn(times);
+        return new ShiftConflictService(employeeShiftRepository, maxEmployees, new SimpleMeterRegistry());
+    }
+
+    private static ShiftInterval randomInterval(Random random, Long shiftId) {
+        LocalTime start = LocalTime.of(random.nextInt(24), random.nextInt(4) * 15);
+        return new ShiftInterval(shiftId, MONDAY.plusDays(random.nextInt(365)), start,
+                start.plusMinutes(60 + random.nextInt(12) * 60L));
+    }
+
+    private static Shift shift(Long id, LocalDate date, int startHour, int endHour) {
+        Shift shift = new Shift();
+        shift.setId(id);
+        shift.setShiftDate(date);
+        shift.setStartTime(LocalTime.of(startHour, 0));
+        shift.setEndTime(LocalTime.of(endHour, 0));
+        return shift;
+    }
+}
@@ -0,0 +1,87 @@
+package com.shiftmanager.api.service.schedule;
+
+import com.shiftmanager.api.model.Location;
+import com.shiftmanager.api.model.Shift;
+import com.shiftmanager.api.model.ShiftPattern;
+import com.shiftmanager.api.model.ShiftPatternSlot;
+import com.shiftmanager.api.model.ShiftType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShiftPatternExpanderTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+
+    private final ShiftType day = shiftType(1L, 8, 16);
+    private final ShiftType night = shiftType(2L, 22, 6);
+
+    @Test
+    void expandsWeeklyPatternByDayOfWeek() {
+        ShiftPattern pattern = pattern(MONDAY, 7);
+        for (int cycleDay = 0; cycleDay < 5; cycleDay++) {
+            pattern.addSlot(new ShiftPatternSlot(cycleDay, day, null, null));
+        }
+        pattern.addSlot(new ShiftPatternSlot(5, night, null, null));
+        pattern.addSlot(new ShiftPatternSlot(6, night, LocalTime.of(20, 0), LocalTime.of(4, 0)));
+
+        // Two weeks starting on a Wednesday
+        List<Shift> shifts = ShiftPatternExpander.expand(pattern, MONDAY.plusDays(2), MONDAY.plusDays(15));
+
+        assertEquals(14, shifts.size());
+        for (Shift shift : shifts) {
+            boolean weekend = shift.getShiftDate().getDayOfWeek().compareTo(DayOfWeek.SATURDAY) >= 0;
+            assertEquals(weekend ? night : day, shift.getShiftType(), shift.getShiftDate().toString());
+            assertSame(pattern.getLocation(), shift.getLocation());
+        }
+        assertEquals(MONDAY.plusDays(2), shifts.get(0).getShiftDate());
+        assertEquals(LocalTime.of(8, 0), shifts.get(0).getStartTime());
+        // Sunday uses the slot's own times instead of the shift type defaults
+        Shift sunday = shifts.get(4);
+        assertEquals(DayOfWeek.SUNDAY, sunday.getShiftDate().getDayOfWeek());
+        assertEquals(LocalTime.of(20, 0), sunday.getStartTime());
+        assertEquals(LocalTime.of(4, 0), sunday.getEndTime());
+    }
+
+    @Test
+    void expandsRotationFromBeforeItsCycleStart() {
+        // Four on, four off, with the cycle starting after the range does
+        ShiftPattern pattern = pattern(MONDAY, 8);
+        for (int cycleDay = 0; cycleDay < 4; cycleDay++) {
+            pattern.addSlot(new ShiftPatternSlot(cycleDay, day, null, null));
+        }
+
+        List<LocalDate> dates = ShiftPatternExpander.expand(pattern, MONDAY.minusDays(8), MONDAY.plusDays(11))
+                .stream().map(Shift::getShiftDate).toList();
+
+        assertEquals(List.of(
+                MONDAY.minusDays(8), MONDAY.minusDays(7), MONDAY.minusDays(6), MONDAY.minusDays(5),
+                MONDAY, MONDAY.plusDays(1), MONDAY.plusDays(2), MONDAY.plusDays(3),
+                MONDAY.plusDays(8), MONDAY.plusDays(9), MONDAY.plusDays(10), MONDAY.plusDays(11)), dates);
+        assertEquals(0, pattern.getCycleDay(MONDAY.minusDays(8)));
+        assertEquals(7, pattern.getCycleDay(MONDAY.minusDays(1)));
+    }
+
+    private static ShiftPattern pattern(LocalDate cycleStartDate, int cycleLength) {
+        Location location = new Location();
+        location.setId(3L);
+        ShiftPattern pattern = new ShiftPattern();
+        pattern.setLocation(location);
+        pattern.setCycleStartDate(cycleStartDate);
+        pattern.setCycleLength(cycleLength);
+        return pattern;
+    }
+
+    private static ShiftType shiftType(Long id, int startHour, int endHour) {
+        ShiftType shiftType = new ShiftType();
+        shiftType.setId(id);
+        shiftType.setDefaultStartTime(LocalTime.of(startHour, 0));
+        shiftType.setDefaultEndTime(LocalTime.of(endHour, 0));
+        return shiftType;
+    }
+}
@@ -0,0 +1,187 @@
+package com.shiftmanager.benchmark;
+
+import com.shiftmanager.ShiftManagementApiApplication;
+import com.shiftmanager.api.service.impl.ReportServiceImpl;
+import com.shiftmanager.api.service.report.writer.ReportFormat;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of every report generator of {@link ReportServiceImpl} against a seeded H2
+ * database, bypassing the report cache.
+ *
+ * <p>Each trial boots the application without its web server on a fresh in-memory database
+ * and seeds a {@link ReportDataset}; every report covers the whole seeded range. Besides the
+ * score, each benchmark reports the SQL statements it ran per operation as
+ * {@code sqlStatementsPerOp}; run with {@code -prof gc} to add the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class ReportBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int employees;
+
+    @Param({"1", "12"})
+    private int months;
+
+    @Param({"TEXT"})
+    private ReportFormat format;
+
+    private ConfigurableApplicationContext context;
+    private ReportServiceImpl reportService;
+    private ReportDataset dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command line arguments, so they take precedence over the application's own application.yml
+        context = SpringApplication.run(ShiftManagementApiApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + employees + "-" + months
+                        + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=MONTH,YEAR",
+                "--spring.h2.console.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + SqlStatementCounter.class.getName(),
+                "--logging.level.root=WARN",
+                "--logging.level.com.shiftmanager=WARN",
+                "--logging.level.com.shiftmanager.benchmark=INFO",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.springframework.orm.jpa=WARN",
+                "--logging.level.org.springframework.transaction=WARN");
+        reportService = context.getBean(ReportServiceImpl.class);
+        dataset = ReportDataset.seed(context.getBean(JdbcTemplate.class), employees, months);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long employeeSchedule(SqlCounters counters) throws IOException {
+        long statements = SqlStatementCounter.count();
+        ByteCounter out = new ByteCounter();
+        reportService.writeEmployeeScheduleReport(dataset.getEmployeeId(), dataset.getStartDate(),
+                dataset.getEndDate(), format, out);
+        counters.record(statements);
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long teamSchedule(SqlCounters counters) throws IOException {
+        long statements = SqlStatementCounter.count();
+        ByteCounter out = new ByteCounter();
+        reportService.writeTeamScheduleReport(dataset.getManagerId(), dataset.getStartDate(),
+                dataset.getEndDate(), format, out);
+        counters.record(statements);
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long locationSchedule(SqlCounters counters) throws IOException {
+        long statements = SqlStatementCounter.count();
+        ByteCounter out = new ByteCounter();
+        reportService.writeLocationScheduleReport(dataset.getLocationId(), dataset.getStartDate(),
+                dataset.getEndDate(), format, out);
+        counters.record(statements);
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long allLocationSchedules(SqlCounters counters) throws IOException {
+        long statements = SqlStatementCounter.count();
+        ByteCounter out = new ByteCounter();
+        reportService.writeLocationScheduleReports(null, dataset.getStartDate(), dataset.getEndDate(), format, out);
+        counters.record(statements);
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long vacationSummary(SqlCounters counters) throws IOException {
+        long statements = SqlStatementCounter.count();
+        ByteCounter out = new ByteCounter();
+        reportService.writeVacationSummaryReport(dataset.getStartDate().getYear(),
+                months == 1 ? dataset.getStartDate().getMonthValue() : null, dataset.getDepartmentId(), format, out);
+        counters.record(statements);
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long hoursWorked(SqlCounters counters) throws IOException {
+        long statements = SqlStatementCounter.count();
+        ByteCounter out = new ByteCounter();
+        reportService.writeHoursWorkedReport(null, dataset.getStartDate(), dataset.getEndDate(), format, out);
+        counters.record(statements);
+        return out.bytes;
+    }
+
+    /**
+     * SQL statements per operation, reported next to the score of every benchmark
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SqlCounters {
+
+        private long statements;
+        private long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            operations = 0;
+        }
+
+        void record(long statementsBefore) {
+            statements += SqlStatementCounter.count() - statementsBefore;
+            operations++;
+        }
+
+        public double sqlStatementsPerOp() {
+            return operations == 0 ? 0 : (double) statements / operations;
+        }
+    }
+
+    /**
+     * Discards the report but keeps its size, so the benchmark result depends on the output
+     */
+    private static class ByteCounter extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.shiftmanager.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts every SQL statement Hibernate prepares. Registered through
+ * hibernate.session_factory.statement_inspector, so Hibernate creates the instance and the
+ * count has to be static.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final LongAdder STATEMENTS = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.increment();
+        return sql;
+    }
+
+    /**
+     * Get the number of statements prepared so far
+     * @return Statement count
+     */
+    public static long count() {
+        return STATEMENTS.sum();
+    }
+}
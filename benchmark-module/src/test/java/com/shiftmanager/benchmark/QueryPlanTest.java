@@ -0,0 +1,305 @@
+package com.shiftmanager.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shiftmanager.ShiftManagementApiApplication;
+import com.shiftmanager.api.repository.CalendarEntryRepository;
+import com.shiftmanager.api.repository.CalendarMonthViewRepository;
+import com.shiftmanager.api.repository.CalendarRepository;
+import com.shiftmanager.api.repository.EmployeeRepository;
+import com.shiftmanager.api.repository.EmployeeShiftRepository;
+import com.shiftmanager.api.repository.NotificationRepository;
+import com.shiftmanager.api.repository.ShiftRepository;
+import com.shiftmanager.api.repository.VacationRequestRepository;
+import com.shiftmanager.api.service.calendar.CalendarRebuildService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.integration.spring.SpringLiquibase;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the hot repository queries are planned with index scans on Postgres, so a new
+ * query or a dropped index can't silently fall back to scanning a whole table.
+ *
+ * <p>The application runs against an embedded Postgres seeded with a {@link ReportDataset}.
+ * Each case calls repository methods the way the services do, records the SQL Hibernate
+ * sends and plans every statement with {@code EXPLAIN (GENERIC_PLAN)}, which plans the
+ * parameterized SQL as a prepared statement would be planned. Sequential scans are disabled
+ * for planning, because at test data size hashing a whole table is often cheaper than a few
+ * index lookups; a sequential scan of one of the {@link #LARGE_TABLES} that remains means no
+ * index can serve the query, and fails the case.
+ *
+ * <p>Starting Postgres takes about a minute, so the test only runs with the {@code query-plans}
+ * profile, which sets the {@code queryPlans} system property.
+ */
+@EnabledIfSystemProperty(named = "queryPlans", matches = "true")
+class QueryPlanTest {
+
+    private static final int EMPLOYEES = 2000;
+    private static final int MONTHS = 3;
+    private static final int NOTIFICATIONS_PER_EMPLOYEE = 5;
+
+    /**
+     * Tables that grow with employees or time; small lookup tables may be scanned
+     */
+    private static final Set<String> LARGE_TABLES = Set.of("persons", "addresses", "employees", "shifts",
+            "employee_shift", "vacation_request", "notification", "calendar", "calendar_entry",
+            "calendar_month_view");
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+    private static ReportDataset dataset;
+    private static JdbcTemplate explainJdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        // initdb refuses to run as root; once enabled, failing here rather than skipping keeps
+        // a root build from passing without any plan checked
+        assertFalse("root".equals(System.getProperty("user.name")),
+                "Postgres refuses to run as root, run the build as another user");
+
+        postgres = EmbeddedPostgres.builder().start();
+        context = SpringApplication.run(ShiftManagementApiApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.h2.console.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + RecordingStatementInspector.class.getName(),
+                "--logging.level.root=WARN",
+                "--logging.level.com.shiftmanager=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=ERROR");
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        dataset = ReportDataset.seed(jdbcTemplate, EMPLOYEES, MONTHS);
+        insertNotifications(jdbcTemplate);
+
+        CalendarRebuildService rebuildService = context.getBean(CalendarRebuildService.class);
+        assertTrue(rebuildService.startRebuild());
+        while (!rebuildService.getStatus().getState().startsWith("COMPLETED")) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, rebuildService.getStatus().getFailedChunks());
+        jdbcTemplate.execute("ANALYZE");
+
+        // The simple protocol leaves the $n parameters to the generic plan instead of binding them,
+        // and with sequential scans disabled a table is only scanned if no index can serve the query
+        explainJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl("postgres", "postgres")
+                + "&preferQueryMode=simple&options=-c%20enable_seqscan%3Doff"));
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> keyQueriesUseIndexes() {
+        return queryCases().entrySet().stream()
+                .map(queryCase -> DynamicTest.dynamicTest(queryCase.getKey(), () -> assertIndexed(queryCase.getValue())));
+    }
+
+    /**
+     * The index changesets are named after the entity mappings, so on a schema Hibernate
+     * created every one of them finds its index and is marked as ran
+     */
+    @Test
+    void indexChangesetsMatchTheEntityMappings() throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(context.getBean(DataSource.class));
+        liquibase.setResourceLoader(context);
+        liquibase.setChangeLog("classpath:db/changelog/query-indexes-changelog.yaml");
+        liquibase.afterPropertiesSet();
+
+        List<String> executed = context.getBean(JdbcTemplate.class).queryForList(
+                "SELECT id FROM databasechangelog WHERE exectype <> 'MARK_RAN'", String.class);
+        assertTrue(executed.isEmpty(), "Changesets without a matching entity index: " + executed);
+    }
+
+    private Map<String, Runnable> queryCases() {
+        ShiftRepository shifts = context.getBean(ShiftRepository.class);
+        EmployeeShiftRepository assignments = context.getBean(EmployeeShiftRepository.class);
+        VacationRequestRepository vacations = context.getBean(VacationRequestRepository.class);
+        CalendarRepository calendars = context.getBean(CalendarRepository.class);
+        CalendarEntryRepository entries = context.getBean(CalendarEntryRepository.class);
+        CalendarMonthViewRepository monthViews = context.getBean(CalendarMonthViewRepository.class);
+        NotificationRepository notifications = context.getBean(NotificationRepository.class);
+        EmployeeRepository employees = context.getBean(EmployeeRepository.class);
+
+        long employeeId = dataset.getEmployeeId();
+        long managerId = dataset.getManagerId();
+        long locationId = dataset.getLocationId();
+        LocalDate start = dataset.getStartDate().plusMonths(1);
+        LocalDate end = start.plusDays(6);
+        List<Long> team = LongStream.rangeClosed(managerId, managerId + ReportDataset.TEAM_SIZE - 1).boxed().toList();
+        Long calendarId = calendars.findStampByEmployeeId(employeeId).orElseThrow().getId();
+
+        Map<String, Runnable> cases = new LinkedHashMap<>();
+        cases.put("shifts of a location", () -> shifts.findByLocationAndDateRange(locationId, start, end));
+        cases.put("shifts of locations with details",
+                () -> shifts.findByLocationIdsAndDateRange(List.of(locationId), start, end));
+        cases.put("shift slots of locations",
+                () -> shifts.findSlotKeysByLocationIdsAndDateRange(List.of(locationId), start, end));
+        cases.put("open shifts of a location",
+                () -> shifts.findOpenShiftTimesByLocationAndDateRange(locationId, start, end));
+        cases.put("coverage gaps of a location",
+                () -> shifts.findStaffingBelowByLocationAndDateRange(locationId, start, end, 2));
+        cases.put("locations and dates of shifts", () -> shifts.findLocationDatesByIdIn(List.of(1L, 2L, 3L)));
+        cases.put("shifts of an employee", () -> shifts.findByAssignedEmployeeId(employeeId));
+        cases.put("shifts of a team", () -> shifts.findByEmployeesInManagerTeamAndDateRange(managerId, start, end));
+        cases.put("team schedule", () -> assignments.findTeamScheduleWithDetails(managerId, start, end));
+        cases.put("assignments of a location", () -> assignments.findByLocationAndDateRange(locationId, start, end));
+        cases.put("assigned shift times of an employee", () -> assignments.findAssignedShiftTimesByEmployeeId(employeeId));
+        cases.put("assigned shift times of a team",
+                () -> assignments.findAssignedShiftTimesByEmployeeIdInAndDateRange(team, start, end));
+        cases.put("hours worked of employees", () -> assignments.sumCompletedHoursByEmployeeAndDate(team, start, end));
+        cases.put("approved vacations of an employee",
+                () -> vacations.findOverlappingApprovedRequests(employeeId, start, end));
+        cases.put("approved vacations of an employee range",
+                () -> vacations.findApprovedByEmployeeIdBetween(employeeId, employeeId + 249));
+        cases.put("approved vacations of a team",
+                () -> vacations.findApprovedByEmployeeIdsAndDateRange(team, start, end));
+        cases.put("calendar of an employee", () -> calendars.findByEmployeeId(employeeId));
+        cases.put("calendar stamp of a team", () -> calendars.findTeamStampByManagerId(managerId));
+        cases.put("entries of a calendar", () -> entries.findByCalendarIdAndDateRange(calendarId, start, end));
+        cases.put("entry rows of employees", () -> entries.findRowsByEmployeeIdsAndDateRange(team, start, end));
+        cases.put("team calendar entries", () -> entries.findTeamRowsByManagerIdAndDateRange(managerId, start, end));
+        cases.put("entries of shifts",
+                () -> entries.findReferences(List.of(calendarId), "SHIFT", List.of(1L, 2L, 3L)));
+        cases.put("month view of an employee",
+                () -> monthViews.findCurrentByEmployeeId(employeeId, start.getYear(), start.getMonthValue()));
+        cases.put("unread notifications of an employee",
+                () -> notifications.findByEmployeeAndReadFalseOrderByCreatedAtDesc(employees.getReferenceById(employeeId)));
+        cases.put("team members of a manager", () -> employees.findSummariesByManagerId(managerId));
+        return cases;
+    }
+
+    /**
+     * Run a query case and fail if any of its statements scans a large table
+     */
+    private void assertIndexed(Runnable queryCase) throws Exception {
+        List<String> statements = RecordingStatementInspector.record(() -> new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> queryCase.run()));
+        assertFalse(statements.isEmpty(), "The case ran no SQL");
+
+        for (String sql : statements) {
+            String plan = explainJdbcTemplate.queryForObject(
+                    "EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + toNumberedParameters(sql), String.class);
+            List<String> scannedTables = new ArrayList<>();
+            collectSequentialScans(objectMapper.readTree(plan).get(0).get("Plan"), scannedTables);
+            assertTrue(scannedTables.isEmpty(), "Sequential scan of " + scannedTables + " in\n" + sql + "\n" + plan);
+        }
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> scannedTables) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            scannedTables.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, scannedTables);
+        }
+    }
+
+    /**
+     * Replace JDBC's ? placeholders, outside of string literals, with Postgres' $n parameters
+     */
+    static String toNumberedParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        boolean literal = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                literal = !literal;
+            }
+            if (c == '?' && !literal) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static void insertNotifications(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (long employee = 1; employee <= EMPLOYEES; employee++) {
+            for (int notification = 0; notification < NOTIFICATIONS_PER_EMPLOYEE; notification++) {
+                rows.add(new Object[]{employee, "Shift changed", "SHIFT_UPDATE", notification % 2 == 0, now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO notification (employee_id, message, type, is_read, version, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, 0, ?, ?)", rows);
+    }
+
+    /**
+     * Records the SQL Hibernate prepares while a case runs. Hibernate creates the instance from
+     * its class name, so the recording has to be static.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        private static volatile List<String> statements;
+
+        @Override
+        public String inspect(String sql) {
+            List<String> recording = statements;
+            if (recording != null) {
+                recording.add(sql);
+            }
+            return sql;
+        }
+
+        static List<String> record(Runnable action) {
+            statements = new CopyOnWriteArrayList<>();
+            try {
+                action.run();
+                return List.copyOf(statements);
+            } finally {
+                statements = null;
+            }
+        }
+    }
+}